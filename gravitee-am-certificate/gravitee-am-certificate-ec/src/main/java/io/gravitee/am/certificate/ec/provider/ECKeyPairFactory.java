@@ -0,0 +1,161 @@
+/**
+ * Copyright (C) 2015 The Gravitee team (http://gravitee.io)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.gravitee.am.certificate.ec.provider;
+
+import com.nimbusds.jose.crypto.bc.BouncyCastleProviderSingleton;
+import io.gravitee.am.common.jwt.SignatureAlgorithm;
+import org.bouncycastle.asn1.ASN1OctetString;
+import org.bouncycastle.asn1.ASN1Sequence;
+import org.bouncycastle.asn1.edec.EdECObjectIdentifiers;
+import org.bouncycastle.asn1.pkcs.PrivateKeyInfo;
+import org.bouncycastle.asn1.x509.AlgorithmIdentifier;
+import org.bouncycastle.asn1.x509.SubjectPublicKeyInfo;
+import org.bouncycastle.asn1.x9.X9ObjectIdentifiers;
+import org.bouncycastle.crypto.params.Ed25519PrivateKeyParameters;
+import org.bouncycastle.jcajce.provider.asymmetric.ec.BCECPrivateKey;
+import org.bouncycastle.jce.spec.ECParameterSpec;
+import org.bouncycastle.jce.spec.ECPublicKeySpec;
+
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.KeyFactory;
+import java.security.KeyPair;
+import java.security.KeyPairGenerator;
+import java.security.PrivateKey;
+import java.security.PublicKey;
+import java.security.spec.ECGenParameterSpec;
+import java.security.spec.PKCS8EncodedKeySpec;
+import java.security.spec.X509EncodedKeySpec;
+import java.util.Base64;
+
+/**
+ * Load or generate EC (P-256, P-384, P-521) and Ed25519 key pairs.
+ *
+ * Private keys can be either PKCS#8 ({@code BEGIN PRIVATE KEY}) or SEC1 ({@code BEGIN EC PRIVATE KEY}) encoded,
+ * in PEM or DER format. The public key is derived from the private key.
+ *
+ * @author GraviteeSource Team
+ */
+final class ECKeyPairFactory {
+
+    private static final String PEM_BOUNDARY = "-----";
+    private static final String SEC1_HEADER = "BEGIN EC PRIVATE KEY";
+
+    private ECKeyPairFactory() { }
+
+    static KeyPair generate(SignatureAlgorithm signatureAlgorithm) throws GeneralSecurityException {
+        if (signatureAlgorithm.isEdwardsCurve()) {
+            return KeyPairGenerator.getInstance("Ed25519", BouncyCastleProviderSingleton.getInstance()).generateKeyPair();
+        }
+        KeyPairGenerator keyPairGenerator = KeyPairGenerator.getInstance("EC");
+        keyPairGenerator.initialize(new ECGenParameterSpec(curveName(signatureAlgorithm)));
+        return keyPairGenerator.generateKeyPair();
+    }
+
+    static KeyPair load(byte[] content) throws GeneralSecurityException {
+        PrivateKeyInfo privateKeyInfo = privateKeyInfo(content);
+        try {
+            if (X9ObjectIdentifiers.id_ecPublicKey.equals(privateKeyInfo.getPrivateKeyAlgorithm().getAlgorithm())) {
+                return ecKeyPair(privateKeyInfo.getEncoded());
+            } else if (EdECObjectIdentifiers.id_Ed25519.equals(privateKeyInfo.getPrivateKeyAlgorithm().getAlgorithm())) {
+                byte[] seed = ASN1OctetString.getInstance(privateKeyInfo.parsePrivateKey()).getOctets();
+                return ed25519KeyPair(privateKeyInfo.getEncoded(), seed);
+            }
+        } catch (GeneralSecurityException ex) {
+            throw ex;
+        } catch (Exception ex) {
+            throw new GeneralSecurityException("Unable to read the private key", ex);
+        }
+        throw new GeneralSecurityException("Unsupported private key algorithm : " + privateKeyInfo.getPrivateKeyAlgorithm().getAlgorithm());
+    }
+
+    private static KeyPair ecKeyPair(byte[] pkcs8) throws GeneralSecurityException {
+        // JCA does not expose the public point of an EC private key, compute it with BouncyCastle
+        KeyFactory bcKeyFactory = KeyFactory.getInstance("EC", BouncyCastleProviderSingleton.getInstance());
+        BCECPrivateKey bcPrivateKey = (BCECPrivateKey) bcKeyFactory.generatePrivate(new PKCS8EncodedKeySpec(pkcs8));
+        ECParameterSpec parameterSpec = bcPrivateKey.getParameters();
+        if (parameterSpec == null) {
+            throw new GeneralSecurityException("EC private key must define its curve");
+        }
+        PublicKey bcPublicKey = bcKeyFactory.generatePublic(
+                new ECPublicKeySpec(parameterSpec.getG().multiply(bcPrivateKey.getD()).normalize(), parameterSpec));
+
+        // use the default provider keys to sign with the JDK ECDSA implementation
+        KeyFactory keyFactory = KeyFactory.getInstance("EC");
+        PrivateKey privateKey = keyFactory.generatePrivate(new PKCS8EncodedKeySpec(pkcs8));
+        PublicKey publicKey = keyFactory.generatePublic(new X509EncodedKeySpec(bcPublicKey.getEncoded()));
+        return new KeyPair(publicKey, privateKey);
+    }
+
+    private static KeyPair ed25519KeyPair(byte[] pkcs8, byte[] seed) throws Exception {
+        byte[] x = new Ed25519PrivateKeyParameters(seed, 0).generatePublicKey().getEncoded();
+        byte[] x509 = new SubjectPublicKeyInfo(new AlgorithmIdentifier(EdECObjectIdentifiers.id_Ed25519), x).getEncoded();
+
+        KeyFactory keyFactory = KeyFactory.getInstance("Ed25519", BouncyCastleProviderSingleton.getInstance());
+        PrivateKey privateKey = keyFactory.generatePrivate(new PKCS8EncodedKeySpec(pkcs8));
+        PublicKey publicKey = keyFactory.generatePublic(new X509EncodedKeySpec(x509));
+        return new KeyPair(publicKey, privateKey);
+    }
+
+    private static PrivateKeyInfo privateKeyInfo(byte[] content) throws GeneralSecurityException {
+        try {
+            String text = new String(content, StandardCharsets.US_ASCII);
+            boolean pem = text.contains(PEM_BOUNDARY);
+            byte[] der = pem ? decodePem(text) : content;
+            if (pem && text.contains(SEC1_HEADER)) {
+                // SEC1 (RFC 5915) key embeds the curve OID, wrap it into a PKCS#8 structure
+                org.bouncycastle.asn1.sec.ECPrivateKey ecPrivateKey = org.bouncycastle.asn1.sec.ECPrivateKey.getInstance(ASN1Sequence.getInstance(der));
+                if (ecPrivateKey.getParameters() == null) {
+                    throw new IllegalArgumentException("EC private key must define its curve");
+                }
+                return new PrivateKeyInfo(new AlgorithmIdentifier(X9ObjectIdentifiers.id_ecPublicKey, ecPrivateKey.getParameters()), ecPrivateKey);
+            }
+            return PrivateKeyInfo.getInstance(der);
+        } catch (Exception ex) {
+            throw new GeneralSecurityException("Unable to read the private key, a PKCS#8 or SEC1 encoded key is expected", ex);
+        }
+    }
+
+    private static byte[] decodePem(String pem) {
+        StringBuilder base64 = new StringBuilder();
+        boolean inBody = false;
+        for (String line : pem.split("\\r?\\n")) {
+            line = line.trim();
+            if (line.startsWith(PEM_BOUNDARY + "BEGIN") && line.contains("PRIVATE KEY")) {
+                inBody = true;
+            } else if (line.startsWith(PEM_BOUNDARY + "END")) {
+                if (inBody) {
+                    break;
+                }
+            } else if (inBody && !line.contains(":")) {
+                // skip RFC 1421 headers (e.g. Proc-Type), encrypted keys are then rejected by the ASN.1 parser
+                base64.append(line);
+            }
+        }
+        return Base64.getDecoder().decode(base64.toString());
+    }
+
+    private static String curveName(SignatureAlgorithm signatureAlgorithm) {
+        switch (signatureAlgorithm) {
+            case ES384:
+                return "secp384r1";
+            case ES512:
+                return "secp521r1";
+            default:
+                return "secp256r1";
+        }
+    }
+}
@@ -0,0 +1,171 @@
+/**
+ * Copyright (C) 2015 The Gravitee team (http://gravitee.io)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.gravitee.am.certificate.ec.provider;
+
+import com.nimbusds.jose.JWSAlgorithm;
+import com.nimbusds.jose.jwk.Curve;
+import com.nimbusds.jose.jwk.KeyUse;
+import com.nimbusds.jose.jwk.OctetKeyPair;
+import com.nimbusds.jose.util.Base64URL;
+import io.gravitee.am.certificate.api.CertificateMetadata;
+import io.gravitee.am.certificate.api.CertificateProvider;
+import io.gravitee.am.certificate.api.DefaultKey;
+import io.gravitee.am.certificate.ec.ECConfiguration;
+import io.gravitee.am.common.jwt.SignatureAlgorithm;
+import io.gravitee.am.model.jose.ECKey;
+import io.gravitee.am.model.jose.JWK;
+import io.gravitee.am.model.jose.OKPKey;
+import io.reactivex.Flowable;
+import io.reactivex.Single;
+import org.bouncycastle.asn1.x509.SubjectPublicKeyInfo;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.beans.factory.annotation.Autowired;
+
+import java.security.KeyPair;
+import java.security.interfaces.ECPublicKey;
+import java.util.Base64;
+import java.util.Collections;
+import java.util.Set;
+
+/**
+ * Certificate provider backed by an elliptic curve (ES256, ES384, ES512) or an Edwards curve (EdDSA with Ed25519) key pair.
+ * Signing with such keys is much cheaper than with RSA keys of equivalent strength.
+ *
+ * @author GraviteeSource Team
+ */
+public class ECProvider implements CertificateProvider, InitializingBean {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(ECProvider.class);
+
+    private KeyPair keyPair;
+    private String publicKey;
+    private Set<JWK> keys;
+    private SignatureAlgorithm signature = SignatureAlgorithm.ES256;
+    private io.gravitee.am.certificate.api.Key certificateKey;
+
+    @Autowired
+    private ECConfiguration configuration;
+
+    @Autowired
+    private CertificateMetadata certificateMetadata;
+
+    @Override
+    public void afterPropertiesSet() throws Exception {
+        Object file = certificateMetadata.getMetadata().get(CertificateMetadata.FILE);
+        if (file != null) {
+            keyPair = ECKeyPairFactory.load((byte[]) file);
+            signature = getSignature(keyPair);
+        } else {
+            if (configuration.getAlgorithm() != null) {
+                signature = SignatureAlgorithm.valueOf(configuration.getAlgorithm());
+            }
+            if (!signature.isEllipticCurve() && !signature.isEdwardsCurve()) {
+                throw new IllegalArgumentException("Unsupported signing algorithm : " + signature.getValue());
+            }
+            LOGGER.warn("No private key provided, generating a {} key pair. Tokens signed with this key will not be " +
+                    "verifiable by other instances nor after a restart", signature.getValue());
+            keyPair = ECKeyPairFactory.generate(signature);
+        }
+        certificateMetadata.getMetadata().put(CertificateMetadata.DIGEST_ALGORITHM_NAME, signature.getDigestName());
+
+        // generate the public JWK, its thumbprint is used as key id
+        com.nimbusds.jose.jwk.JWK nimbusJwk = toNimbusJWK();
+        String keyId = nimbusJwk.computeThumbprint().toString();
+        keys = Collections.singleton(convert(nimbusJwk, keyId));
+        certificateKey = new DefaultKey(keyId, keyPair);
+        publicKey = Base64.getEncoder().encodeToString(keyPair.getPublic().getEncoded());
+    }
+
+    @Override
+    public Single<io.gravitee.am.certificate.api.Key> key() {
+        return Single.just(certificateKey);
+    }
+
+    @Override
+    public Single<String> publicKey() {
+        return Single.just(publicKey);
+    }
+
+    @Override
+    public Flowable<JWK> keys() {
+        return Flowable.fromIterable(keys);
+    }
+
+    @Override
+    public CertificateMetadata certificateMetadata() {
+        return certificateMetadata;
+    }
+
+    @Override
+    public String signatureAlgorithm() {
+        return signature.getValue();
+    }
+
+    private com.nimbusds.jose.jwk.JWK toNimbusJWK() {
+        JWSAlgorithm algorithm = JWSAlgorithm.parse(signature.getValue());
+        if (keyPair.getPublic() instanceof ECPublicKey) {
+            ECPublicKey ecPublicKey = (ECPublicKey) keyPair.getPublic();
+            return new com.nimbusds.jose.jwk.ECKey.Builder(Curve.forECParameterSpec(ecPublicKey.getParams()), ecPublicKey)
+                    .keyUse(KeyUse.SIGNATURE)
+                    .algorithm(algorithm)
+                    .build();
+        }
+        byte[] x = SubjectPublicKeyInfo.getInstance(keyPair.getPublic().getEncoded()).getPublicKeyData().getBytes();
+        return new OctetKeyPair.Builder(Curve.Ed25519, Base64URL.encode(x))
+                .keyUse(KeyUse.SIGNATURE)
+                .algorithm(algorithm)
+                .build();
+    }
+
+    private JWK convert(com.nimbusds.jose.jwk.JWK nimbusJwk, String keyId) {
+        JWK jwk;
+        if (nimbusJwk instanceof com.nimbusds.jose.jwk.ECKey) {
+            com.nimbusds.jose.jwk.ECKey nimbusECJwk = (com.nimbusds.jose.jwk.ECKey) nimbusJwk;
+            ECKey ecKey = new ECKey();
+            ecKey.setCrv(nimbusECJwk.getCurve().getName());
+            ecKey.setX(nimbusECJwk.getX().toString());
+            ecKey.setY(nimbusECJwk.getY().toString());
+            jwk = ecKey;
+        } else {
+            OctetKeyPair nimbusOKPJwk = (OctetKeyPair) nimbusJwk;
+            OKPKey okpKey = new OKPKey();
+            okpKey.setCrv(nimbusOKPJwk.getCurve().getName());
+            okpKey.setX(nimbusOKPJwk.getX().toString());
+            jwk = okpKey;
+        }
+        jwk.setUse(nimbusJwk.getKeyUse().identifier());
+        jwk.setAlg(nimbusJwk.getAlgorithm().getName());
+        jwk.setKid(keyId);
+        return jwk;
+    }
+
+    private static SignatureAlgorithm getSignature(KeyPair keyPair) {
+        if (!(keyPair.getPublic() instanceof ECPublicKey)) {
+            return SignatureAlgorithm.EdDSA;
+        }
+        Curve curve = Curve.forECParameterSpec(((ECPublicKey) keyPair.getPublic()).getParams());
+        if (Curve.P_256.equals(curve)) {
+            return SignatureAlgorithm.ES256;
+        } else if (Curve.P_384.equals(curve)) {
+            return SignatureAlgorithm.ES384;
+        } else if (Curve.P_521.equals(curve)) {
+            return SignatureAlgorithm.ES512;
+        }
+        throw new IllegalArgumentException("Unsupported elliptic curve : " + curve);
+    }
+}
@@ -0,0 +1,146 @@
+/**
+ * Copyright (C) 2015 The Gravitee team (http://gravitee.io)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.gravitee.am.certificate.ec.provider;
+
+import com.nimbusds.jose.crypto.bc.BouncyCastleProviderSingleton;
+import io.gravitee.am.certificate.api.CertificateMetadata;
+import io.gravitee.am.certificate.ec.ECConfiguration;
+import io.gravitee.am.common.jwt.SignatureAlgorithm;
+import io.gravitee.am.model.jose.ECKey;
+import io.gravitee.am.model.jose.JWK;
+import io.gravitee.am.model.jose.OKPKey;
+import org.bouncycastle.asn1.pkcs.PrivateKeyInfo;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.InjectMocks;
+import org.mockito.Spy;
+import org.mockito.junit.MockitoJUnitRunner;
+
+import java.nio.charset.StandardCharsets;
+import java.security.KeyPair;
+import java.security.KeyPairGenerator;
+import java.security.interfaces.ECPrivateKey;
+import java.security.spec.ECGenParameterSpec;
+import java.util.Base64;
+import java.util.HashMap;
+
+import static org.junit.Assert.*;
+
+/**
+ * @author GraviteeSource Team
+ */
+@RunWith(MockitoJUnitRunner.class)
+public class ECProviderTest {
+
+    @InjectMocks
+    private ECProvider provider = new ECProvider();
+
+    @Spy
+    private ECConfiguration configuration = new ECConfiguration();
+
+    @Spy
+    private CertificateMetadata certificateMetadata = new CertificateMetadata();
+
+    @Before
+    public void setUp() {
+        certificateMetadata.setMetadata(new HashMap<>());
+    }
+
+    @Test
+    public void shouldGenerate_ES256() throws Exception {
+        provider.afterPropertiesSet();
+
+        assertEquals("ES256", provider.signatureAlgorithm());
+        assertEquals("SHA-256", certificateMetadata.getMetadata().get(CertificateMetadata.DIGEST_ALGORITHM_NAME));
+        JWK jwk = provider.keys().blockingSingle();
+        assertTrue(jwk instanceof ECKey);
+        assertEquals("EC", jwk.getKty());
+        assertEquals("P-256", ((ECKey) jwk).getCrv());
+        assertEquals("sig", jwk.getUse());
+        assertEquals(provider.key().blockingGet().getKeyId(), jwk.getKid());
+        assertTrue(provider.key().blockingGet().getValue() instanceof KeyPair);
+    }
+
+    @Test
+    public void shouldGenerate_EdDSA() throws Exception {
+        configuration.setAlgorithm("EdDSA");
+        provider.afterPropertiesSet();
+
+        assertEquals("EdDSA", provider.signatureAlgorithm());
+        JWK jwk = provider.keys().blockingSingle();
+        assertTrue(jwk instanceof OKPKey);
+        assertEquals("OKP", jwk.getKty());
+        assertEquals("Ed25519", ((OKPKey) jwk).getCrv());
+        assertEquals("EdDSA", jwk.getAlg());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void shouldNotGenerate_rsaAlgorithm() throws Exception {
+        configuration.setAlgorithm("RS256");
+        provider.afterPropertiesSet();
+    }
+
+    @Test
+    public void shouldLoad_pkcs8_P384() throws Exception {
+        KeyPairGenerator keyPairGenerator = KeyPairGenerator.getInstance("EC");
+        keyPairGenerator.initialize(new ECGenParameterSpec("secp384r1"));
+        KeyPair keyPair = keyPairGenerator.generateKeyPair();
+        certificateMetadata.getMetadata().put(CertificateMetadata.FILE, pem("PRIVATE KEY", keyPair.getPrivate().getEncoded()));
+
+        provider.afterPropertiesSet();
+
+        assertEquals("ES384", provider.signatureAlgorithm());
+        assertEquals("P-384", ((ECKey) provider.keys().blockingSingle()).getCrv());
+        assertArrayEquals(keyPair.getPublic().getEncoded(), ((KeyPair) provider.key().blockingGet().getValue()).getPublic().getEncoded());
+    }
+
+    @Test
+    public void shouldLoad_sec1_P256() throws Exception {
+        KeyPairGenerator keyPairGenerator = KeyPairGenerator.getInstance("EC");
+        keyPairGenerator.initialize(new ECGenParameterSpec("secp256r1"));
+        KeyPair keyPair = keyPairGenerator.generateKeyPair();
+        // same structure as the output of openssl ecparam -genkey, the curve being part of the SEC1 key
+        PrivateKeyInfo privateKeyInfo = PrivateKeyInfo.getInstance(keyPair.getPrivate().getEncoded());
+        byte[] sec1 = new org.bouncycastle.asn1.sec.ECPrivateKey(256, ((ECPrivateKey) keyPair.getPrivate()).getS(), null,
+                privateKeyInfo.getPrivateKeyAlgorithm().getParameters()).getEncoded();
+        certificateMetadata.getMetadata().put(CertificateMetadata.FILE, pem("EC PRIVATE KEY", sec1));
+
+        provider.afterPropertiesSet();
+
+        assertEquals("ES256", provider.signatureAlgorithm());
+        assertArrayEquals(keyPair.getPublic().getEncoded(), ((KeyPair) provider.key().blockingGet().getValue()).getPublic().getEncoded());
+    }
+
+    @Test
+    public void shouldLoad_der_Ed25519() throws Exception {
+        KeyPair keyPair = KeyPairGenerator.getInstance("Ed25519", BouncyCastleProviderSingleton.getInstance()).generateKeyPair();
+        certificateMetadata.getMetadata().put(CertificateMetadata.FILE, keyPair.getPrivate().getEncoded());
+
+        provider.afterPropertiesSet();
+
+        assertEquals("EdDSA", provider.signatureAlgorithm());
+        assertArrayEquals(keyPair.getPublic().getEncoded(), ((KeyPair) provider.key().blockingGet().getValue()).getPublic().getEncoded());
+        assertEquals(Base64.getEncoder().encodeToString(keyPair.getPublic().getEncoded()), provider.publicKey().blockingGet());
+    }
+
+    private static byte[] pem(String type, byte[] der) {
+        String pem = "-----BEGIN " + type + "-----\n" +
+                Base64.getMimeEncoder(64, "\n".getBytes(StandardCharsets.US_ASCII)).encodeToString(der) +
+                "\n-----END " + type + "-----\n";
+        return pem.getBytes(StandardCharsets.US_ASCII);
+    }
+}
@@ -0,0 +1,51 @@
+/**
+ * Copyright (C) 2015 The Gravitee team (http://gravitee.io)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.gravitee.am.common.exception.oauth2;
+
+import io.gravitee.common.http.HttpStatusCode;
+
+/**
+ * The authorization server is currently unable to handle the request due to a temporary overloading or maintenance of the server.
+ * (This error code is needed because a 503 Service Unavailable HTTP status code cannot be returned to the client via an HTTP redirect.)
+ *
+ * See <a href="https://tools.ietf.org/html/rfc6749#section-4.1.2.1">4.1.2.1. Error Response</a>
+ *
+ * @author GraviteeSource Team
+ */
+public class TemporarilyUnavailableException extends OAuth2Exception {
+
+    public TemporarilyUnavailableException() {
+        super();
+    }
+
+    public TemporarilyUnavailableException(String message) {
+        super(message);
+    }
+
+    public TemporarilyUnavailableException(String message, Throwable cause) {
+        super(message, cause);
+    }
+
+    @Override
+    public String getOAuth2ErrorCode() {
+        return "temporarily_unavailable";
+    }
+
+    @Override
+    public int getHttpStatusCode() {
+        return HttpStatusCode.SERVICE_UNAVAILABLE_503;
+    }
+}
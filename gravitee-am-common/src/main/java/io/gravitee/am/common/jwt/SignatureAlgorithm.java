@@ -97,7 +97,13 @@ public enum SignatureAlgorithm {
      * Java 11 or later or a JCA provider like BouncyCastle to be in the runtime classpath.</b>  If on Java 10 or
      * earlier, BouncyCastle will be used automatically if found in the runtime classpath.
      */
-    PS512("PS512", "RSASSA-PSS using SHA-512 and MGF1 with SHA-512", "RSA", "RSASSA-PSS", "SHA-512", false, 512, 2048);
+    PS512("PS512", "RSASSA-PSS using SHA-512 and MGF1 with SHA-512", "RSA", "RSASSA-PSS", "SHA-512", false, 512, 2048),
+
+    /**
+     * JWA algorithm name for {@code Edwards-curve Digital Signature Algorithm} as defined by
+     * <a href="https://tools.ietf.org/html/rfc8037">RFC 8037</a>. Only the Ed25519 curve is supported.
+     */
+    EdDSA("EdDSA", "Edwards-curve Digital Signature Algorithm", "EdDSA", "Ed25519", "SHA-512", false, 512, 256);
 
     //purposefully ordered higher to lower:
     public static final List<SignatureAlgorithm> PREFERRED_HMAC_ALGS = Collections.unmodifiableList(Arrays.asList(
@@ -168,6 +174,10 @@ public enum SignatureAlgorithm {
         return familyName.equals("ECDSA");
     }
 
+    public boolean isEdwardsCurve() {
+        return familyName.equals("EdDSA");
+    }
+
     public int getDigestLength() {
         return digestLength;
     }
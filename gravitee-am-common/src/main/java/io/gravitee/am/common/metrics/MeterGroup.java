@@ -0,0 +1,205 @@
+/**
+ * Copyright (C) 2015 The Gravitee team (http://gravitee.io)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.gravitee.am.common.metrics;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.Meter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Metrics;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.Timer;
+import io.vertx.micrometer.backends.BackendRegistries;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.WeakHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.ToDoubleFunction;
+
+/**
+ * The meters registered by a component (a domain handler, a cache, an executor, ...), removed when the component is closed.
+ *
+ * Several instances of a component may register the same meters at the same time, e.g. the previous and the new handler
+ * of a domain while it is updated. Meters are reference counted so that they are only removed from the registry once no
+ * instance uses them anymore, and a gauge reports the sum of the values of all the instances which registered it (an
+ * object shared by the instances, e.g. a spool, is only counted once).
+ *
+ * @author GraviteeSource Team
+ */
+public class MeterGroup {
+
+    /**
+     * Meters registered through a group, by registry and ID.
+     */
+    private static final Map<MeterRegistry, Map<Meter.Id, SharedMeter>> SHARED_METERS = new WeakHashMap<>();
+
+    private final List<Registration> registrations = new ArrayList<>();
+
+    private MeterRegistry registry;
+
+    /**
+     * Meters are registered in the registry of the node, see {@link #defaultRegistry()}.
+     */
+    public MeterGroup() {
+    }
+
+    /**
+     * @param registry the registry of the meters, <code>null</code> for the registry of the node.
+     */
+    public MeterGroup(MeterRegistry registry) {
+        this.registry = registry;
+    }
+
+    /**
+     * The registry exposed by the node (see <code>services.metrics</code> settings). Meters are named <code>am.*</code>
+     * and exported along with the Vert.x ones.
+     *
+     * When metrics are disabled, the global (no-op) registry is returned so that callers never have to check for <code>null</code>.
+     * The node registry is only available once Vert.x is started, it must not be resolved earlier (e.g. in a constructor).
+     */
+    public static MeterRegistry defaultRegistry() {
+        MeterRegistry registry = BackendRegistries.getDefaultNow();
+        return registry != null ? registry : Metrics.globalRegistry;
+    }
+
+    public Counter counter(Counter.Builder builder) {
+        return track(builder.register(registry()));
+    }
+
+    public Timer timer(Timer.Builder builder) {
+        return track(builder.register(registry()));
+    }
+
+    public <T> void gauge(String name, Tags tags, String description, T obj, ToDoubleFunction<T> valueFunction) {
+        final Source source = new Source(obj, valueFunction);
+        synchronized (SHARED_METERS) {
+            final MeterRegistry registry = registry();
+            final Meter.Id id = new Meter.Id(name, tags, null, description, Meter.Type.GAUGE);
+            SharedMeter shared = sharedMeters(registry).get(id);
+            if (shared == null) {
+                final List<Source> sources = new CopyOnWriteArrayList<>();
+                // the sources list is referenced by the shared meter, the gauge can't be garbage collected before it is removed
+                Gauge gauge = Gauge.builder(name, sources, MeterGroup::sum)
+                        .tags(tags)
+                        .description(description)
+                        .register(registry);
+                shared = new SharedMeter(gauge, sources);
+                sharedMeters(registry).put(id, shared);
+            }
+            shared.references++;
+            shared.sources.add(source);
+            registrations.add(new Registration(registry, id, source));
+        }
+    }
+
+    /**
+     * Release the meters of this group, the ones which are not registered by another group are removed from the registry.
+     */
+    public void close() {
+        synchronized (SHARED_METERS) {
+            registrations.forEach(registration -> {
+                Map<Meter.Id, SharedMeter> meters = sharedMeters(registration.registry);
+                SharedMeter shared = meters.get(registration.id);
+                if (shared == null) {
+                    return;
+                }
+                if (registration.source != null) {
+                    shared.sources.remove(registration.source);
+                }
+                if (--shared.references == 0) {
+                    meters.remove(registration.id);
+                    registration.registry.remove(shared.meter);
+                }
+            });
+            registrations.clear();
+        }
+    }
+
+    private <M extends Meter> M track(M meter) {
+        synchronized (SHARED_METERS) {
+            final Meter.Id id = meter.getId();
+            sharedMeters(registry).computeIfAbsent(id, key -> new SharedMeter(meter, null)).references++;
+            registrations.add(new Registration(registry, id, null));
+        }
+        return meter;
+    }
+
+    private MeterRegistry registry() {
+        if (registry == null) {
+            registry = defaultRegistry();
+        }
+        return registry;
+    }
+
+    private static Map<Meter.Id, SharedMeter> sharedMeters(MeterRegistry registry) {
+        return SHARED_METERS.computeIfAbsent(registry, key -> new HashMap<>());
+    }
+
+    private static double sum(List<Source> sources) {
+        final Set<Object> objects = Collections.newSetFromMap(new IdentityHashMap<>());
+        double sum = 0;
+        for (Source source : sources) {
+            if (objects.add(source.obj)) {
+                sum += source.value();
+            }
+        }
+        return sum;
+    }
+
+    private static class Source {
+        private final Object obj;
+        private final ToDoubleFunction<Object> valueFunction;
+
+        @SuppressWarnings("unchecked")
+        private <T> Source(T obj, ToDoubleFunction<T> valueFunction) {
+            this.obj = obj;
+            this.valueFunction = (ToDoubleFunction<Object>) valueFunction;
+        }
+
+        private double value() {
+            return valueFunction.applyAsDouble(obj);
+        }
+    }
+
+    private static class SharedMeter {
+        private final Meter meter;
+        private final List<Source> sources;
+        private int references;
+
+        private SharedMeter(Meter meter, List<Source> sources) {
+            this.meter = meter;
+            this.sources = sources;
+        }
+    }
+
+    private static class Registration {
+        private final MeterRegistry registry;
+        private final Meter.Id id;
+        private final Source source;
+
+        private Registration(MeterRegistry registry, Meter.Id id, Source source) {
+            this.registry = registry;
+            this.id = id;
+            this.source = source;
+        }
+    }
+}
@@ -0,0 +1,126 @@
+/**
+ * Copyright (C) 2015 The Gravitee team (http://gravitee.io)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.gravitee.am.common.utils;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+/**
+ * Reference counted registry of expensive resources (connection pools, clients, ...) which can be shared by several
+ * consumers configured with the same settings, e.g. the identity providers of many security domains pointing to the
+ * same database cluster.
+ *
+ * The resource is created by the first consumer acquiring its key and closed when the last reference is released.
+ *
+ * @param <K> type of the key, built from the settings of the resource (must implement equals and hashCode).
+ * @param <R> type of the resource.
+ *
+ * @author GraviteeSource Team
+ */
+public class SharedResourceRegistry<K, R> {
+
+    private final Map<K, Entry<R>> resources = new HashMap<>();
+
+    private final Consumer<R> closer;
+
+    /**
+     * @param closer action releasing the resource once it is not referenced anymore.
+     */
+    public SharedResourceRegistry(Consumer<R> closer) {
+        this.closer = closer;
+    }
+
+    /**
+     * Get a reference to the resource registered for the given key, creating it if needed.
+     *
+     * @param key the settings of the resource.
+     * @param factory creates the resource, called at most once while the resource is referenced.
+     * @return a reference which must be released once the resource is not used anymore.
+     */
+    public synchronized Reference<K, R> acquire(K key, Function<K, R> factory) {
+        Entry<R> entry = resources.get(key);
+        if (entry == null) {
+            entry = new Entry<>(factory.apply(key));
+            resources.put(key, entry);
+        }
+        entry.references++;
+        return new Reference<>(this, key, entry.resource);
+    }
+
+    /**
+     * @return the number of resources currently shared.
+     */
+    public synchronized int size() {
+        return resources.size();
+    }
+
+    private void release(K key) {
+        R resource = null;
+        synchronized (this) {
+            Entry<R> entry = resources.get(key);
+            if (entry != null && --entry.references == 0) {
+                resources.remove(key);
+                resource = entry.resource;
+            }
+        }
+        // close outside the lock, it may take some time
+        if (resource != null) {
+            closer.accept(resource);
+        }
+    }
+
+    private static final class Entry<R> {
+        private final R resource;
+        private int references;
+
+        private Entry(R resource) {
+            this.resource = resource;
+        }
+    }
+
+    /**
+     * Reference to a shared resource, to be released exactly once by its consumer.
+     */
+    public static final class Reference<K, R> {
+
+        private final SharedResourceRegistry<K, R> registry;
+        private final K key;
+        private final R resource;
+        private final AtomicBoolean released = new AtomicBoolean();
+
+        private Reference(SharedResourceRegistry<K, R> registry, K key, R resource) {
+            this.registry = registry;
+            this.key = key;
+            this.resource = resource;
+        }
+
+        public R get() {
+            return resource;
+        }
+
+        /**
+         * Release the reference, the resource is closed if it was the last one. Further calls have no effect.
+         */
+        public void release() {
+            if (released.compareAndSet(false, true)) {
+                registry.release(key);
+            }
+        }
+    }
+}
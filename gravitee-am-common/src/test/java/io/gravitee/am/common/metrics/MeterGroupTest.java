@@ -0,0 +1,95 @@
+/**
+ * Copyright (C) 2015 The Gravitee team (http://gravitee.io)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.gravitee.am.common.metrics;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * @author GraviteeSource Team
+ */
+public class MeterGroupTest {
+
+    private final MeterRegistry registry = new SimpleMeterRegistry();
+
+    @Test
+    public void shouldRemoveMeters_onClose() {
+        MeterGroup meters = new MeterGroup(registry);
+        meters.counter(Counter.builder("am.test.counter").tag("domain", "domain-1")).increment();
+        meters.gauge("am.test.gauge", Tags.of("domain", "domain-1"), "test", new AtomicInteger(2), AtomicInteger::get);
+
+        Assert.assertEquals(1.0, registry.get("am.test.counter").counter().count(), 0);
+        Assert.assertEquals(2.0, registry.get("am.test.gauge").gauge().value(), 0);
+
+        meters.close();
+        Assert.assertTrue(registry.getMeters().isEmpty());
+    }
+
+    @Test
+    public void shouldKeepSharedMeters_untilLastGroupIsClosed() {
+        MeterGroup previous = new MeterGroup(registry);
+        MeterGroup current = new MeterGroup(registry);
+        Counter previousCounter = previous.counter(Counter.builder("am.test.counter").tag("domain", "domain-1"));
+        Counter currentCounter = current.counter(Counter.builder("am.test.counter").tag("domain", "domain-1"));
+        Assert.assertSame(previousCounter, currentCounter);
+
+        previous.close();
+        currentCounter.increment();
+        Assert.assertEquals(1.0, registry.get("am.test.counter").counter().count(), 0);
+
+        current.close();
+        Assert.assertNull(registry.find("am.test.counter").counter());
+    }
+
+    @Test
+    public void shouldSumSharedGauges() {
+        MeterGroup previous = new MeterGroup(registry);
+        MeterGroup current = new MeterGroup(registry);
+        previous.gauge("am.test.gauge", Tags.of("domain", "domain-1"), "test", new AtomicInteger(2), AtomicInteger::get);
+        current.gauge("am.test.gauge", Tags.of("domain", "domain-1"), "test", new AtomicInteger(3), AtomicInteger::get);
+
+        Assert.assertEquals(5.0, registry.get("am.test.gauge").gauge().value(), 0);
+
+        previous.close();
+        Assert.assertEquals(3.0, registry.get("am.test.gauge").gauge().value(), 0);
+
+        current.close();
+        Assert.assertNull(registry.find("am.test.gauge").gauge());
+    }
+
+    @Test
+    public void shouldCountSharedObjectOnce() {
+        MeterGroup previous = new MeterGroup(registry);
+        MeterGroup current = new MeterGroup(registry);
+        AtomicInteger shared = new AtomicInteger(2);
+        previous.gauge("am.test.gauge", Tags.of("domain", "domain-1"), "test", shared, AtomicInteger::get);
+        current.gauge("am.test.gauge", Tags.of("domain", "domain-1"), "test", shared, AtomicInteger::get);
+
+        Assert.assertEquals(2.0, registry.get("am.test.gauge").gauge().value(), 0);
+
+        previous.close();
+        Assert.assertEquals(2.0, registry.get("am.test.gauge").gauge().value(), 0);
+
+        current.close();
+        Assert.assertNull(registry.find("am.test.gauge").gauge());
+    }
+}
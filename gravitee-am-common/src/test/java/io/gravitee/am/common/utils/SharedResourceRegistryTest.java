@@ -0,0 +1,72 @@
+/**
+ * Copyright (C) 2015 The Gravitee team (http://gravitee.io)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.gravitee.am.common.utils;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * @author GraviteeSource Team
+ */
+public class SharedResourceRegistryTest {
+
+    private final List<String> closed = new ArrayList<>();
+
+    private final SharedResourceRegistry<String, String> registry = new SharedResourceRegistry<>(closed::add);
+
+    @Test
+    public void shouldShareResource_sameKey() {
+        AtomicInteger created = new AtomicInteger();
+
+        SharedResourceRegistry.Reference<String, String> first = registry.acquire("mongodb://host-1", key -> key + "#" + created.incrementAndGet());
+        SharedResourceRegistry.Reference<String, String> second = registry.acquire("mongodb://host-1", key -> key + "#" + created.incrementAndGet());
+        SharedResourceRegistry.Reference<String, String> other = registry.acquire("mongodb://host-2", key -> key + "#" + created.incrementAndGet());
+
+        Assert.assertSame(first.get(), second.get());
+        Assert.assertNotEquals(first.get(), other.get());
+        Assert.assertEquals(2, created.get());
+        Assert.assertEquals(2, registry.size());
+    }
+
+    @Test
+    public void shouldCloseResource_lastReferenceReleased() {
+        SharedResourceRegistry.Reference<String, String> first = registry.acquire("mongodb://host-1", key -> key);
+        SharedResourceRegistry.Reference<String, String> second = registry.acquire("mongodb://host-1", key -> key);
+
+        first.release();
+        // releasing twice the same reference must not release the other one
+        first.release();
+        Assert.assertTrue(closed.isEmpty());
+
+        second.release();
+        Assert.assertEquals(1, closed.size());
+        Assert.assertEquals(0, registry.size());
+    }
+
+    @Test
+    public void shouldCreateResource_afterClose() {
+        registry.acquire("mongodb://host-1", key -> "first").release();
+
+        SharedResourceRegistry.Reference<String, String> reference = registry.acquire("mongodb://host-1", key -> "second");
+
+        Assert.assertEquals("second", reference.get());
+        Assert.assertEquals(1, closed.size());
+    }
+}
@@ -0,0 +1,42 @@
+/**
+ * Copyright (C) 2015 The Gravitee team (http://gravitee.io)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.gravitee.am.gateway.certificate;
+
+import io.reactivex.Single;
+
+import java.util.concurrent.Callable;
+
+/**
+ * Runs CPU-bound cryptographic operations (JWT signature and verification) on a bounded pool of dedicated
+ * worker threads so that they never hold the Vert.x event loop.
+ *
+ * @author GraviteeSource Team
+ */
+public interface CryptoExecutor {
+
+    /**
+     * Execute the given task on the crypto worker pool.
+     *
+     * The result is emitted back on the Vert.x context of the caller (if any).
+     * If the pool queue is saturated, the returned {@link Single} fails immediately with a
+     * {@link io.gravitee.am.common.exception.oauth2.TemporarilyUnavailableException}.
+     *
+     * @param task the cryptographic operation.
+     * @param <T> type of the result.
+     * @return the result of the task.
+     */
+    <T> Single<T> execute(Callable<T> task);
+}
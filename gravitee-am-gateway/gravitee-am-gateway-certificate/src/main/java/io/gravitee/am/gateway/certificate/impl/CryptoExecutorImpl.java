@@ -0,0 +1,160 @@
+/**
+ * Copyright (C) 2015 The Gravitee team (http://gravitee.io)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.gravitee.am.gateway.certificate.impl;
+
+import io.gravitee.am.common.exception.oauth2.TemporarilyUnavailableException;
+import io.gravitee.am.common.metrics.MeterGroup;
+import io.gravitee.am.gateway.certificate.CryptoExecutor;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.Timer;
+import io.reactivex.Single;
+import io.reactivex.SingleEmitter;
+import io.vertx.core.Context;
+import io.vertx.core.Vertx;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.beans.factory.annotation.Value;
+
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * @author GraviteeSource Team
+ */
+public class CryptoExecutorImpl implements CryptoExecutor, InitializingBean, DisposableBean {
+
+    private static final Logger logger = LoggerFactory.getLogger(CryptoExecutorImpl.class);
+
+    @Value("${crypto.executor.enabled:true}")
+    private boolean enabled = true;
+
+    @Value("${crypto.executor.threads:0}")
+    private int threads;
+
+    @Value("${crypto.executor.queueSize:1024}")
+    private int queueSize = 1024;
+
+    private final MeterGroup meters;
+
+    private ThreadPoolExecutor executor;
+
+    private Timer waitTimer;
+
+    private Timer executionTimer;
+
+    private Counter rejectedCounter;
+
+    public CryptoExecutorImpl() {
+        this.meters = new MeterGroup();
+    }
+
+    public CryptoExecutorImpl(MeterRegistry registry) {
+        this.meters = new MeterGroup(registry);
+    }
+
+    public CryptoExecutorImpl(MeterRegistry registry, int threads, int queueSize) {
+        this(registry);
+        this.threads = threads;
+        this.queueSize = queueSize;
+    }
+
+    @Override
+    public <T> Single<T> execute(Callable<T> task) {
+        if (executor == null) {
+            // crypto executor disabled, run the task on the caller thread
+            return Single.fromCallable(task);
+        }
+
+        return Single.create(emitter -> {
+            final Context context = Vertx.currentContext();
+            final long submittedAt = System.nanoTime();
+            try {
+                Future<?> future = executor.submit(() -> {
+                    final long startedAt = System.nanoTime();
+                    waitTimer.record(startedAt - submittedAt, TimeUnit.NANOSECONDS);
+                    if (emitter.isDisposed()) {
+                        return;
+                    }
+                    try {
+                        T result = task.call();
+                        executionTimer.record(System.nanoTime() - startedAt, TimeUnit.NANOSECONDS);
+                        emit(context, () -> emitter.onSuccess(result));
+                    } catch (Throwable throwable) {
+                        executionTimer.record(System.nanoTime() - startedAt, TimeUnit.NANOSECONDS);
+                        emit(context, () -> emitter.tryOnError(throwable));
+                    }
+                });
+                emitter.setCancellable(() -> future.cancel(false));
+            } catch (RejectedExecutionException ex) {
+                rejectedCounter.increment();
+                logger.debug("Crypto executor queue is full, rejecting the task");
+                emitter.onError(new TemporarilyUnavailableException("The server is currently unable to handle the request due to a temporary overloading"));
+            }
+        });
+    }
+
+    @Override
+    public void afterPropertiesSet() {
+        if (!enabled) {
+            logger.info("Crypto executor is disabled, cryptographic operations are run on the caller thread");
+            return;
+        }
+
+        final int poolSize = threads > 0 ? threads : Runtime.getRuntime().availableProcessors();
+        final AtomicInteger counter = new AtomicInteger();
+        executor = new ThreadPoolExecutor(poolSize, poolSize, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueSize),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "gio.am-crypto-" + counter.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                new ThreadPoolExecutor.AbortPolicy());
+
+        meters.gauge("am.crypto.executor.queue.size", Tags.empty(),
+                "Number of cryptographic operations waiting for a worker", executor, e -> e.getQueue().size());
+        meters.gauge("am.crypto.executor.active", Tags.empty(),
+                "Number of workers running a cryptographic operation", executor, ThreadPoolExecutor::getActiveCount);
+        waitTimer = meters.timer(Timer.builder("am.crypto.executor.wait")
+                .description("Time spent by cryptographic operations in the queue"));
+        executionTimer = meters.timer(Timer.builder("am.crypto.executor.execution")
+                .description("Time spent running cryptographic operations"));
+        rejectedCounter = meters.counter(Counter.builder("am.crypto.executor.rejected")
+                .description("Number of cryptographic operations rejected because the queue was full"));
+
+        logger.info("Crypto executor started with {} worker(s) and a queue of {} task(s)", poolSize, queueSize);
+    }
+
+    @Override
+    public void destroy() {
+        if (executor != null) {
+            executor.shutdown();
+        }
+        meters.close();
+    }
+
+    private static void emit(Context context, Runnable runnable) {
+        if (context != null) {
+            context.runOnContext(v -> runnable.run());
+        } else {
+            runnable.run();
+        }
+    }
+}
@@ -16,8 +16,10 @@
 package io.gravitee.am.gateway.certificate.spring;
 
 import io.gravitee.am.gateway.certificate.CertificateProviderManager;
+import io.gravitee.am.gateway.certificate.CryptoExecutor;
 import io.gravitee.am.gateway.certificate.DefaultCertificateManager;
 import io.gravitee.am.gateway.certificate.impl.CertificateProviderManagerImpl;
+import io.gravitee.am.gateway.certificate.impl.CryptoExecutorImpl;
 import io.gravitee.am.gateway.core.manager.EntityManager;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
@@ -38,4 +40,9 @@ public class CertificateConfiguration {
     public EntityManager certificateManager() {
         return new DefaultCertificateManager();
     }
+
+    @Bean
+    public CryptoExecutor cryptoExecutor() {
+        return new CryptoExecutorImpl();
+    }
 }
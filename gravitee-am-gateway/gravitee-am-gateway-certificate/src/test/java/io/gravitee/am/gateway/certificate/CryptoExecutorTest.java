@@ -0,0 +1,104 @@
+/**
+ * Copyright (C) 2015 The Gravitee team (http://gravitee.io)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.gravitee.am.gateway.certificate;
+
+import io.gravitee.am.common.exception.oauth2.TemporarilyUnavailableException;
+import io.gravitee.am.gateway.certificate.impl.CryptoExecutorImpl;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.reactivex.observers.TestObserver;
+import org.junit.After;
+import org.junit.Test;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.assertEquals;
+
+/**
+ * @author GraviteeSource Team
+ */
+public class CryptoExecutorTest {
+
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+
+    private CryptoExecutorImpl cryptoExecutor;
+
+    @After
+    public void tearDown() {
+        if (cryptoExecutor != null) {
+            cryptoExecutor.destroy();
+        }
+    }
+
+    @Test
+    public void shouldExecute_onWorkerThread() throws Exception {
+        cryptoExecutor = new CryptoExecutorImpl(registry, 1, 1);
+        cryptoExecutor.afterPropertiesSet();
+
+        TestObserver<String> observer = cryptoExecutor.execute(() -> Thread.currentThread().getName()).test();
+
+        observer.await(5, TimeUnit.SECONDS);
+        observer.assertComplete();
+        observer.assertValue(name -> name.startsWith("gio.am-crypto-"));
+        assertEquals(1, registry.get("am.crypto.executor.execution").timer().count());
+    }
+
+    @Test
+    public void shouldPropagateError() throws Exception {
+        cryptoExecutor = new CryptoExecutorImpl(registry, 1, 1);
+        cryptoExecutor.afterPropertiesSet();
+
+        TestObserver<String> observer = cryptoExecutor.<String>execute(() -> {
+            throw new IllegalStateException("invalid signature");
+        }).test();
+
+        observer.await(5, TimeUnit.SECONDS);
+        observer.assertError(IllegalStateException.class);
+    }
+
+    @Test
+    public void shouldReject_queueIsFull() throws Exception {
+        cryptoExecutor = new CryptoExecutorImpl(registry, 1, 1);
+        cryptoExecutor.afterPropertiesSet();
+
+        CountDownLatch latch = new CountDownLatch(1);
+        // occupy the single worker, then the single queue slot
+        TestObserver<Boolean> running = cryptoExecutor.execute(() -> latch.await(5, TimeUnit.SECONDS)).test();
+        TestObserver<Boolean> queued = cryptoExecutor.execute(() -> true).test();
+        TestObserver<Boolean> rejected = cryptoExecutor.execute(() -> true).test();
+
+        rejected.assertError(TemporarilyUnavailableException.class);
+        assertEquals(1.0, registry.get("am.crypto.executor.rejected").counter().count(), 0);
+
+        latch.countDown();
+        running.await(5, TimeUnit.SECONDS);
+        queued.await(5, TimeUnit.SECONDS);
+        running.assertValue(true);
+        queued.assertValue(true);
+    }
+
+    @Test
+    public void shouldExecute_onCallerThread_disabled() {
+        // executor not started
+        cryptoExecutor = new CryptoExecutorImpl(registry);
+        final String caller = Thread.currentThread().getName();
+
+        TestObserver<String> observer = cryptoExecutor.execute(() -> Thread.currentThread().getName()).test();
+
+        observer.assertComplete();
+        observer.assertValue(caller);
+    }
+}
@@ -155,7 +155,7 @@ public class IdentityProviderManagerImpl extends AbstractService implements Iden
             clearProvider(identityProvider.getId());
             // create and start the new provider
             AuthenticationProvider authenticationProvider =
-                    identityProviderPluginManager.create(identityProvider.getType(), identityProvider.getConfiguration(),
+                    identityProviderPluginManager.create(identityProvider.getId(), identityProvider.getType(), identityProvider.getConfiguration(),
                             identityProvider.getMappers(), identityProvider.getRoleMapper(), certificateManager);
             if (authenticationProvider != null) {
                 // start the authentication provider
@@ -193,6 +193,14 @@ public class IdentityProviderManagerImpl extends AbstractService implements Iden
             }
         }
         identities.remove(identityProviderId);
-        userProviders.remove(identityProviderId);
+        UserProvider userProvider = userProviders.remove(identityProviderId);
+        if (userProvider != null) {
+            // stop the user provider
+            try {
+                userProvider.stop();
+            } catch (Exception e) {
+                logger.error("An error occurs while stopping the user provider : {}", identityProviderId, e);
+            }
+        }
     }
 }
@@ -16,6 +16,7 @@
 package io.gravitee.am.gateway.handler.common.auth.user.impl;
 
 import io.gravitee.am.common.exception.authentication.*;
+import io.gravitee.am.common.exception.oauth2.TemporarilyUnavailableException;
 import io.gravitee.am.common.oauth2.Parameters;
 import io.gravitee.am.gateway.handler.common.auth.AuthenticationDetails;
 import io.gravitee.am.gateway.handler.common.auth.event.AuthenticationEvent;
@@ -23,6 +24,7 @@ import io.gravitee.am.gateway.handler.common.auth.idp.IdentityProviderManager;
 import io.gravitee.am.gateway.handler.common.auth.user.EndUserAuthentication;
 import io.gravitee.am.gateway.handler.common.auth.user.UserAuthenticationManager;
 import io.gravitee.am.gateway.handler.common.auth.user.UserAuthenticationService;
+import io.gravitee.am.gateway.handler.common.diagnostic.Diagnostics;
 import io.gravitee.am.identityprovider.api.Authentication;
 import io.gravitee.am.identityprovider.api.DefaultUser;
 import io.gravitee.am.model.Domain;
@@ -97,6 +99,7 @@ public class UserAuthenticationManagerImpl implements UserAuthenticationManager
                 .flatMapMaybe(authProvider -> authenticate0(client, authentication, authProvider, preAuthenticated))
                 .takeUntil(userAuthentication -> userAuthentication.getUser() != null || userAuthentication.getLastException() instanceof AccountLockedException)
                 .lastOrError()
+                .compose(Diagnostics.single("idp"))
                 .flatMap(userAuthentication -> {
                     io.gravitee.am.identityprovider.api.User user = userAuthentication.getUser();
                     if (user == null) {
@@ -108,6 +111,9 @@ public class UserAuthenticationManagerImpl implements UserAuthenticationManager
                                 return Single.error(new UsernameNotFoundException("Invalid or unknown user"));
                             } else if (lastException instanceof AccountStatusException) {
                                 return Single.error(lastException);
+                            } else if (lastException instanceof TemporarilyUnavailableException) {
+                                // the identity provider is overloaded, let the client retry later
+                                return Single.error(lastException);
                             } else {
                                 logger.error("An error occurs during user authentication", lastException);
                                 return Single.error(new InternalAuthenticationServiceException("Unable to validate credentials. The user account you are trying to access may be experiencing a problem.", lastException));
@@ -0,0 +1,54 @@
+/**
+ * Copyright (C) 2015 The Gravitee team (http://gravitee.io)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.gravitee.am.gateway.handler.common.client;
+
+import io.gravitee.am.gateway.core.manager.EntityManager;
+import io.gravitee.am.model.oidc.Client;
+
+import java.util.Collection;
+
+/**
+ * Registry of the clients deployed on the gateway.
+ *
+ * In addition to the lookup by ID, implementations maintain secondary indexes so that
+ * the request hot paths (token, introspection, authorization) never scan every deployed client.
+ *
+ * @author GraviteeSource Team
+ */
+public interface ClientManager extends EntityManager<Client> {
+
+    /**
+     * Retrieve a deployed client (templates excluded) using its domain and its OAuth 2.0 client_id.
+     * @param domain The ID of the security domain.
+     * @param clientId The OAuth 2.0 client_id.
+     * @return The deployed client or <code>null</code> if none.
+     */
+    Client getByDomainAndClientId(String domain, String clientId);
+
+    /**
+     * Returns the client templates deployed for a security domain.
+     * @param domain The ID of the security domain.
+     * @return A collection of client templates, never <code>null</code>.
+     */
+    Collection<Client> templates(String domain);
+
+    /**
+     * Returns the deployed clients using the given certificate.
+     * @param certificateId The ID of the certificate.
+     * @return A collection of clients, never <code>null</code>.
+     */
+    Collection<Client> getByCertificate(String certificateId);
+}
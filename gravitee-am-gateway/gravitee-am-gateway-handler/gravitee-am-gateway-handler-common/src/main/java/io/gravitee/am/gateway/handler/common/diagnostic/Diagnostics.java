@@ -0,0 +1,149 @@
+/**
+ * Copyright (C) 2015 The Gravitee team (http://gravitee.io)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.gravitee.am.gateway.handler.common.diagnostic;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.reactivex.Single;
+import io.reactivex.SingleTransformer;
+import io.reactivex.functions.Function;
+import io.reactivex.plugins.RxJavaPlugins;
+import io.vertx.core.Context;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Diagnostic mode of the gateway (see <code>http.diagnostic</code> settings).
+ *
+ * When enabled:
+ * <ul>
+ *     <li>the requests processed by the security domain routers and the RxJava tasks run on an event loop are watched
+ *     by an {@link EventLoopWatchdog}, which logs the stack trace of the threads they block</li>
+ *     <li>the steps of the hot paths (request parsing, client authentication, user authentication, token signature,
+ *     token persistence) are timed by the <code>am.gateway.spans</code> meter, tagged by span</li>
+ * </ul>
+ *
+ * When disabled, watches and spans are no-ops.
+ *
+ * @author GraviteeSource Team
+ */
+public final class Diagnostics {
+
+    private static final Span NOOP_SPAN = new Span(null);
+
+    private static volatile EventLoopWatchdog watchdog;
+    private static volatile MeterRegistry registry;
+    private static final ConcurrentMap<String, Timer> spans = new ConcurrentHashMap<>();
+    private static Function<? super Runnable, ? extends Runnable> previousScheduleHandler;
+
+    private Diagnostics() {
+    }
+
+    public static synchronized void enable(MeterRegistry meterRegistry, long blockedThreshold) {
+        if (watchdog != null) {
+            return;
+        }
+        registry = meterRegistry;
+        watchdog = new EventLoopWatchdog(meterRegistry, blockedThreshold, TimeUnit.MILLISECONDS);
+        watchdog.start();
+
+        previousScheduleHandler = RxJavaPlugins.getScheduleHandler();
+        RxJavaPlugins.setScheduleHandler(task -> watchEventLoopTask(previousScheduleHandler != null ? previousScheduleHandler.apply(task) : task));
+    }
+
+    public static synchronized void disable() {
+        if (watchdog == null) {
+            return;
+        }
+        RxJavaPlugins.setScheduleHandler(previousScheduleHandler);
+        previousScheduleHandler = null;
+        watchdog.stop();
+        watchdog = null;
+        spans.values().forEach(registry::remove);
+        spans.clear();
+        registry = null;
+    }
+
+    public static boolean isEnabled() {
+        return watchdog != null;
+    }
+
+    /**
+     * Watch the task run by the current thread, the returned watch must be closed once the task is done.
+     */
+    public static EventLoopWatchdog.Watch watch(String source, String label) {
+        EventLoopWatchdog current = watchdog;
+        return current == null ? EventLoopWatchdog.Watch.NOOP : current.watch(source, label);
+    }
+
+    /**
+     * Start a span, which must be ended once the step is done, whether it succeeded or not.
+     */
+    public static Span span(String name) {
+        MeterRegistry current = registry;
+        if (current == null) {
+            return NOOP_SPAN;
+        }
+        return new Span(spans.computeIfAbsent(name, key -> Timer.builder("am.gateway.spans")
+                .tag("span", key)
+                .register(current)));
+    }
+
+    /**
+     * Time the subscriptions of a {@link Single} with a span.
+     */
+    public static <T> SingleTransformer<T, T> single(String name) {
+        return upstream -> Single.defer(() -> {
+            Span span = span(name);
+            return span == NOOP_SPAN ? upstream : upstream.doFinally(span::end);
+        });
+    }
+
+    private static Runnable watchEventLoopTask(Runnable task) {
+        return () -> {
+            EventLoopWatchdog current = watchdog;
+            if (current == null || !Context.isOnEventLoopThread()) {
+                task.run();
+                return;
+            }
+            EventLoopWatchdog.Watch watch = current.watch("rx", task.getClass().getName());
+            try {
+                task.run();
+            } finally {
+                watch.close();
+            }
+        };
+    }
+
+    public static final class Span {
+
+        private final Timer timer;
+        private final long start;
+
+        private Span(Timer timer) {
+            this.timer = timer;
+            this.start = timer == null ? 0 : System.nanoTime();
+        }
+
+        public void end() {
+            if (timer != null) {
+                timer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            }
+        }
+    }
+}
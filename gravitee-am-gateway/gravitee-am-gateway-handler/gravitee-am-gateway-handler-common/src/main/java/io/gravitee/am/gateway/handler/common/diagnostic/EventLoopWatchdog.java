@@ -0,0 +1,147 @@
+/**
+ * Copyright (C) 2015 The Gravitee team (http://gravitee.io)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.gravitee.am.gateway.handler.common.diagnostic;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Reports the tasks holding an event loop thread longer than a threshold.
+ *
+ * Watched tasks are registered by the thread running them, a dedicated thread checks them periodically and logs the
+ * stack trace of the threads blocked by a task, once per task. Blocking tasks are timed by the
+ * <code>am.eventloop.blocked</code> meter, tagged by source (router, rx).
+ *
+ * @author GraviteeSource Team
+ */
+public class EventLoopWatchdog {
+
+    private static final Logger logger = LoggerFactory.getLogger(EventLoopWatchdog.class);
+
+    private final ConcurrentMap<Thread, Watch> watches = new ConcurrentHashMap<>();
+    private final ConcurrentMap<String, Timer> timers = new ConcurrentHashMap<>();
+    private final MeterRegistry registry;
+    private final long threshold;
+    private ScheduledExecutorService checker;
+
+    public EventLoopWatchdog(MeterRegistry registry, long threshold, TimeUnit unit) {
+        this.registry = registry;
+        this.threshold = unit.toNanos(threshold);
+    }
+
+    public synchronized void start() {
+        if (checker == null) {
+            checker = Executors.newSingleThreadScheduledExecutor(runnable -> {
+                Thread thread = new Thread(runnable, "gio.am-eventloop-watchdog");
+                thread.setDaemon(true);
+                return thread;
+            });
+            long interval = Math.max(TimeUnit.NANOSECONDS.toMillis(threshold) / 2, 1);
+            checker.scheduleWithFixedDelay(this::check, interval, interval, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    public synchronized void stop() {
+        if (checker != null) {
+            checker.shutdownNow();
+            checker = null;
+        }
+        timers.values().forEach(registry::remove);
+        timers.clear();
+        watches.clear();
+    }
+
+    /**
+     * Watch the task run by the current thread until the returned {@link Watch} is closed.
+     *
+     * @param source the kind of task (router, rx, ...)
+     * @param label the task description, reported along with the stack trace
+     */
+    public Watch watch(String source, String label) {
+        Thread thread = Thread.currentThread();
+        Watch watch = new Watch(this, thread, source, label, watches.get(thread));
+        watches.put(thread, watch);
+        return watch;
+    }
+
+    void check() {
+        final long now = System.nanoTime();
+        watches.values().forEach(watch -> {
+            long elapsed = now - watch.start;
+            if (!watch.reported && elapsed > threshold) {
+                watch.reported = true;
+                Exception blocked = new Exception("Thread blocked");
+                blocked.setStackTrace(watch.thread.getStackTrace());
+                logger.warn("Thread {} has been blocked for {} ms by [{}] {}", watch.thread.getName(),
+                        TimeUnit.NANOSECONDS.toMillis(elapsed), watch.source, watch.label, blocked);
+            }
+        });
+    }
+
+    private Timer timer(String source) {
+        return timers.computeIfAbsent(source, key -> Timer.builder("am.eventloop.blocked")
+                .tag("source", key)
+                .register(registry));
+    }
+
+    public static final class Watch {
+
+        static final Watch NOOP = new Watch(null, null, null, null, null);
+
+        private final EventLoopWatchdog watchdog;
+        private final Thread thread;
+        private final String source;
+        private final String label;
+        private final Watch previous;
+        private final long start = System.nanoTime();
+        private volatile boolean reported;
+
+        private Watch(EventLoopWatchdog watchdog, Thread thread, String source, String label, Watch previous) {
+            this.watchdog = watchdog;
+            this.thread = thread;
+            this.source = source;
+            this.label = label;
+            this.previous = previous;
+        }
+
+        public void close() {
+            if (watchdog == null) {
+                return;
+            }
+            long elapsed = System.nanoTime() - start;
+            if (previous != null) {
+                watchdog.watches.put(thread, previous);
+            } else {
+                watchdog.watches.remove(thread);
+            }
+            if (elapsed > watchdog.threshold) {
+                watchdog.timer(source).record(elapsed, TimeUnit.NANOSECONDS);
+            }
+        }
+
+        boolean reported() {
+            return reported;
+        }
+    }
+}
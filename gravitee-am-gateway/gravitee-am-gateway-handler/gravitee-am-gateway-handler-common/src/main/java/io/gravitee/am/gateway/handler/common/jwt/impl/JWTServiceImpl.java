@@ -20,7 +20,9 @@ import com.nimbusds.jose.JWSAlgorithm;
 import io.gravitee.am.common.exception.oauth2.InvalidTokenException;
 import io.gravitee.am.common.jwt.JWT;
 import io.gravitee.am.gateway.certificate.CertificateProvider;
+import io.gravitee.am.gateway.certificate.CryptoExecutor;
 import io.gravitee.am.gateway.handler.common.certificate.CertificateManager;
+import io.gravitee.am.gateway.handler.common.diagnostic.Diagnostics;
 import io.gravitee.am.gateway.handler.common.jwt.JWTService;
 import io.gravitee.am.model.oidc.Client;
 import io.reactivex.Single;
@@ -47,6 +49,9 @@ public class JWTServiceImpl implements JWTService {
     @Autowired
     private ObjectMapper objectMapper;
 
+    @Autowired
+    private CryptoExecutor cryptoExecutor;
+
     @Override
     public Single<String> encode(JWT jwt, CertificateProvider certificateProvider) {
         Objects.requireNonNull(certificateProvider, "Certificate provider is required to sign JWT");
@@ -113,25 +118,23 @@ public class JWTServiceImpl implements JWTService {
     }
 
     private Single<String> sign(CertificateProvider certificateProvider, JWT jwt) {
-        return Single.create(emitter -> {
+        return cryptoExecutor.execute(() -> {
             try {
-                String encodedToken = certificateProvider.getJwtBuilder().sign(jwt);
-                emitter.onSuccess(encodedToken);
+                return certificateProvider.getJwtBuilder().sign(jwt);
             } catch (Exception ex) {
                 logger.error("Failed to sign JWT", ex);
-                emitter.onError(new InvalidTokenException("The JWT token couldn't be signed", ex));
+                throw new InvalidTokenException("The JWT token couldn't be signed", ex);
             }
-        });
+        }).compose(Diagnostics.single("token_sign"));
     }
 
     private Single<Map<String, Object>> decode(CertificateProvider certificateProvider, String payload) {
-        return Single.create(emitter -> {
+        return cryptoExecutor.execute(() -> {
             try {
-                Map<String, Object> decodedPayload = certificateProvider.getJwtParser().parse(payload);
-                emitter.onSuccess(decodedPayload);
+                return certificateProvider.getJwtParser().parse(payload);
             } catch (Exception ex) {
                 logger.error("Failed to decode JWT", ex);
-                emitter.onError(new InvalidTokenException("The access token is invalid", ex));
+                throw new InvalidTokenException("The access token is invalid", ex);
             }
         });
     }
@@ -0,0 +1,78 @@
+/**
+ * Copyright (C) 2015 The Gravitee team (http://gravitee.io)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.gravitee.am.gateway.handler.common.oauth2;
+
+import io.gravitee.am.common.jwt.JWT;
+
+/**
+ * Bounded cache of access tokens already verified by the {@link IntrospectionTokenService}, keyed by a hash of the token.
+ *
+ * An entry never outlives the token <code>exp</code> claim nor the configured time-to-live.
+ *
+ * The cache also keeps a bounded and aged track of the recently rejected tokens and revoked <code>jti</code>
+ * to reject replayed invalid tokens without any signature verification nor token store lookup.
+ *
+ * @author GraviteeSource Team
+ */
+public interface IntrospectionTokenCache {
+
+    /**
+     * Retrieve a verified token.
+     *
+     * @param token the raw access token.
+     * @param offlineVerification if <code>false</code>, only tokens verified against the token store are returned.
+     * @return a copy of the verified token or <code>null</code> if none.
+     */
+    JWT get(String token, boolean offlineVerification);
+
+    /**
+     * Store a verified token.
+     *
+     * @param token the raw access token.
+     * @param jwt the decoded and verified token.
+     * @param verifiedOnline <code>true</code> if the token has been checked against the token store.
+     */
+    void put(String token, JWT jwt, boolean verifiedOnline);
+
+    /**
+     * Evict the token identified by the given <code>jti</code> and remember it as revoked (token revocation).
+     */
+    void evictByJti(String jti);
+
+    /**
+     * Remember a token rejected by the introspection.
+     *
+     * @param token the raw access token.
+     */
+    void reject(String token);
+
+    /**
+     * @param token the raw access token.
+     * @return <code>true</code> if the token has been recently rejected.
+     */
+    boolean isRejected(String token);
+
+    /**
+     * @param jti the token identifier.
+     * @return <code>true</code> if the token has been recently revoked.
+     */
+    boolean isRevoked(String jti);
+
+    /**
+     * Evict all the tokens issued to the given subject (user logout or deletion).
+     */
+    void evictBySubject(String subject);
+}
@@ -0,0 +1,249 @@
+/**
+ * Copyright (C) 2015 The Gravitee team (http://gravitee.io)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.gravitee.am.gateway.handler.common.oauth2.impl;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.hash.Hashing;
+import io.gravitee.am.common.jwt.JWT;
+import io.gravitee.am.common.metrics.MeterGroup;
+import io.gravitee.am.gateway.handler.common.oauth2.IntrospectionTokenCache;
+import io.gravitee.am.model.Domain;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Objects;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Tokens are revoked on other gateway nodes without notice, the time-to-live bounds the time a revoked token
+ * may still be considered as active by this node.
+ *
+ * @author GraviteeSource Team
+ */
+public class IntrospectionTokenCacheImpl implements IntrospectionTokenCache, InitializingBean, DisposableBean {
+
+    @Value("${oauth2.introspection.cache.enabled:true}")
+    private boolean enabled = true;
+
+    @Value("${oauth2.introspection.cache.maxSize:10000}")
+    private long maxSize = 10000;
+
+    @Value("${oauth2.introspection.cache.ttl:30}")
+    private long timeToLive = 30;
+
+    @Value("${oauth2.introspection.negativeCache.enabled:true}")
+    private boolean negativeCacheEnabled = true;
+
+    @Value("${oauth2.introspection.negativeCache.maxSize:10000}")
+    private long negativeCacheMaxSize = 10000;
+
+    @Value("${oauth2.introspection.negativeCache.ttl:60}")
+    private long negativeCacheTimeToLive = 60;
+
+    @Autowired
+    private Domain domain;
+
+    private final MeterGroup meters;
+
+    private Cache<String, Entry> cache;
+
+    private Counter hits;
+
+    private Counter misses;
+
+    private Cache<String, Boolean> rejectedTokens;
+
+    private Cache<String, Boolean> revokedTokens;
+
+    private Counter rejections;
+
+    public IntrospectionTokenCacheImpl() {
+        this.meters = new MeterGroup();
+    }
+
+    public IntrospectionTokenCacheImpl(MeterRegistry registry) {
+        this.meters = new MeterGroup(registry);
+    }
+
+    public IntrospectionTokenCacheImpl(MeterRegistry registry, Domain domain, long maxSize, long timeToLive) {
+        this(registry);
+        this.domain = domain;
+        this.maxSize = maxSize;
+        this.timeToLive = timeToLive;
+        this.negativeCacheMaxSize = maxSize;
+        this.negativeCacheTimeToLive = timeToLive;
+    }
+
+    @Override
+    public JWT get(String token, boolean offlineVerification) {
+        if (cache == null) {
+            return null;
+        }
+        final String key = hash(token);
+        final Entry entry = cache.getIfPresent(key);
+        if (entry == null || (!offlineVerification && !entry.verifiedOnline)) {
+            misses.increment();
+            return null;
+        }
+        if (entry.isExpired()) {
+            cache.invalidate(key);
+            misses.increment();
+            return null;
+        }
+        hits.increment();
+        // callers may enrich the token, never share the cached instance
+        return new JWT(entry.jwt);
+    }
+
+    @Override
+    public void put(String token, JWT jwt, boolean verifiedOnline) {
+        if (cache == null || jwt.getExp() == 0) {
+            return;
+        }
+        final Entry entry = new Entry(new JWT(jwt), verifiedOnline);
+        if (!entry.isExpired()) {
+            cache.put(hash(token), entry);
+        }
+    }
+
+    @Override
+    public void evictByJti(String jti) {
+        if (jti == null) {
+            return;
+        }
+        if (revokedTokens != null) {
+            revokedTokens.put(jti, Boolean.TRUE);
+        }
+        if (cache != null) {
+            cache.asMap().values().removeIf(entry -> jti.equals(entry.jwt.getJti()));
+        }
+    }
+
+    @Override
+    public void reject(String token) {
+        if (rejectedTokens != null && token != null) {
+            final String key = hash(token);
+            rejectedTokens.put(key, Boolean.TRUE);
+            if (cache != null) {
+                cache.invalidate(key);
+            }
+        }
+    }
+
+    @Override
+    public boolean isRejected(String token) {
+        if (rejectedTokens == null || token == null || rejectedTokens.getIfPresent(hash(token)) == null) {
+            return false;
+        }
+        rejections.increment();
+        return true;
+    }
+
+    @Override
+    public boolean isRevoked(String jti) {
+        if (revokedTokens == null || jti == null || revokedTokens.getIfPresent(jti) == null) {
+            return false;
+        }
+        rejections.increment();
+        return true;
+    }
+
+    @Override
+    public void evictBySubject(String subject) {
+        if (cache != null && subject != null) {
+            cache.asMap().values().removeIf(entry -> subject.equals(entry.jwt.getSub()));
+        }
+    }
+
+    @Override
+    public void afterPropertiesSet() {
+        if (negativeCacheEnabled) {
+            // bounded and aged so that a flood of garbage tokens keeps the memory footprint flat
+            rejectedTokens = CacheBuilder.newBuilder()
+                    .maximumSize(negativeCacheMaxSize)
+                    .expireAfterWrite(negativeCacheTimeToLive, TimeUnit.SECONDS)
+                    .build();
+            revokedTokens = CacheBuilder.newBuilder()
+                    .maximumSize(negativeCacheMaxSize)
+                    .expireAfterWrite(negativeCacheTimeToLive, TimeUnit.SECONDS)
+                    .build();
+
+            rejections = meters.counter(Counter.builder("am.introspection.rejected")
+                    .tag("domain", domain.getId())
+                    .description("Number of tokens rejected from the negative cache"));
+            meters.gauge("am.introspection.negative.cache.size", Tags.of("domain", domain.getId()),
+                    "Number of rejected tokens and revoked jti in the negative cache",
+                    this, c -> c.rejectedTokens.size() + c.revokedTokens.size());
+        }
+
+        if (!enabled) {
+            return;
+        }
+
+        cache = CacheBuilder.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(timeToLive, TimeUnit.SECONDS)
+                .build();
+
+        hits = meters.counter(Counter.builder("am.introspection.cache")
+                .tag("domain", domain.getId())
+                .tag("result", "hit")
+                .description("Number of tokens introspected from the cache"));
+        misses = meters.counter(Counter.builder("am.introspection.cache")
+                .tag("domain", domain.getId())
+                .tag("result", "miss")
+                .description("Number of tokens not found in the cache"));
+        meters.gauge("am.introspection.cache.size", Tags.of("domain", domain.getId()),
+                "Number of verified tokens in the cache", cache, Cache::size);
+    }
+
+    @Override
+    public void destroy() {
+        meters.close();
+        if (cache != null) {
+            cache.invalidateAll();
+        }
+        if (rejectedTokens != null) {
+            rejectedTokens.invalidateAll();
+            revokedTokens.invalidateAll();
+        }
+    }
+
+    private static String hash(String token) {
+        return Hashing.sha256().hashString(Objects.requireNonNull(token), StandardCharsets.UTF_8).toString();
+    }
+
+    private static class Entry {
+        private final JWT jwt;
+        private final boolean verifiedOnline;
+
+        private Entry(JWT jwt, boolean verifiedOnline) {
+            this.jwt = jwt;
+            this.verifiedOnline = verifiedOnline;
+        }
+
+        private boolean isExpired() {
+            return jwt.getExp() * 1000 <= System.currentTimeMillis();
+        }
+    }
+}
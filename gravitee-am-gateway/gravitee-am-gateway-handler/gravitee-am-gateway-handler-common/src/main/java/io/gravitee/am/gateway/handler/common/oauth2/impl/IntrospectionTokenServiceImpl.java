@@ -16,10 +16,12 @@
 package io.gravitee.am.gateway.handler.common.oauth2.impl;
 
 import io.gravitee.am.common.exception.jwt.JWTException;
+import io.gravitee.am.common.exception.jwt.PrematureJWTException;
 import io.gravitee.am.common.exception.oauth2.InvalidTokenException;
 import io.gravitee.am.common.jwt.JWT;
 import io.gravitee.am.gateway.handler.common.client.ClientSyncService;
 import io.gravitee.am.gateway.handler.common.jwt.JWTService;
+import io.gravitee.am.gateway.handler.common.oauth2.IntrospectionTokenCache;
 import io.gravitee.am.gateway.handler.common.oauth2.IntrospectionTokenService;
 import io.gravitee.am.repository.oauth2.api.AccessTokenRepository;
 import io.reactivex.Maybe;
@@ -51,16 +53,37 @@ public class IntrospectionTokenServiceImpl implements IntrospectionTokenService
     @Autowired
     private AccessTokenRepository accessTokenRepository;
 
+    @Autowired
+    private IntrospectionTokenCache introspectionTokenCache;
+
     @Override
     public Single<JWT> introspect(String token, boolean offlineVerification) {
+        final JWT cachedToken = introspectionTokenCache.get(token, offlineVerification);
+        if (cachedToken != null) {
+            return Single.just(cachedToken);
+        }
+
+        // replayed invalid tokens are rejected without any signature verification nor token store lookup
+        if (introspectionTokenCache.isRejected(token)) {
+            return Single.error(new InvalidTokenException("The token is invalid"));
+        }
+
         return jwtService.decode(token)
-                .flatMapMaybe(jwt -> clientService.findByDomainAndClientId(jwt.getDomain(), jwt.getAud()))
+                // the token is malformed, it will never be valid
+                .doOnError(ex -> introspectionTokenCache.reject(token))
+                .flatMapMaybe(jwt -> {
+                    if (introspectionTokenCache.isRevoked(jwt.getJti())) {
+                        return Maybe.error(new InvalidTokenException("The token is invalid", "Token with JTI [" + jwt.getJti() + "] has been revoked", jwt));
+                    }
+                    return clientService.findByDomainAndClientId(jwt.getDomain(), jwt.getAud());
+                })
                 .switchIfEmpty(Maybe.error(new InvalidTokenException("Invalid or unknown client for this token")))
                 .flatMapSingle(client -> jwtService.decodeAndVerify(token, client))
                 .flatMap(jwt -> {
                     // Just check the JWT signature and JWT validity if offline verification option is enabled
                     // or if the token has just been created (could not be in database so far because of async database storing process delay)
                     if (offlineVerification || Instant.now().isBefore(Instant.ofEpochSecond(jwt.getIat() + OFFLINE_VERIFICATION_TIMER_SECONDS))) {
+                        introspectionTokenCache.put(token, jwt, false);
                         return Single.just(jwt);
                     }
 
@@ -71,10 +94,16 @@ public class IntrospectionTokenServiceImpl implements IntrospectionTokenService
                                 if (accessToken.getExpireAt().before(new Date())) {
                                     throw new InvalidTokenException("The token expired", "Token with JTI [" + jwt.getJti() + "] is expired", jwt);
                                 }
+                                introspectionTokenCache.put(token, jwt, true);
                                 return jwt;
                             });
                 })
                 .onErrorResumeNext(ex -> {
+                    // only the tokens which will never be valid are rejected, whatever the verification mode
+                    // (unknown client, token not stored yet, ... may be transient or only apply to online verification)
+                    if (isNeverValid(ex)) {
+                        introspectionTokenCache.reject(token);
+                    }
                     if (ex instanceof JWTException) {
                         LOGGER.debug("An error occurs while decoding JWT access token : {}", token, ex);
                         return Single.error(new InvalidTokenException(ex.getMessage(), ex));
@@ -89,4 +118,17 @@ public class IntrospectionTokenServiceImpl implements IntrospectionTokenService
                     return Single.error(ex);
                 });
     }
+
+    /**
+     * @return <code>true</code> if the token signature, format or expiration is invalid.
+     */
+    private static boolean isNeverValid(Throwable ex) {
+        for (Throwable cause = ex; cause != null; cause = cause.getCause()) {
+            if (cause instanceof JWTException) {
+                // a token used before its nbf claim becomes valid later on
+                return !(cause instanceof PrematureJWTException);
+            }
+        }
+        return false;
+    }
 }
@@ -34,7 +34,9 @@ import io.gravitee.am.gateway.handler.common.email.impl.EmailManagerImpl;
 import io.gravitee.am.gateway.handler.common.email.impl.EmailServiceImpl;
 import io.gravitee.am.gateway.handler.common.jwt.JWTService;
 import io.gravitee.am.gateway.handler.common.jwt.impl.JWTServiceImpl;
+import io.gravitee.am.gateway.handler.common.oauth2.IntrospectionTokenCache;
 import io.gravitee.am.gateway.handler.common.oauth2.IntrospectionTokenService;
+import io.gravitee.am.gateway.handler.common.oauth2.impl.IntrospectionTokenCacheImpl;
 import io.gravitee.am.gateway.handler.common.oauth2.impl.IntrospectionTokenServiceImpl;
 import io.gravitee.am.gateway.handler.common.policy.PolicyManager;
 import io.gravitee.am.gateway.handler.common.policy.impl.PolicyManagerImpl;
@@ -158,6 +160,11 @@ public class CommonConfiguration {
         return new IntrospectionTokenServiceImpl();
     }
 
+    @Bean
+    public IntrospectionTokenCache introspectionTokenCache() {
+        return new IntrospectionTokenCacheImpl();
+    }
+
     @Bean
     public UserService userService() {
         return new UserServiceImpl();
@@ -15,7 +15,6 @@
  */
 package io.gravitee.am.gateway.handler.common.client;
 
-import io.gravitee.am.gateway.core.manager.EntityManager;
 import io.gravitee.am.gateway.handler.common.client.impl.ClientSyncServiceImpl;
 import io.gravitee.am.model.oidc.Client;
 import io.gravitee.am.model.Domain;
@@ -31,7 +30,9 @@ import org.mockito.junit.MockitoJUnitRunner;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Set;
+import java.util.stream.Collectors;
 
+import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.Mockito.*;
 
 /**
@@ -51,7 +52,7 @@ public class ClientSyncServiceTest {
     private Domain domain;
 
     @Mock
-    private EntityManager<Client> clientManager;
+    private ClientManager clientManager;
 
     @BeforeClass
     public static void initializeClients() {
@@ -102,7 +103,15 @@ public class ClientSyncServiceTest {
     @Before
     public void setUp() {
         when(domain.getId()).thenReturn("domainA");
-        when(clientManager.entities()).thenReturn(clientSet);
+        when(clientManager.getByDomainAndClientId(anyString(), anyString())).thenAnswer(invocation -> clientSet.stream()
+                .filter(client -> !client.isTemplate()
+                        && client.getDomain().equals(invocation.getArgument(0))
+                        && client.getClientId().equals(invocation.getArgument(1)))
+                .findFirst()
+                .orElse(null));
+        when(clientManager.templates(anyString())).thenAnswer(invocation -> clientSet.stream()
+                .filter(client -> client.isTemplate() && client.getDomain().equals(invocation.getArgument(0)))
+                .collect(Collectors.toList()));
     }
 
     @Test
@@ -0,0 +1,66 @@
+/**
+ * Copyright (C) 2015 The Gravitee team (http://gravitee.io)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.gravitee.am.gateway.handler.common.diagnostic;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.reactivex.Single;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * @author GraviteeSource Team
+ */
+public class DiagnosticsTest {
+
+    private final MeterRegistry registry = new SimpleMeterRegistry();
+
+    @After
+    public void tearDown() {
+        Diagnostics.disable();
+    }
+
+    @Test
+    public void shouldNotTimeSpans_disabled() {
+        Diagnostics.span("parse").end();
+        Single.just("token").compose(Diagnostics.single("token_sign")).test().assertValue("token");
+
+        Assert.assertFalse(Diagnostics.isEnabled());
+        Assert.assertTrue(registry.getMeters().isEmpty());
+    }
+
+    @Test
+    public void shouldTimeSpans_enabled() {
+        Diagnostics.enable(registry, 200);
+
+        Diagnostics.span("parse").end();
+        Single.just("token").compose(Diagnostics.single("token_sign")).test().assertValue("token");
+        Single.error(new IllegalStateException()).compose(Diagnostics.single("token_sign")).test().assertError(IllegalStateException.class);
+
+        Assert.assertEquals(1, registry.get("am.gateway.spans").tag("span", "parse").timer().count());
+        Assert.assertEquals(2, registry.get("am.gateway.spans").tag("span", "token_sign").timer().count());
+    }
+
+    @Test
+    public void shouldRemoveMeters_disabled() {
+        Diagnostics.enable(registry, 200);
+        Diagnostics.span("parse").end();
+
+        Diagnostics.disable();
+        Assert.assertNull(registry.find("am.gateway.spans").timer());
+    }
+}
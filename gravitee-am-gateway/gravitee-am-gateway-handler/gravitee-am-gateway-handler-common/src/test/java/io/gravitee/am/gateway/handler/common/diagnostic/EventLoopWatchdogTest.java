@@ -0,0 +1,75 @@
+/**
+ * Copyright (C) 2015 The Gravitee team (http://gravitee.io)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.gravitee.am.gateway.handler.common.diagnostic;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * @author GraviteeSource Team
+ */
+public class EventLoopWatchdogTest {
+
+    private MeterRegistry registry;
+
+    private EventLoopWatchdog watchdog;
+
+    @Before
+    public void setUp() {
+        registry = new SimpleMeterRegistry();
+        watchdog = new EventLoopWatchdog(registry, 50, TimeUnit.MILLISECONDS);
+    }
+
+    @Test
+    public void shouldReportBlockingTask() throws Exception {
+        EventLoopWatchdog.Watch watch = watchdog.watch("router", "domain-1 GET /oauth/token");
+        Thread.sleep(100);
+        watchdog.check();
+        watch.close();
+
+        Assert.assertTrue(watch.reported());
+        Assert.assertEquals(1, registry.get("am.eventloop.blocked").tag("source", "router").timer().count());
+    }
+
+    @Test
+    public void shouldNotReportFastTask() {
+        EventLoopWatchdog.Watch watch = watchdog.watch("router", "domain-1 GET /oauth/token");
+        watchdog.check();
+        watch.close();
+
+        Assert.assertFalse(watch.reported());
+        Assert.assertNull(registry.find("am.eventloop.blocked").timer());
+    }
+
+    @Test
+    public void shouldReportNestedTask() throws Exception {
+        EventLoopWatchdog.Watch outer = watchdog.watch("router", "domain-1 GET /oauth/token");
+        EventLoopWatchdog.Watch inner = watchdog.watch("rx", "task");
+        Thread.sleep(100);
+        watchdog.check();
+        inner.close();
+        outer.close();
+
+        // only the innermost task is reported
+        Assert.assertTrue(inner.reported());
+        Assert.assertFalse(outer.reported());
+    }
+}
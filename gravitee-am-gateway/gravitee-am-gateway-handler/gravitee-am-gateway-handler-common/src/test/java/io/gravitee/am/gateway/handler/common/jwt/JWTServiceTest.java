@@ -16,10 +16,13 @@
 package io.gravitee.am.gateway.handler.common.jwt;
 
 import io.gravitee.am.common.jwt.JWT;
+import io.gravitee.am.gateway.certificate.CryptoExecutor;
+import io.gravitee.am.gateway.certificate.impl.CryptoExecutorImpl;
 import io.gravitee.am.jwt.JWTBuilder;
 import io.gravitee.am.gateway.handler.common.certificate.CertificateManager;
 import io.gravitee.am.gateway.handler.common.jwt.impl.JWTServiceImpl;
 import io.gravitee.am.model.oidc.Client;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import io.reactivex.Maybe;
 import io.reactivex.observers.TestObserver;
 import org.junit.Before;
@@ -27,6 +30,7 @@ import org.junit.Test;
 import org.junit.runner.RunWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.MockitoJUnitRunner;
 
 import static org.mockito.ArgumentMatchers.any;
@@ -45,6 +49,9 @@ public class JWTServiceTest {
     @Mock
     private CertificateManager certificateManager;
 
+    @Spy
+    private CryptoExecutor cryptoExecutor = new CryptoExecutorImpl(new SimpleMeterRegistry());
+
     @Before
     public void setUp() {
         JWTBuilder rs256JWTBuilder = mock(JWTBuilder.class);
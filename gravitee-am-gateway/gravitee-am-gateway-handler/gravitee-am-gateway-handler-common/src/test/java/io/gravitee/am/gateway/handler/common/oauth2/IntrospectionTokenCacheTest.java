@@ -0,0 +1,149 @@
+/**
+ * Copyright (C) 2015 The Gravitee team (http://gravitee.io)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.gravitee.am.gateway.handler.common.oauth2;
+
+import io.gravitee.am.common.jwt.JWT;
+import io.gravitee.am.gateway.handler.common.oauth2.impl.IntrospectionTokenCacheImpl;
+import io.gravitee.am.model.Domain;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+
+import static org.junit.Assert.*;
+
+/**
+ * @author GraviteeSource Team
+ */
+public class IntrospectionTokenCacheTest {
+
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+
+    private IntrospectionTokenCacheImpl introspectionTokenCache;
+
+    @Before
+    public void setUp() {
+        Domain domain = new Domain();
+        domain.setId("domain-id");
+        introspectionTokenCache = new IntrospectionTokenCacheImpl(registry, domain, 100, 60);
+        introspectionTokenCache.afterPropertiesSet();
+    }
+
+    @After
+    public void tearDown() {
+        introspectionTokenCache.destroy();
+    }
+
+    @Test
+    public void shouldGet_verifiedToken() {
+        introspectionTokenCache.put("token", jwt("jti", "sub", 3600), true);
+
+        JWT jwt = introspectionTokenCache.get("token", false);
+        assertNotNull(jwt);
+        assertEquals("jti", jwt.getJti());
+        assertNull(introspectionTokenCache.get("other-token", false));
+        assertEquals(1.0, registry.get("am.introspection.cache").tag("result", "hit").counter().count(), 0);
+        assertEquals(1.0, registry.get("am.introspection.cache").tag("result", "miss").counter().count(), 0);
+    }
+
+    @Test
+    public void shouldNotShare_cachedInstance() {
+        introspectionTokenCache.put("token", jwt("jti", "sub", 3600), true);
+
+        introspectionTokenCache.get("token", false).put("custom", "value");
+        assertNull(introspectionTokenCache.get("token", false).get("custom"));
+    }
+
+    @Test
+    public void shouldNotGet_offlineVerifiedToken_onlineVerification() {
+        introspectionTokenCache.put("token", jwt("jti", "sub", 3600), false);
+
+        assertNull(introspectionTokenCache.get("token", false));
+        assertNotNull(introspectionTokenCache.get("token", true));
+    }
+
+    @Test
+    public void shouldNotGet_expiredToken() {
+        introspectionTokenCache.put("token", jwt("jti", "sub", -1), true);
+
+        assertNull(introspectionTokenCache.get("token", true));
+    }
+
+    @Test
+    public void shouldEvict_byJti() {
+        introspectionTokenCache.put("token", jwt("jti", "sub", 3600), true);
+        introspectionTokenCache.put("token2", jwt("jti2", "sub", 3600), true);
+
+        introspectionTokenCache.evictByJti("jti");
+
+        assertNull(introspectionTokenCache.get("token", true));
+        assertNotNull(introspectionTokenCache.get("token2", true));
+    }
+
+    @Test
+    public void shouldEvict_bySubject() {
+        introspectionTokenCache.put("token", jwt("jti", "sub", 3600), true);
+        introspectionTokenCache.put("token2", jwt("jti2", "sub", 3600), true);
+        introspectionTokenCache.put("token3", jwt("jti3", "sub2", 3600), true);
+
+        introspectionTokenCache.evictBySubject("sub");
+
+        assertNull(introspectionTokenCache.get("token", true));
+        assertNull(introspectionTokenCache.get("token2", true));
+        assertNotNull(introspectionTokenCache.get("token3", true));
+    }
+
+    @Test
+    public void shouldReject_rejectedToken() {
+        introspectionTokenCache.put("token", jwt("jti", "sub", 3600), true);
+
+        introspectionTokenCache.reject("token");
+
+        assertTrue(introspectionTokenCache.isRejected("token"));
+        assertFalse(introspectionTokenCache.isRejected("token2"));
+        assertNull(introspectionTokenCache.get("token", true));
+        assertEquals(1.0, registry.get("am.introspection.rejected").counter().count(), 0);
+    }
+
+    @Test
+    public void shouldRemember_revokedJti() {
+        introspectionTokenCache.evictByJti("jti");
+
+        assertTrue(introspectionTokenCache.isRevoked("jti"));
+        assertFalse(introspectionTokenCache.isRevoked("jti2"));
+    }
+
+    @Test
+    public void shouldRemoveMeters_onDestroy() {
+        introspectionTokenCache.destroy();
+
+        assertTrue(registry.find("am.introspection.cache").meters().isEmpty());
+        assertTrue(registry.find("am.introspection.cache.size").meters().isEmpty());
+        assertTrue(registry.find("am.introspection.rejected").meters().isEmpty());
+        assertTrue(registry.find("am.introspection.negative.cache.size").meters().isEmpty());
+    }
+
+    private static JWT jwt(String jti, String sub, long expiresIn) {
+        JWT jwt = new JWT();
+        jwt.setJti(jti);
+        jwt.setSub(sub);
+        jwt.setExp(Instant.now().plus(expiresIn, ChronoUnit.SECONDS).getEpochSecond());
+        return jwt;
+    }
+}
@@ -17,26 +17,35 @@ package io.gravitee.am.gateway.handler.common.oauth2;
 
 import io.gravitee.am.common.jwt.JWT;
 import io.gravitee.am.common.exception.jwt.JWTException;
+import io.gravitee.am.common.exception.jwt.SignatureException;
 import io.gravitee.am.common.exception.oauth2.InvalidTokenException;
 import io.gravitee.am.gateway.handler.common.client.ClientSyncService;
 import io.gravitee.am.gateway.handler.common.jwt.JWTService;
+import io.gravitee.am.gateway.handler.common.oauth2.impl.IntrospectionTokenCacheImpl;
 import io.gravitee.am.gateway.handler.common.oauth2.impl.IntrospectionTokenServiceImpl;
+import io.gravitee.am.model.Domain;
 import io.gravitee.am.model.oidc.Client;
 import io.gravitee.am.repository.oauth2.api.AccessTokenRepository;
 import io.gravitee.am.repository.oauth2.model.AccessToken;
 import io.reactivex.Maybe;
 import io.reactivex.Single;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import io.reactivex.observers.TestObserver;
+import org.junit.Before;
 import org.junit.Test;
 import org.junit.runner.RunWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.MockitoJUnitRunner;
 
 import java.time.Instant;
 import java.time.temporal.ChronoUnit;
 import java.util.Date;
 
+import static org.junit.Assert.assertFalse;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 
 /**
@@ -58,6 +67,14 @@ public class IntrospectionTokenServiceTest {
     @Mock
     private AccessTokenRepository accessTokenRepository;
 
+    @Spy
+    private IntrospectionTokenCacheImpl introspectionTokenCache = new IntrospectionTokenCacheImpl(new SimpleMeterRegistry(), domain(), 100, 60);
+
+    @Before
+    public void setUp() {
+        introspectionTokenCache.afterPropertiesSet();
+    }
+
     @Test
     public void shouldIntrospect_validToken_offline_verification() {
         final String token = "token";
@@ -191,4 +208,153 @@ public class IntrospectionTokenServiceTest {
         testObserver.assertError(InvalidTokenException.class);
         verify(accessTokenRepository, times(1)).findByToken(jwt.getJti());
     }
+
+    @Test
+    public void shouldIntrospect_validToken_online_verification_fromCache() {
+        final String token = "token";
+
+        final JWT jwt = new JWT();
+        jwt.setJti("jti");
+        jwt.setDomain("domain");
+        jwt.setAud("client");
+        jwt.setIat(Instant.now().minus(1, ChronoUnit.DAYS).getEpochSecond());
+        jwt.setExp(Instant.now().plus(1, ChronoUnit.HOURS).getEpochSecond());
+
+        final Client client = new Client();
+        client.setClientId("client-id");
+
+        final AccessToken accessToken = new AccessToken();
+        accessToken.setExpireAt(new Date(Instant.now().plus(1, ChronoUnit.HOURS).toEpochMilli()));
+
+        when(jwtService.decode(token)).thenReturn(Single.just(jwt));
+        when(clientService.findByDomainAndClientId(jwt.getDomain(), jwt.getAud())).thenReturn(Maybe.just(client));
+        when(jwtService.decodeAndVerify(token, client)).thenReturn(Single.just(jwt));
+        when(accessTokenRepository.findByToken(jwt.getJti())).thenReturn(Maybe.just(accessToken));
+
+        introspectionTokenService.introspect(token, false).test().assertComplete();
+        TestObserver<JWT> testObserver = introspectionTokenService.introspect(token, false).test();
+        testObserver.assertComplete();
+        testObserver.assertValue(introspected -> "jti".equals(introspected.getJti()));
+        // second call is served from the cache
+        verify(jwtService, times(1)).decode(token);
+        verify(accessTokenRepository, times(1)).findByToken(jwt.getJti());
+    }
+
+    @Test
+    public void shouldIntrospect_validToken_online_verification_offlineVerifiedTokenInCache() {
+        final String token = "token";
+
+        final JWT jwt = new JWT();
+        jwt.setJti("jti");
+        jwt.setDomain("domain");
+        jwt.setAud("client");
+        jwt.setIat(Instant.now().minus(1, ChronoUnit.DAYS).getEpochSecond());
+        jwt.setExp(Instant.now().plus(1, ChronoUnit.HOURS).getEpochSecond());
+
+        final Client client = new Client();
+        client.setClientId("client-id");
+
+        when(jwtService.decode(token)).thenReturn(Single.just(jwt));
+        when(clientService.findByDomainAndClientId(jwt.getDomain(), jwt.getAud())).thenReturn(Maybe.just(client));
+        when(jwtService.decodeAndVerify(token, client)).thenReturn(Single.just(jwt));
+        when(accessTokenRepository.findByToken(jwt.getJti())).thenReturn(Maybe.empty());
+
+        introspectionTokenService.introspect(token, true).test().assertComplete();
+        TestObserver<JWT> testObserver = introspectionTokenService.introspect(token, false).test();
+        // the token store must still be checked
+        testObserver.assertError(InvalidTokenException.class);
+        verify(accessTokenRepository, times(1)).findByToken(jwt.getJti());
+    }
+
+    @Test
+    public void shouldIntrospect_invalidToken_rejectedFromNegativeCache() {
+        final String token = "token";
+
+        when(jwtService.decode(token)).thenReturn(Single.error(new JWTException("invalid token")));
+
+        introspectionTokenService.introspect(token, false).test().assertError(InvalidTokenException.class);
+        TestObserver testObserver = introspectionTokenService.introspect(token, false).test();
+        testObserver.assertError(InvalidTokenException.class);
+        // second call is rejected without decoding the token
+        verify(jwtService, times(1)).decode(token);
+    }
+
+    @Test
+    public void shouldIntrospect_revokedToken_rejectedFromNegativeCache() {
+        final String token = "token";
+        final JWT jwt = new JWT();
+        jwt.setJti("jti");
+        jwt.setDomain("domain");
+        jwt.setAud("client");
+
+        when(jwtService.decode(token)).thenReturn(Single.just(jwt));
+        introspectionTokenCache.evictByJti(jwt.getJti());
+
+        TestObserver testObserver = introspectionTokenService.introspect(token, true).test();
+        testObserver.assertError(InvalidTokenException.class);
+        verify(clientService, never()).findByDomainAndClientId(jwt.getDomain(), jwt.getAud());
+        verify(jwtService, never()).decodeAndVerify(eq(token), any());
+    }
+
+    @Test
+    public void shouldIntrospect_invalidSignature_rejectedFromNegativeCache() {
+        final String token = "token";
+        final JWT jwt = new JWT();
+        jwt.setJti("jti");
+        jwt.setDomain("domain");
+        jwt.setAud("client");
+        final Client client = new Client();
+        client.setClientId("client-id");
+
+        when(jwtService.decode(token)).thenReturn(Single.just(jwt));
+        when(clientService.findByDomainAndClientId(jwt.getDomain(), jwt.getAud())).thenReturn(Maybe.just(client));
+        when(jwtService.decodeAndVerify(token, client)).thenReturn(Single.error(new InvalidTokenException("The access token is invalid", new SignatureException("Token's signature is invalid"))));
+
+        introspectionTokenService.introspect(token, true).test().assertError(InvalidTokenException.class);
+        introspectionTokenService.introspect(token, true).test().assertError(InvalidTokenException.class);
+        verify(jwtService, times(1)).decodeAndVerify(token, client);
+    }
+
+    @Test
+    public void shouldIntrospect_tokenNotFound_notRejectedForOfflineVerification() {
+        final String token = "token";
+        final JWT jwt = new JWT();
+        jwt.setJti("jti");
+        jwt.setDomain("domain");
+        jwt.setAud("client");
+        jwt.setIat(Instant.now().minus(1, ChronoUnit.DAYS).getEpochSecond());
+        final Client client = new Client();
+        client.setClientId("client-id");
+
+        when(jwtService.decode(token)).thenReturn(Single.just(jwt));
+        when(clientService.findByDomainAndClientId(jwt.getDomain(), jwt.getAud())).thenReturn(Maybe.just(client));
+        when(jwtService.decodeAndVerify(token, client)).thenReturn(Single.just(jwt));
+        when(accessTokenRepository.findByToken(jwt.getJti())).thenReturn(Maybe.empty());
+
+        // the token may still be waiting to be written to the token store
+        introspectionTokenService.introspect(token, false).test().assertError(InvalidTokenException.class);
+        introspectionTokenService.introspect(token, true).test().assertComplete();
+        assertFalse(introspectionTokenCache.isRejected(token));
+    }
+
+    @Test
+    public void shouldIntrospect_unknownClient_notRejected() {
+        final String token = "token";
+        final JWT jwt = new JWT();
+        jwt.setJti("jti");
+        jwt.setDomain("domain");
+        jwt.setAud("client");
+
+        when(jwtService.decode(token)).thenReturn(Single.just(jwt));
+        when(clientService.findByDomainAndClientId(jwt.getDomain(), jwt.getAud())).thenReturn(Maybe.empty());
+
+        introspectionTokenService.introspect(token, true).test().assertError(InvalidTokenException.class);
+        assertFalse(introspectionTokenCache.isRejected(token));
+    }
+
+    private static Domain domain() {
+        Domain domain = new Domain();
+        domain.setId("domain");
+        return domain;
+    }
 }
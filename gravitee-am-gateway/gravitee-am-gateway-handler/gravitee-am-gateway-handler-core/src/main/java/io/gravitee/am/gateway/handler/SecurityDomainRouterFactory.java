@@ -24,6 +24,7 @@ import io.gravitee.am.gateway.handler.common.email.EmailManager;
 import io.gravitee.am.gateway.handler.factor.FactorManager;
 import io.gravitee.am.gateway.handler.form.FormManager;
 import io.gravitee.am.gateway.handler.spring.HandlerConfiguration;
+import io.gravitee.am.gateway.handler.vertx.DeployedDomain;
 import io.gravitee.am.gateway.handler.vertx.VertxSecurityDomainHandler;
 import io.gravitee.am.model.Domain;
 import io.gravitee.common.component.LifecycleComponent;
@@ -75,7 +76,7 @@ public class SecurityDomainRouterFactory {
         configurer.setEnvironment(gatewayApplicationContext.getEnvironment());
         context.addBeanFactoryPostProcessor(configurer);
 
-        context.getBeanFactory().registerSingleton("domain", domain);
+        context.getBeanFactory().registerSingleton("domain", new DeployedDomain(domain));
         context.register(HandlerConfiguration.class);
         context.setId("context-domain-" + domain.getId());
         context.refresh();
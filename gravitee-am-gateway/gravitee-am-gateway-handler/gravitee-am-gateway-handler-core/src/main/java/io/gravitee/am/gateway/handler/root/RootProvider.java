@@ -20,6 +20,7 @@ import io.gravitee.am.gateway.handler.api.ProtocolProvider;
 import io.gravitee.am.gateway.handler.common.auth.idp.IdentityProviderManager;
 import io.gravitee.am.gateway.handler.common.auth.user.UserAuthenticationManager;
 import io.gravitee.am.gateway.handler.common.client.ClientSyncService;
+import io.gravitee.am.gateway.handler.common.oauth2.IntrospectionTokenCache;
 import io.gravitee.am.gateway.handler.common.vertx.web.auth.provider.UserAuthProvider;
 import io.gravitee.am.gateway.handler.common.vertx.web.endpoint.ErrorEndpoint;
 import io.gravitee.am.gateway.handler.common.vertx.web.handler.PolicyChainHandler;
@@ -127,6 +128,9 @@ public class RootProvider extends AbstractService<ProtocolProvider> implements P
     @Autowired
     private TokenService tokenService;
 
+    @Autowired
+    private IntrospectionTokenCache introspectionTokenCache;
+
     @Autowired
     private PolicyChainHandler policyChainHandler;
 
@@ -175,7 +179,7 @@ public class RootProvider extends AbstractService<ProtocolProvider> implements P
                 .handler(FormLoginHandler.create(userAuthProvider));
 
         // logout route
-        rootRouter.route("/logout").handler(new LogoutEndpoint(domain, tokenService, auditService));
+        rootRouter.route("/logout").handler(new LogoutEndpoint(domain, tokenService, auditService, introspectionTokenCache));
 
         // SSO/Social login route
         Handler<RoutingContext> socialAuthHandler = SocialAuthHandler.create(new SocialAuthenticationProvider(userAuthenticationManager));
@@ -15,6 +15,7 @@
  */
 package io.gravitee.am.gateway.handler.root.resources.endpoint.logout;
 
+import io.gravitee.am.gateway.handler.common.oauth2.IntrospectionTokenCache;
 import io.gravitee.am.gateway.handler.common.vertx.utils.RequestUtils;
 import io.gravitee.am.model.Domain;
 import io.gravitee.am.model.User;
@@ -44,11 +45,13 @@ public class LogoutEndpoint implements Handler<RoutingContext> {
     private Domain domain;
     private TokenService tokenService;
     private AuditService auditService;
+    private IntrospectionTokenCache introspectionTokenCache;
 
-    public LogoutEndpoint(Domain domain, TokenService tokenService, AuditService auditService) {
+    public LogoutEndpoint(Domain domain, TokenService tokenService, AuditService auditService, IntrospectionTokenCache introspectionTokenCache) {
         this.domain = domain;
         this.tokenService = tokenService;
         this.auditService = auditService;
+        this.introspectionTokenCache = introspectionTokenCache;
     }
 
     @Override
@@ -95,6 +98,7 @@ public class LogoutEndpoint implements Handler<RoutingContext> {
         }
 
         tokenService.deleteByUserId(user.getId())
+                .doOnComplete(() -> introspectionTokenCache.evictBySubject(user.getId()))
                 .subscribe(
                         () -> handler.handle(Future.succeededFuture()),
                         error -> handler.handle(Future.failedFuture(error)));
@@ -0,0 +1,264 @@
+/**
+ * Copyright (C) 2015 The Gravitee team (http://gravitee.io)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.gravitee.am.gateway.handler.vertx;
+
+import io.gravitee.am.model.Domain;
+import io.gravitee.am.model.ReferenceType;
+import io.gravitee.am.model.VirtualHost;
+import io.gravitee.am.model.account.AccountSettings;
+import io.gravitee.am.model.login.LoginSettings;
+import io.gravitee.am.model.login.WebAuthnSettings;
+import io.gravitee.am.model.oidc.OIDCSettings;
+import io.gravitee.am.model.scim.SCIMSettings;
+import io.gravitee.am.model.uma.UMASettings;
+
+import java.util.Date;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * The domain injected in the components of a security domain handler.
+ *
+ * The settings of a domain are refreshed by the sync thread while the event loops read them: they are never mutated,
+ * a refresh publishes a copy of the updated domain which all the getters read from.
+ *
+ * @author GraviteeSource Team
+ */
+public class DeployedDomain extends Domain {
+
+    private volatile Domain domain;
+
+    public DeployedDomain(Domain domain) {
+        this.domain = new Domain(domain);
+    }
+
+    /**
+     * Publish the settings of the updated domain to the components of the handler.
+     */
+    public void refresh(Domain domain) {
+        if (!this.domain.getId().equals(domain.getId())) {
+            throw new IllegalArgumentException("Domain " + domain.getId() + " can't replace domain " + this.domain.getId());
+        }
+        this.domain = new Domain(domain);
+    }
+
+    @Override
+    public String getId() {
+        return domain.getId();
+    }
+
+    @Override
+    public String getName() {
+        return domain.getName();
+    }
+
+    @Override
+    public String getDescription() {
+        return domain.getDescription();
+    }
+
+    @Override
+    public boolean isEnabled() {
+        return domain.isEnabled();
+    }
+
+    @Override
+    public Date getCreatedAt() {
+        return domain.getCreatedAt();
+    }
+
+    @Override
+    public Date getUpdatedAt() {
+        return domain.getUpdatedAt();
+    }
+
+    @Override
+    public String getPath() {
+        return domain.getPath();
+    }
+
+    @Override
+    public boolean isVhostMode() {
+        return domain.isVhostMode();
+    }
+
+    @Override
+    public List<VirtualHost> getVhosts() {
+        return domain.getVhosts();
+    }
+
+    @Override
+    public OIDCSettings getOidc() {
+        return domain.getOidc();
+    }
+
+    @Override
+    public UMASettings getUma() {
+        return domain.getUma();
+    }
+
+    @Override
+    public SCIMSettings getScim() {
+        return domain.getScim();
+    }
+
+    @Override
+    public LoginSettings getLoginSettings() {
+        return domain.getLoginSettings();
+    }
+
+    @Override
+    public WebAuthnSettings getWebAuthnSettings() {
+        return domain.getWebAuthnSettings();
+    }
+
+    @Override
+    public AccountSettings getAccountSettings() {
+        return domain.getAccountSettings();
+    }
+
+    @Override
+    public Set<String> getTags() {
+        return domain.getTags();
+    }
+
+    @Override
+    public ReferenceType getReferenceType() {
+        return domain.getReferenceType();
+    }
+
+    @Override
+    public String getReferenceId() {
+        return domain.getReferenceId();
+    }
+
+    @Override
+    public Set<String> getIdentities() {
+        return domain.getIdentities();
+    }
+
+    @Override
+    public void setId(String id) {
+        throw readOnly();
+    }
+
+    @Override
+    public void setName(String name) {
+        throw readOnly();
+    }
+
+    @Override
+    public void setDescription(String description) {
+        throw readOnly();
+    }
+
+    @Override
+    public void setEnabled(boolean enabled) {
+        throw readOnly();
+    }
+
+    @Override
+    public void setCreatedAt(Date createdAt) {
+        throw readOnly();
+    }
+
+    @Override
+    public void setUpdatedAt(Date updatedAt) {
+        throw readOnly();
+    }
+
+    @Override
+    public void setPath(String path) {
+        throw readOnly();
+    }
+
+    @Override
+    public void setVhostMode(boolean vhostMode) {
+        throw readOnly();
+    }
+
+    @Override
+    public void setVhosts(List<VirtualHost> vhosts) {
+        throw readOnly();
+    }
+
+    @Override
+    public void setOidc(OIDCSettings oidc) {
+        throw readOnly();
+    }
+
+    @Override
+    public void setUma(UMASettings uma) {
+        throw readOnly();
+    }
+
+    @Override
+    public void setScim(SCIMSettings scim) {
+        throw readOnly();
+    }
+
+    @Override
+    public void setLoginSettings(LoginSettings loginSettings) {
+        throw readOnly();
+    }
+
+    @Override
+    public void setWebAuthnSettings(WebAuthnSettings webAuthnSettings) {
+        throw readOnly();
+    }
+
+    @Override
+    public void setAccountSettings(AccountSettings accountSettings) {
+        throw readOnly();
+    }
+
+    @Override
+    public void setTags(Set<String> tags) {
+        throw readOnly();
+    }
+
+    @Override
+    public void setReferenceType(ReferenceType referenceType) {
+        throw readOnly();
+    }
+
+    @Override
+    public void setReferenceId(String referenceId) {
+        throw readOnly();
+    }
+
+    @Override
+    public void setIdentities(Set<String> identities) {
+        throw readOnly();
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (!(o instanceof Domain)) return false;
+
+        return getId().equals(((Domain) o).getId());
+    }
+
+    @Override
+    public int hashCode() {
+        return getId().hashCode();
+    }
+
+    private UnsupportedOperationException readOnly() {
+        return new UnsupportedOperationException("The deployed domain is read-only, it is refreshed with the updated domain");
+    }
+}
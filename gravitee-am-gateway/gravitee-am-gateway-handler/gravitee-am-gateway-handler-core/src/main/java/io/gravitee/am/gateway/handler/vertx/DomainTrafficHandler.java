@@ -0,0 +1,142 @@
+/**
+ * Copyright (C) 2015 The Gravitee team (http://gravitee.io)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.gravitee.am.gateway.handler.vertx;
+
+import io.gravitee.am.common.metrics.MeterGroup;
+import io.gravitee.am.gateway.handler.common.diagnostic.Diagnostics;
+import io.gravitee.am.gateway.handler.common.diagnostic.EventLoopWatchdog;
+import io.gravitee.common.http.HttpHeaders;
+import io.gravitee.common.http.HttpStatusCode;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.Timer;
+import io.vertx.core.Handler;
+import io.vertx.reactivex.core.buffer.Buffer;
+import io.vertx.reactivex.core.http.HttpServerResponse;
+import io.vertx.reactivex.ext.web.RoutingContext;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * First handler of a security domain router, accounting for the requests processed by the domain.
+ *
+ * Meters are tagged with the domain:
+ * <ul>
+ *     <li><code>am.domain.requests</code>: latency of the requests, by status class (2xx, 4xx, ...)</li>
+ *     <li><code>am.domain.requests.active</code>: requests being processed</li>
+ *     <li><code>am.domain.requests.rejected</code>: requests rejected because of the concurrency limit</li>
+ *     <li><code>am.domain.eventloop</code>: time spent on the event loop by the domain handlers before the request is suspended or completed</li>
+ * </ul>
+ *
+ * When the domain already processes its maximum number of concurrent requests, new ones are rejected with a 429 status.
+ * In diagnostic mode, the requests are watched while they hold the event loop (see {@link Diagnostics}).
+ *
+ * @author GraviteeSource Team
+ */
+class DomainTrafficHandler implements Handler<RoutingContext> {
+
+    private static final String[] STATUS_CLASSES = {"1xx", "2xx", "3xx", "4xx", "5xx"};
+    private static final String RETRY_AFTER = "1";
+
+    private final String domainId;
+    private final AtomicInteger inFlightRequests = new AtomicInteger();
+    private volatile long lastRequestAt = System.currentTimeMillis();
+    private final int maxConcurrentRequests;
+    private final String rejectionMessage;
+    private final MeterGroup meters;
+    private final Timer[] requests = new Timer[STATUS_CLASSES.length];
+    private final Timer eventLoop;
+    private final Counter rejections;
+
+    DomainTrafficHandler(String domainId, MeterRegistry registry, int maxConcurrentRequests, String rejectionMessage) {
+        this.domainId = domainId;
+        this.meters = new MeterGroup(registry);
+        this.maxConcurrentRequests = maxConcurrentRequests;
+        this.rejectionMessage = rejectionMessage;
+
+        for (int i = 0; i < STATUS_CLASSES.length; i++) {
+            requests[i] = meters.timer(Timer.builder("am.domain.requests")
+                    .tag("domain", domainId)
+                    .tag("status", STATUS_CLASSES[i])
+                    .publishPercentileHistogram()
+                    .minimumExpectedValue(Duration.ofMillis(1))
+                    .maximumExpectedValue(Duration.ofSeconds(30)));
+        }
+        eventLoop = meters.timer(Timer.builder("am.domain.eventloop")
+                .tag("domain", domainId));
+        rejections = meters.counter(Counter.builder("am.domain.requests.rejected")
+                .tag("domain", domainId));
+        meters.gauge("am.domain.requests.active", Tags.of("domain", domainId), null, inFlightRequests, AtomicInteger::get);
+    }
+
+    @Override
+    public void handle(RoutingContext context) {
+        final long start = System.nanoTime();
+        lastRequestAt = System.currentTimeMillis();
+
+        if (inFlightRequests.incrementAndGet() > maxConcurrentRequests && maxConcurrentRequests > 0) {
+            inFlightRequests.decrementAndGet();
+            rejections.increment();
+            reject(context.response());
+            return;
+        }
+
+        RequestCompletion.onComplete(context, () -> {
+            inFlightRequests.decrementAndGet();
+            requests[statusClass(context.response().getStatusCode())].record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        });
+        if (Diagnostics.isEnabled()) {
+            EventLoopWatchdog.Watch watch = Diagnostics.watch("router", domainId + ' ' + context.request().method() + ' ' + context.request().path());
+            try {
+                context.next();
+            } finally {
+                watch.close();
+            }
+        } else {
+            context.next();
+        }
+        // the domain handlers run synchronously until the request is suspended (i.e. waiting for an I/O) or completed
+        eventLoop.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+    }
+
+    int inFlightRequests() {
+        return inFlightRequests.get();
+    }
+
+    long lastRequestAt() {
+        return lastRequestAt;
+    }
+
+    void close() {
+        meters.close();
+    }
+
+    private void reject(HttpServerResponse response) {
+        response.setStatusCode(HttpStatusCode.TOO_MANY_REQUESTS_429);
+        response.headers().set(HttpHeaders.RETRY_AFTER, RETRY_AFTER);
+        response.headers().set(HttpHeaders.CONTENT_LENGTH, Integer.toString(rejectionMessage.length()));
+        response.headers().set(HttpHeaders.CONTENT_TYPE, "text/plain");
+        response.write(Buffer.buffer(rejectionMessage));
+        response.end();
+    }
+
+    private static int statusClass(int statusCode) {
+        return Math.min(Math.max(statusCode / 100, 1), STATUS_CLASSES.length) - 1;
+    }
+}
@@ -0,0 +1,60 @@
+/**
+ * Copyright (C) 2015 The Gravitee team (http://gravitee.io)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.gravitee.am.gateway.handler.vertx;
+
+import io.vertx.core.Handler;
+import io.vertx.reactivex.ext.web.RoutingContext;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Callbacks run exactly once when a request is over: either its response has been fully written or the connection has
+ * been closed (e.g. by the client) or has failed before.
+ *
+ * Body end handlers alone are not enough to release what a request holds (e.g. a concurrency slot), they are not called
+ * when the response can't be written. The response close and exception handlers are set once for all the callbacks of
+ * a request, a response only has one of each.
+ *
+ * @author GraviteeSource Team
+ */
+public final class RequestCompletion {
+
+    private static final String CALLBACKS_ATTRIBUTE = RequestCompletion.class.getName();
+
+    private RequestCompletion() {
+    }
+
+    public static void onComplete(RoutingContext context, Runnable callback) {
+        List<Runnable> callbacks = context.get(CALLBACKS_ATTRIBUTE);
+        if (callbacks == null) {
+            final List<Runnable> registered = new ArrayList<>(2);
+            final AtomicBoolean completed = new AtomicBoolean();
+            final Handler<Void> completion = v -> {
+                if (completed.compareAndSet(false, true)) {
+                    registered.forEach(Runnable::run);
+                }
+            };
+            context.put(CALLBACKS_ATTRIBUTE, registered);
+            context.addBodyEndHandler(completion);
+            context.response().closeHandler(completion);
+            context.response().exceptionHandler(throwable -> completion.handle(null));
+            callbacks = registered;
+        }
+        callbacks.add(callback);
+    }
+}
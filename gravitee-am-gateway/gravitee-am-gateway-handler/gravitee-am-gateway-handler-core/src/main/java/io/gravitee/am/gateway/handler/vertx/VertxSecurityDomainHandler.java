@@ -56,6 +56,8 @@ public class VertxSecurityDomainHandler extends AbstractService<VertxSecurityDom
     private static final Logger logger = LoggerFactory.getLogger(VertxSecurityDomainHandler.class);
     private static final List<String> PROTOCOLS = Arrays.asList("discovery", "openid-connect", "scim", "users");
     private List<ProtocolProvider> protocolProviders = new ArrayList<>();
+    private final long createdAt = System.currentTimeMillis();
+    private DomainTrafficHandler trafficHandler;
 
     @Autowired
     private Domain domain;
@@ -76,6 +78,12 @@ public class VertxSecurityDomainHandler extends AbstractService<VertxSecurityDom
     protected void doStart() throws Exception {
         super.doStart();
 
+        // account for the requests being processed, the handler is drained before being stopped when the domain is updated
+        trafficHandler = new DomainTrafficHandler(domain.getId(), null,
+                environment.getProperty("http.domain.maxConcurrentRequests", Integer.class, 0),
+                environment.getProperty("http.domain.errors[429].message", "Too many requests for the security domain."));
+        router.route().order(-1).handler(trafficHandler);
+
         // start root protocol with required routes (login page, register, ...)
         startRootProtocol();
 
@@ -93,6 +101,10 @@ public class VertxSecurityDomainHandler extends AbstractService<VertxSecurityDom
         stopComponents();
         stopProtocols();
 
+        if (trafficHandler != null) {
+            trafficHandler.close();
+        }
+
         super.doStop();
         logger.info("Security domain [" + domain.getName() + "] handler is now stopped", domain);
     }
@@ -105,6 +117,30 @@ public class VertxSecurityDomainHandler extends AbstractService<VertxSecurityDom
         return domain;
     }
 
+    /**
+     * Publish the settings of the updated domain to the components of this handler, which are kept.
+     */
+    public void refresh(Domain domain) {
+        if (!(this.domain instanceof DeployedDomain)) {
+            throw new IllegalStateException("Domain " + domain.getId() + " has not been deployed by this handler");
+        }
+        ((DeployedDomain) this.domain).refresh(domain);
+    }
+
+    /**
+     * @return the number of requests being processed by this handler.
+     */
+    public int inFlightRequests() {
+        return trafficHandler == null ? 0 : trafficHandler.inFlightRequests();
+    }
+
+    /**
+     * @return the time of the last request received by this handler, or of its creation if none.
+     */
+    public long lastRequestAt() {
+        return trafficHandler == null ? createdAt : trafficHandler.lastRequestAt();
+    }
+
     private void startRootProtocol() {
         logger.info("Start security domain root protocol");
 
@@ -0,0 +1,127 @@
+/**
+ * Copyright (C) 2015 The Gravitee team (http://gravitee.io)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.gravitee.am.gateway.handler.vertx;
+
+import io.gravitee.am.model.Domain;
+import io.gravitee.am.model.login.LoginSettings;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * @author GraviteeSource Team
+ */
+public class DeployedDomainTest {
+
+    @Test
+    public void shouldRefreshSettings() {
+        Domain domain = domain(0);
+        DeployedDomain deployedDomain = new DeployedDomain(domain);
+
+        Domain updatedDomain = domain(1);
+        deployedDomain.refresh(updatedDomain);
+
+        assertEquals("v1", deployedDomain.getName());
+        assertSame(updatedDomain.getLoginSettings(), deployedDomain.getLoginSettings());
+        assertEquals("v0", domain.getName());
+        assertTrue(deployedDomain.getLoginSettings().isRegisterEnabled());
+        assertTrue(deployedDomain.equals(updatedDomain));
+    }
+
+    @Test
+    public void shouldNotShareUpdatedInstance() {
+        Domain updatedDomain = domain(1);
+        DeployedDomain deployedDomain = new DeployedDomain(domain(0));
+        deployedDomain.refresh(updatedDomain);
+
+        // the updated instance is copied, mutating it afterwards is not visible to the handler
+        updatedDomain.setName("v2");
+        assertEquals("v1", deployedDomain.getName());
+    }
+
+    @Test(expected = UnsupportedOperationException.class)
+    public void shouldNotMutate() {
+        new DeployedDomain(domain(0)).setName("v1");
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void shouldNotRefresh_otherDomain() {
+        Domain otherDomain = domain(1);
+        otherDomain.setId("domain-2");
+        new DeployedDomain(domain(0)).refresh(otherDomain);
+    }
+
+    @Test
+    public void shouldPublishSettings_concurrentReaders() throws Exception {
+        final int versions = 10_000;
+        DeployedDomain deployedDomain = new DeployedDomain(domain(0));
+        AtomicBoolean refreshed = new AtomicBoolean();
+        ExecutorService readers = Executors.newFixedThreadPool(4);
+        List<CompletableFuture<Integer>> reads = new ArrayList<>();
+        try {
+            for (int i = 0; i < 4; i++) {
+                reads.add(CompletableFuture.supplyAsync(() -> {
+                    int lastVersion = 0;
+                    boolean done;
+                    do {
+                        done = refreshed.get();
+                        // a reader sees the settings of a version entirely, and never goes back to a previous version
+                        LoginSettings loginSettings = deployedDomain.getLoginSettings();
+                        int version = Integer.parseInt(deployedDomain.getName().substring(1));
+                        if (version < lastVersion || loginSettings == null || !loginSettings.isRegisterEnabled()) {
+                            return -1;
+                        }
+                        lastVersion = version;
+                    } while (!done);
+                    return lastVersion;
+                }, readers));
+            }
+
+            for (int version = 1; version <= versions; version++) {
+                deployedDomain.refresh(domain(version));
+            }
+            refreshed.set(true);
+
+            for (CompletableFuture<Integer> read : reads) {
+                assertEquals(versions, (int) read.get(10, TimeUnit.SECONDS));
+            }
+        } finally {
+            readers.shutdownNow();
+        }
+    }
+
+    private Domain domain(int version) {
+        LoginSettings loginSettings = new LoginSettings();
+        loginSettings.setRegisterEnabled(true);
+        Domain domain = new Domain();
+        domain.setId("domain-1");
+        domain.setName("v" + version);
+        domain.setPath("/domain-1");
+        domain.setEnabled(true);
+        domain.setLoginSettings(loginSettings);
+        return domain;
+    }
+}
@@ -0,0 +1,130 @@
+/**
+ * Copyright (C) 2015 The Gravitee team (http://gravitee.io)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.gravitee.am.gateway.handler.vertx;
+
+import io.gravitee.am.gateway.handler.common.vertx.RxWebTestBase;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.vertx.core.http.HttpMethod;
+import io.vertx.reactivex.core.http.HttpClientRequest;
+import io.vertx.reactivex.core.http.HttpServerResponse;
+import io.vertx.reactivex.ext.web.RoutingContext;
+import org.junit.Test;
+
+import java.util.concurrent.CountDownLatch;
+
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * @author GraviteeSource Team
+ */
+public class DomainTrafficHandlerTest extends RxWebTestBase {
+
+    private MeterRegistry registry;
+
+    @Override
+    public void setUp() throws Exception {
+        super.setUp();
+        registry = new SimpleMeterRegistry();
+    }
+
+    @Test
+    public void shouldAccountRequests() throws Exception {
+        DomainTrafficHandler trafficHandler = new DomainTrafficHandler("domain-1", registry, 0, "rejected");
+        router.route().handler(trafficHandler);
+        router.get("/ok").handler(rc -> rc.response().end());
+        router.get("/ko").handler(rc -> rc.response().setStatusCode(400).end());
+
+        testRequest(HttpMethod.GET, "/ok", 200, "OK");
+        testRequest(HttpMethod.GET, "/ok", 200, "OK");
+        testRequest(HttpMethod.GET, "/ko", 400, "Bad Request");
+
+        assertEquals(2, registry.get("am.domain.requests").tags("domain", "domain-1", "status", "2xx").timer().count());
+        assertEquals(1, registry.get("am.domain.requests").tags("domain", "domain-1", "status", "4xx").timer().count());
+        assertEquals(3, registry.get("am.domain.eventloop").tag("domain", "domain-1").timer().count());
+        assertEquals(0, registry.get("am.domain.requests.active").tag("domain", "domain-1").gauge().value(), 0);
+        assertEquals(0, trafficHandler.inFlightRequests());
+    }
+
+    @Test
+    public void shouldRejectRequest_tooManyConcurrentRequests() throws Exception {
+        DomainTrafficHandler trafficHandler = new DomainTrafficHandler("domain-1", registry, 1, "rejected");
+        router.route().handler(trafficHandler);
+        router.get("/").handler(rc -> rc.response().end());
+
+        // a request still being processed holds the only slot
+        RoutingContext pendingContext = mock(RoutingContext.class);
+        when(pendingContext.response()).thenReturn(mock(HttpServerResponse.class));
+        trafficHandler.handle(pendingContext);
+        assertEquals(1, trafficHandler.inFlightRequests());
+
+        testRequest(HttpMethod.GET, "/", null, resp -> assertEquals("1", resp.getHeader("Retry-After")),
+                429, "Too Many Requests", "rejected");
+
+        assertEquals(1, registry.get("am.domain.requests.rejected").tag("domain", "domain-1").counter().count(), 0);
+        assertEquals(1, trafficHandler.inFlightRequests());
+    }
+
+    @Test
+    public void shouldReleaseRequest_clientDisconnected() throws Exception {
+        DomainTrafficHandler trafficHandler = new DomainTrafficHandler("domain-1", registry, 0, "rejected");
+        CountDownLatch received = new CountDownLatch(1);
+        router.route().handler(trafficHandler);
+        // the response is never written
+        router.get("/pending").handler(rc -> received.countDown());
+
+        HttpClientRequest request = client.request(HttpMethod.GET, server.actualPort(), "localhost", "/pending", response -> { });
+        request.exceptionHandler(throwable -> { });
+        request.end();
+        awaitLatch(received);
+        assertEquals(1, trafficHandler.inFlightRequests());
+
+        request.connection().close();
+        final long timeout = System.currentTimeMillis() + 5000;
+        while (trafficHandler.inFlightRequests() > 0 && System.currentTimeMillis() < timeout) {
+            Thread.sleep(10);
+        }
+        assertEquals(0, trafficHandler.inFlightRequests());
+        assertEquals(1, registry.get("am.domain.requests").tags("domain", "domain-1", "status", "2xx").timer().count());
+    }
+
+    @Test
+    public void shouldKeepMeters_previousHandlerClosed() {
+        DomainTrafficHandler previousHandler = new DomainTrafficHandler("domain-1", registry, 0, "rejected");
+        DomainTrafficHandler trafficHandler = new DomainTrafficHandler("domain-1", registry, 0, "rejected");
+        RoutingContext pendingContext = mock(RoutingContext.class);
+        when(pendingContext.response()).thenReturn(mock(HttpServerResponse.class));
+        previousHandler.handle(pendingContext);
+        trafficHandler.handle(pendingContext);
+        trafficHandler.handle(pendingContext);
+
+        // both handlers serve the requests of the domain while it is updated
+        assertEquals(3, registry.get("am.domain.requests.active").tag("domain", "domain-1").gauge().value(), 0);
+
+        previousHandler.close();
+        assertEquals(2, registry.get("am.domain.requests.active").tag("domain", "domain-1").gauge().value(), 0);
+    }
+
+    @Test
+    public void shouldRemoveMeters_onClose() {
+        DomainTrafficHandler trafficHandler = new DomainTrafficHandler("domain-1", registry, 0, "rejected");
+        assertFalse(registry.getMeters().isEmpty());
+
+        trafficHandler.close();
+        assertTrue(registry.getMeters().isEmpty());
+    }
+}
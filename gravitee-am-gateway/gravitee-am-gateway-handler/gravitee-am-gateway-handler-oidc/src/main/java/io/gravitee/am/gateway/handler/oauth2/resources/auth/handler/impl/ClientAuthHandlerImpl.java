@@ -16,6 +16,7 @@
 package io.gravitee.am.gateway.handler.oauth2.resources.auth.handler.impl;
 
 import io.gravitee.am.common.oauth2.Parameters;
+import io.gravitee.am.gateway.handler.common.diagnostic.Diagnostics;
 import io.gravitee.am.gateway.handler.common.client.ClientSyncService;
 import io.gravitee.am.gateway.handler.oauth2.exception.InvalidClientException;
 import io.gravitee.am.gateway.handler.oauth2.resources.auth.handler.ClientAuthHandler;
@@ -48,16 +49,19 @@ public class ClientAuthHandlerImpl implements Handler<RoutingContext> {
     @Override
     public void handle(RoutingContext routingContext) {
         final HttpServerRequest request = routingContext.request();
+        final Diagnostics.Span span = Diagnostics.span("client_auth");
 
         // fetch client
         resolveClient(request, handler -> {
             if (handler.failed()) {
+                span.end();
                 routingContext.fail(handler.cause());
                 return;
             }
             // authenticate client
             Client client = handler.result();
             authenticateClient(client, routingContext, authHandler -> {
+                span.end();
                 if (authHandler.failed()) {
                     Throwable throwable = authHandler.cause();
                     if (throwable instanceof InvalidClientException) {
@@ -17,6 +17,7 @@ package io.gravitee.am.gateway.handler.oauth2.resources.handler.token;
 
 import io.gravitee.am.common.exception.oauth2.InvalidRequestException;
 import io.gravitee.am.common.oauth2.Parameters;
+import io.gravitee.am.gateway.handler.common.diagnostic.Diagnostics;
 import io.vertx.core.Handler;
 import io.vertx.reactivex.core.MultiMap;
 import io.vertx.reactivex.ext.web.RoutingContext;
@@ -36,11 +37,16 @@ public class TokenRequestParseHandler implements Handler<RoutingContext> {
 
     @Override
     public void handle(RoutingContext context) {
-        // proceed request parameters
-        parseRequestParameters(context);
+        Diagnostics.Span span = Diagnostics.span("parse");
+        try {
+            // proceed request parameters
+            parseRequestParameters(context);
 
-        // proceed grant_type parameter
-        parseGrantTypeParameter(context);
+            // proceed grant_type parameter
+            parseGrantTypeParameter(context);
+        } finally {
+            span.end();
+        }
 
         context.next();
     }
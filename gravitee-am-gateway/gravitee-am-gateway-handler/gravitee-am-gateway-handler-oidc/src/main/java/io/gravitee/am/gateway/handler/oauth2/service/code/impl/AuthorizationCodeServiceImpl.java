@@ -17,6 +17,7 @@ package io.gravitee.am.gateway.handler.oauth2.service.code.impl;
 
 import io.gravitee.am.common.utils.RandomString;
 import io.gravitee.am.common.utils.SecureRandomString;
+import io.gravitee.am.gateway.handler.common.oauth2.IntrospectionTokenCache;
 import io.gravitee.am.gateway.handler.oauth2.exception.InvalidGrantException;
 import io.gravitee.am.gateway.handler.oauth2.service.code.AuthorizationCodeService;
 import io.gravitee.am.gateway.handler.oauth2.service.request.AuthorizationRequest;
@@ -25,6 +26,7 @@ import io.gravitee.am.model.User;
 import io.gravitee.am.repository.oauth2.api.AccessTokenRepository;
 import io.gravitee.am.repository.oauth2.api.AuthorizationCodeRepository;
 import io.gravitee.am.repository.oauth2.api.RefreshTokenRepository;
+import io.gravitee.am.repository.oauth2.model.AccessToken;
 import io.gravitee.am.repository.oauth2.model.AuthorizationCode;
 import io.reactivex.Completable;
 import io.reactivex.Maybe;
@@ -34,6 +36,9 @@ import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Lazy;
 
 import java.util.Date;
+import java.util.List;
+import java.util.Objects;
+import java.util.stream.Collectors;
 
 /**
  * @author Titouan COMPIEGNE (titouan.compiegne at graviteesource.com)
@@ -56,6 +61,9 @@ public class AuthorizationCodeServiceImpl implements AuthorizationCodeService {
     @Autowired
     private RefreshTokenRepository refreshTokenRepository;
 
+    @Autowired
+    private IntrospectionTokenCache introspectionTokenCache;
+
     @Override
     public Single<AuthorizationCode> create(AuthorizationRequest authorizationRequest, User user) {
         AuthorizationCode authorizationCode = new AuthorizationCode();
@@ -74,30 +82,33 @@ public class AuthorizationCodeServiceImpl implements AuthorizationCodeService {
 
     @Override
     public Maybe<AuthorizationCode> remove(String code, Client client) {
-        return authorizationCodeRepository.findByCode(code)
-                .switchIfEmpty(handleInvalidCode(code))
-                .flatMap(authorizationCode -> {
-                    if (!authorizationCode.getClientId().equals(client.getClientId())) {
-                        return Maybe.error(new InvalidGrantException("The authorization code " + code + " does not belong to the client " + client.getClientId() + "."));
-                    }
-                    return Maybe.just(authorizationCode);
-                })
-                .flatMap(authorizationCode -> authorizationCodeRepository.delete(authorizationCode.getId()));
+        // find and delete in one operation, two concurrent redemptions of the same code can not both succeed
+        // and another client can not burn the code of the legitimate one
+        return authorizationCodeRepository.findAndRemoveByCodeAndClientId(code, client.getClientId())
+                .switchIfEmpty(Maybe.defer(() -> authorizationCodeRepository.findByCode(code)
+                        .flatMap(authorizationCode -> Maybe.<AuthorizationCode>error(new InvalidGrantException("The authorization code " + code + " does not belong to the client " + client.getClientId() + ".")))
+                        .switchIfEmpty(Maybe.defer(() -> handleInvalidCode(code)))));
     }
 
-
     private Maybe<AuthorizationCode> handleInvalidCode(String code) {
         // The client MUST NOT use the authorization code more than once.
         // If an authorization code is used more than once, the authorization server MUST deny the request and SHOULD
         // revoke (when possible) all tokens previously issued based on that authorization code.
         // https://tools.ietf.org/html/rfc6749#section-4.1.2
         return accessTokenRepository.findByAuthorizationCode(code)
-                .flatMapCompletable(accessToken -> {
-                    Completable deleteAccessTokenAction = accessTokenRepository.delete(accessToken.getToken());
-                    if (accessToken.getRefreshToken() != null) {
-                        deleteAccessTokenAction.andThen(refreshTokenRepository.delete(accessToken.getRefreshToken()));
+                .toList()
+                .flatMapCompletable(accessTokens -> {
+                    if (accessTokens.isEmpty()) {
+                        return Completable.complete();
                     }
-                    return deleteAccessTokenAction;
+                    List<String> refreshTokens = accessTokens.stream()
+                            .map(AccessToken::getRefreshToken)
+                            .filter(Objects::nonNull)
+                            .collect(Collectors.toList());
+                    // revoked tokens must not be introspected as active from the cache
+                    Completable deleteAccessTokensAction = accessTokenRepository.deleteByAuthorizationCode(code)
+                            .doOnComplete(() -> accessTokens.forEach(accessToken -> introspectionTokenCache.evictByJti(accessToken.getToken())));
+                    return refreshTokens.isEmpty() ? deleteAccessTokensAction : deleteAccessTokensAction.mergeWith(refreshTokenRepository.bulkDelete(refreshTokens));
                 })
                 .andThen(Maybe.error(new InvalidGrantException("The authorization code " + code + " is invalid.")));
     }
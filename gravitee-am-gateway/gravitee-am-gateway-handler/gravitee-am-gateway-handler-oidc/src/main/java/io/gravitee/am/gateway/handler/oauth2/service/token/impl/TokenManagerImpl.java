@@ -15,29 +15,73 @@
  */
 package io.gravitee.am.gateway.handler.oauth2.service.token.impl;
 
+import io.gravitee.am.common.utils.SharedResourceRegistry;
 import io.gravitee.am.gateway.handler.oauth2.service.token.TokenManager;
-import io.gravitee.am.gateway.handler.oauth2.service.token.indexer.AccessTokenBulkProcessor;
-import io.gravitee.am.gateway.handler.oauth2.service.token.indexer.RefreshTokenBulkProcessor;
+import io.gravitee.am.gateway.handler.oauth2.service.token.indexer.TokenBulkProcessor;
+import io.gravitee.am.gateway.handler.oauth2.service.token.indexer.TokenCodecs;
+import io.gravitee.am.gateway.handler.oauth2.service.token.indexer.TokenSpool;
+import io.gravitee.am.model.Domain;
 import io.gravitee.am.repository.oauth2.api.AccessTokenRepository;
 import io.gravitee.am.repository.oauth2.api.RefreshTokenRepository;
 import io.gravitee.am.repository.oauth2.model.AccessToken;
 import io.gravitee.am.repository.oauth2.model.RefreshToken;
 import io.gravitee.common.service.AbstractService;
-import io.reactivex.processors.PublishProcessor;
-import io.reactivex.schedulers.Schedulers;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Lazy;
 
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 
 /**
+ * Tokens are stored asynchronously: they are first appended to a bounded spool (a memory-mapped file under the
+ * gateway work directory by default) and written by batches to the token store by a pool of flushers shared by all
+ * the security domains. Tokens still pending when the gateway stops (or crashes) are written on the next startup.
+ *
+ * The previous and the new handler of a security domain run side by side while it is updated: their token managers
+ * share the same spools, flushed by one of them at a time, rather than mapping the same files twice.
+ *
  * @author Titouan COMPIEGNE (titouan.compiegne at graviteesource.com)
  * @author GraviteeSource Team
  */
 public class TokenManagerImpl extends AbstractService implements TokenManager {
 
-    private static final Integer bulkActions = 1000;
-    private static final Long flushInterval = 1l;
+    private static final Logger LOGGER = LoggerFactory.getLogger(TokenManagerImpl.class);
+
+    private static final ScheduledThreadPoolExecutor FLUSHERS = createFlushers();
+
+    private static final SharedResourceRegistry<String, Spools> SPOOLS = new SharedResourceRegistry<>(Spools::close);
+
+    @Value("${oauth2.tokens.spool.persistent:true}")
+    private boolean persistent = true;
+
+    @Value("${oauth2.tokens.spool.path:${gravitee.home}/work/tokens}")
+    private String path;
+
+    @Value("${oauth2.tokens.spool.size:4}")
+    private int size = 4;
+
+    @Value("${oauth2.tokens.flushInterval:250}")
+    private long flushInterval = 250;
+
+    @Value("${oauth2.tokens.batch.minSize:50}")
+    private int minBatchSize = 50;
+
+    @Value("${oauth2.tokens.batch.maxSize:1000}")
+    private int maxBatchSize = 1000;
+
+    @Value("${oauth2.tokens.batch.targetLatency:200}")
+    private long targetLatency = 200;
+
+    @Value("${oauth2.tokens.batch.timeout:30000}")
+    private long writeTimeout = 30000;
 
     @Lazy
     @Autowired
@@ -47,48 +91,116 @@ public class TokenManagerImpl extends AbstractService implements TokenManager {
     @Autowired
     private RefreshTokenRepository refreshTokenRepository;
 
-    private final PublishProcessor<AccessToken> bulkProcessorAccessToken = PublishProcessor.create();
+    @Autowired
+    private Domain domain;
+
+    private final MeterRegistry registry;
+
+    private SharedResourceRegistry.Reference<String, Spools> spools;
 
-    private final PublishProcessor<RefreshToken> bulkProcessorRefreshToken = PublishProcessor.create();
+    private TokenBulkProcessor<AccessToken> bulkProcessorAccessToken;
+
+    private TokenBulkProcessor<RefreshToken> bulkProcessorRefreshToken;
+
+    private ScheduledFuture<?> flushTask;
+
+    public TokenManagerImpl() {
+        // meters are registered in the registry of the node
+        this(null);
+    }
+
+    public TokenManagerImpl(MeterRegistry registry) {
+        this.registry = registry;
+    }
 
     @Override
     protected void doStart() throws Exception {
         super.doStart();
 
-        // init bulk processors
-        bulkProcessorAccessToken
-                .onBackpressureBuffer()
-                .observeOn(Schedulers.io())
-                .buffer(
-                        flushInterval,
-                        TimeUnit.SECONDS,
-                        bulkActions
-                )
-                .filter(accessTokens -> accessTokens != null && !accessTokens.isEmpty())
-                .subscribe(new AccessTokenBulkProcessor(accessTokenRepository));
+        spools = SPOOLS.acquire(domain.getId(), key -> new Spools(
+                openSpool("access_tokens", TokenCodecs.ACCESS_TOKEN),
+                openSpool("refresh_tokens", TokenCodecs.REFRESH_TOKEN)));
 
         // init bulk processors
-        bulkProcessorRefreshToken
-                .onBackpressureBuffer()
-                .observeOn(Schedulers.io())
-                .buffer(
-                        flushInterval,
-                        TimeUnit.SECONDS,
-                        bulkActions
-                )
-                .filter(refreshTokens -> refreshTokens != null && !refreshTokens.isEmpty())
-                .subscribe(new RefreshTokenBulkProcessor(refreshTokenRepository));
+        bulkProcessorAccessToken = new TokenBulkProcessor<>(domain.getId(), "access_tokens", spools.get().accessTokens,
+                accessTokenRepository::bulkWrite, registry, minBatchSize, maxBatchSize, targetLatency, writeTimeout);
+        bulkProcessorRefreshToken = new TokenBulkProcessor<>(domain.getId(), "refresh_tokens", spools.get().refreshTokens,
+                refreshTokenRepository::bulkWrite, registry, minBatchSize, maxBatchSize, targetLatency, writeTimeout);
+
+        flushTask = FLUSHERS.scheduleWithFixedDelay(this::flush, flushInterval, flushInterval, TimeUnit.MILLISECONDS);
+    }
+
+    @Override
+    protected void doStop() throws Exception {
+        super.doStop();
+
+        if (flushTask != null) {
+            flushTask.cancel(false);
+            // last attempt to write pending tokens (once the running flush, if any, is completed),
+            // remaining ones are kept in the spool for the next startup
+            flush();
+            bulkProcessorAccessToken.close();
+            bulkProcessorRefreshToken.close();
+            // spools are closed once released by the token manager of the new handler too, if any
+            spools.release();
+            flushTask = null;
+        }
     }
 
     @Override
     public void storeAccessToken(AccessToken accessToken) {
-        bulkProcessorAccessToken
-                .onNext(accessToken);
+        bulkProcessorAccessToken.offer(accessToken);
     }
 
     @Override
     public void storeRefreshToken(RefreshToken refreshToken) {
-        bulkProcessorRefreshToken
-                .onNext(refreshToken);
+        bulkProcessorRefreshToken.offer(refreshToken);
+    }
+
+    private void flush() {
+        // a batch must be written and acknowledged before being read by another token manager sharing the spools
+        synchronized (spools.get()) {
+            bulkProcessorAccessToken.run();
+            bulkProcessorRefreshToken.run();
+        }
+    }
+
+    private <T> TokenSpool<T> openSpool(String name, TokenSpool.Codec<T> codec) {
+        final int capacity = size * 1024 * 1024;
+        if (persistent) {
+            Path file = Paths.get(path, domain.getId(), name + ".spool");
+            try {
+                return TokenSpool.mapped(file, capacity, codec);
+            } catch (Exception ex) {
+                LOGGER.error("Unable to open token spool {}, tokens will be spooled in memory", file, ex);
+            }
+        }
+        return TokenSpool.inMemory(capacity, codec);
+    }
+
+    private static class Spools {
+        private final TokenSpool<AccessToken> accessTokens;
+        private final TokenSpool<RefreshToken> refreshTokens;
+
+        private Spools(TokenSpool<AccessToken> accessTokens, TokenSpool<RefreshToken> refreshTokens) {
+            this.accessTokens = accessTokens;
+            this.refreshTokens = refreshTokens;
+        }
+
+        private void close() {
+            accessTokens.close();
+            refreshTokens.close();
+        }
+    }
+
+    private static ScheduledThreadPoolExecutor createFlushers() {
+        final AtomicInteger count = new AtomicInteger();
+        ScheduledThreadPoolExecutor flushers = new ScheduledThreadPoolExecutor(Runtime.getRuntime().availableProcessors(), runnable -> {
+            Thread thread = new Thread(runnable, "gio.am-tokens-" + count.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        flushers.setRemoveOnCancelPolicy(true);
+        return flushers;
     }
 }
@@ -23,7 +23,9 @@ import io.gravitee.am.common.oauth2.TokenTypeHint;
 import io.gravitee.am.common.oidc.Parameters;
 import io.gravitee.am.common.utils.RandomString;
 import io.gravitee.am.common.utils.SecureRandomString;
+import io.gravitee.am.gateway.handler.common.diagnostic.Diagnostics;
 import io.gravitee.am.gateway.handler.common.jwt.JWTService;
+import io.gravitee.am.gateway.handler.common.oauth2.IntrospectionTokenCache;
 import io.gravitee.am.gateway.handler.common.oauth2.IntrospectionTokenService;
 import io.gravitee.am.gateway.handler.context.ExecutionContextFactory;
 import io.gravitee.am.gateway.handler.context.provider.ClientProperties;
@@ -88,6 +90,9 @@ public class TokenServiceImpl implements TokenService {
     @Autowired
     private IntrospectionTokenService introspectionTokenService;
 
+    @Autowired
+    private IntrospectionTokenCache introspectionTokenCache;
+
     @Override
     public Maybe<Token> getAccessToken(String token, Client client) {
         return jwtService.decodeAndVerify(token, client)
@@ -166,7 +171,8 @@ public class TokenServiceImpl implements TokenService {
 
     @Override
     public Completable deleteAccessToken(String accessToken) {
-        return accessTokenRepository.delete(accessToken);
+        return accessTokenRepository.delete(accessToken)
+                .doOnComplete(() -> introspectionTokenCache.evictByJti(accessToken));
     }
 
     @Override
@@ -175,11 +181,16 @@ public class TokenServiceImpl implements TokenService {
     }
 
     private void storeTokens(JWT accessToken, JWT refreshToken, OAuth2Request oAuth2Request) {
-        // store access token
-        tokenManager.storeAccessToken(convert(accessToken, refreshToken,  oAuth2Request));
-        // store refresh token (if exists)
-        if (refreshToken != null) {
-            tokenManager.storeRefreshToken(convert(refreshToken));
+        Diagnostics.Span span = Diagnostics.span("persistence");
+        try {
+            // store access token
+            tokenManager.storeAccessToken(convert(accessToken, refreshToken,  oAuth2Request));
+            // store refresh token (if exists)
+            if (refreshToken != null) {
+                tokenManager.storeRefreshToken(convert(refreshToken));
+            }
+        } finally {
+            span.end();
         }
     }
 
@@ -287,9 +298,12 @@ public class TokenServiceImpl implements TokenService {
         // set exp claim
         jwt.setExp(Instant.ofEpochSecond(jwt.getIat()).plusSeconds(client.getRefreshTokenValiditySeconds()).getEpochSecond());
         // set custom claims from the current access token
-        Map<String, Object> customClaims = new HashMap<>(accessToken);
-        Claims.claims().forEach(claim ->  customClaims.remove(claim));
-        jwt.putAll(customClaims);
+        List<String> standardClaims = Claims.claims();
+        accessToken.forEach((claim, value) -> {
+            if (!standardClaims.contains(claim)) {
+                jwt.put(claim, value);
+            }
+        });
 
         return jwt;
     }
@@ -0,0 +1,232 @@
+/**
+ * Copyright (C) 2015 The Gravitee team (http://gravitee.io)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.gravitee.am.gateway.handler.oauth2.service.token.indexer;
+
+import io.gravitee.am.common.metrics.MeterGroup;
+import io.gravitee.am.repository.oauth2.model.Token;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.Timer;
+import io.reactivex.Completable;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+/**
+ * Write-behind processor draining a {@link TokenSpool} into the token store.
+ *
+ * Tokens are written by batches, one batch at a time, and removed from the spool only once written. The batch size
+ * adapts to the observed write latency: it grows while the token store answers below the target latency and is halved
+ * as soon as it answers above. Failed writes are retried with an exponential backoff.
+ *
+ * A token rejected by the token store on each attempt (e.g. an invalid document) must not block the spool: after
+ * {@value #MAX_ATTEMPTS} consecutive failures, the batches are halved until the failing token is written alone. It is
+ * dropped if the token store accepts the next token but still rejects it, otherwise the token store is unavailable.
+ *
+ * @author GraviteeSource Team
+ */
+public class TokenBulkProcessor<T extends Token> implements Runnable {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(TokenBulkProcessor.class);
+    private static final long MIN_BACKOFF_MILLIS = 100;
+    private static final long MAX_BACKOFF_MILLIS = 30_000;
+    private static final int MAX_ATTEMPTS = 5;
+
+    private final String type;
+    private final TokenSpool<T> spool;
+    private final Function<List<T>, Completable> writer;
+    private final int minBatchSize;
+    private final int maxBatchSize;
+    private final long targetLatency;
+    private final long writeTimeout;
+    private final MeterGroup meters;
+    private final Timer flushTimer;
+    private final Counter dropped;
+    private final Counter errors;
+
+    private volatile int batchSize;
+    private int failures;
+    private long retryAt;
+    private boolean isolating;
+
+    /**
+     * @param registry the registry of the meters, <code>null</code> for the registry of the node.
+     * @param targetLatency the write latency (in milliseconds) the batch size is adjusted to.
+     * @param writeTimeout the maximum time (in milliseconds) to wait for a batch to be written.
+     */
+    public TokenBulkProcessor(String domain, String type, TokenSpool<T> spool, Function<List<T>, Completable> writer,
+                              MeterRegistry registry, int minBatchSize, int maxBatchSize, long targetLatency, long writeTimeout) {
+        this.type = type;
+        this.spool = spool;
+        this.writer = writer;
+        this.meters = new MeterGroup(registry);
+        this.minBatchSize = Math.max(1, minBatchSize);
+        this.maxBatchSize = Math.max(this.minBatchSize, maxBatchSize);
+        this.targetLatency = targetLatency;
+        this.writeTimeout = writeTimeout;
+        this.batchSize = this.maxBatchSize;
+
+        Tags tags = Tags.of("domain", domain, "type", type);
+        meters.gauge("am.tokens.spool.size", tags, "Number of tokens waiting to be written to the token store", spool, TokenSpool::size);
+        meters.gauge("am.tokens.spool.usage", tags, "Ratio of the token spool currently used", spool, TokenSpool::usage);
+        meters.gauge("am.tokens.batch.size", tags, "Current size of the token store write batches", this, TokenBulkProcessor::getBatchSize);
+        flushTimer = meters.timer(Timer.builder("am.tokens.flush")
+                .tags(tags)
+                .description("Time to write a batch of tokens to the token store"));
+        dropped = meters.counter(Counter.builder("am.tokens.dropped")
+                .tags(tags)
+                .description("Number of tokens dropped because the spool is full or corrupted, or rejected by the token store"));
+        errors = meters.counter(Counter.builder("am.tokens.flush.errors")
+                .tags(tags)
+                .description("Number of failed token store writes"));
+    }
+
+    /**
+     * Append a token to the spool.
+     */
+    public void offer(T token) {
+        if (!spool.offer(token)) {
+            dropped.increment();
+            LOGGER.warn("Token spool for {} is full, token {} will not be stored", type, token.getToken());
+        }
+    }
+
+    @Override
+    public void run() {
+        try {
+            flush();
+        } catch (Exception ex) {
+            LOGGER.error("Unexpected error while indexing {}", type, ex);
+        }
+    }
+
+    /**
+     * Write all the pending tokens to the token store, stop at the first failure.
+     */
+    public void flush() {
+        if (failures > 0 && System.currentTimeMillis() < retryAt) {
+            return;
+        }
+
+        TokenSpool.Batch<T> batch;
+        int requested;
+        do {
+            requested = batchSize;
+            batch = spool.peek(requested);
+            if (batch.isEmpty()) {
+                isolating = false;
+                failures = 0;
+                return;
+            }
+            if (!batch.getTokens().isEmpty() && !write(batch.getTokens())) {
+                if (!isolating || requested > 1 || !skipFailingToken()) {
+                    return;
+                }
+                continue;
+            }
+            if (batch.getSkipped() > 0) {
+                dropped.increment(batch.getSkipped());
+            }
+            spool.ack(batch);
+        } while (batch.getRecords() >= requested);
+    }
+
+    public int getBatchSize() {
+        return batchSize;
+    }
+
+    public void close() {
+        meters.close();
+    }
+
+    /**
+     * The first pending token can't be written, even alone. It is dropped if the token store accepts the next token
+     * but still rejects it, otherwise the token store is unavailable.
+     *
+     * @return <code>true</code> if the first pending token has been written or dropped.
+     */
+    private boolean skipFailingToken() {
+        TokenSpool.Batch<T> batch = spool.peek(2);
+        List<T> tokens = batch.getTokens();
+        if (batch.getSkipped() > 0 || tokens.size() < 2) {
+            // nothing to compare with yet
+            return false;
+        }
+        if (!write(tokens.subList(1, 2))) {
+            // the token store is unavailable, back to the regular batches until it answers again
+            isolating = false;
+            batchSize = minBatchSize;
+            return false;
+        }
+        if (!write(tokens.subList(0, 1))) {
+            dropped.increment();
+            LOGGER.error("Token {} is rejected by the token store, it will not be stored", tokens.get(0).getToken());
+        }
+        spool.ack(batch);
+        isolating = false;
+        failures = 0;
+        batchSize = minBatchSize;
+        return true;
+    }
+
+    private boolean write(List<T> tokens) {
+        final long start = System.nanoTime();
+        try {
+            if (!writer.apply(tokens).blockingAwait(writeTimeout, TimeUnit.MILLISECONDS)) {
+                throw new IllegalStateException("Timeout after " + writeTimeout + "ms");
+            }
+        } catch (Exception ex) {
+            errors.increment();
+            failures++;
+            long backoff = Math.min(MAX_BACKOFF_MILLIS, MIN_BACKOFF_MILLIS << Math.min(failures, 10));
+            if (failures == MAX_ATTEMPTS) {
+                isolating = true;
+            }
+            if (isolating && batchSize > 1) {
+                // a token may be rejected by the token store, shrink the batches until it is written alone
+                backoff = MIN_BACKOFF_MILLIS;
+                batchSize = batchSize / 2;
+            } else if (!isolating) {
+                batchSize = Math.max(minBatchSize, batchSize / 2);
+            }
+            retryAt = System.currentTimeMillis() + backoff;
+            LOGGER.error("Unexpected error while indexing {}, {} pending tokens, retry in {}ms", type, spool.size(), backoff, ex);
+            return false;
+        }
+
+        final long latency = System.nanoTime() - start;
+        flushTimer.record(latency, TimeUnit.NANOSECONDS);
+        LOGGER.debug("{} {} indexation completed", tokens.size(), type);
+        if (isolating) {
+            // the batch size is kept until the failing token is isolated
+            return true;
+        }
+        failures = 0;
+
+        // additive increase, multiplicative decrease
+        long latencyMillis = TimeUnit.NANOSECONDS.toMillis(latency);
+        if (latencyMillis > targetLatency) {
+            batchSize = Math.max(minBatchSize, batchSize / 2);
+        } else if (tokens.size() >= batchSize && latencyMillis < targetLatency / 2) {
+            batchSize = Math.min(maxBatchSize, batchSize + minBatchSize);
+        }
+        return true;
+    }
+}
@@ -0,0 +1,115 @@
+/**
+ * Copyright (C) 2015 The Gravitee team (http://gravitee.io)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.gravitee.am.gateway.handler.oauth2.service.token.indexer;
+
+import io.gravitee.am.repository.oauth2.model.AccessToken;
+import io.gravitee.am.repository.oauth2.model.RefreshToken;
+import io.gravitee.am.repository.oauth2.model.Token;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.util.Date;
+
+/**
+ * Binary codecs of the tokens stored in a {@link TokenSpool}.
+ *
+ * @author GraviteeSource Team
+ */
+public final class TokenCodecs {
+
+    private static final byte VERSION = 1;
+
+    public static final TokenSpool.Codec<AccessToken> ACCESS_TOKEN = new TokenSpool.Codec<AccessToken>() {
+        @Override
+        public void write(AccessToken token, DataOutput out) throws IOException {
+            writeToken(token, out);
+            writeString(token.getRefreshToken(), out);
+            writeString(token.getAuthorizationCode(), out);
+        }
+
+        @Override
+        public AccessToken read(DataInput in) throws IOException {
+            AccessToken token = readToken(new AccessToken(), in);
+            token.setRefreshToken(readString(in));
+            token.setAuthorizationCode(readString(in));
+            return token;
+        }
+    };
+
+    public static final TokenSpool.Codec<RefreshToken> REFRESH_TOKEN = new TokenSpool.Codec<RefreshToken>() {
+        @Override
+        public void write(RefreshToken token, DataOutput out) throws IOException {
+            writeToken(token, out);
+        }
+
+        @Override
+        public RefreshToken read(DataInput in) throws IOException {
+            return readToken(new RefreshToken(), in);
+        }
+    };
+
+    private TokenCodecs() {
+    }
+
+    private static void writeToken(Token token, DataOutput out) throws IOException {
+        out.writeByte(VERSION);
+        writeString(token.getId(), out);
+        writeString(token.getToken(), out);
+        writeString(token.getDomain(), out);
+        writeString(token.getClient(), out);
+        writeString(token.getSubject(), out);
+        writeDate(token.getCreatedAt(), out);
+        writeDate(token.getExpireAt(), out);
+    }
+
+    private static <T extends Token> T readToken(T token, DataInput in) throws IOException {
+        byte version = in.readByte();
+        if (version != VERSION) {
+            throw new IOException("Unsupported token record version " + version);
+        }
+        token.setId(readString(in));
+        token.setToken(readString(in));
+        token.setDomain(readString(in));
+        token.setClient(readString(in));
+        token.setSubject(readString(in));
+        token.setCreatedAt(readDate(in));
+        token.setExpireAt(readDate(in));
+        return token;
+    }
+
+    private static void writeString(String value, DataOutput out) throws IOException {
+        out.writeBoolean(value != null);
+        if (value != null) {
+            out.writeUTF(value);
+        }
+    }
+
+    private static String readString(DataInput in) throws IOException {
+        return in.readBoolean() ? in.readUTF() : null;
+    }
+
+    private static void writeDate(Date value, DataOutput out) throws IOException {
+        out.writeBoolean(value != null);
+        if (value != null) {
+            out.writeLong(value.getTime());
+        }
+    }
+
+    private static Date readDate(DataInput in) throws IOException {
+        return in.readBoolean() ? new Date(in.readLong()) : null;
+    }
+}
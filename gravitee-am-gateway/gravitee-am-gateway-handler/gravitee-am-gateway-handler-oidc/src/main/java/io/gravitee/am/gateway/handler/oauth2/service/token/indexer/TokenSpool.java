@@ -0,0 +1,349 @@
+/**
+ * Copyright (C) 2015 The Gravitee team (http://gravitee.io)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.gravitee.am.gateway.handler.oauth2.service.token.indexer;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.*;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Bounded append-only spool of tokens waiting to be written to the token store.
+ *
+ * Records are laid out in a ring buffer, usually a memory-mapped file so that pending tokens survive a process crash
+ * and are replayed on startup. Tokens are only removed from the spool once acknowledged by the writer.
+ *
+ * Layout: <code>[magic:int][reserved:int][head:long][tail:long]</code> followed by <code>[length:int][payload]</code>
+ * records, a negative length marks the wrap to the beginning of the data section.
+ *
+ * In-memory spools are allocated lazily: they start small and double, up to their capacity, when full.
+ *
+ * @author GraviteeSource Team
+ */
+public class TokenSpool<T> implements Closeable {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(TokenSpool.class);
+
+    private static final int MAGIC = 0x67696f74;
+    private static final int HEADER_SIZE = 24;
+    private static final int HEAD_OFFSET = 8;
+    private static final int TAIL_OFFSET = 16;
+    private static final int WRAP = -1;
+    private static final int INITIAL_CAPACITY = 64 * 1024;
+
+    private final Codec<T> codec;
+    private final int maxCapacity;
+    private ByteBuffer buffer;
+    private int capacity;
+    private long head;
+    private long tail;
+    private int size;
+
+    TokenSpool(ByteBuffer buffer, int maxCapacity, Codec<T> codec) {
+        this.buffer = buffer;
+        this.codec = codec;
+        this.capacity = buffer.capacity();
+        this.maxCapacity = Math.max(capacity, maxCapacity);
+        if (capacity <= HEADER_SIZE) {
+            throw new IllegalArgumentException("Spool capacity must be greater than " + HEADER_SIZE + " bytes");
+        }
+        recover();
+    }
+
+    /**
+     * Create an in-memory spool, pending tokens are lost if the process stops.
+     *
+     * @param capacity the maximum size of the spool, the memory is allocated as tokens are appended.
+     */
+    public static <T> TokenSpool<T> inMemory(int capacity, Codec<T> codec) {
+        return new TokenSpool<>(ByteBuffer.allocate(Math.min(capacity, INITIAL_CAPACITY)), capacity, codec);
+    }
+
+    /**
+     * Open (or create) a spool backed by a memory-mapped file, pending tokens of a previous run are kept.
+     */
+    public static <T> TokenSpool<T> mapped(Path file, int capacity, Codec<T> codec) throws IOException {
+        Files.createDirectories(file.toAbsolutePath().getParent());
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            // never shrink an existing spool, it may still contain pending tokens
+            long length = Math.max(channel.size(), capacity);
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, length);
+            return new TokenSpool<>(buffer, capacity, codec);
+        }
+    }
+
+    /**
+     * Append a token to the spool.
+     *
+     * @return <code>false</code> if the spool is full or the token can not be encoded.
+     */
+    public boolean offer(T token) {
+        final byte[] payload;
+        try {
+            ByteArrayOutputStream bytes = new ByteArrayOutputStream(256);
+            codec.write(token, new DataOutputStream(bytes));
+            payload = bytes.toByteArray();
+        } catch (IOException ex) {
+            LOGGER.error("Unable to serialize token into the spool", ex);
+            return false;
+        }
+
+        synchronized (this) {
+            final int required = Integer.BYTES + payload.length;
+            return append(payload, required) || (grow(required) && append(payload, required));
+        }
+    }
+
+    /**
+     * Read, without removing them, up to <code>max</code> of the oldest tokens.
+     */
+    public synchronized Batch<T> peek(int max) {
+        if (size == 0 || max <= 0) {
+            return new Batch<>(Collections.emptyList(), 0, head, 0);
+        }
+        List<T> tokens = new ArrayList<>(Math.min(max, size));
+        long position = head;
+        int records = 0;
+        int skipped = 0;
+        while (records < max && records < size) {
+            position = align(position);
+            int length = buffer.getInt((int) position);
+            byte[] payload = new byte[length];
+            ByteBuffer slice = buffer.duplicate();
+            slice.position((int) position + Integer.BYTES);
+            slice.get(payload);
+            position += Integer.BYTES + length;
+            records++;
+            try {
+                tokens.add(codec.read(new DataInputStream(new ByteArrayInputStream(payload))));
+            } catch (IOException ex) {
+                LOGGER.error("Unable to deserialize token from the spool, skipping it", ex);
+                skipped++;
+            }
+        }
+        return new Batch<>(tokens, records, position, skipped);
+    }
+
+    /**
+     * Remove the tokens of the given batch, once written to the token store.
+     */
+    public synchronized void ack(Batch<T> batch) {
+        if (batch.records == 0) {
+            return;
+        }
+        size -= batch.records;
+        if (size == 0) {
+            // nothing pending, restart from the beginning of the data section to avoid useless wraps
+            reset();
+        } else {
+            head = batch.end;
+            buffer.putLong(HEAD_OFFSET, head);
+        }
+    }
+
+    /**
+     * @return the number of pending tokens.
+     */
+    public synchronized int size() {
+        return size;
+    }
+
+    /**
+     * @return the ratio of the spool currently used by pending tokens.
+     */
+    public synchronized double usage() {
+        return (double) used() / (maxCapacity - HEADER_SIZE);
+    }
+
+    @Override
+    public synchronized void close() {
+        if (buffer instanceof MappedByteBuffer) {
+            ((MappedByteBuffer) buffer).force();
+        }
+    }
+
+    private boolean append(byte[] payload, int required) {
+        long position = tail;
+        if (tail >= head) {
+            if (tail + required > capacity) {
+                // wrap to the beginning of the data section, must not catch up with the head
+                if (HEADER_SIZE + required >= head) {
+                    return false;
+                }
+                if (tail + Integer.BYTES <= capacity) {
+                    buffer.putInt((int) tail, WRAP);
+                }
+                position = HEADER_SIZE;
+            }
+        } else if (tail + required >= head) {
+            return false;
+        }
+
+        buffer.putInt((int) position, payload.length);
+        ByteBuffer slice = buffer.duplicate();
+        slice.position((int) position + Integer.BYTES);
+        slice.put(payload);
+        // publish the record only once fully written
+        tail = position + required;
+        buffer.putLong(TAIL_OFFSET, tail);
+        size++;
+        return true;
+    }
+
+    /**
+     * Grow an in-memory spool, pending records are copied in order to the beginning of the new buffer.
+     */
+    private boolean grow(int required) {
+        if (buffer instanceof MappedByteBuffer || capacity >= maxCapacity) {
+            return false;
+        }
+        final long needed = HEADER_SIZE + used() + required;
+        int grown = capacity;
+        while (grown < needed && grown < maxCapacity) {
+            grown = (int) Math.min(maxCapacity, grown * 2L);
+        }
+        if (grown < needed) {
+            return false;
+        }
+
+        ByteBuffer target = ByteBuffer.allocate(grown);
+        long position = head;
+        int offset = HEADER_SIZE;
+        for (int i = 0; i < size; i++) {
+            position = align(position);
+            int record = Integer.BYTES + buffer.getInt((int) position);
+            ByteBuffer slice = buffer.duplicate();
+            slice.limit((int) position + record);
+            slice.position((int) position);
+            target.position(offset);
+            target.put(slice);
+            position += record;
+            offset += record;
+        }
+
+        buffer = target;
+        capacity = grown;
+        head = HEADER_SIZE;
+        tail = offset;
+        buffer.putInt(0, MAGIC);
+        buffer.putLong(HEAD_OFFSET, head);
+        buffer.putLong(TAIL_OFFSET, tail);
+        return true;
+    }
+
+    private long used() {
+        return tail >= head ? tail - head : (capacity - head) + (tail - HEADER_SIZE);
+    }
+
+    private long align(long position) {
+        if (position + Integer.BYTES > capacity || buffer.getInt((int) position) == WRAP) {
+            return HEADER_SIZE;
+        }
+        return position;
+    }
+
+    private void recover() {
+        head = buffer.getLong(HEAD_OFFSET);
+        tail = buffer.getLong(TAIL_OFFSET);
+        if (buffer.getInt(0) != MAGIC || !valid(head) || !valid(tail)) {
+            reset();
+            return;
+        }
+
+        // count the pending records of a previous run
+        long position = head;
+        try {
+            while (position != tail) {
+                position = align(position);
+                int length = buffer.getInt((int) position);
+                if (length < 0 || position + Integer.BYTES + length > capacity) {
+                    throw new IllegalStateException("Invalid record length " + length + " at " + position);
+                }
+                position += Integer.BYTES + length;
+                size++;
+            }
+        } catch (RuntimeException ex) {
+            LOGGER.warn("Token spool is corrupted, pending tokens are discarded", ex);
+            reset();
+            return;
+        }
+        if (size == 0) {
+            reset();
+        }
+    }
+
+    private boolean valid(long position) {
+        return position >= HEADER_SIZE && position <= capacity;
+    }
+
+    private void reset() {
+        head = HEADER_SIZE;
+        tail = HEADER_SIZE;
+        size = 0;
+        buffer.putInt(0, MAGIC);
+        buffer.putLong(HEAD_OFFSET, head);
+        buffer.putLong(TAIL_OFFSET, tail);
+    }
+
+    /**
+     * Binary serialization of the spooled tokens.
+     */
+    public interface Codec<T> {
+
+        void write(T token, DataOutput out) throws IOException;
+
+        T read(DataInput in) throws IOException;
+    }
+
+    public static class Batch<T> {
+        private final List<T> tokens;
+        private final int records;
+        private final long end;
+        private final int skipped;
+
+        private Batch(List<T> tokens, int records, long end, int skipped) {
+            this.tokens = tokens;
+            this.records = records;
+            this.end = end;
+            this.skipped = skipped;
+        }
+
+        public List<T> getTokens() {
+            return tokens;
+        }
+
+        public int getRecords() {
+            return records;
+        }
+
+        public int getSkipped() {
+            return skipped;
+        }
+
+        public boolean isEmpty() {
+            return records == 0;
+        }
+    }
+}
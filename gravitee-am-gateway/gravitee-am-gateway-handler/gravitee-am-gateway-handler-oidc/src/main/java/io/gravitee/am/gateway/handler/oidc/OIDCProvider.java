@@ -27,6 +27,7 @@ import io.gravitee.am.gateway.handler.oauth2.resources.handler.ExceptionHandler;
 import io.gravitee.am.gateway.handler.oauth2.service.assertion.ClientAssertionService;
 import io.gravitee.am.gateway.handler.oauth2.service.granter.extensiongrant.ExtensionGrantManager;
 import io.gravitee.am.gateway.handler.oauth2.service.scope.ScopeManager;
+import io.gravitee.am.gateway.handler.oauth2.service.token.TokenManager;
 import io.gravitee.am.gateway.handler.oidc.resources.endpoint.*;
 import io.gravitee.am.gateway.handler.oidc.resources.handler.DynamicClientAccessHandler;
 import io.gravitee.am.gateway.handler.oidc.resources.handler.DynamicClientAccessTokenHandler;
@@ -117,6 +118,9 @@ public class OIDCProvider extends AbstractService<ProtocolProvider> implements P
     @Autowired
     private ScopeManager scopeManager;
 
+    @Autowired
+    private TokenManager tokenManager;
+
     @Autowired
     private RequestObjectService requestObjectService;
 
@@ -141,6 +145,7 @@ public class OIDCProvider extends AbstractService<ProtocolProvider> implements P
 
         extensionGrantManager.stop();
         scopeManager.stop();
+        tokenManager.stop();
     }
 
     @Override
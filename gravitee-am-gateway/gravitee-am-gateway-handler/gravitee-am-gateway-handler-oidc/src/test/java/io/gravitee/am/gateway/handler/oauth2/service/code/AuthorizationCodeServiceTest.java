@@ -15,6 +15,7 @@
  */
 package io.gravitee.am.gateway.handler.oauth2.service.code;
 
+import io.gravitee.am.gateway.handler.common.oauth2.IntrospectionTokenCache;
 import io.gravitee.am.gateway.handler.oauth2.exception.InvalidGrantException;
 import io.gravitee.am.gateway.handler.oauth2.service.code.impl.AuthorizationCodeServiceImpl;
 import io.gravitee.am.gateway.handler.oauth2.service.request.AuthorizationRequest;
@@ -61,6 +62,9 @@ public class AuthorizationCodeServiceTest {
     @Mock
     private RefreshTokenRepository refreshTokenRepository;
 
+    @Mock
+    private IntrospectionTokenCache introspectionTokenCache;
+
     @Test
     public void shouldCreate_noExistingCode() {
         AuthorizationRequest authorizationRequest = new AuthorizationRequest();
@@ -92,19 +96,42 @@ public class AuthorizationCodeServiceTest {
         authorizationCode.setCode("my-code");
         authorizationCode.setClientId("my-client-id");
 
-        when(authorizationCodeRepository.findByCode(authorizationCode.getCode())).thenReturn(Maybe.just(authorizationCode));
-        when(authorizationCodeRepository.delete(authorizationCode.getId())).thenReturn(Maybe.just(authorizationCode));
-        when(accessTokenRepository.findByAuthorizationCode(authorizationCode.getCode())).thenReturn(Observable.empty());
+        when(authorizationCodeRepository.findAndRemoveByCodeAndClientId(authorizationCode.getCode(), "my-client-id")).thenReturn(Maybe.just(authorizationCode));
 
         TestObserver<AuthorizationCode> testObserver = authorizationCodeService.remove(authorizationCode.getCode(), client).test();
         testObserver.assertComplete();
         testObserver.assertNoErrors();
 
-        verify(authorizationCodeRepository, times(1)).findByCode(any());
-        verify(authorizationCodeRepository, times(1)).delete(any());
-        verify(accessTokenRepository, times(1)).findByAuthorizationCode(anyString());
-        verify(accessTokenRepository, never()).delete(anyString());
-        verify(refreshTokenRepository, never()).delete(anyString());
+        verify(authorizationCodeRepository, times(1)).findAndRemoveByCodeAndClientId(any(), any());
+        verify(authorizationCodeRepository, never()).findByCode(any());
+        verify(authorizationCodeRepository, never()).delete(any());
+        verify(accessTokenRepository, never()).findByAuthorizationCode(anyString());
+        verify(accessTokenRepository, never()).deleteByAuthorizationCode(anyString());
+        verify(refreshTokenRepository, never()).bulkDelete(anyList());
+        verify(introspectionTokenCache, never()).evictByJti(anyString());
+    }
+
+    @Test
+    public void shouldNotRemove_codeOfAnotherClient() {
+        Client client = new Client();
+        client.setClientId("other-client-id");
+
+        AuthorizationCode authorizationCode = new AuthorizationCode();
+        authorizationCode.setId("code-id");
+        authorizationCode.setCode("my-code");
+        authorizationCode.setClientId("my-client-id");
+
+        when(authorizationCodeRepository.findAndRemoveByCodeAndClientId("my-code", "other-client-id")).thenReturn(Maybe.empty());
+        when(authorizationCodeRepository.findByCode("my-code")).thenReturn(Maybe.just(authorizationCode));
+
+        TestObserver<AuthorizationCode> testObserver = authorizationCodeService.remove(authorizationCode.getCode(), client).test();
+        testObserver.assertError(InvalidGrantException.class);
+
+        // the code is still usable by its client, issued tokens are not revoked
+        verify(authorizationCodeRepository, never()).delete(any());
+        verify(accessTokenRepository, never()).findByAuthorizationCode(anyString());
+        verify(accessTokenRepository, never()).deleteByAuthorizationCode(anyString());
+        verify(refreshTokenRepository, never()).bulkDelete(anyList());
     }
 
     @Test
@@ -129,18 +156,21 @@ public class AuthorizationCodeServiceTest {
 
         List<AccessToken> tokens = Arrays.asList(accessToken, accessToken2);
 
+        when(authorizationCodeRepository.findAndRemoveByCodeAndClientId(any(), any())).thenReturn(Maybe.empty());
         when(authorizationCodeRepository.findByCode(any())).thenReturn(Maybe.empty());
         when(accessTokenRepository.findByAuthorizationCode(anyString())).thenReturn(Observable.fromIterable(tokens));
-        when(accessTokenRepository.delete(anyString())).thenReturn(Completable.complete());
+        when(accessTokenRepository.deleteByAuthorizationCode(anyString())).thenReturn(Completable.complete());
 
         TestObserver<AuthorizationCode> testObserver = authorizationCodeService.remove(authorizationCode.getCode(), client).test();
         testObserver.assertError(InvalidGrantException.class);
 
-        verify(authorizationCodeRepository, times(1)).findByCode(any());
+        verify(authorizationCodeRepository, times(1)).findAndRemoveByCodeAndClientId(any(), any());
         verify(accessTokenRepository, times(1)).findByAuthorizationCode(anyString());
-        verify(accessTokenRepository, times(2)).delete(anyString());
-        verify(authorizationCodeRepository, never()).delete(any());
-        verify(refreshTokenRepository, never()).delete(anyString());
+        verify(accessTokenRepository, times(1)).deleteByAuthorizationCode("my-code");
+        verify(accessTokenRepository, never()).delete(anyString());
+        verify(refreshTokenRepository, never()).bulkDelete(anyList());
+        verify(introspectionTokenCache).evictByJti("my-access-token-1");
+        verify(introspectionTokenCache).evictByJti("my-access-token-2");
     }
 
     @Test
@@ -167,18 +197,20 @@ public class AuthorizationCodeServiceTest {
 
         List<AccessToken> tokens = Arrays.asList(accessToken, accessToken2);
 
+        when(authorizationCodeRepository.findAndRemoveByCodeAndClientId(any(), any())).thenReturn(Maybe.empty());
         when(authorizationCodeRepository.findByCode(any())).thenReturn(Maybe.empty());
         when(accessTokenRepository.findByAuthorizationCode(anyString())).thenReturn(Observable.fromIterable(tokens));
-        when(accessTokenRepository.delete(anyString())).thenReturn(Completable.complete());
-        when(refreshTokenRepository.delete(anyString())).thenReturn(Completable.complete());
+        when(accessTokenRepository.deleteByAuthorizationCode(anyString())).thenReturn(Completable.complete());
+        when(refreshTokenRepository.bulkDelete(anyList())).thenReturn(Completable.complete());
 
         TestObserver<AuthorizationCode> testObserver = authorizationCodeService.remove(authorizationCode.getCode(), client).test();
         testObserver.assertError(InvalidGrantException.class);
 
-        verify(authorizationCodeRepository, times(1)).findByCode(any());
+        verify(authorizationCodeRepository, times(1)).findAndRemoveByCodeAndClientId(any(), any());
         verify(accessTokenRepository, times(1)).findByAuthorizationCode(anyString());
-        verify(accessTokenRepository, times(2)).delete(anyString());
-        verify(refreshTokenRepository, times(2)).delete(anyString());
-        verify(authorizationCodeRepository, never()).delete(any());
+        verify(accessTokenRepository, times(1)).deleteByAuthorizationCode("my-code");
+        verify(refreshTokenRepository, times(1)).bulkDelete(Arrays.asList("my-refresh-token-1", "my-refresh-token-2"));
+        verify(accessTokenRepository, never()).delete(anyString());
+        verify(refreshTokenRepository, never()).delete(anyString());
     }
 }
@@ -0,0 +1,122 @@
+/**
+ * Copyright (C) 2015 The Gravitee team (http://gravitee.io)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.gravitee.am.gateway.handler.oauth2.service.token;
+
+import io.gravitee.am.gateway.handler.oauth2.service.token.impl.TokenManagerImpl;
+import io.gravitee.am.model.Domain;
+import io.gravitee.am.repository.oauth2.api.AccessTokenRepository;
+import io.gravitee.am.repository.oauth2.api.RefreshTokenRepository;
+import io.gravitee.am.repository.oauth2.model.AccessToken;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.reactivex.Completable;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.junit.runner.RunWith;
+import org.mockito.Mock;
+import org.mockito.junit.MockitoJUnitRunner;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.when;
+
+/**
+ * @author GraviteeSource Team
+ */
+@RunWith(MockitoJUnitRunner.class)
+public class TokenManagerTest {
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    @Mock
+    private AccessTokenRepository accessTokenRepository;
+
+    @Mock
+    private RefreshTokenRepository refreshTokenRepository;
+
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+
+    private final List<String> written = new ArrayList<>();
+
+    @Before
+    public void setUp() {
+        when(accessTokenRepository.bulkWrite(anyList())).thenAnswer(invocation -> {
+            List<AccessToken> accessTokens = invocation.getArgument(0);
+            accessTokens.forEach(accessToken -> written.add(accessToken.getToken()));
+            return Completable.complete();
+        });
+    }
+
+    @Test
+    public void shouldShareSpools_whileDomainIsUpdated() throws Exception {
+        TokenManagerImpl previous = tokenManager();
+        TokenManagerImpl current = tokenManager();
+
+        previous.start();
+        previous.storeAccessToken(accessToken("token-1"));
+        // the new handler is started before the previous one is stopped
+        current.start();
+        current.storeAccessToken(accessToken("token-2"));
+        previous.storeAccessToken(accessToken("token-3"));
+
+        previous.stop();
+        // meters of the domain are still registered by the new handler
+        assertEquals(0.0, registry.get("am.tokens.spool.size").tag("type", "access_tokens").gauge().value(), 0);
+        current.storeAccessToken(accessToken("token-4"));
+        current.stop();
+
+        // each token is written exactly once
+        List<String> expected = new ArrayList<>();
+        expected.add("token-1");
+        expected.add("token-2");
+        expected.add("token-3");
+        expected.add("token-4");
+        assertEquals(expected, written);
+        assertTrue(registry.getMeters().isEmpty());
+    }
+
+    private TokenManagerImpl tokenManager() {
+        Domain domain = new Domain();
+        domain.setId("domain-1");
+
+        TokenManagerImpl tokenManager = new TokenManagerImpl(registry);
+        ReflectionTestUtils.setField(tokenManager, "domain", domain);
+        ReflectionTestUtils.setField(tokenManager, "path", folder.getRoot().getAbsolutePath());
+        ReflectionTestUtils.setField(tokenManager, "flushInterval", 60000L);
+        ReflectionTestUtils.setField(tokenManager, "accessTokenRepository", accessTokenRepository);
+        ReflectionTestUtils.setField(tokenManager, "refreshTokenRepository", refreshTokenRepository);
+        return tokenManager;
+    }
+
+    private static AccessToken accessToken(String token) {
+        AccessToken accessToken = new AccessToken();
+        accessToken.setId("id-" + token);
+        accessToken.setToken(token);
+        accessToken.setDomain("domain-1");
+        accessToken.setClient("client");
+        accessToken.setCreatedAt(new Date());
+        accessToken.setExpireAt(new Date(System.currentTimeMillis() + 60000));
+        return accessToken;
+    }
+}
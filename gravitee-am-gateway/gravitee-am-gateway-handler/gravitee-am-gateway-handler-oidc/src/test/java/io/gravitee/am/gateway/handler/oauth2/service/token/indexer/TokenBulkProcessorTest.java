@@ -0,0 +1,184 @@
+/**
+ * Copyright (C) 2015 The Gravitee team (http://gravitee.io)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.gravitee.am.gateway.handler.oauth2.service.token.indexer;
+
+import io.gravitee.am.repository.oauth2.model.RefreshToken;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.reactivex.Completable;
+import org.junit.Before;
+import org.junit.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.*;
+
+/**
+ * @author GraviteeSource Team
+ */
+public class TokenBulkProcessorTest {
+
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+
+    private final List<List<RefreshToken>> writes = new ArrayList<>();
+
+    private TokenSpool<RefreshToken> spool;
+
+    private Completable result;
+
+    private TokenBulkProcessor<RefreshToken> processor;
+
+    @Before
+    public void setUp() {
+        spool = TokenSpool.inMemory(1024 * 1024, TokenCodecs.REFRESH_TOKEN);
+        result = Completable.complete();
+        processor = new TokenBulkProcessor<>("domain", "refresh_tokens", spool, tokens -> {
+            writes.add(tokens);
+            return result;
+        }, registry, 10, 40, 200, 1000);
+    }
+
+    @Test
+    public void shouldWritePendingTokens_byBatch() {
+        offer(100);
+
+        processor.flush();
+
+        assertEquals(0, spool.size());
+        assertEquals(100, writes.stream().mapToInt(List::size).sum());
+        assertTrue(writes.stream().allMatch(tokens -> tokens.size() <= 40));
+        assertEquals(writes.size(), registry.get("am.tokens.flush").tag("domain", "domain").timer().count());
+    }
+
+    @Test
+    public void shouldKeepTokens_writeFailure() {
+        offer(20);
+        result = Completable.error(new IllegalStateException("unavailable"));
+
+        processor.flush();
+
+        assertEquals(20, spool.size());
+        assertEquals(1.0, registry.get("am.tokens.flush.errors").counter().count(), 0);
+        // batch size is reduced
+        assertEquals(20, processor.getBatchSize());
+    }
+
+    @Test
+    public void shouldReduceBatchSize_slowTokenStore() {
+        offer(40);
+        result = Completable.timer(300, TimeUnit.MILLISECONDS);
+
+        processor.flush();
+
+        assertEquals(0, spool.size());
+        assertEquals(20, processor.getBatchSize());
+    }
+
+    @Test
+    public void shouldIncreaseBatchSize_fastTokenStore() {
+        offer(40);
+        result = Completable.timer(300, TimeUnit.MILLISECONDS);
+        processor.flush();
+        assertEquals(20, processor.getBatchSize());
+
+        result = Completable.complete();
+        offer(40);
+        processor.flush();
+
+        assertEquals(0, spool.size());
+        assertEquals(30, processor.getBatchSize());
+    }
+
+    @Test
+    public void shouldDropTokens_spoolFull() {
+        spool = TokenSpool.inMemory(256, TokenCodecs.REFRESH_TOKEN);
+        processor.close();
+        processor = new TokenBulkProcessor<>("domain", "refresh_tokens", spool, tokens -> result, registry, 10, 40, 200, 1000);
+
+        offer(50);
+
+        assertTrue(registry.get("am.tokens.dropped").counter().count() > 0);
+        assertEquals(50, spool.size() + (int) registry.get("am.tokens.dropped").counter().count());
+    }
+
+    @Test
+    public void shouldDropToken_rejectedByTokenStore() {
+        processor.close();
+        processor = new TokenBulkProcessor<>("domain", "refresh_tokens", spool, tokens -> {
+            if (tokens.stream().anyMatch(token -> token.getToken().equals("token-13"))) {
+                return Completable.error(new IllegalArgumentException("invalid document"));
+            }
+            writes.add(tokens);
+            return Completable.complete();
+        }, registry, 10, 40, 200, 1000);
+        offer(40);
+
+        for (int i = 0; i < 20 && spool.size() > 0; i++) {
+            retryNow();
+            processor.flush();
+        }
+
+        assertEquals(0, spool.size());
+        assertEquals(39, writes.stream().mapToInt(List::size).sum());
+        assertTrue(writes.stream().flatMap(List::stream).noneMatch(token -> token.getToken().equals("token-13")));
+        assertEquals(1.0, registry.get("am.tokens.dropped").counter().count(), 0);
+    }
+
+    @Test
+    public void shouldKeepTokens_tokenStoreUnavailable() {
+        offer(40);
+        result = Completable.error(new IllegalStateException("unavailable"));
+
+        for (int i = 0; i < 20; i++) {
+            retryNow();
+            processor.flush();
+        }
+
+        assertEquals(40, spool.size());
+        assertEquals(0.0, registry.get("am.tokens.dropped").counter().count(), 0);
+        assertEquals(10, processor.getBatchSize());
+
+        result = Completable.complete();
+        retryNow();
+        processor.flush();
+
+        assertEquals(0, spool.size());
+    }
+
+    @Test
+    public void shouldRemoveMeters_onClose() {
+        processor.close();
+
+        assertTrue(registry.find("am.tokens.spool.size").meters().isEmpty());
+        assertTrue(registry.find("am.tokens.flush").meters().isEmpty());
+        assertTrue(registry.find("am.tokens.dropped").meters().isEmpty());
+    }
+
+    private void retryNow() {
+        ReflectionTestUtils.setField(processor, "retryAt", 0L);
+    }
+
+    private void offer(int count) {
+        for (int i = 0; i < count; i++) {
+            RefreshToken refreshToken = new RefreshToken();
+            refreshToken.setId("id-" + i);
+            refreshToken.setToken("token-" + i);
+            processor.offer(refreshToken);
+        }
+    }
+}
@@ -0,0 +1,173 @@
+/**
+ * Copyright (C) 2015 The Gravitee team (http://gravitee.io)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.gravitee.am.gateway.handler.oauth2.service.token.indexer;
+
+import io.gravitee.am.repository.oauth2.model.AccessToken;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.nio.file.Path;
+import java.util.Date;
+
+import static org.junit.Assert.*;
+
+/**
+ * @author GraviteeSource Team
+ */
+public class TokenSpoolTest {
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    @Test
+    public void shouldPeekAndAck() {
+        TokenSpool<AccessToken> spool = TokenSpool.inMemory(4096, TokenCodecs.ACCESS_TOKEN);
+        for (int i = 0; i < 5; i++) {
+            assertTrue(spool.offer(accessToken("token-" + i)));
+        }
+        assertEquals(5, spool.size());
+
+        TokenSpool.Batch<AccessToken> batch = spool.peek(3);
+        assertEquals(3, batch.getRecords());
+        assertEquals("token-0", batch.getTokens().get(0).getToken());
+        assertEquals("token-2", batch.getTokens().get(2).getToken());
+        // not acknowledged, same tokens are read again
+        assertEquals("token-0", spool.peek(3).getTokens().get(0).getToken());
+
+        spool.ack(batch);
+        assertEquals(2, spool.size());
+        batch = spool.peek(10);
+        assertEquals(2, batch.getRecords());
+        assertEquals("token-3", batch.getTokens().get(0).getToken());
+
+        spool.ack(batch);
+        assertEquals(0, spool.size());
+        assertTrue(spool.peek(10).isEmpty());
+        assertEquals(0.0, spool.usage(), 0);
+    }
+
+    @Test
+    public void shouldSerializeTokens() {
+        TokenSpool<AccessToken> spool = TokenSpool.inMemory(4096, TokenCodecs.ACCESS_TOKEN);
+        AccessToken accessToken = accessToken("token");
+        accessToken.setRefreshToken("refresh-token");
+        spool.offer(accessToken);
+
+        AccessToken read = spool.peek(1).getTokens().get(0);
+        assertEquals(accessToken.getId(), read.getId());
+        assertEquals("token", read.getToken());
+        assertEquals("domain", read.getDomain());
+        assertEquals("client", read.getClient());
+        assertNull(read.getSubject());
+        assertEquals(accessToken.getCreatedAt(), read.getCreatedAt());
+        assertEquals(accessToken.getExpireAt(), read.getExpireAt());
+        assertEquals("refresh-token", read.getRefreshToken());
+        assertNull(read.getAuthorizationCode());
+    }
+
+    @Test
+    public void shouldRejectToken_spoolFull() {
+        TokenSpool<AccessToken> spool = TokenSpool.inMemory(512, TokenCodecs.ACCESS_TOKEN);
+        int offered = 0;
+        while (spool.offer(accessToken("token-" + offered))) {
+            offered++;
+        }
+        assertTrue(offered > 0);
+        assertEquals(offered, spool.size());
+
+        // room is made once tokens are acknowledged
+        spool.ack(spool.peek(2));
+        assertTrue(spool.offer(accessToken("token-" + offered)));
+    }
+
+    @Test
+    public void shouldWrapAround() {
+        TokenSpool<AccessToken> spool = TokenSpool.inMemory(512, TokenCodecs.ACCESS_TOKEN);
+        int next = 0;
+        int expected = 0;
+        for (int round = 0; round < 20; round++) {
+            while (spool.offer(accessToken("token-" + next))) {
+                next++;
+            }
+            TokenSpool.Batch<AccessToken> batch = spool.peek(2);
+            for (AccessToken accessToken : batch.getTokens()) {
+                assertEquals("token-" + expected++, accessToken.getToken());
+            }
+            spool.ack(batch);
+        }
+        TokenSpool.Batch<AccessToken> batch = spool.peek(Integer.MAX_VALUE);
+        for (AccessToken accessToken : batch.getTokens()) {
+            assertEquals("token-" + expected++, accessToken.getToken());
+        }
+        assertEquals(next, expected);
+    }
+
+    @Test
+    public void shouldGrowInMemorySpool() {
+        TokenSpool<AccessToken> spool = TokenSpool.inMemory(1024 * 1024, TokenCodecs.ACCESS_TOKEN);
+        // wrap the initial buffer before growing
+        for (int i = 0; i < 600; i++) {
+            assertTrue(spool.offer(accessToken("token-" + i)));
+        }
+        spool.ack(spool.peek(550));
+        int offered = 600;
+        while (spool.usage() < 0.5) {
+            assertTrue(spool.offer(accessToken("token-" + offered++)));
+        }
+
+        int expected = 550;
+        TokenSpool.Batch<AccessToken> batch = spool.peek(Integer.MAX_VALUE);
+        assertEquals(offered - 550, batch.getRecords());
+        for (AccessToken accessToken : batch.getTokens()) {
+            assertEquals("token-" + expected++, accessToken.getToken());
+        }
+
+        // bounded by the capacity
+        while (spool.offer(accessToken("token-" + offered))) {
+            offered++;
+        }
+        assertTrue(spool.usage() > 0.9);
+    }
+
+    @Test
+    public void shouldReplayPendingTokens_afterRestart() throws Exception {
+        Path file = folder.getRoot().toPath().resolve("domain").resolve("access_tokens.spool");
+        TokenSpool<AccessToken> spool = TokenSpool.mapped(file, 4096, TokenCodecs.ACCESS_TOKEN);
+        spool.offer(accessToken("token-0"));
+        spool.offer(accessToken("token-1"));
+        spool.offer(accessToken("token-2"));
+        spool.ack(spool.peek(1));
+        spool.close();
+
+        TokenSpool<AccessToken> reopened = TokenSpool.mapped(file, 4096, TokenCodecs.ACCESS_TOKEN);
+        assertEquals(2, reopened.size());
+        TokenSpool.Batch<AccessToken> batch = reopened.peek(10);
+        assertEquals("token-1", batch.getTokens().get(0).getToken());
+        assertEquals("token-2", batch.getTokens().get(1).getToken());
+    }
+
+    private static AccessToken accessToken(String token) {
+        AccessToken accessToken = new AccessToken();
+        accessToken.setId("id-" + token);
+        accessToken.setToken(token);
+        accessToken.setDomain("domain");
+        accessToken.setClient("client");
+        accessToken.setCreatedAt(new Date());
+        accessToken.setExpireAt(new Date(System.currentTimeMillis() + 60000));
+        return accessToken;
+    }
+}
@@ -31,4 +31,20 @@ public interface Reactor extends Service {
     void mountDomain(VertxSecurityDomainHandler domainHandler);
 
     void unMountDomain(VertxSecurityDomainHandler domainHandler);
+
+    /**
+     * Route the requests of a domain to its new handler instead of the previous one, without interruption.
+     * The previous handler keeps processing the requests it already received.
+     *
+     * @param previousHandler the handler currently mounted.
+     * @param domainHandler the started handler of the updated domain.
+     */
+    void swapDomain(VertxSecurityDomainHandler previousHandler, VertxSecurityDomainHandler domainHandler);
+
+    /**
+     * Mount a domain handler again on the current entrypoints of its domain.
+     *
+     * @param domainHandler the mounted handler, whose domain path or virtual hosts have changed.
+     */
+    void remountDomain(VertxSecurityDomainHandler domainHandler);
 }
@@ -59,4 +59,16 @@ public interface SecurityDomainManager {
      */
     Domain get(String domainId);
 
+    /**
+     * Returns <code>true</code> once the security domains known at startup have been deployed.
+     * @return <code>true</code> if the initial deployment is done.
+     */
+    boolean isInitialized();
+
+    /**
+     * Flag the initial deployment of the security domains as done.
+     * @param initialized <code>true</code> if the initial deployment is done.
+     */
+    void setInitialized(boolean initialized);
+
 }
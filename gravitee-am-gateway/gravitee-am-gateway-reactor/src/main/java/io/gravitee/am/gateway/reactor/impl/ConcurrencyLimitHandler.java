@@ -0,0 +1,84 @@
+/**
+ * Copyright (C) 2015 The Gravitee team (http://gravitee.io)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.gravitee.am.gateway.reactor.impl;
+
+import io.gravitee.am.gateway.handler.vertx.RequestCompletion;
+import io.gravitee.common.http.HttpHeaders;
+import io.gravitee.common.http.HttpStatusCode;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.vertx.core.Handler;
+import io.vertx.reactivex.core.buffer.Buffer;
+import io.vertx.reactivex.core.http.HttpServerResponse;
+import io.vertx.reactivex.ext.web.RoutingContext;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * A {@link Handler} limiting the number of requests processed by the gateway, whatever the security domain.
+ * Requests over the limit are rejected with a 503 status so that the load can be spread to other instances.
+ *
+ * @author GraviteeSource Team
+ */
+class ConcurrencyLimitHandler implements Handler<RoutingContext> {
+
+    // a request rerouted by a security domain is only counted once
+    private static final String COUNTED_ATTRIBUTE = ConcurrencyLimitHandler.class.getName();
+    private static final String RETRY_AFTER = "1";
+
+    private final AtomicInteger inFlightRequests = new AtomicInteger();
+    private final int maxConcurrentRequests;
+    private final String rejectionMessage;
+    private final Counter rejections;
+
+    ConcurrencyLimitHandler(MeterRegistry registry, int maxConcurrentRequests, String rejectionMessage) {
+        this.maxConcurrentRequests = maxConcurrentRequests;
+        this.rejectionMessage = rejectionMessage;
+        this.rejections = Counter.builder("am.gateway.requests.rejected").register(registry);
+    }
+
+    @Override
+    public void handle(RoutingContext context) {
+        if (context.get(COUNTED_ATTRIBUTE) != null) {
+            context.next();
+            return;
+        }
+
+        if (inFlightRequests.incrementAndGet() > maxConcurrentRequests) {
+            inFlightRequests.decrementAndGet();
+            rejections.increment();
+            reject(context.response());
+            return;
+        }
+
+        context.put(COUNTED_ATTRIBUTE, Boolean.TRUE);
+        RequestCompletion.onComplete(context, inFlightRequests::decrementAndGet);
+        context.next();
+    }
+
+    int inFlightRequests() {
+        return inFlightRequests.get();
+    }
+
+    private void reject(HttpServerResponse response) {
+        response.setStatusCode(HttpStatusCode.SERVICE_UNAVAILABLE_503);
+        response.headers().set(HttpHeaders.RETRY_AFTER, RETRY_AFTER);
+        response.headers().set(HttpHeaders.CONTENT_LENGTH, Integer.toString(rejectionMessage.length()));
+        response.headers().set(HttpHeaders.CONTENT_TYPE, "text/plain");
+        response.write(Buffer.buffer(rejectionMessage));
+        response.end();
+    }
+}
@@ -15,39 +15,47 @@
  */
 package io.gravitee.am.gateway.reactor.impl;
 
-import io.gravitee.am.gateway.core.manager.EntityManager;
+import io.gravitee.am.gateway.handler.common.client.ClientManager;
 import io.gravitee.am.model.oidc.Client;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.util.Collection;
+import java.util.Collections;
+import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentMap;
 
 /**
+ * Clients are indexed by ID and, as secondary indexes, by (domain, client_id), by domain for the templates
+ * and by certificate. Writes are serialized so that all the indexes stay consistent, reads are lock-free.
+ *
  * @author Titouan COMPIEGNE (titouan.compiegne at graviteesource.com)
  * @author GraviteeSource Team
  */
-public class DefaultClientManager implements EntityManager<Client> {
+public class DefaultClientManager implements ClientManager {
 
     private static final Logger logger = LoggerFactory.getLogger(DefaultClientManager.class);
     private final ConcurrentMap<String, Client> clients = new ConcurrentHashMap<>();
+    private final ConcurrentMap<String, ConcurrentMap<String, Client>> clientsByDomain = new ConcurrentHashMap<>();
+    private final ConcurrentMap<String, ConcurrentMap<String, Client>> templatesByDomain = new ConcurrentHashMap<>();
+    private final ConcurrentMap<String, ConcurrentMap<String, Client>> clientsByCertificate = new ConcurrentHashMap<>();
 
     @Override
     public void deploy(Client client) {
-        clients.put(client.getId(), client);
+        register(client);
         logger.info("Client {} for domain {} loaded", client.getId(), client.getDomain());
     }
 
     @Override
     public void update(Client client) {
-        clients.put(client.getId(), client);
+        register(client);
         logger.info("Client {} for domain {} updated", client.getId(), client.getDomain());
     }
 
     @Override
     public void undeploy(String clientId) {
-        clients.remove(clientId);
+        unregister(clientId);
         logger.info("Client {} undeployed", clientId);
     }
 
@@ -61,7 +69,87 @@ public class DefaultClientManager implements EntityManager<Client> {
         return clients.get(clientId);
     }
 
+    @Override
+    public Client getByDomainAndClientId(String domain, String clientId) {
+        if (domain == null || clientId == null) {
+            return null;
+        }
+        Map<String, Client> domainClients = clientsByDomain.get(domain);
+        return domainClients == null ? null : domainClients.get(clientId);
+    }
+
+    @Override
+    public Collection<Client> templates(String domain) {
+        return values(templatesByDomain, domain);
+    }
+
+    @Override
+    public Collection<Client> getByCertificate(String certificateId) {
+        return values(clientsByCertificate, certificateId);
+    }
+
     public void init(Collection<Client> clients) {
-        clients.forEach(c -> this.clients.put(c.getId(), c));
+        clients.forEach(this::register);
+    }
+
+    private synchronized void register(Client client) {
+        Client previous = clients.put(client.getId(), client);
+        if (previous != null) {
+            removeFromIndexes(previous);
+        }
+        addToIndexes(client);
+    }
+
+    private synchronized void unregister(String id) {
+        Client previous = clients.remove(id);
+        if (previous != null) {
+            removeFromIndexes(previous);
+        }
+    }
+
+    private void addToIndexes(Client client) {
+        if (client.getDomain() != null) {
+            if (client.isTemplate()) {
+                index(templatesByDomain, client.getDomain(), client.getId(), client);
+            } else if (client.getClientId() != null) {
+                index(clientsByDomain, client.getDomain(), client.getClientId(), client);
+            }
+        }
+        if (client.getCertificate() != null) {
+            index(clientsByCertificate, client.getCertificate(), client.getId(), client);
+        }
+    }
+
+    private void removeFromIndexes(Client client) {
+        if (client.getDomain() != null) {
+            if (client.isTemplate()) {
+                unindex(templatesByDomain, client.getDomain(), client.getId(), client);
+            } else if (client.getClientId() != null) {
+                unindex(clientsByDomain, client.getDomain(), client.getClientId(), client);
+            }
+        }
+        if (client.getCertificate() != null) {
+            unindex(clientsByCertificate, client.getCertificate(), client.getId(), client);
+        }
+    }
+
+    private static void index(ConcurrentMap<String, ConcurrentMap<String, Client>> index, String key, String subKey, Client client) {
+        index.computeIfAbsent(key, k -> new ConcurrentHashMap<>()).put(subKey, client);
+    }
+
+    private static void unindex(ConcurrentMap<String, ConcurrentMap<String, Client>> index, String key, String subKey, Client client) {
+        index.computeIfPresent(key, (k, entries) -> {
+            // only remove the entry if it still references the same client (ID equality)
+            entries.computeIfPresent(subKey, (sk, indexed) -> indexed.equals(client) ? null : indexed);
+            return entries.isEmpty() ? null : entries;
+        });
+    }
+
+    private static Collection<Client> values(Map<String, ConcurrentMap<String, Client>> index, String key) {
+        if (key == null) {
+            return Collections.emptyList();
+        }
+        Map<String, Client> entries = index.get(key);
+        return entries == null ? Collections.emptyList() : Collections.unmodifiableCollection(entries.values());
     }
 }
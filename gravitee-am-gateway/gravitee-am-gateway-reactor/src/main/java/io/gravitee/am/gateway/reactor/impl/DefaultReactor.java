@@ -16,6 +16,9 @@
 package io.gravitee.am.gateway.reactor.impl;
 
 import io.gravitee.am.common.event.DomainEvent;
+import io.gravitee.am.common.metrics.MeterGroup;
+import io.gravitee.am.gateway.handler.common.diagnostic.Diagnostics;
+import io.gravitee.am.gateway.reactor.impl.router.DomainDispatcher;
 import io.gravitee.am.gateway.reactor.impl.router.VHostRouter;
 import io.gravitee.am.gateway.handler.vertx.VertxSecurityDomainHandler;
 import io.gravitee.am.gateway.reactor.Reactor;
@@ -34,10 +37,16 @@ import io.vertx.reactivex.core.buffer.Buffer;
 import io.vertx.reactivex.core.http.HttpServerResponse;
 import io.vertx.reactivex.ext.web.Route;
 import io.vertx.reactivex.ext.web.Router;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.InitializingBean;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.core.env.Environment;
 
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+
 /**
  * @author David BRASSELY (david.brassely at graviteesource.com)
  * @author Titouan COMPIEGNE (titouan.compiegne at graviteesource.com)
@@ -45,6 +54,8 @@ import org.springframework.core.env.Environment;
  */
 public class DefaultReactor extends AbstractService implements Reactor, EventListener<DomainEvent, Domain>, InitializingBean {
 
+    private static final Logger logger = LoggerFactory.getLogger(DefaultReactor.class);
+
     @Autowired
     private Environment environment;
 
@@ -59,6 +70,11 @@ public class DefaultReactor extends AbstractService implements Reactor, EventLis
 
     private Router router;
 
+    private final DomainDispatcher dispatcher = new DomainDispatcher();
+
+    // mounted entrypoints, by priority, guarded by this
+    private final List<Mount> mounts = new ArrayList<>();
+
     @Autowired
     private TransactionProcessorFactory transactionHandlerFactory;
 
@@ -74,6 +90,7 @@ public class DefaultReactor extends AbstractService implements Reactor, EventLis
         super.doStop();
 
         securityDomainHandlerRegistry.clear();
+        Diagnostics.disable();
     }
 
     @Override
@@ -97,18 +114,68 @@ public class DefaultReactor extends AbstractService implements Reactor, EventLis
     }
 
     @Override
-    public void mountDomain(VertxSecurityDomainHandler domainHandler) {
+    public synchronized void mountDomain(VertxSecurityDomainHandler domainHandler) {
+
+        mount(domainHandler);
+        dispatcher.update(entrypoints());
+    }
+
+    @Override
+    public synchronized void swapDomain(VertxSecurityDomainHandler previousHandler, VertxSecurityDomainHandler domainHandler) {
+
+        if (DomainChanges.sameEntrypoints(previousHandler.getDomain(), domainHandler.getDomain())) {
+            // entrypoints are unchanged, the mounted routers now delegate to the new handler
+            mounts.stream()
+                    .filter(mount -> mount.domainHandler == previousHandler)
+                    .forEach(mount -> {
+                        mount.vhostRouter.swap(domainHandler.getDomain(), domainHandler.router());
+                        mount.domainHandler = domainHandler;
+                    });
+        } else {
+            // new entrypoints are mounted before the previous ones are detached
+            mount(domainHandler);
+            unmount(previousHandler);
+            dispatcher.update(entrypoints());
+        }
+    }
+
+    @Override
+    public synchronized void remountDomain(VertxSecurityDomainHandler domainHandler) {
+
+        unmount(domainHandler);
+        mount(domainHandler);
+        dispatcher.update(entrypoints());
+    }
+
+    private void mount(VertxSecurityDomainHandler domainHandler) {
 
         Domain domain = domainHandler.getDomain();
 
         if (domain.isVhostMode()) {
             // Mount the same router for each virtual host / path.
-            domain.getVhosts().forEach(virtualHost -> this.router.mountSubRouter(sanitizePath(virtualHost.getPath()), VHostRouter.router(domain, virtualHost, domainHandler.router())));
+            domain.getVhosts().forEach(virtualHost ->
+                    mounts.add(new Mount(domainHandler, virtualHost.getHost(), virtualHost.getPath(), VHostRouter.router(domain, virtualHost, domainHandler.router()))));
         } else {
-            this.router.mountSubRouter(sanitizePath(domain.getPath()), VHostRouter.router(domain, domainHandler.router()));
+            mounts.add(new Mount(domainHandler, null, domain.getPath(), VHostRouter.router(domain, domainHandler.router())));
         }
     }
 
+    private void unmount(VertxSecurityDomainHandler domainHandler) {
+
+        mounts.removeIf(mount -> {
+            if (mount.domainHandler == domainHandler) {
+                mount.vhostRouter.detach();
+                return true;
+            }
+            return false;
+        });
+    }
+
+    private List<DomainDispatcher.Entrypoint> entrypoints() {
+
+        return mounts.stream().map(mount -> mount.entrypoint).collect(Collectors.toList());
+    }
+
     private String sanitizePath(String path) {
 
         if(path.endsWith("/")) {
@@ -119,8 +186,10 @@ public class DefaultReactor extends AbstractService implements Reactor, EventLis
     }
 
     @Override
-    public void unMountDomain(VertxSecurityDomainHandler domainHandler) {
+    public synchronized void unMountDomain(VertxSecurityDomainHandler domainHandler) {
 
+        unmount(domainHandler);
+        dispatcher.update(entrypoints());
 
         domainHandler.router()
                 .getRoutes()
@@ -129,8 +198,21 @@ public class DefaultReactor extends AbstractService implements Reactor, EventLis
 
     @Override
     public void afterPropertiesSet() {
+        if (environment.getProperty("http.diagnostic.enabled", Boolean.class, false)) {
+            long blockedThreshold = environment.getProperty("http.diagnostic.blockedThreshold", Long.class, 200L);
+            logger.warn("Diagnostic mode is enabled, tasks blocking an event loop for more than {} ms are reported", blockedThreshold);
+            Diagnostics.enable(MeterGroup.defaultRegistry(), blockedThreshold);
+        }
+
         router = Router.router(vertx);
         router.route().handler(transactionHandlerFactory.create());
+        int maxConcurrentRequests = environment.getProperty("http.maxConcurrentRequests", Integer.class, 0);
+        if (maxConcurrentRequests > 0) {
+            router.route().handler(new ConcurrencyLimitHandler(MeterGroup.defaultRegistry(), maxConcurrentRequests,
+                    environment.getProperty("http.errors[503].message", "The gateway is overloaded, please retry later.")));
+        }
+        // nested routers must be mounted on a path
+        router.route("/*").handler(dispatcher).failureHandler(dispatcher::handleFailure);
         router.route().last().handler(context -> sendNotFound(context.response()));
     }
 
@@ -147,4 +229,21 @@ public class DefaultReactor extends AbstractService implements Reactor, EventLis
         serverResponse.end();
     }
 
+
+    private class Mount {
+
+        private final DomainDispatcher.Entrypoint entrypoint;
+        private final VHostRouter vhostRouter;
+        private VertxSecurityDomainHandler domainHandler;
+
+        private Mount(VertxSecurityDomainHandler domainHandler, String host, String path, Router vhostRouter) {
+            // the entrypoint router applies the mount point of the domain routes
+            Router entrypointRouter = Router.router(vertx);
+            entrypointRouter.mountSubRouter(sanitizePath(path), vhostRouter);
+
+            this.entrypoint = new DomainDispatcher.Entrypoint(domainHandler.getDomain().getId(), host, path, entrypointRouter);
+            this.vhostRouter = (VHostRouter) vhostRouter.getDelegate();
+            this.domainHandler = domainHandler;
+        }
+    }
 }
@@ -20,12 +20,16 @@ import io.gravitee.am.gateway.handler.vertx.VertxSecurityDomainHandler;
 import io.gravitee.am.gateway.reactor.Reactor;
 import io.gravitee.am.gateway.reactor.SecurityDomainHandlerRegistry;
 import io.gravitee.am.model.Domain;
+import io.vertx.reactivex.core.Vertx;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.InitializingBean;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 
 import java.util.Arrays;
 import java.util.Collection;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentMap;
 
@@ -33,9 +37,12 @@ import java.util.concurrent.ConcurrentMap;
  * @author Titouan COMPIEGNE (titouan.compiegne at graviteesource.com)
  * @author GraviteeSource Team
  */
-public class DefaultSecurityDomainHandlerRegistry implements SecurityDomainHandlerRegistry {
+public class DefaultSecurityDomainHandlerRegistry implements SecurityDomainHandlerRegistry, InitializingBean {
 
     private static final Logger logger = LoggerFactory.getLogger(DefaultSecurityDomainHandlerRegistry.class);
+    private static final long DRAIN_CHECK_INTERVAL = 100;
+    private static final long IDLE_CHECK_INTERVAL = 60_000;
+    private static final String LAZY_ACTIVATION = "lazy";
     private final ConcurrentMap<String, VertxSecurityDomainHandler> handlers = new ConcurrentHashMap<>();
 
     @Autowired
@@ -44,6 +51,26 @@ public class DefaultSecurityDomainHandlerRegistry implements SecurityDomainHandl
     @Autowired
     private Reactor reactor;
 
+    @Autowired
+    private Vertx vertx;
+
+    @Value("${http.domain.drainTimeout:30000}")
+    private long drainTimeout;
+
+    @Value("${http.domain.activation:eager}")
+    private String activation;
+
+    @Value("${http.domain.idleTimeout:1800000}")
+    private long idleTimeout;
+
+    @Override
+    public void afterPropertiesSet() {
+        if (isLazyActivation()) {
+            logger.info("Security domains are activated on their first request and passivated after {} ms of inactivity", idleTimeout);
+            vertx.setPeriodic(Math.min(idleTimeout, IDLE_CHECK_INTERVAL), timerId -> passivateIdleHandlers());
+        }
+    }
+
     @Override
     public void create(Domain domain) {
 
@@ -53,7 +80,8 @@ public class DefaultSecurityDomainHandlerRegistry implements SecurityDomainHandl
             logger.info("Register a new domain [{}] on path [{}]", domain.getId(), domain.getPath());
         }
 
-        VertxSecurityDomainHandler handler = create0(domain);
+        // in lazy mode, a standby handler is mounted until the domain receives its first request
+        VertxSecurityDomainHandler handler = isLazyActivation() ? standby(domain) : create0(domain);
         if (handler != null) {
             try {
                 handler.start();
@@ -68,13 +96,58 @@ public class DefaultSecurityDomainHandlerRegistry implements SecurityDomainHandl
     @Override
     public void update(Domain domain) {
 
-        VertxSecurityDomainHandler handler = handlers.get(domain.getId());
-        if (handler != null) {
-            remove(domain);
-            create(domain);
-        } else {
+        VertxSecurityDomainHandler previousHandler = handlers.get(domain.getId());
+        if (previousHandler == null) {
             create(domain);
+            return;
+        }
+
+        if (previousHandler instanceof StandbySecurityDomainHandler) {
+            // the domain is not active, it will be activated with its updated settings
+            if (!swap(domain.getId(), previousHandler, standby(domain))) {
+                // the domain has been activated meanwhile, its new handler is updated
+                update(domain);
+            }
+            return;
+        }
+
+        DomainChanges changes = DomainChanges.between(previousHandler.getDomain(), domain);
+        if (!changes.handlerChanged()) {
+            // settings are read for each request, the handler and its components (identity providers, reporters, ...) are kept
+            logger.info("Update domain [{}] settings, the current handler is kept", domain.getId());
+            previousHandler.refresh(domain);
+            if (changes.entrypointsChanged()) {
+                reactor.remountDomain(previousHandler);
+            }
+            return;
+        }
+
+        logger.info("Update domain [{}], the previous handler serves the requests until the new one is started", domain.getId());
+
+        // the new handler is started next to the previous one, which keeps serving the requests meanwhile
+        VertxSecurityDomainHandler handler;
+        try {
+            handler = create0(domain);
+            if (handler == null) {
+                remove(domain);
+                return;
+            }
+            handler.start();
+        } catch (Exception ex) {
+            logger.error("Unable to update handler, the previous one is kept", ex);
+            return;
+        }
+
+        VertxSecurityDomainHandler currentHandler = previousHandler;
+        while (!swap(domain.getId(), currentHandler, handler)) {
+            // the previous handler has been passivated meanwhile, the new handler replaces the standby one
+            currentHandler = handlers.get(domain.getId());
+            if (currentHandler == null) {
+                drain(handler);
+                return;
+            }
         }
+        drain(currentHandler);
     }
 
     @Override
@@ -110,6 +183,103 @@ public class DefaultSecurityDomainHandlerRegistry implements SecurityDomainHandl
         return handlers.values();
     }
 
+    /**
+     * Replace the handlers which have not received any request for the idle timeout by standby handlers.
+     */
+    void passivateIdleHandlers() {
+        final long idleSince = System.currentTimeMillis() - idleTimeout;
+        handlers.forEach((domainId, handler) -> {
+            if (!(handler instanceof StandbySecurityDomainHandler) && handler.inFlightRequests() == 0 && handler.lastRequestAt() < idleSince) {
+                if (swap(domainId, handler, standby(handler.getDomain()))) {
+                    logger.info("Domain [{}] has not received any request for {} ms, passivate it", domainId, idleTimeout);
+                    drain(handler);
+                }
+            }
+        });
+    }
+
+    /**
+     * @return the handler serving the domain once activated, <code>null</code> if the domain has been removed meanwhile.
+     */
+    private CompletableFuture<VertxSecurityDomainHandler> activate(StandbySecurityDomainHandler standby) {
+        final Domain domain = standby.getDomain();
+        final CompletableFuture<VertxSecurityDomainHandler> activation = new CompletableFuture<>();
+        logger.info("Activate domain [{}]", domain.getId());
+
+        vertx.<VertxSecurityDomainHandler>executeBlocking(promise -> {
+            try {
+                VertxSecurityDomainHandler handler = create0(domain);
+                if (handler == null) {
+                    throw new IllegalStateException("Domain " + domain.getId() + " can't be activated");
+                }
+                handler.start();
+                promise.complete(handler);
+            } catch (Exception ex) {
+                promise.fail(ex);
+            }
+        }, false, result -> {
+            if (result.failed()) {
+                activation.completeExceptionally(result.cause());
+                return;
+            }
+            VertxSecurityDomainHandler handler = result.result();
+            if (swap(domain.getId(), standby, handler)) {
+                activation.complete(handler);
+            } else {
+                // the domain has been updated or removed during its activation
+                drain(handler);
+                activation.complete(handlers.get(domain.getId()));
+            }
+        });
+        return activation;
+    }
+
+    /**
+     * Replace the handler of a domain, unless it has been replaced meanwhile: domains are updated by the sync thread
+     * while they are activated and passivated on the event loop, the handler registered for a domain must always be the
+     * mounted one.
+     *
+     * @return <code>false</code> if the given previous handler is not the current handler of the domain anymore.
+     */
+    private synchronized boolean swap(String domainId, VertxSecurityDomainHandler previousHandler, VertxSecurityDomainHandler handler) {
+        if (!handlers.replace(domainId, previousHandler, handler)) {
+            return false;
+        }
+        reactor.swapDomain(previousHandler, handler);
+        return true;
+    }
+
+    private StandbySecurityDomainHandler standby(Domain domain) {
+        return new StandbySecurityDomainHandler(domain, vertx, this::activate);
+    }
+
+    private boolean isLazyActivation() {
+        return LAZY_ACTIVATION.equalsIgnoreCase(activation);
+    }
+
+    private void drain(VertxSecurityDomainHandler handler) {
+        final long drainUntil = System.currentTimeMillis() + drainTimeout;
+        vertx.setPeriodic(DRAIN_CHECK_INTERVAL, timerId -> {
+            if (handler.inFlightRequests() > 0 && System.currentTimeMillis() < drainUntil) {
+                return;
+            }
+            vertx.cancelTimer(timerId);
+            vertx.executeBlocking(promise -> {
+                try {
+                    handler.stop();
+                    logger.info("Previous handler of domain [{}] has been drained and stopped", handler.getDomain().getId());
+                    promise.complete();
+                } catch (Exception ex) {
+                    promise.fail(ex);
+                }
+            }, result -> {
+                if (result.failed()) {
+                    logger.error("Unable to stop the previous handler", result.cause());
+                }
+            });
+        });
+    }
+
     private VertxSecurityDomainHandler create0(Domain domain) {
         return securityDomainRouterFactory.create(domain);
     }
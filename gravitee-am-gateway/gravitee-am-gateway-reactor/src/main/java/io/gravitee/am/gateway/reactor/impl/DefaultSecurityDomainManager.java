@@ -24,8 +24,8 @@ import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 
 import java.util.Collection;
-import java.util.HashMap;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * @author Titouan COMPIEGNE (titouan.compiegne at graviteesource.com)
@@ -38,8 +38,10 @@ public class DefaultSecurityDomainManager implements SecurityDomainManager {
     @Autowired
     private EventManager eventManager;
 
-    private final Map<String, Domain> domains = new HashMap<>();
+    // security domains may be deployed concurrently at startup
+    private final Map<String, Domain> domains = new ConcurrentHashMap<>();
 
+    private volatile boolean initialized;
 
     @Override
     public void deploy(Domain domain) {
@@ -88,4 +90,14 @@ public class DefaultSecurityDomainManager implements SecurityDomainManager {
     public Domain get(String domainId) {
         return domains.get(domainId);
     }
+
+    @Override
+    public boolean isInitialized() {
+        return initialized;
+    }
+
+    @Override
+    public void setInitialized(boolean initialized) {
+        this.initialized = initialized;
+    }
 }
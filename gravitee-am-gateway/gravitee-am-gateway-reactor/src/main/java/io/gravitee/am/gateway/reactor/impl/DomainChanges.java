@@ -0,0 +1,111 @@
+/**
+ * Copyright (C) 2015 The Gravitee team (http://gravitee.io)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.gravitee.am.gateway.reactor.impl;
+
+import io.gravitee.am.model.Domain;
+import io.gravitee.am.model.VirtualHost;
+import io.gravitee.am.model.login.WebAuthnSettings;
+
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * Changes between two versions of a security domain, telling which parts of the gateway must be refreshed.
+ *
+ * Most of the domain settings (login, account, OIDC, ...) are read by the handler for each request.
+ * Only the entrypoints, mounted by the reactor, and the settings bound when the handler starts
+ * (UMA and SCIM routes, WebAuthn relying party) require more than updating the deployed domain.
+ *
+ * @author GraviteeSource Team
+ */
+final class DomainChanges {
+
+    private final boolean entrypointsChanged;
+    private final boolean handlerChanged;
+
+    private DomainChanges(boolean entrypointsChanged, boolean handlerChanged) {
+        this.entrypointsChanged = entrypointsChanged;
+        this.handlerChanged = handlerChanged;
+    }
+
+    static DomainChanges between(Domain previousDomain, Domain domain) {
+        return new DomainChanges(
+                !sameEntrypoints(previousDomain, domain),
+                previousDomain.isEnabled() != domain.isEnabled()
+                        || umaEnabled(previousDomain) != umaEnabled(domain)
+                        || scimEnabled(previousDomain) != scimEnabled(domain)
+                        || !sameWebAuthnSettings(previousDomain.getWebAuthnSettings(), domain.getWebAuthnSettings()));
+    }
+
+    /**
+     * @return <code>true</code> if the domain is not exposed on the same path / virtual hosts anymore.
+     */
+    boolean entrypointsChanged() {
+        return entrypointsChanged;
+    }
+
+    /**
+     * @return <code>true</code> if the handler of the domain must be rebuilt.
+     */
+    boolean handlerChanged() {
+        return handlerChanged;
+    }
+
+    static boolean sameEntrypoints(Domain previousDomain, Domain domain) {
+
+        if (previousDomain.isVhostMode() != domain.isVhostMode()) {
+            return false;
+        }
+
+        if (!domain.isVhostMode()) {
+            return Objects.equals(previousDomain.getPath(), domain.getPath());
+        }
+
+        List<VirtualHost> previousVhosts = previousDomain.getVhosts();
+        List<VirtualHost> vhosts = domain.getVhosts();
+        if (previousVhosts == null || vhosts == null || previousVhosts.size() != vhosts.size()) {
+            return false;
+        }
+
+        for (int i = 0; i < vhosts.size(); i++) {
+            if (!Objects.equals(previousVhosts.get(i).getHost(), vhosts.get(i).getHost())
+                    || !Objects.equals(previousVhosts.get(i).getPath(), vhosts.get(i).getPath())) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static boolean umaEnabled(Domain domain) {
+        return domain.getUma() != null && domain.getUma().isEnabled();
+    }
+
+    private static boolean scimEnabled(Domain domain) {
+        return domain.getScim() != null && domain.getScim().isEnabled();
+    }
+
+    private static boolean sameWebAuthnSettings(WebAuthnSettings previousSettings, WebAuthnSettings settings) {
+        if (previousSettings == null || settings == null) {
+            return previousSettings == settings;
+        }
+        return Objects.equals(previousSettings.getOrigin(), settings.getOrigin())
+                && Objects.equals(previousSettings.getRelyingPartyId(), settings.getRelyingPartyId())
+                && Objects.equals(previousSettings.getRelyingPartyName(), settings.getRelyingPartyName())
+                && previousSettings.isRequireResidentKey() == settings.isRequireResidentKey()
+                && previousSettings.getUserVerification() == settings.getUserVerification()
+                && previousSettings.getAuthenticatorAttachment() == settings.getAuthenticatorAttachment();
+    }
+}
@@ -0,0 +1,112 @@
+/**
+ * Copyright (C) 2015 The Gravitee team (http://gravitee.io)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.gravitee.am.gateway.reactor.impl;
+
+import io.gravitee.am.gateway.handler.vertx.VertxSecurityDomainHandler;
+import io.gravitee.am.model.Domain;
+import io.gravitee.common.http.HttpStatusCode;
+import io.vertx.core.Context;
+import io.vertx.reactivex.core.Vertx;
+import io.vertx.reactivex.ext.web.Router;
+import io.vertx.reactivex.ext.web.RoutingContext;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Function;
+
+/**
+ * Stands for a security domain which is not active: its context is only created when it receives a request.
+ *
+ * The requests received meanwhile are paused until the domain handler has been started,
+ * then handed as is to the router of that handler (rerouting a request would reset its query parameters).
+ *
+ * @author GraviteeSource Team
+ */
+class StandbySecurityDomainHandler extends VertxSecurityDomainHandler {
+
+    private static final Logger logger = LoggerFactory.getLogger(StandbySecurityDomainHandler.class);
+
+    private final Domain domain;
+    private final Vertx vertx;
+    private final Router router;
+    private final Function<StandbySecurityDomainHandler, CompletableFuture<VertxSecurityDomainHandler>> activator;
+    private CompletableFuture<VertxSecurityDomainHandler> activation;
+
+    StandbySecurityDomainHandler(Domain domain, Vertx vertx, Function<StandbySecurityDomainHandler, CompletableFuture<VertxSecurityDomainHandler>> activator) {
+        this.domain = domain;
+        this.vertx = vertx;
+        this.activator = activator;
+        this.router = Router.router(vertx);
+        // mounted on a path so that the activated router can be nested in this route
+        this.router.route("/*").handler(this::activate);
+    }
+
+    @Override
+    protected void doStart() {
+        // nothing to start until the domain is activated
+    }
+
+    @Override
+    protected void doStop() {
+        // nothing to stop
+    }
+
+    @Override
+    public Router router() {
+        return router;
+    }
+
+    @Override
+    public Domain getDomain() {
+        return domain;
+    }
+
+    @Override
+    public int inFlightRequests() {
+        return 0;
+    }
+
+    private void activate(RoutingContext context) {
+        // wait for the domain handler, without losing the request body
+        context.request().pause();
+        final Context requestContext = vertx.getDelegate().getOrCreateContext();
+
+        activation().whenComplete((handler, throwable) -> requestContext.runOnContext(v -> {
+            if (throwable != null) {
+                logger.error("Unable to activate domain [{}]", domain.getId(), throwable);
+                context.request().resume();
+                context.fail(HttpStatusCode.SERVICE_UNAVAILABLE_503);
+                return;
+            }
+            if (handler != null) {
+                handler.router().handleContext(context);
+            } else {
+                // the domain has been removed during its activation
+                context.next();
+            }
+            context.request().resume();
+        }));
+    }
+
+    private synchronized CompletableFuture<VertxSecurityDomainHandler> activation() {
+        // a failed activation is tried again on the next request
+        if (activation == null || activation.isCompletedExceptionally()) {
+            activation = activator.apply(this);
+        }
+        return activation;
+    }
+}
@@ -0,0 +1,151 @@
+/**
+ * Copyright (C) 2015 The Gravitee team (http://gravitee.io)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.gravitee.am.gateway.reactor.impl.router;
+
+import io.vertx.core.Handler;
+import io.vertx.reactivex.ext.web.Router;
+import io.vertx.reactivex.ext.web.RoutingContext;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Dispatch the requests to the security domain entrypoints.
+ * Virtual hosts are looked up by host, then the entrypoint is the one registered on the longest prefix of the request path.
+ * Requests not matching a virtual host are dispatched to the domains served on a path only.
+ * Failures raised by the routes of a domain are handled by the failure handlers of this domain.
+ *
+ * Routing tables are rebuilt on each change and replaced atomically, requests being dispatched are not affected.
+ * When several entrypoints are registered on the same host and path, the first one is kept.
+ *
+ * @author GraviteeSource Team
+ */
+public class DomainDispatcher implements Handler<RoutingContext> {
+
+    private static final Logger logger = LoggerFactory.getLogger(DomainDispatcher.class);
+
+    private volatile RoutingTable routingTable = new RoutingTable(Collections.emptyMap(), new PathTrie<>());
+
+    @Override
+    public void handle(RoutingContext context) {
+        Entrypoint entrypoint = lookup(context.request().host(), context.normalisedPath());
+        if (entrypoint != null) {
+            entrypoint.router().handleContext(context);
+        } else {
+            context.next();
+        }
+    }
+
+    /**
+     * Let the failure handlers of the security domain handle a request failed by one of its routes.
+     */
+    public void handleFailure(RoutingContext context) {
+        Entrypoint entrypoint = lookup(context.request().host(), context.normalisedPath());
+        if (entrypoint != null) {
+            entrypoint.router().handleFailure(context);
+        } else {
+            context.next();
+        }
+    }
+
+    /**
+     * Find the entrypoint of a request.
+     *
+     * @param host the request host, may be <code>null</code>.
+     * @param path the request path.
+     * @return the matching entrypoint, or <code>null</code> if none.
+     */
+    public Entrypoint lookup(String host, String path) {
+        final RoutingTable table = routingTable;
+        if (host != null && !table.vhosts.isEmpty()) {
+            PathTrie<Entrypoint> vhostPaths = table.vhosts.get(host);
+            if (vhostPaths != null) {
+                Entrypoint entrypoint = vhostPaths.longestPrefixMatch(path);
+                if (entrypoint != null) {
+                    return entrypoint;
+                }
+            }
+        }
+        return table.paths.longestPrefixMatch(path);
+    }
+
+    /**
+     * Rebuild the routing table from all the mounted entrypoints.
+     *
+     * @param entrypoints the entrypoints, by priority.
+     */
+    public void update(Collection<Entrypoint> entrypoints) {
+        Map<String, PathTrie<Entrypoint>> vhosts = new HashMap<>();
+        PathTrie<Entrypoint> paths = new PathTrie<>();
+        entrypoints.forEach(entrypoint -> {
+            PathTrie<Entrypoint> trie = entrypoint.host() == null ? paths : vhosts.computeIfAbsent(entrypoint.host(), h -> new PathTrie<>());
+            if (!trie.insert(entrypoint.path(), entrypoint)) {
+                logger.warn("An entrypoint is already registered on host [{}] and path [{}], the one of domain [{}] is ignored",
+                        entrypoint.host(), entrypoint.path(), entrypoint.domainId());
+            }
+        });
+        this.routingTable = new RoutingTable(vhosts, paths);
+    }
+
+    private static final class RoutingTable {
+
+        private final Map<String, PathTrie<Entrypoint>> vhosts;
+        private final PathTrie<Entrypoint> paths;
+
+        private RoutingTable(Map<String, PathTrie<Entrypoint>> vhosts, PathTrie<Entrypoint> paths) {
+            this.vhosts = vhosts;
+            this.paths = paths;
+        }
+    }
+
+    /**
+     * A security domain entrypoint: a virtual host (optional) and a path, served by a router.
+     */
+    public static class Entrypoint {
+
+        private final String domainId;
+        private final String host;
+        private final String path;
+        private final Router router;
+
+        public Entrypoint(String domainId, String host, String path, Router router) {
+            this.domainId = domainId;
+            this.host = host;
+            this.path = path;
+            this.router = router;
+        }
+
+        public String domainId() {
+            return domainId;
+        }
+
+        public String host() {
+            return host;
+        }
+
+        public String path() {
+            return path;
+        }
+
+        public Router router() {
+            return router;
+        }
+    }
+}
@@ -0,0 +1,98 @@
+/**
+ * Copyright (C) 2015 The Gravitee team (http://gravitee.io)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.gravitee.am.gateway.reactor.impl.router;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Trie of paths split by segments, giving the value registered on the longest prefix of a path.
+ * A path registered as <code>/a/b</code> matches <code>/a/b</code> and <code>/a/b/c</code> but not <code>/a/bc</code>.
+ *
+ * Tries are built once and only read afterwards, they are replaced as a whole when entries change.
+ *
+ * @author GraviteeSource Team
+ */
+class PathTrie<T> {
+
+    private final Node<T> root = new Node<>();
+
+    /**
+     * Register a value on a path, the first value registered on a path is kept.
+     *
+     * @return <code>false</code> if a value is already registered on the path
+     */
+    boolean insert(String path, T value) {
+        Node<T> node = root;
+        int start = 0;
+        final int length = path.length();
+        while (start < length) {
+            int end = path.indexOf('/', start);
+            if (end == -1) {
+                end = length;
+            }
+            if (end > start) {
+                node = node.child(path.substring(start, end));
+            }
+            start = end + 1;
+        }
+        if (node.value != null) {
+            return false;
+        }
+        node.value = value;
+        return true;
+    }
+
+    /**
+     * @return the value registered on the longest prefix of the path, or <code>null</code> if none
+     */
+    T longestPrefixMatch(String path) {
+        Node<T> node = root;
+        T match = root.value;
+        int start = 0;
+        final int length = path.length();
+        while (start < length && node.children != null) {
+            int end = path.indexOf('/', start);
+            if (end == -1) {
+                end = length;
+            }
+            if (end > start) {
+                node = node.children.get(path.substring(start, end));
+                if (node == null) {
+                    break;
+                }
+                if (node.value != null) {
+                    match = node.value;
+                }
+            }
+            start = end + 1;
+        }
+        return match;
+    }
+
+    private static final class Node<T> {
+
+        private Map<String, Node<T>> children;
+        private T value;
+
+        private Node<T> child(String segment) {
+            if (children == null) {
+                children = new HashMap<>();
+            }
+            return children.computeIfAbsent(segment, s -> new Node<>());
+        }
+    }
+}
@@ -27,7 +27,6 @@ import io.vertx.reactivex.core.MultiMap;
 
 import java.util.List;
 import java.util.Map;
-import java.util.regex.Pattern;
 import java.util.stream.Collectors;
 
 import static io.gravitee.am.gateway.handler.common.vertx.utils.UriBuilderRequest.CONTEXT_PATH;
@@ -35,7 +34,7 @@ import static io.gravitee.am.gateway.handler.common.vertx.utils.UriBuilderReques
 /**
  * Domain router for a particular vhost.
  * Vhost is optional, meaning routing is made only on domain path.
- * If vhost is defined, routing is made on both vhost and path (matching condition must be true).
+ * Requests are dispatched to the router matching their vhost and path by the {@link DomainDispatcher}.
  * If multiple vhosts have to be defined for the same domain, it is necessary to defined multiple {@link VHostRouter}s.
  *
  * @author Jeoffrey HAEYAERT (jeoffrey.haeyaert at graviteesource.com)
@@ -43,10 +42,8 @@ import static io.gravitee.am.gateway.handler.common.vertx.utils.UriBuilderReques
  */
 public class VHostRouter implements Router {
 
-    private final Domain domain;
-    private final Pattern vhostPattern;
-    private final Pattern pathPattern;
-    private final Router delegate;
+    private volatile Domain domain;
+    private volatile Router delegate;
     private final VirtualHost vhost;
 
     public static io.vertx.reactivex.ext.web.Router router(Domain domain, VirtualHost vhost, io.vertx.reactivex.ext.web.Router delegate) {
@@ -68,8 +65,6 @@ public class VHostRouter implements Router {
 
         this.domain = domain;
         this.vhost = null;
-        this.vhostPattern = null;
-        this.pathPattern = null;
         this.delegate = delegate;
     }
 
@@ -82,21 +77,41 @@ public class VHostRouter implements Router {
 
         this.domain = domain;
         this.vhost = vhost;
-        this.vhostPattern = Pattern.compile(Pattern.quote(vhost.getHost()));
-        this.pathPattern = Pattern.compile(Pattern.quote(vhost.getPath()) + ".*");
         this.delegate = delegate;
     }
 
+    /**
+     * Route the next requests to the router of an updated domain, with the same entrypoints.
+     * Requests already handled by the previous router are not affected.
+     *
+     * @param domain the updated domain.
+     * @param delegate the router of the updated domain.
+     */
+    public void swap(Domain domain, io.vertx.reactivex.ext.web.Router delegate) {
+
+        this.domain = domain;
+        this.delegate = delegate.getDelegate();
+    }
+
+    /**
+     * Stop routing the next requests to the domain, they are passed to the next matching routes.
+     */
+    public void detach() {
+
+        this.delegate = null;
+    }
+
     @Override
     public void handleContext(RoutingContext context) {
 
-        if (routerMatches(context)) {
+        final Router current = delegate;
+        if (current != null) {
             if (vhost != null) {
                 setContextPath(context, vhost.getPath());
             } else {
                 setContextPath(context, domain.getPath());
             }
-            delegate.handleContext(context);
+            current.handleContext(context);
         } else {
             context.next();
         }
@@ -105,28 +120,14 @@ public class VHostRouter implements Router {
     @Override
     public void handleFailure(RoutingContext context) {
 
-        if (routerMatches(context)) {
-            delegate.handleFailure(context);
+        final Router current = delegate;
+        if (current != null) {
+            current.handleFailure(context);
         } else {
             context.next();
         }
     }
 
-    private boolean routerMatches(RoutingContext context) {
-
-        return vhost == null || (hostMatches(context) && pathMatches(context));
-    }
-
-    private boolean pathMatches(RoutingContext context) {
-
-        return pathPattern == null || pathPattern.matcher(context.request().path()).matches();
-    }
-
-    private boolean hostMatches(RoutingContext context) {
-
-        return vhostPattern == null || vhostPattern.matcher(context.request().host()).matches();
-    }
-
     private void setContextPath(RoutingContext context, String contextPath) {
 
         if(contextPath.equals("/")) {
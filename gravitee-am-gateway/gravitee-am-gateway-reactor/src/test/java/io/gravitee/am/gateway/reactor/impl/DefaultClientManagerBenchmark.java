@@ -0,0 +1,87 @@
+/**
+ * Copyright (C) 2015 The Gravitee team (http://gravitee.io)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.gravitee.am.gateway.reactor.impl;
+
+import io.gravitee.am.model.oidc.Client;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares the former linear scan over {@link DefaultClientManager#entities()} with the (domain, client_id) index.
+ *
+ * Run with: <code>mvn test-compile exec:java -Dexec.classpathScope=test -Dexec.mainClass=io.gravitee.am.gateway.reactor.impl.DefaultClientManagerBenchmark</code>
+ *
+ * @author GraviteeSource Team
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class DefaultClientManagerBenchmark {
+
+    private static final int DOMAINS = 100;
+
+    @Param({"100", "10000", "100000"})
+    private int clients;
+
+    private DefaultClientManager clientManager;
+
+    @Setup
+    public void setUp() {
+        List<Client> entities = new ArrayList<>(clients);
+        for (int i = 0; i < clients; i++) {
+            entities.add(DefaultClientManagerTest.client("id-" + i, domain(i), "client-" + i, i % 50 == 0, "cert-" + (i % DOMAINS)));
+        }
+        clientManager = new DefaultClientManager();
+        clientManager.init(entities);
+    }
+
+    @Benchmark
+    public Client linearScan() {
+        final int i = ThreadLocalRandom.current().nextInt(clients);
+        final String domain = domain(i);
+        final String clientId = "client-" + i;
+        final Optional<Client> optClient = clientManager.entities()
+                .stream()
+                .filter(client -> !client.isTemplate() && client.getDomain().equals(domain) && client.getClientId().equals(clientId))
+                .findFirst();
+        return optClient.orElse(null);
+    }
+
+    @Benchmark
+    public Client indexedLookup() {
+        final int i = ThreadLocalRandom.current().nextInt(clients);
+        return clientManager.getByDomainAndClientId(domain(i), "client-" + i);
+    }
+
+    private static String domain(int i) {
+        return "domain-" + (i % DOMAINS);
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder().include(DefaultClientManagerBenchmark.class.getSimpleName()).build()).run();
+    }
+}
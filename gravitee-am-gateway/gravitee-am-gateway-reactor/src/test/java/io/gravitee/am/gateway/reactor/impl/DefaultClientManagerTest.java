@@ -0,0 +1,109 @@
+/**
+ * Copyright (C) 2015 The Gravitee team (http://gravitee.io)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.gravitee.am.gateway.reactor.impl;
+
+import io.gravitee.am.model.oidc.Client;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.Arrays;
+
+import static org.junit.Assert.*;
+
+/**
+ * @author GraviteeSource Team
+ */
+public class DefaultClientManagerTest {
+
+    private DefaultClientManager clientManager;
+
+    @Before
+    public void setUp() {
+        clientManager = new DefaultClientManager();
+    }
+
+    @Test
+    public void shouldIndex_initialClients() {
+        clientManager.init(Arrays.asList(
+                client("a", "domain-1", "client-a", false, "cert-1"),
+                client("b", "domain-1", "client-b", true, "cert-1"),
+                client("c", "domain-2", "client-a", false, null)));
+
+        assertEquals("a", clientManager.getByDomainAndClientId("domain-1", "client-a").getId());
+        assertEquals("c", clientManager.getByDomainAndClientId("domain-2", "client-a").getId());
+        assertNull(clientManager.getByDomainAndClientId("domain-1", "client-b"));
+        assertEquals(1, clientManager.templates("domain-1").size());
+        assertTrue(clientManager.templates("domain-2").isEmpty());
+        assertEquals(2, clientManager.getByCertificate("cert-1").size());
+    }
+
+    @Test
+    public void shouldReindex_onUpdate() {
+        clientManager.deploy(client("a", "domain-1", "client-a", false, "cert-1"));
+        clientManager.update(client("a", "domain-1", "client-renamed", false, "cert-2"));
+
+        assertNull(clientManager.getByDomainAndClientId("domain-1", "client-a"));
+        assertEquals("a", clientManager.getByDomainAndClientId("domain-1", "client-renamed").getId());
+        assertTrue(clientManager.getByCertificate("cert-1").isEmpty());
+        assertEquals(1, clientManager.getByCertificate("cert-2").size());
+        assertEquals(1, clientManager.entities().size());
+    }
+
+    @Test
+    public void shouldReindex_templateBecomesClient() {
+        clientManager.deploy(client("a", "domain-1", "client-a", true, null));
+        assertNull(clientManager.getByDomainAndClientId("domain-1", "client-a"));
+
+        clientManager.update(client("a", "domain-1", "client-a", false, null));
+        assertTrue(clientManager.templates("domain-1").isEmpty());
+        assertNotNull(clientManager.getByDomainAndClientId("domain-1", "client-a"));
+    }
+
+    @Test
+    public void shouldUnindex_onUndeploy() {
+        clientManager.deploy(client("a", "domain-1", "client-a", false, "cert-1"));
+        clientManager.deploy(client("b", "domain-1", "client-b", true, "cert-1"));
+
+        clientManager.undeploy("a");
+        clientManager.undeploy("b");
+
+        assertNull(clientManager.get("a"));
+        assertNull(clientManager.getByDomainAndClientId("domain-1", "client-a"));
+        assertTrue(clientManager.templates("domain-1").isEmpty());
+        assertTrue(clientManager.getByCertificate("cert-1").isEmpty());
+        assertTrue(clientManager.entities().isEmpty());
+    }
+
+    @Test
+    public void shouldNotUnindex_otherClientWithSameClientId() {
+        clientManager.deploy(client("a", "domain-1", "client-a", false, null));
+        clientManager.deploy(client("b", "domain-1", "client-a", false, null));
+
+        clientManager.undeploy("a");
+
+        assertEquals("b", clientManager.getByDomainAndClientId("domain-1", "client-a").getId());
+    }
+
+    static Client client(String id, String domain, String clientId, boolean template, String certificate) {
+        Client client = new Client();
+        client.setId(id);
+        client.setDomain(domain);
+        client.setClientId(clientId);
+        client.setTemplate(template);
+        client.setCertificate(certificate);
+        return client;
+    }
+}
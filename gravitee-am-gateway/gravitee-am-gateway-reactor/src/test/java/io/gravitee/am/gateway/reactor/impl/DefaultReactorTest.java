@@ -0,0 +1,308 @@
+/**
+ * Copyright (C) 2015 The Gravitee team (http://gravitee.io)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.gravitee.am.gateway.reactor.impl;
+
+import io.gravitee.am.gateway.handler.SecurityDomainRouterFactory;
+import io.gravitee.am.gateway.handler.vertx.VertxSecurityDomainHandler;
+import io.gravitee.am.gateway.reactor.impl.transaction.TransactionProcessorFactory;
+import io.gravitee.am.model.Domain;
+import io.gravitee.am.model.VirtualHost;
+import io.vertx.core.http.HttpClient;
+import io.vertx.core.http.HttpClientRequest;
+import io.vertx.core.http.HttpMethod;
+import io.vertx.reactivex.core.Vertx;
+import io.vertx.reactivex.core.http.HttpServer;
+import io.vertx.reactivex.ext.web.Router;
+import io.vertx.reactivex.ext.web.RoutingContext;
+import io.vertx.reactivex.ext.web.handler.BodyHandler;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import org.springframework.mock.env.MockEnvironment;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.Collections;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+/**
+ * @author GraviteeSource Team
+ */
+public class DefaultReactorTest {
+
+    private Vertx vertx;
+
+    private HttpClient httpClient;
+
+    private DefaultReactor reactor;
+
+    private int port;
+
+    @Before
+    public void setUp() {
+        vertx = Vertx.vertx();
+        httpClient = vertx.getDelegate().createHttpClient();
+        startReactor(new MockEnvironment());
+    }
+
+    @After
+    public void tearDown() {
+        vertx.close();
+    }
+
+    @Test
+    public void shouldRoute_domainPath() throws Exception {
+        reactor.mountDomain(handler(domain("domain-1", "/domain-1"), "domain-1"));
+        reactor.mountDomain(handler(domain("domain-2", "/domain-2"), "domain-2"));
+
+        assertResponse(200, "domain-1", null, "/domain-1/oauth/token");
+        assertResponse(200, "domain-2", null, "/domain-2/oauth/token");
+        assertResponse(404, null, null, "/domain-3/oauth/token");
+        assertResponse(404, null, null, "/domain-1/unknown");
+    }
+
+    @Test
+    public void shouldRoute_vhost() throws Exception {
+        Domain domain = domain("domain-1", "/domain-1");
+        VirtualHost vhost = new VirtualHost();
+        vhost.setHost("auth.acme.com");
+        vhost.setPath("/");
+        domain.setVhostMode(true);
+        domain.setVhosts(Collections.singletonList(vhost));
+        reactor.mountDomain(handler(domain, "domain-1"));
+
+        assertResponse(200, "domain-1", "auth.acme.com", "/oauth/token");
+        assertResponse(404, null, "other.acme.com", "/oauth/token");
+    }
+
+    @Test
+    public void shouldHandleFailure_domainFailureHandler() throws Exception {
+        Router router = Router.router(vertx);
+        router.get("/oauth/authorize").handler(context -> context.fail(400));
+        router.route().failureHandler(context -> context.response().setStatusCode(context.statusCode()).end("invalid_request"));
+        VertxSecurityDomainHandler handler = mock(VertxSecurityDomainHandler.class);
+        when(handler.getDomain()).thenReturn(domain("domain-1", "/domain-1"));
+        when(handler.router()).thenReturn(router);
+        reactor.mountDomain(handler);
+
+        assertResponse(400, "invalid_request", null, "/domain-1/oauth/authorize");
+    }
+
+    @Test
+    public void shouldSwapDomain_sameEntrypoints() throws Exception {
+        VertxSecurityDomainHandler previousHandler = handler(domain("domain-1", "/domain-1"), "previous");
+        reactor.mountDomain(previousHandler);
+        assertResponse(200, "previous", null, "/domain-1/oauth/token");
+
+        reactor.swapDomain(previousHandler, handler(domain("domain-1", "/domain-1"), "updated"));
+        assertResponse(200, "updated", null, "/domain-1/oauth/token");
+    }
+
+    @Test
+    public void shouldSwapDomain_newPath() throws Exception {
+        VertxSecurityDomainHandler previousHandler = handler(domain("domain-1", "/domain-1"), "previous");
+        reactor.mountDomain(previousHandler);
+
+        reactor.swapDomain(previousHandler, handler(domain("domain-1", "/renamed"), "updated"));
+        assertResponse(200, "updated", null, "/renamed/oauth/token");
+        assertResponse(404, null, null, "/domain-1/oauth/token");
+    }
+
+    @Test
+    public void shouldRemountDomain_newPath() throws Exception {
+        Domain domain = domain("domain-1", "/domain-1");
+        VertxSecurityDomainHandler handler = handler(domain, "domain-1");
+        reactor.mountDomain(handler);
+
+        domain.setPath("/renamed");
+        reactor.remountDomain(handler);
+        assertResponse(200, "domain-1", null, "/renamed/oauth/token");
+        assertResponse(404, null, null, "/domain-1/oauth/token");
+    }
+
+    @Test
+    public void shouldUnmountDomain() throws Exception {
+        VertxSecurityDomainHandler handler = handler(domain("domain-1", "/domain-1"), "domain-1");
+        reactor.mountDomain(handler);
+        reactor.unMountDomain(handler);
+
+        assertResponse(404, null, null, "/domain-1/oauth/token");
+    }
+
+    @Test
+    public void shouldActivateDomain_onFirstRequest() throws Exception {
+        Domain domain = domain("domain-1", "/domain-1");
+        VertxSecurityDomainHandler handler = handler(domain, "domain-1");
+        SecurityDomainRouterFactory securityDomainRouterFactory = mock(SecurityDomainRouterFactory.class);
+        when(securityDomainRouterFactory.create(domain)).thenReturn(handler);
+        DefaultSecurityDomainHandlerRegistry registry = lazyRegistry(securityDomainRouterFactory);
+
+        registry.create(domain);
+        verify(securityDomainRouterFactory, never()).create(any());
+
+        assertResponse(200, "domain-1", null, "/domain-1/oauth/token");
+        assertResponse(200, "domain-1", null, "/domain-1/oauth/token");
+        verify(securityDomainRouterFactory, times(1)).create(domain);
+        verify(handler).start();
+    }
+
+    @Test
+    public void shouldActivateDomain_keepRequestBody() throws Exception {
+        Domain domain = domain("domain-1", "/domain-1");
+        Router router = Router.router(vertx);
+        router.route().handler(BodyHandler.create());
+        router.post("/oauth/token").handler(context -> context.response().end(context.getBodyAsString()));
+        VertxSecurityDomainHandler handler = mock(VertxSecurityDomainHandler.class);
+        when(handler.getDomain()).thenReturn(domain);
+        when(handler.router()).thenReturn(router);
+        SecurityDomainRouterFactory securityDomainRouterFactory = mock(SecurityDomainRouterFactory.class);
+        when(securityDomainRouterFactory.create(domain)).thenReturn(handler);
+        lazyRegistry(securityDomainRouterFactory).create(domain);
+
+        assertResponse(200, "grant_type=client_credentials", HttpMethod.POST, "/domain-1/oauth/token", "grant_type=client_credentials");
+    }
+
+    @Test
+    public void shouldActivateDomain_keepQueryParameters() throws Exception {
+        Domain domain = domain("domain-1", "/domain-1");
+        Router router = Router.router(vertx);
+        router.get("/oauth/authorize").handler(context ->
+                context.response().end(context.request().getParam("client_id") + "|" + context.request().query() + "|" + context.request().uri()));
+        VertxSecurityDomainHandler handler = mock(VertxSecurityDomainHandler.class);
+        when(handler.getDomain()).thenReturn(domain);
+        when(handler.router()).thenReturn(router);
+        SecurityDomainRouterFactory securityDomainRouterFactory = mock(SecurityDomainRouterFactory.class);
+        when(securityDomainRouterFactory.create(domain)).thenReturn(handler);
+        lazyRegistry(securityDomainRouterFactory).create(domain);
+
+        assertResponse(200, "my-client|client_id=my-client&state=xyz|/domain-1/oauth/authorize?client_id=my-client&state=xyz",
+                null, "/domain-1/oauth/authorize?client_id=my-client&state=xyz");
+    }
+
+    @Test
+    public void shouldPassivateIdleDomain() throws Exception {
+        Domain domain = domain("domain-1", "/domain-1");
+        VertxSecurityDomainHandler handler = handler(domain, "domain-1");
+        SecurityDomainRouterFactory securityDomainRouterFactory = mock(SecurityDomainRouterFactory.class);
+        when(securityDomainRouterFactory.create(domain)).thenReturn(handler);
+        DefaultSecurityDomainHandlerRegistry registry = lazyRegistry(securityDomainRouterFactory);
+        registry.create(domain);
+        assertResponse(200, "domain-1", null, "/domain-1/oauth/token");
+
+        registry.passivateIdleHandlers();
+
+        Assert.assertTrue(registry.getSecurityDomainHandlers().iterator().next() instanceof StandbySecurityDomainHandler);
+        verify(handler, timeout(5000)).stop();
+
+        // the domain is activated again by the next request
+        assertResponse(200, "domain-1", null, "/domain-1/oauth/token");
+        verify(securityDomainRouterFactory, times(2)).create(domain);
+    }
+
+    @Test
+    public void shouldRejectRequest_gatewayOverloaded() throws Exception {
+        startReactor(new MockEnvironment().withProperty("http.maxConcurrentRequests", "1"));
+        CompletableFuture<RoutingContext> pendingRequest = new CompletableFuture<>();
+        Router router = Router.router(vertx);
+        router.get("/pending").handler(pendingRequest::complete);
+        router.get("/oauth/token").handler(context -> context.response().end("domain-1"));
+        VertxSecurityDomainHandler handler = mock(VertxSecurityDomainHandler.class);
+        when(handler.getDomain()).thenReturn(domain("domain-1", "/domain-1"));
+        when(handler.router()).thenReturn(router);
+        reactor.mountDomain(handler);
+
+        httpClient.getNow(port, "localhost", "/domain-1/pending", res -> {});
+        RoutingContext context = pendingRequest.get(5, TimeUnit.SECONDS);
+        assertResponse(503, null, null, "/domain-1/oauth/token");
+
+        context.response().end();
+        assertResponse(200, "domain-1", null, "/domain-1/oauth/token");
+    }
+
+    private void startReactor(MockEnvironment environment) {
+        reactor = new DefaultReactor();
+        ReflectionTestUtils.setField(reactor, "vertx", vertx);
+        ReflectionTestUtils.setField(reactor, "environment", environment);
+        ReflectionTestUtils.setField(reactor, "transactionHandlerFactory", new TransactionProcessorFactory());
+        reactor.afterPropertiesSet();
+
+        HttpServer server = vertx.createHttpServer().requestHandler(reactor.route()).rxListen(0).blockingGet();
+        port = server.actualPort();
+    }
+
+    private DefaultSecurityDomainHandlerRegistry lazyRegistry(SecurityDomainRouterFactory securityDomainRouterFactory) {
+        DefaultSecurityDomainHandlerRegistry registry = new DefaultSecurityDomainHandlerRegistry();
+        ReflectionTestUtils.setField(registry, "securityDomainRouterFactory", securityDomainRouterFactory);
+        ReflectionTestUtils.setField(registry, "reactor", reactor);
+        ReflectionTestUtils.setField(registry, "vertx", vertx);
+        ReflectionTestUtils.setField(registry, "activation", "lazy");
+        ReflectionTestUtils.setField(registry, "idleTimeout", 60_000L);
+        return registry;
+    }
+
+    private Domain domain(String id, String path) {
+        Domain domain = new Domain();
+        domain.setId(id);
+        domain.setPath(path);
+        domain.setEnabled(true);
+        return domain;
+    }
+
+    private VertxSecurityDomainHandler handler(Domain domain, String body) {
+        Router router = Router.router(vertx);
+        router.get("/oauth/token").handler(context -> context.response().end(body));
+
+        VertxSecurityDomainHandler handler = mock(VertxSecurityDomainHandler.class);
+        when(handler.getDomain()).thenReturn(domain);
+        when(handler.router()).thenReturn(router);
+        return handler;
+    }
+
+    private void assertResponse(int expectedStatus, String expectedBody, String host, String path) throws Exception {
+        assertResponse(expectedStatus, expectedBody, HttpMethod.GET, host, path, null);
+    }
+
+    private void assertResponse(int expectedStatus, String expectedBody, HttpMethod method, String path, String body) throws Exception {
+        assertResponse(expectedStatus, expectedBody, method, null, path, body);
+    }
+
+    private void assertResponse(int expectedStatus, String expectedBody, HttpMethod method, String host, String path, String body) throws Exception {
+        CompletableFuture<String> response = new CompletableFuture<>();
+        HttpClientRequest request = httpClient.request(method, port, "localhost", path, res -> {
+            res.bodyHandler(buffer -> response.complete(res.statusCode() + ":" + buffer.toString()));
+            res.exceptionHandler(response::completeExceptionally);
+        });
+        request.exceptionHandler(response::completeExceptionally);
+        if (host != null) {
+            request.setHost(host);
+        }
+        if (body != null) {
+            request.end(body);
+        } else {
+            request.end();
+        }
+
+        String result = response.get(5, TimeUnit.SECONDS);
+        Assert.assertTrue(result, result.startsWith(expectedStatus + ":"));
+        if (expectedBody != null) {
+            Assert.assertEquals(expectedStatus + ":" + expectedBody, result);
+        }
+    }
+}
@@ -0,0 +1,191 @@
+/**
+ * Copyright (C) 2015 The Gravitee team (http://gravitee.io)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.gravitee.am.gateway.reactor.impl;
+
+import io.gravitee.am.gateway.handler.SecurityDomainRouterFactory;
+import io.gravitee.am.gateway.handler.vertx.VertxSecurityDomainHandler;
+import io.gravitee.am.gateway.reactor.Reactor;
+import io.gravitee.am.model.Domain;
+import io.gravitee.am.model.login.LoginSettings;
+import io.gravitee.am.model.scim.SCIMSettings;
+import io.vertx.reactivex.core.Vertx;
+import org.junit.Assert;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InOrder;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.MockitoJUnitRunner;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+/**
+ * @author GraviteeSource Team
+ */
+@RunWith(MockitoJUnitRunner.class)
+public class DefaultSecurityDomainHandlerRegistryTest {
+
+    @InjectMocks
+    private DefaultSecurityDomainHandlerRegistry securityDomainHandlerRegistry = new DefaultSecurityDomainHandlerRegistry();
+
+    @Mock
+    private SecurityDomainRouterFactory securityDomainRouterFactory;
+
+    @Mock
+    private Reactor reactor;
+
+    @Mock
+    private Vertx vertx;
+
+    @Test
+    public void shouldSwapHandler_onUpdate() throws Exception {
+        final Domain domain = domain();
+        final Domain updatedDomain = scimEnabled(domain());
+        VertxSecurityDomainHandler previousHandler = mock(VertxSecurityDomainHandler.class);
+        VertxSecurityDomainHandler handler = mock(VertxSecurityDomainHandler.class);
+        when(previousHandler.getDomain()).thenReturn(domain);
+        when(securityDomainRouterFactory.create(domain)).thenReturn(previousHandler, handler);
+
+        securityDomainHandlerRegistry.create(domain);
+        securityDomainHandlerRegistry.update(updatedDomain);
+
+        // the new handler is started before being swapped, the previous one is stopped once drained
+        InOrder inOrder = inOrder(handler, reactor);
+        inOrder.verify(handler).start();
+        inOrder.verify(reactor).swapDomain(previousHandler, handler);
+        verify(vertx).setPeriodic(anyLong(), any());
+        verify(previousHandler, never()).stop();
+        verify(reactor, never()).unMountDomain(any());
+        Assert.assertEquals(1, securityDomainHandlerRegistry.getSecurityDomainHandlers().size());
+        Assert.assertSame(handler, securityDomainHandlerRegistry.getSecurityDomainHandlers().iterator().next());
+    }
+
+    @Test
+    public void shouldSwapHandler_onUpdate_passivatedMeanwhile() throws Exception {
+        final Domain domain = domain();
+        final Domain updatedDomain = scimEnabled(domain());
+        VertxSecurityDomainHandler previousHandler = mock(VertxSecurityDomainHandler.class);
+        VertxSecurityDomainHandler handler = mock(VertxSecurityDomainHandler.class);
+        when(previousHandler.getDomain()).thenReturn(domain);
+        when(securityDomainRouterFactory.create(domain)).thenReturn(previousHandler, handler);
+        // the previous handler is passivated on the event loop while the new one is starting
+        doAnswer(invocation -> {
+            securityDomainHandlerRegistry.passivateIdleHandlers();
+            return null;
+        }).when(handler).start();
+
+        securityDomainHandlerRegistry.create(domain);
+        securityDomainHandlerRegistry.update(updatedDomain);
+
+        // the new handler replaces the standby one
+        ArgumentCaptor<VertxSecurityDomainHandler> standby = ArgumentCaptor.forClass(VertxSecurityDomainHandler.class);
+        InOrder inOrder = inOrder(reactor);
+        inOrder.verify(reactor).swapDomain(eq(previousHandler), standby.capture());
+        inOrder.verify(reactor).swapDomain(standby.getValue(), handler);
+        Assert.assertTrue(standby.getValue() instanceof StandbySecurityDomainHandler);
+        Assert.assertEquals(1, securityDomainHandlerRegistry.getSecurityDomainHandlers().size());
+        Assert.assertSame(handler, securityDomainHandlerRegistry.getSecurityDomainHandlers().iterator().next());
+    }
+
+    @Test
+    public void shouldKeepPreviousHandler_updateFailure() throws Exception {
+        final Domain domain = domain();
+        final Domain updatedDomain = scimEnabled(domain());
+        VertxSecurityDomainHandler previousHandler = mock(VertxSecurityDomainHandler.class);
+        when(previousHandler.getDomain()).thenReturn(domain);
+        when(securityDomainRouterFactory.create(domain))
+                .thenReturn(previousHandler)
+                .thenThrow(new IllegalStateException("unable to build the domain context"));
+
+        securityDomainHandlerRegistry.create(domain);
+        securityDomainHandlerRegistry.update(updatedDomain);
+
+        verify(reactor, never()).swapDomain(any(), any());
+        verify(previousHandler, never()).stop();
+        Assert.assertSame(previousHandler, securityDomainHandlerRegistry.getSecurityDomainHandlers().iterator().next());
+    }
+
+    @Test
+    public void shouldCreate_onUpdate_noPreviousHandler() throws Exception {
+        final Domain domain = domain();
+        VertxSecurityDomainHandler handler = mock(VertxSecurityDomainHandler.class);
+        when(securityDomainRouterFactory.create(domain)).thenReturn(handler);
+
+        securityDomainHandlerRegistry.update(domain);
+
+        verify(handler).start();
+        verify(reactor).mountDomain(handler);
+        verify(reactor, never()).swapDomain(any(), any());
+    }
+
+    @Test
+    public void shouldKeepHandler_settingsUpdate() throws Exception {
+        final Domain domain = domain();
+        final Domain updatedDomain = domain();
+        updatedDomain.setName("updated-name");
+        updatedDomain.setLoginSettings(new LoginSettings());
+        VertxSecurityDomainHandler handler = mock(VertxSecurityDomainHandler.class);
+        when(handler.getDomain()).thenReturn(domain);
+        when(securityDomainRouterFactory.create(domain)).thenReturn(handler);
+
+        securityDomainHandlerRegistry.create(domain);
+        securityDomainHandlerRegistry.update(updatedDomain);
+
+        // the deployed domain is refreshed, its handler is neither rebuilt nor remounted
+        verify(securityDomainRouterFactory, times(1)).create(any());
+        verify(handler, never()).stop();
+        verify(reactor, never()).swapDomain(any(), any());
+        verify(reactor, never()).remountDomain(any());
+        verify(handler).refresh(updatedDomain);
+    }
+
+    @Test
+    public void shouldRemountHandler_pathUpdate() throws Exception {
+        final Domain domain = domain();
+        final Domain updatedDomain = domain();
+        updatedDomain.setPath("/updated-path");
+        VertxSecurityDomainHandler handler = mock(VertxSecurityDomainHandler.class);
+        when(handler.getDomain()).thenReturn(domain);
+        when(securityDomainRouterFactory.create(domain)).thenReturn(handler);
+
+        securityDomainHandlerRegistry.create(domain);
+        securityDomainHandlerRegistry.update(updatedDomain);
+
+        verify(securityDomainRouterFactory, times(1)).create(any());
+        verify(reactor).remountDomain(handler);
+        verify(reactor, never()).swapDomain(any(), any());
+        verify(handler).refresh(updatedDomain);
+    }
+
+    private Domain scimEnabled(Domain domain) {
+        SCIMSettings scim = new SCIMSettings();
+        scim.setEnabled(true);
+        domain.setScim(scim);
+        return domain;
+    }
+
+    private Domain domain() {
+        Domain domain = new Domain();
+        domain.setId("domain-1");
+        domain.setPath("/domain-1");
+        domain.setEnabled(true);
+        return domain;
+    }
+}
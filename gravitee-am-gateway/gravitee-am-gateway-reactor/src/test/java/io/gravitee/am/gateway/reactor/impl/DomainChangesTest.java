@@ -0,0 +1,100 @@
+/**
+ * Copyright (C) 2015 The Gravitee team (http://gravitee.io)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.gravitee.am.gateway.reactor.impl;
+
+import io.gravitee.am.model.Domain;
+import io.gravitee.am.model.VirtualHost;
+import io.gravitee.am.model.login.LoginSettings;
+import io.gravitee.am.model.login.WebAuthnSettings;
+import io.gravitee.am.model.oidc.OIDCSettings;
+import io.gravitee.am.model.uma.UMASettings;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.Collections;
+
+/**
+ * @author GraviteeSource Team
+ */
+public class DomainChangesTest {
+
+    @Test
+    public void shouldKeepHandler_settingsChanged() {
+        Domain domain = domain();
+        domain.setName("updated-name");
+        domain.setLoginSettings(new LoginSettings());
+        domain.setOidc(new OIDCSettings());
+
+        DomainChanges changes = DomainChanges.between(domain(), domain);
+
+        Assert.assertFalse(changes.handlerChanged());
+        Assert.assertFalse(changes.entrypointsChanged());
+    }
+
+    @Test
+    public void shouldRemount_pathChanged() {
+        Domain domain = domain();
+        domain.setPath("/updated-path");
+
+        DomainChanges changes = DomainChanges.between(domain(), domain);
+
+        Assert.assertFalse(changes.handlerChanged());
+        Assert.assertTrue(changes.entrypointsChanged());
+    }
+
+    @Test
+    public void shouldRemount_vhostsChanged() {
+        Domain domain = domain();
+        VirtualHost vhost = new VirtualHost();
+        vhost.setHost("auth.company.com");
+        vhost.setPath("/");
+        domain.setVhostMode(true);
+        domain.setVhosts(Collections.singletonList(vhost));
+
+        Assert.assertTrue(DomainChanges.between(domain(), domain).entrypointsChanged());
+    }
+
+    @Test
+    public void shouldRebuildHandler_umaEnabled() {
+        Domain domain = domain();
+        UMASettings uma = new UMASettings();
+        uma.setEnabled(true);
+        domain.setUma(uma);
+
+        Assert.assertTrue(DomainChanges.between(domain(), domain).handlerChanged());
+    }
+
+    @Test
+    public void shouldRebuildHandler_webAuthnChanged() {
+        Domain previousDomain = domain();
+        previousDomain.setWebAuthnSettings(new WebAuthnSettings());
+        Domain domain = domain();
+        WebAuthnSettings webAuthnSettings = new WebAuthnSettings();
+        webAuthnSettings.setOrigin("https://auth.company.com");
+        domain.setWebAuthnSettings(webAuthnSettings);
+
+        Assert.assertTrue(DomainChanges.between(previousDomain, domain).handlerChanged());
+        Assert.assertFalse(DomainChanges.between(previousDomain, previousDomain).handlerChanged());
+    }
+
+    private Domain domain() {
+        Domain domain = new Domain();
+        domain.setId("domain-1");
+        domain.setPath("/domain-1");
+        domain.setEnabled(true);
+        return domain;
+    }
+}
@@ -0,0 +1,125 @@
+/**
+ * Copyright (C) 2015 The Gravitee team (http://gravitee.io)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.gravitee.am.gateway.reactor.impl.router;
+
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Pattern;
+
+/**
+ * Compares the former matching of the requests against each mounted domain (host and path regular expressions,
+ * in mount order) with the {@link DomainDispatcher} lookup. Half of the domains are served on a virtual host.
+ *
+ * Run with: <code>mvn test-compile exec:java -Dexec.classpathScope=test -Dexec.mainClass=io.gravitee.am.gateway.reactor.impl.router.DomainDispatcherBenchmark</code>
+ *
+ * @author GraviteeSource Team
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class DomainDispatcherBenchmark {
+
+    @Param({"100", "5000"})
+    private int domains;
+
+    private List<LinearRoute> linearRoutes;
+
+    private DomainDispatcher dispatcher;
+
+    @Setup
+    public void setUp() {
+        linearRoutes = new ArrayList<>(domains);
+        List<DomainDispatcher.Entrypoint> entrypoints = new ArrayList<>(domains);
+        for (int i = 0; i < domains; i++) {
+            String domainId = "domain-" + i;
+            String host = host(i);
+            String path = host == null ? "/" + domainId : "/";
+            linearRoutes.add(new LinearRoute(domainId, host, path));
+            entrypoints.add(DomainDispatcherTest.entrypoint(domainId, host, path));
+        }
+        dispatcher = new DomainDispatcher();
+        dispatcher.update(entrypoints);
+    }
+
+    @Benchmark
+    public String linearMatching() {
+        final int i = ThreadLocalRandom.current().nextInt(domains);
+        final String host = requestHost(i);
+        final String path = requestPath(i);
+        for (LinearRoute route : linearRoutes) {
+            if (route.matches(host, path)) {
+                return route.domainId;
+            }
+        }
+        return null;
+    }
+
+    @Benchmark
+    public String dispatcherLookup() {
+        final int i = ThreadLocalRandom.current().nextInt(domains);
+        DomainDispatcher.Entrypoint entrypoint = dispatcher.lookup(requestHost(i), requestPath(i));
+        return entrypoint == null ? null : entrypoint.domainId();
+    }
+
+    private static String host(int i) {
+        return i % 2 == 0 ? "auth-" + i + ".acme.com" : null;
+    }
+
+    private static String requestHost(int i) {
+        return i % 2 == 0 ? host(i) : "gateway.acme.com";
+    }
+
+    private static String requestPath(int i) {
+        return i % 2 == 0 ? "/oauth/token" : "/domain-" + i + "/oauth/token";
+    }
+
+    /**
+     * Matching of a mounted domain: mount point prefix, then vhost host and path patterns.
+     */
+    private static class LinearRoute {
+
+        private final String domainId;
+        private final String mountPoint;
+        private final Pattern hostPattern;
+        private final Pattern pathPattern;
+
+        private LinearRoute(String domainId, String host, String path) {
+            this.domainId = domainId;
+            this.mountPoint = path.endsWith("/") ? path : path + "/";
+            this.hostPattern = host == null ? null : Pattern.compile(Pattern.quote(host));
+            this.pathPattern = host == null ? null : Pattern.compile(Pattern.quote(path) + ".*");
+        }
+
+        private boolean matches(String host, String path) {
+            return path.startsWith(mountPoint)
+                    && (hostPattern == null || (hostPattern.matcher(host).matches() && pathPattern.matcher(path).matches()));
+        }
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder().include(DomainDispatcherBenchmark.class.getSimpleName()).build()).run();
+    }
+}
@@ -0,0 +1,88 @@
+/**
+ * Copyright (C) 2015 The Gravitee team (http://gravitee.io)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.gravitee.am.gateway.reactor.impl.router;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.Collections;
+
+/**
+ * @author GraviteeSource Team
+ */
+public class DomainDispatcherTest {
+
+    private final DomainDispatcher dispatcher = new DomainDispatcher();
+
+    @Test
+    public void shouldDispatch_longestPathPrefix() {
+        dispatcher.update(Arrays.asList(
+                entrypoint("root", null, "/"),
+                entrypoint("domain-1", null, "/domain"),
+                entrypoint("domain-2", null, "/domain/nested")));
+
+        assertDomain("domain-1", null, "/domain");
+        assertDomain("domain-1", null, "/domain/");
+        assertDomain("domain-1", null, "/domain/oauth/authorize");
+        assertDomain("domain-2", null, "/domain/nested/oauth/token");
+        assertDomain("root", null, "/domainx/oauth/token");
+        assertDomain("root", null, "/");
+    }
+
+    @Test
+    public void shouldDispatch_vhost() {
+        dispatcher.update(Arrays.asList(
+                entrypoint("domain-1", "auth.acme.com", "/"),
+                entrypoint("domain-2", "auth.acme.com", "/partners"),
+                entrypoint("domain-3", null, "/domain-3")));
+
+        assertDomain("domain-1", "auth.acme.com", "/oauth/token");
+        assertDomain("domain-2", "auth.acme.com", "/partners/oauth/token");
+        // not on the vhost, fallback to the domains served on a path
+        assertDomain("domain-3", "other.acme.com", "/domain-3/oauth/token");
+        assertDomain("domain-3", null, "/domain-3/oauth/token");
+        Assert.assertNull(dispatcher.lookup("other.acme.com", "/oauth/token"));
+    }
+
+    @Test
+    public void shouldKeepFirstEntrypoint_samePath() {
+        dispatcher.update(Arrays.asList(
+                entrypoint("domain-1", null, "/domain"),
+                entrypoint("domain-2", null, "/domain/")));
+
+        assertDomain("domain-1", null, "/domain/oauth/token");
+    }
+
+    @Test
+    public void shouldNotDispatch_updatedEntrypoints() {
+        dispatcher.update(Collections.singletonList(entrypoint("domain-1", null, "/domain")));
+        assertDomain("domain-1", null, "/domain/oauth/token");
+
+        dispatcher.update(Collections.emptyList());
+        Assert.assertNull(dispatcher.lookup(null, "/domain/oauth/token"));
+    }
+
+    private void assertDomain(String expectedDomain, String host, String path) {
+        DomainDispatcher.Entrypoint entrypoint = dispatcher.lookup(host, path);
+        Assert.assertNotNull(entrypoint);
+        Assert.assertEquals(expectedDomain, entrypoint.domainId());
+    }
+
+    static DomainDispatcher.Entrypoint entrypoint(String domainId, String host, String path) {
+        return new DomainDispatcher.Entrypoint(domainId, host, path, null);
+    }
+}
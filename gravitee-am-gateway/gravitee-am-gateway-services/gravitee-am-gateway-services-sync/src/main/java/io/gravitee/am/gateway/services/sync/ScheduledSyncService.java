@@ -15,18 +15,26 @@
  */
 package io.gravitee.am.gateway.services.sync;
 
+import io.gravitee.am.repository.management.api.EventRepository;
+import io.gravitee.am.repository.management.model.WatchedEvent;
 import io.gravitee.common.service.AbstractService;
+import io.reactivex.disposables.Disposable;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Lazy;
 import org.springframework.scheduling.TaskScheduler;
 import org.springframework.scheduling.support.CronTrigger;
 
 import java.time.Instant;
+import java.util.Date;
 import java.util.concurrent.atomic.AtomicLong;
 
 /**
+ * Once the configuration has been loaded, events are pushed by the repository through a change stream
+ * (if supported and enabled). The events table is polled as long as no change stream is opened.
+ *
  * @author David BRASSELY (david.brassely at graviteesource.com)
  * @author GraviteeSource Team
  */
@@ -46,11 +54,28 @@ public class ScheduledSyncService extends AbstractService implements Runnable {
     @Value("${services.sync.enabled:true}")
     private boolean enabled;
 
+    @Value("${services.sync.changeStream.enabled:true}")
+    private boolean changeStreamEnabled;
+
     @Autowired
     private SyncManager syncStateManager;
 
+    @Lazy
+    @Autowired
+    private EventRepository eventRepository;
+
     private final AtomicLong counter = new AtomicLong(0);
 
+    private volatile Disposable changeStream;
+
+    private volatile boolean changeStreamSupported = true;
+
+    private volatile boolean catchUp;
+
+    private volatile boolean received;
+
+    private volatile String resumeToken;
+
     @Override
     protected void doStart() throws Exception {
         if (enabled) {
@@ -64,9 +89,69 @@ public class ScheduledSyncService extends AbstractService implements Runnable {
         }
     }
 
+    @Override
+    protected void doStop() throws Exception {
+        if (changeStream != null) {
+            changeStream.dispose();
+        }
+        super.doStop();
+    }
+
     @Override
     public void run() {
+        if (isWatching()) {
+            if (catchUp) {
+                // look for the events written between the last polling and the opening of the change stream
+                catchUp = false;
+                doSync();
+            }
+            return;
+        }
+
         doSync();
+
+        if (changeStreamEnabled && changeStreamSupported && syncStateManager.isInitialized()) {
+            watch();
+        }
+    }
+
+    private boolean isWatching() {
+        return changeStream != null && !changeStream.isDisposed();
+    }
+
+    private void watch() {
+        logger.debug("Opening events change stream (resume token: {})", resumeToken);
+        catchUp = true;
+        received = false;
+        changeStream = eventRepository.watch(resumeToken)
+                .subscribe(
+                        this::onEvent,
+                        this::onChangeStreamError,
+                        () -> logger.warn("Events change stream has been closed, falling back to polling"));
+    }
+
+    private void onEvent(WatchedEvent watchedEvent) {
+        received = true;
+        // events are computed by the sync thread, as the polled ones
+        scheduler.schedule(() -> {
+            // events written between the last polling and the opening of the change stream are not known until the
+            // catch-up polling is done, it must start from the last polling rather than from this event
+            syncStateManager.compute(watchedEvent.getEvent(), !catchUp);
+            resumeToken = watchedEvent.getResumeToken();
+        }, new Date());
+    }
+
+    private void onChangeStreamError(Throwable throwable) {
+        if (throwable instanceof UnsupportedOperationException) {
+            changeStreamSupported = false;
+            logger.info("Events change stream is not supported by the repository, falling back to polling with cron [{}]", cronTrigger);
+            return;
+        }
+        if (!received) {
+            // the resume token may be no longer valid, next change stream will start from now on
+            resumeToken = null;
+        }
+        logger.warn("Events change stream has failed, falling back to polling until it is opened again", throwable);
     }
 
     /**
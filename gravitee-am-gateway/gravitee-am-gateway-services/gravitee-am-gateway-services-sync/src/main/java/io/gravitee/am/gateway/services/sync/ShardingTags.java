@@ -0,0 +1,108 @@
+/**
+ * Copyright (C) 2015 The Gravitee team (http://gravitee.io)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.gravitee.am.gateway.services.sync;
+
+import java.text.Normalizer;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Sharding tags of a gateway instance, compiled once from the configured value (ie. <code>tag1,!tag2</code>).
+ *
+ * A security domain matches if it has one of the included tags, or none of the excluded ones.
+ * Tags are compared regardless of case and accents.
+ *
+ * @author GraviteeSource Team
+ */
+final class ShardingTags {
+
+    private static final String SEPARATOR = ",";
+    private static final String EXCLUSION_PREFIX = "!";
+    private static final Pattern DIACRITICS = Pattern.compile("\\p{M}");
+
+    private final String value;
+    private final List<String> inclusionTags;
+    private final List<String> exclusionTags;
+    private final Set<String> inclusionKeys;
+    private final Set<String> exclusionKeys;
+
+    private ShardingTags(String value, List<String> inclusionTags, List<String> exclusionTags) {
+        this.value = value;
+        this.inclusionTags = Collections.unmodifiableList(inclusionTags);
+        this.exclusionTags = Collections.unmodifiableList(exclusionTags);
+        this.inclusionKeys = keys(inclusionTags);
+        this.exclusionKeys = keys(exclusionTags);
+
+        if (inclusionKeys.stream().anyMatch(exclusionKeys::contains)) {
+            throw new IllegalArgumentException("You must not configure a tag to be included and excluded");
+        }
+    }
+
+    /**
+     * @param value the configured tags, separated by a comma, excluded tags starting with <code>!</code>.
+     * @return the compiled tags.
+     */
+    static ShardingTags compile(String value) {
+        List<String> tags = Stream.of(value.split(SEPARATOR)).map(String::trim).collect(Collectors.toList());
+        return new ShardingTags(value,
+                tags.stream().filter(tag -> !tag.startsWith(EXCLUSION_PREFIX)).collect(Collectors.toList()),
+                tags.stream().filter(tag -> tag.startsWith(EXCLUSION_PREFIX)).map(tag -> tag.substring(1)).collect(Collectors.toList()));
+    }
+
+    boolean matches(Collection<String> tags) {
+        if (tags == null) {
+            return false;
+        }
+        boolean excluded = false;
+        for (String tag : tags) {
+            String key = key(tag);
+            if (inclusionKeys.contains(key)) {
+                return true;
+            }
+            excluded |= exclusionKeys.contains(key);
+        }
+        return !exclusionKeys.isEmpty() && !excluded;
+    }
+
+    List<String> inclusionTags() {
+        return inclusionTags;
+    }
+
+    List<String> exclusionTags() {
+        return exclusionTags;
+    }
+
+    @Override
+    public String toString() {
+        return value;
+    }
+
+    private static Set<String> keys(List<String> tags) {
+        Set<String> keys = tags.stream().map(ShardingTags::key).collect(Collectors.toCollection(HashSet::new));
+        return Collections.unmodifiableSet(keys);
+    }
+
+    private static String key(String tag) {
+        return DIACRITICS.matcher(Normalizer.normalize(tag, Normalizer.Form.NFD)).replaceAll("").toLowerCase(Locale.ROOT);
+    }
+}
@@ -16,6 +16,7 @@
 package io.gravitee.am.gateway.services.sync;
 
 import io.gravitee.am.common.event.Action;
+import io.gravitee.am.common.event.Type;
 import io.gravitee.am.gateway.certificate.DefaultCertificateManager;
 import io.gravitee.am.gateway.core.manager.EntityManager;
 import io.gravitee.am.gateway.reactor.SecurityDomainManager;
@@ -29,7 +30,9 @@ import io.gravitee.am.repository.management.api.ApplicationRepository;
 import io.gravitee.am.repository.management.api.CertificateRepository;
 import io.gravitee.am.repository.management.api.DomainRepository;
 import io.gravitee.am.repository.management.api.EventRepository;
+import io.gravitee.am.repository.management.api.search.DomainCriteria;
 import io.gravitee.common.event.EventManager;
+import io.reactivex.schedulers.Schedulers;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.InitializingBean;
@@ -37,9 +40,13 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.context.annotation.Lazy;
 import org.springframework.core.env.Environment;
 
-import java.text.Collator;
 import java.util.*;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.function.BinaryOperator;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 import static java.util.Comparator.comparing;
@@ -54,7 +61,8 @@ public class SyncManager implements InitializingBean {
 
     private final Logger logger = LoggerFactory.getLogger(SyncManager.class);
     private static final String SHARDING_TAGS_SYSTEM_PROPERTY = "tags";
-    private static final String SHARDING_TAGS_SEPARATOR = ",";
+    private static final String DEPLOYMENT_PARALLELISM_PROPERTY = "services.sync.domains.parallelism";
+    private static final int FETCH_BATCH_SIZE = 500;
 
     @Autowired
     private EventManager eventManager;
@@ -87,15 +95,19 @@ public class SyncManager implements InitializingBean {
     @Autowired
     private CertificateRepository certificateRepository;
 
-    private Optional<List<String>> shardingTags;
+    private Optional<ShardingTags> shardingTags;
 
     private long lastRefreshAt = -1;
 
     private long lastDelay = 0;
 
+    private int deploymentParallelism;
+
     @Override
     public void afterPropertiesSet() throws Exception {
         this.initShardingTags();
+        Integer parallelism = environment.getProperty(DEPLOYMENT_PARALLELISM_PROPERTY, Integer.class);
+        this.deploymentParallelism = parallelism == null ? Runtime.getRuntime().availableProcessors() : Math.max(1, parallelism);
     }
 
     public void refresh() {
@@ -105,9 +117,10 @@ public class SyncManager implements InitializingBean {
         try {
             if (lastRefreshAt == -1) {
                 logger.debug("Initial synchronization");
-                deployDomains();
-                deployClients();
+                Set<String> deployedDomains = deployDomains();
+                deployClients(deployedDomains);
                 deployCertificates();
+                securityDomainManager.setInitialized(true);
             } else {
                 // search for events and compute them
                 logger.debug("Events synchronization");
@@ -132,36 +145,71 @@ public class SyncManager implements InitializingBean {
         }
     }
 
-    private void deployDomains() {
-        logger.info("Starting security domains initialization ...");
-        Set<Domain> domains = domainRepository.findAll()
-                // remove disabled domains
-                .map(registeredDomains -> {
-                    if (registeredDomains != null) {
-                        return registeredDomains
-                                .stream()
-                                .filter(Domain::isEnabled)
-                                .collect(Collectors.toSet());
-                    }
-                    return Collections.<Domain>emptySet();
-                })
-                .blockingGet();
+    /**
+     * @return <code>true</code> once the whole configuration has been loaded
+     */
+    public boolean isInitialized() {
+        return lastRefreshAt != -1;
+    }
 
-        domains.stream()
-                .forEach(domain -> {
-                    // Does the security domain have a matching sharding tags ?
-                    if (hasMatchingTags(domain)) {
-                        securityDomainManager.deploy(domain);
-                    }
-                });
-        logger.info("Security domains initialization done");
+    /**
+     * Compute an event pushed by the repository as soon as it has been written.
+     *
+     * @param event the written event
+     * @param acknowledge <code>true</code> if all the events written before this one have been computed, the next
+     *                    polling (if any) then only looks for the events written after this one
+     */
+    public void compute(Event event, boolean acknowledge) {
+        try {
+            computeEvents(Collections.singletonList(event));
+            if (acknowledge && event.getUpdatedAt() != null) {
+                lastRefreshAt = Math.max(lastRefreshAt, event.getUpdatedAt().getTime());
+            }
+        } catch (Exception ex) {
+            logger.error("An error occurs while synchronizing the event {}", event.getId(), ex);
+        }
     }
 
-    private void deployClients() {
+    private Set<String> deployDomains() {
+        logger.info("Starting security domains initialization ...");
+        // domains are streamed from the repository and started on a bounded pool
+        final ExecutorService executor = Executors.newFixedThreadPool(deploymentParallelism, new DeploymentThreadFactory());
+        try {
+            Set<String> deployedDomains = domainRepository.findAllByCriteria(domainCriteria())
+                    .filter(domain -> domain.isEnabled() && hasMatchingTags(domain))
+                    .parallel(deploymentParallelism)
+                    .runOn(Schedulers.from(executor))
+                    .map(domain -> {
+                        try {
+                            securityDomainManager.deploy(domain);
+                        } catch (Exception ex) {
+                            logger.error("An error occurs while deploying the security domain {}", domain.getId(), ex);
+                        }
+                        return domain.getId();
+                    })
+                    .sequential()
+                    .collect(HashSet<String>::new, Set::add)
+                    .blockingGet();
+            logger.info("Security domains initialization done ({} domains)", deployedDomains.size());
+            return deployedDomains;
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    private void deployClients(Set<String> deployedDomains) {
         logger.info("Starting clients initialization ...");
-        List<Application> applications = applicationRepository.findAll().blockingGet();
-        if (applications != null) {
-            ((DefaultClientManager) clientManager).init(applications.stream().map(Application::convert).collect(Collectors.toList()));
+        List<Client> clients;
+        if (shardingTags.isPresent()) {
+            // only load the applications of the security domains hosted by this gateway
+            clients = deployedDomains.isEmpty() ? Collections.emptyList() :
+                    applicationRepository.findByDomainIn(deployedDomains).map(Application::convert).toList().blockingGet();
+        } else {
+            List<Application> applications = applicationRepository.findAll().blockingGet();
+            clients = applications == null ? null : applications.stream().map(Application::convert).collect(Collectors.toList());
+        }
+        if (clients != null) {
+            ((DefaultClientManager) clientManager).init(clients);
         }
         logger.info("Clients initialization done");
     }
@@ -174,17 +222,22 @@ public class SyncManager implements InitializingBean {
     }
 
     private void computeEvents(Collection<Event> events) {
+        // created or updated entities are fetched by batch before the events are applied, in order
+        final Map<String, Domain> domains = fetch(events, Type.DOMAIN, ids -> domainRepository.findByIdIn(ids).blockingGet(), Domain::getId);
+        final Map<String, Application> applications = fetch(events, Type.APPLICATION, ids -> applicationRepository.findByIdIn(ids).blockingGet(), Application::getId);
+        final Map<String, Certificate> certificates = fetch(events, Type.CERTIFICATE, ids -> certificateRepository.findByIdIn(ids).blockingGet(), Certificate::getId);
+
         events.forEach(event -> {
             logger.debug("Compute event id : {}, with type : {} and timestamp : {} and payload : {}", event.getId(), event.getType(), event.getCreatedAt(), event.getPayload());
             switch(event.getType()) {
                 case DOMAIN:
-                    synchronizeDomain(event);
+                    synchronizeDomain(event, domains.get(event.getPayload().getId()));
                     break;
                 case APPLICATION:
-                    synchronizeApplication(event);
+                    synchronizeApplication(event, applications.get(event.getPayload().getId()));
                     break;
                 case CERTIFICATE:
-                    synchronizeCertificate(event);
+                    synchronizeCertificate(event, certificates.get(event.getPayload().getId()));
                     break;
                 default:
                     eventManager.publishEvent(io.gravitee.am.common.event.Event.valueOf(event.getType(), event.getPayload().getAction()), event.getPayload());
@@ -192,13 +245,29 @@ public class SyncManager implements InitializingBean {
         });
     }
 
-    private void synchronizeDomain(Event event) {
+    private <T> Map<String, T> fetch(Collection<Event> events, Type type, Function<List<String>, Collection<T>> finder, Function<T, String> idMapper) {
+        final List<String> ids = events.stream()
+                .filter(event -> event.getType() == type && event.getPayload().getAction() != Action.DELETE)
+                .map(event -> event.getPayload().getId())
+                .distinct()
+                .collect(Collectors.toList());
+
+        final Map<String, T> entities = new HashMap<>();
+        for (int i = 0; i < ids.size(); i += FETCH_BATCH_SIZE) {
+            Collection<T> batch = finder.apply(ids.subList(i, Math.min(i + FETCH_BATCH_SIZE, ids.size())));
+            if (batch != null) {
+                batch.forEach(entity -> entities.put(idMapper.apply(entity), entity));
+            }
+        }
+        return entities;
+    }
+
+    private void synchronizeDomain(Event event, Domain domain) {
         final String domainId = event.getPayload().getId();
         final Action action = event.getPayload().getAction();
         switch (action) {
             case CREATE:
             case UPDATE:
-                Domain domain = domainRepository.findById(domainId).blockingGet();
                 if (domain != null) {
                     // Get deployed domain
                     Domain deployedDomain = securityDomainManager.get(domain.getId());
@@ -207,6 +276,11 @@ public class SyncManager implements InitializingBean {
                         // domain is not yet deployed, so let's do it !
                         if (deployedDomain == null) {
                             securityDomainManager.deploy(domain);
+                            if (shardingTags.isPresent()) {
+                                // applications are only loaded for the hosted security domains
+                                applicationRepository.findByDomainIn(Collections.singleton(domainId))
+                                        .blockingForEach(application -> deployClient(application));
+                            }
                         } else if (deployedDomain.getUpdatedAt().before(domain.getUpdatedAt())) {
                             securityDomainManager.update(domain);
                         }
@@ -225,23 +299,19 @@ public class SyncManager implements InitializingBean {
         }
     }
 
-    private void synchronizeApplication(Event event) {
+    private void synchronizeApplication(Event event, Application application) {
         final String applicationId = event.getPayload().getId();
         final Action action = event.getPayload().getAction();
         switch (action) {
             case CREATE:
             case UPDATE:
-                Application application = applicationRepository.findById(applicationId).blockingGet();
                 if (application != null) {
-                    // Get deployed client
-                    Client client = Application.convert(application);
-                    Client deployedClient = clientManager.get(application.getId());
-                    // client is not yet deployed, so let's do it !
-                    if (deployedClient == null) {
-                        clientManager.deploy(client);
-                    } else if (deployedClient.getUpdatedAt().before(application.getUpdatedAt())) {
-                        clientManager.update(client);
+                    if (shardingTags.isPresent() && securityDomainManager.get(application.getDomain()) == null) {
+                        // the security domain of the application is not hosted by this gateway
+                        logger.debug("The application {} has been ignored because its domain is not deployed", applicationId);
+                        break;
                     }
+                    deployClient(application);
                 }
                 break;
             case DELETE:
@@ -250,13 +320,24 @@ public class SyncManager implements InitializingBean {
         }
     }
 
-    private void synchronizeCertificate(Event event) {
+    private void deployClient(Application application) {
+        // Get deployed client
+        Client client = Application.convert(application);
+        Client deployedClient = clientManager.get(application.getId());
+        // client is not yet deployed, so let's do it !
+        if (deployedClient == null) {
+            clientManager.deploy(client);
+        } else if (deployedClient.getUpdatedAt().before(application.getUpdatedAt())) {
+            clientManager.update(client);
+        }
+    }
+
+    private void synchronizeCertificate(Event event, Certificate certificate) {
         final String certificateId = event.getPayload().getId();
         final Action action = event.getPayload().getAction();
         switch (action) {
             case CREATE:
             case UPDATE:
-                Certificate certificate = certificateRepository.findById(certificateId).blockingGet();
                 if (certificate != null) {
                     // Get deployed certificate
                     Certificate deployedCertificate = certificateManager.get(certificate.getId());
@@ -279,58 +360,48 @@ public class SyncManager implements InitializingBean {
         String tags = systemPropertyTags == null ?
                 environment.getProperty(SHARDING_TAGS_SYSTEM_PROPERTY) : systemPropertyTags;
         if (tags != null && ! tags.isEmpty()) {
-            shardingTags = Optional.of(Arrays.asList(tags.split(SHARDING_TAGS_SEPARATOR)));
+            shardingTags = Optional.of(ShardingTags.compile(tags));
         } else {
             shardingTags = Optional.empty();
         }
     }
 
+    private DomainCriteria domainCriteria() {
+        DomainCriteria criteria = new DomainCriteria().setEnabled(true);
+        shardingTags.ifPresent(tags -> {
+            // a domain matches if it has one of the tags or none of the excluded ones
+            criteria.setTags(tags.inclusionTags()).setLogicalOR(true);
+            if (!tags.exclusionTags().isEmpty()) {
+                criteria.setExcludedTags(tags.exclusionTags());
+            }
+        });
+        return criteria;
+    }
+
     private boolean hasMatchingTags(Domain domain) {
         if (shardingTags.isPresent()) {
-            List<String> tagList = shardingTags.get();
+            ShardingTags tags = shardingTags.get();
             if (domain.getTags() != null) {
-                final List<String> inclusionTags = tagList.stream()
-                        .map(String::trim)
-                        .filter(tag -> !tag.startsWith("!"))
-                        .collect(Collectors.toList());
-
-                final List<String> exclusionTags = tagList.stream()
-                        .map(String::trim)
-                        .filter(tag -> tag.startsWith("!"))
-                        .map(tag -> tag.substring(1))
-                        .collect(Collectors.toList());
-
-                if (inclusionTags.stream().anyMatch(exclusionTags::contains)) {
-                    throw new IllegalArgumentException("You must not configure a tag to be included and excluded");
-                }
-
-                final boolean hasMatchingTags =
-                        inclusionTags.stream()
-                                .anyMatch(tag -> domain.getTags().stream()
-                                        .anyMatch(apiTag -> {
-                                            final Collator collator = Collator.getInstance();
-                                            collator.setStrength(Collator.NO_DECOMPOSITION);
-                                            return collator.compare(tag, apiTag) == 0;
-                                        })
-                                ) || (!exclusionTags.isEmpty() &&
-                                exclusionTags.stream()
-                                        .noneMatch(tag -> domain.getTags().stream()
-                                                .anyMatch(apiTag -> {
-                                                    final Collator collator = Collator.getInstance();
-                                                    collator.setStrength(Collator.NO_DECOMPOSITION);
-                                                    return collator.compare(tag, apiTag) == 0;
-                                                })
-                                        ));
-
+                final boolean hasMatchingTags = tags.matches(domain.getTags());
                 if (!hasMatchingTags) {
-                    logger.debug("The security domain {} has been ignored because not in configured tags {}", domain.getName(), tagList);
+                    logger.debug("The security domain {} has been ignored because not in configured tags {}", domain.getName(), tags);
                 }
                 return hasMatchingTags;
             }
-            logger.debug("Tags {} are configured on gateway instance but not found on the security domain {}", tagList, domain.getName());
+            logger.debug("Tags {} are configured on gateway instance but not found on the security domain {}", tags, domain.getName());
             return false;
         }
         // no tags configured on this gateway instance
         return true;
     }
+
+    private static class DeploymentThreadFactory implements ThreadFactory {
+
+        private final AtomicInteger counter = new AtomicInteger();
+
+        @Override
+        public Thread newThread(Runnable r) {
+            return new Thread(r, "gio.am-domain-deployment-" + counter.incrementAndGet());
+        }
+    }
 }
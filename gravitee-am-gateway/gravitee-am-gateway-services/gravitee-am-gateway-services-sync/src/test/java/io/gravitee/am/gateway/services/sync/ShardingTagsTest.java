@@ -0,0 +1,62 @@
+/**
+ * Copyright (C) 2015 The Gravitee team (http://gravitee.io)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.gravitee.am.gateway.services.sync;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.Collections;
+
+/**
+ * @author GraviteeSource Team
+ */
+public class ShardingTagsTest {
+
+    @Test
+    public void shouldMatch_includedTag() {
+        ShardingTags tags = ShardingTags.compile("test, toto");
+
+        Assert.assertTrue(tags.matches(Collections.singleton("toto")));
+        Assert.assertTrue(tags.matches(Arrays.asList("other", "Tést")));
+        Assert.assertFalse(tags.matches(Collections.singleton("other")));
+        Assert.assertFalse(tags.matches(Collections.emptySet()));
+        Assert.assertFalse(tags.matches(null));
+    }
+
+    @Test
+    public void shouldMatch_notExcludedTag() {
+        ShardingTags tags = ShardingTags.compile("!internal");
+
+        Assert.assertTrue(tags.matches(Collections.singleton("public")));
+        Assert.assertTrue(tags.matches(Collections.emptySet()));
+        Assert.assertFalse(tags.matches(Collections.singleton("Internal")));
+        Assert.assertFalse(tags.matches(Arrays.asList("public", "internal")));
+    }
+
+    @Test
+    public void shouldSplitTags() {
+        ShardingTags tags = ShardingTags.compile(" test ,!toto");
+
+        Assert.assertEquals(Collections.singletonList("test"), tags.inclusionTags());
+        Assert.assertEquals(Collections.singletonList("toto"), tags.exclusionTags());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void shouldNotCompile_includedAndExcludedTag() {
+        ShardingTags.compile("test,!Test");
+    }
+}
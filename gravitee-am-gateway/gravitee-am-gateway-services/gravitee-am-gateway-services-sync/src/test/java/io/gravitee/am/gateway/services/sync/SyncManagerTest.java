@@ -32,8 +32,9 @@ import io.gravitee.am.repository.management.api.CertificateRepository;
 import io.gravitee.am.repository.management.api.DomainRepository;
 import io.gravitee.am.repository.management.api.EventRepository;
 import io.gravitee.common.event.EventManager;
-import io.reactivex.Maybe;
+import io.reactivex.Flowable;
 import io.reactivex.Single;
+import org.junit.Assert;
 import org.junit.Before;
 import org.junit.Test;
 import org.junit.runner.RunWith;
@@ -42,12 +43,15 @@ import org.mockito.Mock;
 import org.mockito.junit.MockitoJUnitRunner;
 import org.springframework.core.env.Environment;
 
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.Date;
 import java.util.HashSet;
+import java.util.List;
 
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.longThat;
 import static org.mockito.Mockito.*;
 
 /**
@@ -98,7 +102,7 @@ public class SyncManagerTest {
     public void init_test_empty_domains() {
         when(applicationRepository.findAll()).thenReturn(Single.just(Collections.emptyList()));
         when(certificateRepository.findAll()).thenReturn(Single.just(Collections.emptySet()));
-        when(domainRepository.findAll()).thenReturn(Single.just(Collections.emptySet()));
+        when(domainRepository.findAllByCriteria(any())).thenReturn(Flowable.empty());
 
         syncManager.refresh();
 
@@ -114,7 +118,7 @@ public class SyncManagerTest {
         domain.setEnabled(true);
         when(applicationRepository.findAll()).thenReturn(Single.just(Collections.emptyList()));
         when(certificateRepository.findAll()).thenReturn(Single.just(Collections.emptySet()));
-        when(domainRepository.findAll()).thenReturn(Single.just(Collections.singleton(domain)));
+        when(domainRepository.findAllByCriteria(any())).thenReturn(Flowable.just(domain));
 
         syncManager.refresh();
 
@@ -133,7 +137,7 @@ public class SyncManagerTest {
         domain2.setEnabled(true);
         when(applicationRepository.findAll()).thenReturn(Single.just(Collections.emptyList()));
         when(certificateRepository.findAll()).thenReturn(Single.just(Collections.emptySet()));
-        when(domainRepository.findAll()).thenReturn(Single.just(new HashSet<>(Arrays.asList(domain, domain2))));
+        when(domainRepository.findAllByCriteria(any())).thenReturn(Flowable.just(domain, domain2));
 
         syncManager.refresh();
 
@@ -155,7 +159,7 @@ public class SyncManagerTest {
         domain3.setEnabled(false);
         when(applicationRepository.findAll()).thenReturn(Single.just(Collections.emptyList()));
         when(certificateRepository.findAll()).thenReturn(Single.just(Collections.emptySet()));
-        when(domainRepository.findAll()).thenReturn(Single.just(new HashSet<>(Arrays.asList(domain, domain2, domain3))));
+        when(domainRepository.findAllByCriteria(any())).thenReturn(Flowable.just(domain, domain2, domain3));
 
         syncManager.refresh();
 
@@ -169,7 +173,7 @@ public class SyncManagerTest {
         final Domain domain = new Domain();
         domain.setId("domain-1");
         domain.setEnabled(true);
-        when(domainRepository.findAll()).thenReturn(Single.just(new HashSet<>(Arrays.asList(domain))));
+        when(domainRepository.findAllByCriteria(any())).thenReturn(Flowable.just(domain));
         when(applicationRepository.findAll()).thenReturn(Single.just(Collections.emptyList()));
         when(certificateRepository.findAll()).thenReturn(Single.just(Collections.emptySet()));
         doNothing().when(clientManager).init(anyCollection());
@@ -195,7 +199,7 @@ public class SyncManagerTest {
         domain.setId("domain-1");
         domain.setEnabled(true);
         domain.setUpdatedAt(new Date(System.currentTimeMillis() - 60 * 1000));
-        when(domainRepository.findAll()).thenReturn(Single.just(new HashSet<>(Arrays.asList(domain))));
+        when(domainRepository.findAllByCriteria(any())).thenReturn(Flowable.just(domain));
         when(applicationRepository.findAll()).thenReturn(Single.just(Collections.emptyList()));
         when(certificateRepository.findAll()).thenReturn(Single.just(Collections.emptySet()));
         doNothing().when(clientManager).init(anyCollection());
@@ -212,7 +216,7 @@ public class SyncManagerTest {
         domainToUpdate.setUpdatedAt(new Date());
 
         when(eventRepository.findByTimeFrame(any(Long.class), any(Long.class))).thenReturn(Single.just(Collections.singletonList(event)));
-        when(domainRepository.findById(domainToUpdate.getId())).thenReturn(Maybe.just(domainToUpdate));
+        when(domainRepository.findByIdIn(Collections.singletonList(domainToUpdate.getId()))).thenReturn(Single.just(Collections.singleton(domainToUpdate)));
         when(securityDomainManager.get(domainToUpdate.getId())).thenReturn(domain);
 
         syncManager.refresh();
@@ -224,7 +228,7 @@ public class SyncManagerTest {
 
     @Test
     public void shouldPropagateEvents() {
-        when(domainRepository.findAll()).thenReturn(Single.just(Collections.emptySet()));
+        when(domainRepository.findAllByCriteria(any())).thenReturn(Flowable.empty());
         when(applicationRepository.findAll()).thenReturn(Single.just(Collections.emptyList()));
         when(certificateRepository.findAll()).thenReturn(Single.just(Collections.emptySet()));
         doNothing().when(clientManager).init(anyCollection());
@@ -246,10 +250,10 @@ public class SyncManagerTest {
 
     @Test
     public void shouldDeployApplication() {
-        when(domainRepository.findAll()).thenReturn(Single.just(Collections.emptySet()));
+        when(domainRepository.findAllByCriteria(any())).thenReturn(Flowable.empty());
         when(applicationRepository.findAll()).thenReturn(Single.just(Collections.emptyList()));
         when(certificateRepository.findAll()).thenReturn(Single.just(Collections.emptySet()));
-        when(applicationRepository.findById("client-1")).thenReturn(Maybe.just(new Application()));
+        when(applicationRepository.findByIdIn(Collections.singletonList("client-1"))).thenReturn(Single.just(Collections.singleton(application("client-1"))));
         doNothing().when(clientManager).init(anyCollection());
         syncManager.refresh();
 
@@ -268,10 +272,10 @@ public class SyncManagerTest {
 
     @Test
     public void shouldDeployCertificate() {
-        when(domainRepository.findAll()).thenReturn(Single.just(Collections.emptySet()));
+        when(domainRepository.findAllByCriteria(any())).thenReturn(Flowable.empty());
         when(applicationRepository.findAll()).thenReturn(Single.just(Collections.emptyList()));
         when(certificateRepository.findAll()).thenReturn(Single.just(Collections.emptySet()));
-        when(certificateRepository.findById("certificate-1")).thenReturn(Maybe.just(new Certificate()));
+        when(certificateRepository.findByIdIn(Collections.singletonList("certificate-1"))).thenReturn(Single.just(Collections.singleton(certificate("certificate-1"))));
         doNothing().when(certificateManager).init(anyCollection());
         syncManager.refresh();
 
@@ -288,6 +292,56 @@ public class SyncManagerTest {
         verify(certificateManager, never()).undeploy(any(String.class));
     }
 
+    @Test
+    public void shouldComputePushedEvent() {
+        when(domainRepository.findAllByCriteria(any())).thenReturn(Flowable.empty());
+        when(applicationRepository.findAll()).thenReturn(Single.just(Collections.emptyList()));
+        when(certificateRepository.findAll()).thenReturn(Single.just(Collections.emptySet()));
+        when(applicationRepository.findByIdIn(Collections.singletonList("client-1"))).thenReturn(Single.just(Collections.singleton(application("client-1"))));
+        doNothing().when(clientManager).init(anyCollection());
+
+        Assert.assertFalse(syncManager.isInitialized());
+        syncManager.refresh();
+        Assert.assertTrue(syncManager.isInitialized());
+
+        Event event = new Event();
+        event.setType(Type.APPLICATION);
+        event.setPayload(new Payload("client-1", ReferenceType.DOMAIN, "domain-1", Action.CREATE));
+        event.setUpdatedAt(new Date());
+
+        syncManager.compute(event, true);
+
+        verify(clientManager, times(1)).deploy(any(Client.class));
+        verify(clientManager, never()).update(any(Client.class));
+        verify(clientManager, never()).undeploy(any(String.class));
+        verify(eventRepository, never()).findByTimeFrame(any(Long.class), any(Long.class));
+    }
+
+    @Test
+    public void shouldPollFromLastRefresh_pushedEventNotAcknowledged() {
+        when(domainRepository.findAllByCriteria(any())).thenReturn(Flowable.empty());
+        when(applicationRepository.findAll()).thenReturn(Single.just(Collections.emptyList()));
+        when(certificateRepository.findAll()).thenReturn(Single.just(Collections.emptySet()));
+        when(applicationRepository.findByIdIn(Collections.singletonList("client-1"))).thenReturn(Single.just(Collections.singleton(application("client-1"))));
+        when(eventRepository.findByTimeFrame(any(Long.class), any(Long.class))).thenReturn(Single.just(Collections.emptyList()));
+        doNothing().when(clientManager).init(anyCollection());
+
+        final long initializedAt = System.currentTimeMillis();
+        syncManager.refresh();
+
+        Event event = new Event();
+        event.setType(Type.APPLICATION);
+        event.setPayload(new Payload("client-1", ReferenceType.DOMAIN, "domain-1", Action.CREATE));
+        event.setUpdatedAt(new Date(initializedAt + 60000));
+
+        // pushed before the catch-up polling, events written before this one may not have been computed yet
+        syncManager.compute(event, false);
+        syncManager.refresh();
+
+        verify(clientManager, times(1)).deploy(any(Client.class));
+        verify(eventRepository, times(1)).findByTimeFrame(longThat(from -> from < initializedAt + 30000), any(Long.class));
+    }
+
     @Test
     public void test_deployDomainWithTag() throws Exception {
         shouldDeployDomainWithTags("test,toto", new String[]{"test"});
@@ -337,14 +391,88 @@ public class SyncManagerTest {
         domain.setEnabled(true);
         domain.setTags(new HashSet<>(Arrays.asList(domainTags)));
 
-        when(applicationRepository.findAll()).thenReturn(Single.just(Collections.emptyList()));
+        when(applicationRepository.findByDomainIn(Collections.singleton("domain-1"))).thenReturn(Flowable.empty());
         when(certificateRepository.findAll()).thenReturn(Single.just(Collections.emptySet()));
-        when(domainRepository.findAll()).thenReturn(Single.just(Collections.singleton(domain)));
+        when(domainRepository.findAllByCriteria(any())).thenReturn(Flowable.just(domain));
 
         syncManager.refresh();
 
+        verify(domainRepository).findAllByCriteria(argThat(criteria -> criteria.getTags().isPresent() && criteria.isLogicalOR()));
         verify(securityDomainManager).deploy(any());
         verify(securityDomainManager, never()).update(any());
         verify(securityDomainManager, never()).undeploy(any(String.class));
+        verify(securityDomainManager).setInitialized(true);
+        verify(applicationRepository, never()).findAll();
+    }
+
+    @Test
+    public void shouldNotDeployApplication_domainNotHosted() throws Exception {
+        when(environment.getProperty(SHARDING_TAGS_SYSTEM_PROPERTY)).thenReturn("test");
+        syncManager.afterPropertiesSet();
+
+        when(domainRepository.findAllByCriteria(any())).thenReturn(Flowable.empty());
+        when(certificateRepository.findAll()).thenReturn(Single.just(Collections.emptySet()));
+        doNothing().when(clientManager).init(anyCollection());
+        syncManager.refresh();
+
+        Application application = new Application();
+        application.setId("client-1");
+        application.setDomain("domain-1");
+        when(applicationRepository.findByIdIn(Collections.singletonList("client-1"))).thenReturn(Single.just(Collections.singleton(application)));
+
+        Event event = new Event();
+        event.setType(Type.APPLICATION);
+        event.setPayload(new Payload("client-1", ReferenceType.DOMAIN, "domain-1", Action.CREATE));
+        when(eventRepository.findByTimeFrame(any(Long.class), any(Long.class))).thenReturn(Single.just(Collections.singletonList(event)));
+
+        syncManager.refresh();
+
+        verify(applicationRepository, never()).findByDomainIn(any());
+        verify(clientManager, never()).deploy(any(Client.class));
+    }
+
+    @Test
+    public void shouldFetchEntitiesByBatch() {
+        when(domainRepository.findAllByCriteria(any())).thenReturn(Flowable.empty());
+        when(applicationRepository.findAll()).thenReturn(Single.just(Collections.emptyList()));
+        when(certificateRepository.findAll()).thenReturn(Single.just(Collections.emptySet()));
+        doNothing().when(clientManager).init(anyCollection());
+        syncManager.refresh();
+
+        List<Event> events = new ArrayList<>();
+        for (String applicationId : Arrays.asList("client-1", "client-2", "client-3")) {
+            Event event = new Event();
+            event.setType(Type.APPLICATION);
+            event.setPayload(new Payload(applicationId, ReferenceType.DOMAIN, "domain-1", Action.CREATE));
+            events.add(event);
+        }
+        Event deleteEvent = new Event();
+        deleteEvent.setType(Type.APPLICATION);
+        deleteEvent.setPayload(new Payload("client-4", ReferenceType.DOMAIN, "domain-1", Action.DELETE));
+        events.add(deleteEvent);
+
+        when(eventRepository.findByTimeFrame(any(Long.class), any(Long.class))).thenReturn(Single.just(events));
+        when(applicationRepository.findByIdIn(Arrays.asList("client-1", "client-2", "client-3")))
+                .thenReturn(Single.just(new HashSet<>(Arrays.asList(application("client-1"), application("client-2")))));
+
+        syncManager.refresh();
+
+        // one query for the created applications, the missing one is ignored
+        verify(applicationRepository, times(1)).findByIdIn(anyList());
+        verify(applicationRepository, never()).findById(any());
+        verify(clientManager, times(2)).deploy(any(Client.class));
+        verify(clientManager, times(1)).undeploy("client-4");
+    }
+
+    private Application application(String id) {
+        Application application = new Application();
+        application.setId(id);
+        return application;
+    }
+
+    private Certificate certificate(String id) {
+        Certificate certificate = new Certificate();
+        certificate.setId(id);
+        return certificate;
     }
 }
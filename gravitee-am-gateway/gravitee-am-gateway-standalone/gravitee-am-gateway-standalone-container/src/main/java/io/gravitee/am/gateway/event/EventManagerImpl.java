@@ -31,6 +31,7 @@ import org.slf4j.LoggerFactory;
 import java.util.*;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.CopyOnWriteArrayList;
 
 /**
  * Override default event manager to enable concurrent access
@@ -89,20 +90,11 @@ public class EventManagerImpl implements EventManager {
     }
 
     private <T extends Enum> List<EventListenerWrapper> getEventListeners(Class<T> eventType, String domain) {
-        List<EventListenerWrapper> listeners;
+        // security domains are deployed concurrently at startup, listeners may be registered by several threads
+        ComparableEventType key = eventType.equals(DomainEvent.class) ?
+                new ComparableEventType(eventType, null) : new ComparableEventType(eventType, domain);
 
-        if (eventType.equals(DomainEvent.class)) {
-            listeners = this.listenersMap.get(new ComparableEventType(eventType, null));
-        } else {
-            listeners = this.listenersMap.get(new ComparableEventType(eventType, domain));
-        }
-
-        if (listeners == null) {
-            listeners = new ArrayList<>();
-            this.listenersMap.put(new ComparableEventType(eventType, domain), listeners);
-        }
-
-        return listeners;
+        return this.listenersMap.computeIfAbsent(key, k -> new CopyOnWriteArrayList<>());
     }
 
     @Override
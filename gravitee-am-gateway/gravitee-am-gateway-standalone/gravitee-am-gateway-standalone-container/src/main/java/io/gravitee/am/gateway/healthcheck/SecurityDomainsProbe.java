@@ -0,0 +1,72 @@
+/**
+ * Copyright (C) 2015 The Gravitee team (http://gravitee.io)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.gravitee.am.gateway.healthcheck;
+
+import io.gravitee.am.gateway.handler.vertx.VertxSecurityDomainHandler;
+import io.gravitee.am.gateway.reactor.SecurityDomainHandlerRegistry;
+import io.gravitee.am.gateway.reactor.SecurityDomainManager;
+import io.gravitee.am.model.Domain;
+import io.gravitee.node.api.healthcheck.Probe;
+import io.gravitee.node.api.healthcheck.Result;
+import org.springframework.beans.factory.annotation.Autowired;
+
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.stream.Collectors;
+
+/**
+ * Security domains probe, the gateway is ready once every deployed security domain is started.
+ *
+ * @author GraviteeSource Team
+ */
+public class SecurityDomainsProbe implements Probe {
+
+    @Autowired
+    private SecurityDomainManager securityDomainManager;
+
+    @Autowired
+    private SecurityDomainHandlerRegistry securityDomainHandlerRegistry;
+
+    @Override
+    public String id() {
+        return "security-domains";
+    }
+
+    @Override
+    public CompletableFuture<Result> check() {
+        Set<String> started = securityDomainHandlerRegistry.getSecurityDomainHandlers()
+                .stream()
+                .map(VertxSecurityDomainHandler::getDomain)
+                .map(Domain::getId)
+                .collect(Collectors.toSet());
+
+        if (!securityDomainManager.isInitialized()) {
+            return CompletableFuture.completedFuture(Result.unhealthy("Security domains are being deployed (%d started)", started.size()));
+        }
+
+        List<String> notStarted = securityDomainManager.domains()
+                .stream()
+                .map(Domain::getId)
+                .filter(domainId -> !started.contains(domainId))
+                .collect(Collectors.toList());
+
+        if (notStarted.isEmpty()) {
+            return CompletableFuture.completedFuture(Result.healthy("%d security domains started", started.size()));
+        }
+        return CompletableFuture.completedFuture(Result.unhealthy("Security domains not started: %s", notStarted));
+    }
+}
@@ -0,0 +1,46 @@
+/**
+ * Copyright (C) 2015 The Gravitee team (http://gravitee.io)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.gravitee.am.identityprovider.api;
+
+import io.reactivex.Single;
+
+import java.util.concurrent.Callable;
+
+/**
+ * Runs password hash computations and verifications on a bounded pool of dedicated worker threads so that they
+ * never hold the Vert.x event loop or the threads of the identity provider driver.
+ *
+ * The pending tasks are served in a round-robin fashion between their owners, so that a security domain
+ * receiving a burst of login requests can't starve the other ones.
+ *
+ * @author GraviteeSource Team
+ */
+public interface PasswordHashExecutor {
+
+    /**
+     * Execute the given task on the password hashing worker pool.
+     *
+     * The result is emitted back on the Vert.x context of the caller (if any).
+     * If the pool, or the share of the owner, is saturated, the returned {@link Single} fails immediately with a
+     * {@link io.gravitee.am.common.exception.oauth2.TemporarilyUnavailableException}.
+     *
+     * @param owner the owner of the task, usually the authentication provider of a security domain.
+     * @param task the password hashing operation.
+     * @param <T> type of the result.
+     * @return the result of the task.
+     */
+    <T> Single<T> execute(Object owner, Callable<T> task);
+}
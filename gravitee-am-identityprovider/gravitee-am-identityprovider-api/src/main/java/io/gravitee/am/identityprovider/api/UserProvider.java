@@ -32,4 +32,8 @@ public interface UserProvider {
     Single<User> update(String id, User updateUser);
 
     Completable delete(String id);
+
+    default UserProvider stop() throws Exception {
+        return this;
+    }
 }
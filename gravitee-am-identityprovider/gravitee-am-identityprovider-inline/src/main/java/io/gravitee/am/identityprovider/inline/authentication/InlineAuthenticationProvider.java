@@ -19,6 +19,7 @@ import io.gravitee.am.common.oidc.StandardClaims;
 import io.gravitee.am.identityprovider.api.Authentication;
 import io.gravitee.am.identityprovider.api.AuthenticationProvider;
 import io.gravitee.am.identityprovider.api.DefaultUser;
+import io.gravitee.am.identityprovider.api.PasswordHashExecutor;
 import io.gravitee.am.identityprovider.api.User;
 import io.gravitee.am.identityprovider.inline.InlineIdentityProviderConfiguration;
 import io.gravitee.am.identityprovider.inline.InlineIdentityProviderMapper;
@@ -27,6 +28,7 @@ import io.gravitee.am.identityprovider.inline.authentication.provisioning.Inline
 import io.gravitee.am.service.authentication.crypto.password.PasswordEncoder;
 import io.gravitee.am.common.exception.authentication.BadCredentialsException;
 import io.reactivex.Maybe;
+import io.reactivex.Single;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.InitializingBean;
@@ -34,6 +36,7 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.context.annotation.Import;
 
 import java.util.*;
+import java.util.concurrent.Callable;
 
 /**
  * @author David BRASSELY (david.brassely at graviteesource.com)
@@ -61,6 +64,9 @@ public class InlineAuthenticationProvider implements AuthenticationProvider, Ini
     @Autowired
     private InlineIdentityProviderMapper mapper;
 
+    @Autowired(required = false)
+    private PasswordHashExecutor passwordHashExecutor;
+
     @Override
     public void afterPropertiesSet() {
         for(io.gravitee.am.identityprovider.inline.model.User user : configuration.getUsers()) {
@@ -72,13 +78,16 @@ public class InlineAuthenticationProvider implements AuthenticationProvider, Ini
     @Override
     public Maybe<User> loadUserByUsername(Authentication authentication) {
         return userDetailsService.loadUserByUsername((String) authentication.getPrincipal())
-                .map(user -> {
+                .flatMap(user -> {
                     String presentedPassword = authentication.getCredentials().toString();
-                    if (!passwordEncoder.matches(presentedPassword, user.getPassword())) {
-                        LOGGER.debug("Authentication failed: password does not match stored value");
-                        throw new BadCredentialsException("Bad credentials");
-                    }
-                    return createUser(user);
+                    return matches(presentedPassword, user.getPassword())
+                            .flatMapMaybe(matches -> {
+                                if (!matches) {
+                                    LOGGER.debug("Authentication failed: password does not match stored value");
+                                    return Maybe.error(new BadCredentialsException("Bad credentials"));
+                                }
+                                return Maybe.just(createUser(user));
+                            });
                 });
     }
 
@@ -88,6 +97,11 @@ public class InlineAuthenticationProvider implements AuthenticationProvider, Ini
                 .map(user -> createUser(user));
     }
 
+    private Single<Boolean> matches(String presentedPassword, String password) {
+        Callable<Boolean> verification = () -> passwordEncoder.matches(presentedPassword, password);
+        return passwordHashExecutor != null ? passwordHashExecutor.execute(this, verification) : Single.fromCallable(verification);
+    }
+
     private List<String> getUserRoles(io.gravitee.am.identityprovider.inline.model.User inlineUser) {
         Set<String> roles = new HashSet();
         if (roleMapper != null && roleMapper.getRoles() != null) {
@@ -16,8 +16,8 @@
 package io.gravitee.am.identityprovider.inline.authentication;
 
 import io.gravitee.am.identityprovider.inline.authentication.provisioning.InlineInMemoryUserDetailsManager;
-import io.gravitee.am.service.authentication.crypto.password.NoOpPasswordEncoder;
 import io.gravitee.am.service.authentication.crypto.password.PasswordEncoder;
+import io.gravitee.am.service.authentication.crypto.password.PasswordEncoders;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 
@@ -30,7 +30,8 @@ public class InlineAuthenticationProviderConfiguration {
 
     @Bean
     public PasswordEncoder passwordEncoder() {
-        return NoOpPasswordEncoder.getInstance();
+        // plain text passwords, or hashes prefixed by their algorithm ({bcrypt}, {argon2id}, {scrypt}, {pbkdf2})
+        return PasswordEncoders.create(PasswordEncoders.NONE, null);
     }
 
     @Bean
@@ -59,6 +59,14 @@ public class LdapIdentityProviderConfiguration implements IdentityProviderConfig
 
     private boolean hashEncodedByThirdParty;
 
+    private Long operationTimeout = 10000l;
+
+    private Integer maxPendingOperations = 100;
+
+    private Integer circuitBreakerThreshold = 5;
+
+    private Long circuitBreakerDelay = 30000l;
+
     public String getContextSourceUrl() {
         return contextSourceUrl;
     }
@@ -202,4 +210,36 @@ public class LdapIdentityProviderConfiguration implements IdentityProviderConfig
     public void setHashEncodedByThirdParty(boolean hashEncodedByThirdParty) {
         this.hashEncodedByThirdParty = hashEncodedByThirdParty;
     }
+
+    public Long getOperationTimeout() {
+        return operationTimeout;
+    }
+
+    public void setOperationTimeout(Long operationTimeout) {
+        this.operationTimeout = operationTimeout;
+    }
+
+    public Integer getMaxPendingOperations() {
+        return maxPendingOperations;
+    }
+
+    public void setMaxPendingOperations(Integer maxPendingOperations) {
+        this.maxPendingOperations = maxPendingOperations;
+    }
+
+    public Integer getCircuitBreakerThreshold() {
+        return circuitBreakerThreshold;
+    }
+
+    public void setCircuitBreakerThreshold(Integer circuitBreakerThreshold) {
+        this.circuitBreakerThreshold = circuitBreakerThreshold;
+    }
+
+    public Long getCircuitBreakerDelay() {
+        return circuitBreakerDelay;
+    }
+
+    public void setCircuitBreakerDelay(Long circuitBreakerDelay) {
+        this.circuitBreakerDelay = circuitBreakerDelay;
+    }
 }
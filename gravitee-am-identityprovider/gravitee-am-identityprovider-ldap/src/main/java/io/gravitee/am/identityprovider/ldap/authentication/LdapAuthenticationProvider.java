@@ -82,6 +82,9 @@ public class LdapAuthenticationProvider extends AbstractService<AuthenticationPr
     @Qualifier("userSearchExecutor")
     private SearchExecutor userSearchExecutor;
 
+    @Autowired
+    private LdapOperationExecutor operationExecutor;
+
     @Override
     public void afterPropertiesSet() {
         String searchFilter = configuration.getUserSearchFilter();
@@ -106,9 +109,11 @@ public class LdapAuthenticationProvider extends AbstractService<AuthenticationPr
         LOGGER.info("Init LDAP {} connection pools", configuration.getContextSourceUrl());
         if (bindConnectionPool != null) {
             bindConnectionPool.initialize();
+            operationExecutor.monitor("bind", bindConnectionPool);
         }
         if (searchConnectionPool != null) {
             searchConnectionPool.initialize();
+            operationExecutor.monitor("search", searchConnectionPool);
         }
     }
 
@@ -123,11 +128,13 @@ public class LdapAuthenticationProvider extends AbstractService<AuthenticationPr
         if (searchConnectionPool != null) {
             searchConnectionPool.close();
         }
+        operationExecutor.close();
     }
 
     @Override
     public Maybe<User> loadUserByUsername(Authentication authentication) {
-        return Maybe.fromCallable(() -> {
+        // bind and search are blocking operations, they are run by the LDAP workers
+        return operationExecutor.execute(() -> {
             try {
                 String username = (String) authentication.getPrincipal();
                 String password = (String) authentication.getCredentials();
@@ -150,7 +157,7 @@ public class LdapAuthenticationProvider extends AbstractService<AuthenticationPr
 
     @Override
     public Maybe<User> loadUserByUsername(String username) {
-        return Maybe.fromCallable(() -> {
+        return operationExecutor.execute(() -> {
             try {
                 // find user
                 SearchFilter searchFilter = createSearchFilter(userSearchExecutor, username);
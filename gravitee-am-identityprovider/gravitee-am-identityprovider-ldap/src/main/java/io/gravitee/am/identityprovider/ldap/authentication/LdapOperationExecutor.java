@@ -0,0 +1,214 @@
+/**
+ * Copyright (C) 2015 The Gravitee team (http://gravitee.io)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.gravitee.am.identityprovider.ldap.authentication;
+
+import io.gravitee.am.common.exception.authentication.BadCredentialsException;
+import io.gravitee.am.common.exception.authentication.InternalAuthenticationServiceException;
+import io.gravitee.am.common.exception.authentication.UsernameNotFoundException;
+import io.gravitee.am.common.metrics.MeterGroup;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.Timer;
+import io.reactivex.Maybe;
+import io.vertx.core.Context;
+import io.vertx.core.Vertx;
+import org.ldaptive.pool.ConnectionPool;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.SynchronousQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Runs the blocking LDAP operations (bind, search) of an identity provider on its own bounded pool of workers,
+ * so that a slow directory never holds the event loops of the gateway.
+ *
+ * Operations are rejected, without contacting the server, when all the workers are busy and the pending operations
+ * queue is full, or when the circuit breaker is open: the circuit opens after a number of consecutive server
+ * failures (errors, timeouts) and is closed again by the first successful operation once the delay has elapsed. Only the
+ * operations answered by the server, successfully or not (bad credentials, unknown user), count as successes.
+ *
+ * Meters are tagged by identity provider, server and base DN, so that the providers of several domains sharing a directory
+ * are told apart:
+ * <ul>
+ *     <li><code>am.idp.ldap.operations</code>: operation latency, by result (success, failure)</li>
+ *     <li><code>am.idp.ldap.operations.rejected</code>: operations rejected or abandoned, by reason (saturated, circuit_open, timeout)</li>
+ *     <li><code>am.idp.ldap.workers.active</code>, <code>am.idp.ldap.workers.pending</code>: worker pool utilization</li>
+ *     <li><code>am.idp.ldap.connections.active</code>, <code>am.idp.ldap.connections.available</code>: connection pools utilization, by pool (bind, search)</li>
+ * </ul>
+ *
+ * @author GraviteeSource Team
+ */
+public class LdapOperationExecutor {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(LdapOperationExecutor.class);
+    private static final AtomicInteger WORKER_SEQUENCE = new AtomicInteger();
+
+    private final ThreadPoolExecutor executor;
+    private final long timeout;
+    private final int circuitBreakerThreshold;
+    private final long circuitBreakerDelay;
+    private final AtomicInteger consecutiveFailures = new AtomicInteger();
+    private volatile long circuitOpenUntil;
+
+    private final MeterGroup meters;
+    private final Tags tags;
+    private final Timer successes;
+    private final Timer failures;
+    private final Counter saturatedRejections;
+    private final Counter circuitOpenRejections;
+    private final Counter timeoutRejections;
+
+    public LdapOperationExecutor(String identityProvider, String server, String baseDn, int workers, int maxPendingOperations, long timeout,
+                                 int circuitBreakerThreshold, long circuitBreakerDelay) {
+        this(null, identityProvider, server, baseDn, workers, maxPendingOperations, timeout, circuitBreakerThreshold, circuitBreakerDelay);
+    }
+
+    public LdapOperationExecutor(MeterRegistry registry, String identityProvider, String server, String baseDn, int workers, int maxPendingOperations,
+                                 long timeout, int circuitBreakerThreshold, long circuitBreakerDelay) {
+        this.timeout = timeout;
+        this.circuitBreakerThreshold = circuitBreakerThreshold;
+        this.circuitBreakerDelay = circuitBreakerDelay;
+        this.executor = new ThreadPoolExecutor(workers, workers, 60, TimeUnit.SECONDS,
+                maxPendingOperations > 0 ? new ArrayBlockingQueue<>(maxPendingOperations) : new SynchronousQueue<>(),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "gio.am-ldap-" + WORKER_SEQUENCE.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                });
+        this.executor.allowCoreThreadTimeOut(true);
+
+        this.meters = new MeterGroup(registry);
+        this.tags = Tags.of("identity_provider", String.valueOf(identityProvider), "server", String.valueOf(server), "base", String.valueOf(baseDn));
+        this.successes = meters.timer(Timer.builder("am.idp.ldap.operations").tags(tags).tag("result", "success"));
+        this.failures = meters.timer(Timer.builder("am.idp.ldap.operations").tags(tags).tag("result", "failure"));
+        this.saturatedRejections = rejections("saturated");
+        this.circuitOpenRejections = rejections("circuit_open");
+        this.timeoutRejections = rejections("timeout");
+        meters.gauge("am.idp.ldap.workers.active", tags, null, executor, ThreadPoolExecutor::getActiveCount);
+        meters.gauge("am.idp.ldap.workers.pending", tags, null, executor, e -> e.getQueue().size());
+    }
+
+    /**
+     * Publish the utilization of a connection pool used by the operations.
+     */
+    public void monitor(String name, ConnectionPool connectionPool) {
+        meters.gauge("am.idp.ldap.connections.active", tags.and("pool", name), null, connectionPool, ConnectionPool::activeCount);
+        meters.gauge("am.idp.ldap.connections.available", tags.and("pool", name), null, connectionPool, ConnectionPool::availableCount);
+    }
+
+    /**
+     * Run a blocking LDAP operation on a worker, its result is emitted on the Vert.x context of the caller if any.
+     *
+     * @param operation the operation, returning <code>null</code> to complete without value
+     */
+    public <T> Maybe<T> execute(Callable<T> operation) {
+        return Maybe.defer(() -> {
+            final Context context = Vertx.currentContext();
+            return Maybe.<T>create(emitter -> {
+                if (System.currentTimeMillis() < circuitOpenUntil) {
+                    circuitOpenRejections.increment();
+                    emitter.onError(new InternalAuthenticationServiceException("LDAP server is unavailable, operations are suspended"));
+                    return;
+                }
+                final long start = System.nanoTime();
+                final Future<?> future;
+                try {
+                    future = executor.submit(() -> {
+                        try {
+                            T result = operation.call();
+                            onSuccess(System.nanoTime() - start);
+                            emit(context, () -> {
+                                if (result != null) {
+                                    emitter.onSuccess(result);
+                                } else {
+                                    emitter.onComplete();
+                                }
+                            });
+                        } catch (Throwable ex) {
+                            if (ex instanceof BadCredentialsException || ex instanceof UsernameNotFoundException) {
+                                // the server did answer
+                                onSuccess(System.nanoTime() - start);
+                            } else {
+                                onFailure(System.nanoTime() - start);
+                            }
+                            emit(context, () -> emitter.tryOnError(ex));
+                        }
+                    });
+                } catch (RejectedExecutionException ex) {
+                    saturatedRejections.increment();
+                    emitter.onError(new InternalAuthenticationServiceException("Too many pending LDAP operations", ex));
+                    return;
+                }
+                emitter.setCancellable(() -> future.cancel(true));
+            })
+            .timeout(timeout, TimeUnit.MILLISECONDS)
+            .onErrorResumeNext(throwable -> {
+                if (throwable instanceof TimeoutException) {
+                    timeoutRejections.increment();
+                    onFailure(TimeUnit.MILLISECONDS.toNanos(timeout));
+                    // the timeout is signaled by the timer thread
+                    InternalAuthenticationServiceException ex = new InternalAuthenticationServiceException("LDAP operation has timed out after " + timeout + " ms", throwable);
+                    return Maybe.create(emitter -> emit(context, () -> emitter.onError(ex)));
+                }
+                return Maybe.error(throwable);
+            });
+        });
+    }
+
+    public void close() {
+        executor.shutdownNow();
+        meters.close();
+    }
+
+    boolean isCircuitOpen() {
+        return System.currentTimeMillis() < circuitOpenUntil;
+    }
+
+    private void onSuccess(long elapsed) {
+        successes.record(elapsed, TimeUnit.NANOSECONDS);
+        consecutiveFailures.set(0);
+    }
+
+    private void onFailure(long elapsed) {
+        failures.record(elapsed, TimeUnit.NANOSECONDS);
+        if (circuitBreakerThreshold > 0 && consecutiveFailures.incrementAndGet() >= circuitBreakerThreshold) {
+            consecutiveFailures.set(0);
+            circuitOpenUntil = System.currentTimeMillis() + circuitBreakerDelay;
+            LOGGER.warn("{} consecutive LDAP failures on {}, operations are suspended for {} ms", circuitBreakerThreshold, tags, circuitBreakerDelay);
+        }
+    }
+
+    private static void emit(Context context, Runnable runnable) {
+        if (context != null) {
+            context.runOnContext(v -> runnable.run());
+        } else {
+            runnable.run();
+        }
+    }
+
+    private Counter rejections(String reason) {
+        return meters.counter(Counter.builder("am.idp.ldap.operations.rejected").tags(tags).tag("reason", reason));
+    }
+}
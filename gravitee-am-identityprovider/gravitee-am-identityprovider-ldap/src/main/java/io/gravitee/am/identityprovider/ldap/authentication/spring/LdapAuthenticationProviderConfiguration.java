@@ -18,6 +18,7 @@ package io.gravitee.am.identityprovider.ldap.authentication.spring;
 import io.gravitee.am.identityprovider.ldap.LdapIdentityProviderConfiguration;
 import io.gravitee.am.identityprovider.ldap.authentication.CompareAuthenticationHandler;
 import io.gravitee.am.identityprovider.ldap.authentication.GroupSearchEntryHandler;
+import io.gravitee.am.identityprovider.ldap.authentication.LdapOperationExecutor;
 import io.gravitee.am.identityprovider.ldap.authentication.encoding.*;
 import org.ldaptive.*;
 import org.ldaptive.auth.*;
@@ -25,6 +26,7 @@ import org.ldaptive.handler.SearchEntryHandler;
 import org.ldaptive.pool.*;
 import org.ldaptive.provider.unboundid.UnboundIDProvider;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 
@@ -44,6 +46,10 @@ public class LdapAuthenticationProviderConfiguration {
     @Autowired
     private LdapIdentityProviderConfiguration configuration;
 
+    @Autowired(required = false)
+    @Qualifier("identityProviderId")
+    private String identityProviderId;
+
     /**
      * Bind OPERATIONS configuration
      * We must split the connections for search and bind operations because bind operation change the connection context to the last user authenticated
@@ -57,6 +63,7 @@ public class LdapAuthenticationProviderConfiguration {
         poolConfig.setMaxPoolSize(configuration.getMaxPoolSize());
         poolConfig.setValidatePeriodically(true);
         BlockingConnectionPool connectionPool = new BlockingConnectionPool(poolConfig, (DefaultConnectionFactory) bindConnectionFactory());
+        connectionPool.setBlockWaitTime(Duration.ofMillis(configuration.getOperationTimeout()));
         connectionPool.setValidator(new SearchValidator());
         return connectionPool;
     }
@@ -88,6 +95,7 @@ public class LdapAuthenticationProviderConfiguration {
         poolConfig.setMaxPoolSize(configuration.getMaxPoolSize());
         poolConfig.setValidatePeriodically(true);
         BlockingConnectionPool connectionPool = new BlockingConnectionPool(poolConfig, (DefaultConnectionFactory) searchConnectionFactory());
+        connectionPool.setBlockWaitTime(Duration.ofMillis(configuration.getOperationTimeout()));
         connectionPool.setValidator(new SearchValidator());
         return connectionPool;
     }
@@ -119,6 +127,16 @@ public class LdapAuthenticationProviderConfiguration {
         return connectionConfig;
     }
 
+    /**
+     * Blocking LDAP operations are run by a dedicated pool of workers, one per connection
+     */
+    @Bean
+    public LdapOperationExecutor operationExecutor() {
+        return new LdapOperationExecutor(identityProviderId, configuration.getContextSourceUrl(), configuration.getContextSourceBase(),
+                Math.max(configuration.getMaxPoolSize(), 1), configuration.getMaxPendingOperations(), configuration.getOperationTimeout(),
+                configuration.getCircuitBreakerThreshold(), configuration.getCircuitBreakerDelay());
+    }
+
     @Bean("userSearchExecutor")
     public SearchExecutor userSearchExecutor() {
         SearchExecutor searchExecutor = new SearchExecutor();
@@ -90,6 +90,7 @@ public abstract class LdapAuthenticationProviderTest {
             }
         }).test();
 
+        testObserver.awaitTerminalEvent();
         testObserver.assertError(BadCredentialsException.class);
     }
 
@@ -113,6 +114,7 @@ public abstract class LdapAuthenticationProviderTest {
             }
         }).test();
 
+        testObserver.awaitTerminalEvent();
         testObserver.assertError(BadCredentialsException.class);
     }
 }
@@ -0,0 +1,190 @@
+/**
+ * Copyright (C) 2015 The Gravitee team (http://gravitee.io)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.gravitee.am.identityprovider.ldap.authentication;
+
+import io.gravitee.am.common.exception.authentication.BadCredentialsException;
+import io.gravitee.am.common.exception.authentication.InternalAuthenticationServiceException;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.reactivex.observers.TestObserver;
+import io.vertx.core.Context;
+import io.vertx.core.Vertx;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * @author GraviteeSource Team
+ */
+public class LdapOperationExecutorTest {
+
+    private final MeterRegistry registry = new SimpleMeterRegistry();
+
+    private LdapOperationExecutor executor;
+
+    @After
+    public void tearDown() {
+        executor.close();
+    }
+
+    @Test
+    public void shouldExecuteOperation_onWorker() {
+        executor = new LdapOperationExecutor(registry, "idp-ldap", "ldap://localhost:389", "dc=example,dc=org", 1, 1, 1000, 5, 30000);
+
+        TestObserver<String> testObserver = executor.execute(() -> Thread.currentThread().getName()).test();
+        testObserver.awaitTerminalEvent();
+
+        testObserver.assertValue(name -> name.startsWith("gio.am-ldap-"));
+        Assert.assertEquals(1, registry.get("am.idp.ldap.operations").tag("result", "success").timer().count());
+    }
+
+    @Test
+    public void shouldEmitResult_onCallerContext() throws Exception {
+        executor = new LdapOperationExecutor(registry, "idp-ldap", "ldap://localhost:389", "dc=example,dc=org", 1, 1, 1000, 5, 30000);
+        Vertx vertx = Vertx.vertx();
+        try {
+            Context context = vertx.getOrCreateContext();
+            CompletableFuture<Context> success = new CompletableFuture<>();
+            CompletableFuture<Context> error = new CompletableFuture<>();
+            CompletableFuture<Context> timeout = new CompletableFuture<>();
+
+            context.runOnContext(v -> {
+                executor.execute(() -> "ok").subscribe(value -> success.complete(Vertx.currentContext()));
+                executor.execute(() -> {
+                    throw new BadCredentialsException("Invalid credentials");
+                }).subscribe(value -> error.completeExceptionally(new AssertionError()), throwable -> error.complete(Vertx.currentContext()));
+            });
+
+            Assert.assertSame(context, success.get(5, TimeUnit.SECONDS));
+            Assert.assertSame(context, error.get(5, TimeUnit.SECONDS));
+
+            executor.close();
+            executor = new LdapOperationExecutor(registry, "idp-ldap", "ldap://localhost:389", "dc=example,dc=org", 1, 1, 50, 5, 30000);
+            context.runOnContext(v -> executor.execute(() -> {
+                Thread.sleep(5000);
+                return "late";
+            }).subscribe(value -> timeout.completeExceptionally(new AssertionError()), throwable -> timeout.complete(Vertx.currentContext())));
+
+            Assert.assertSame(context, timeout.get(5, TimeUnit.SECONDS));
+        } finally {
+            vertx.close();
+        }
+    }
+
+    @Test
+    public void shouldRejectOperation_saturated() throws Exception {
+        executor = new LdapOperationExecutor(registry, "idp-ldap", "ldap://localhost:389", "dc=example,dc=org", 1, 1, 5000, 5, 30000);
+        CountDownLatch latch = new CountDownLatch(1);
+
+        // one running operation, one pending operation
+        TestObserver<Boolean> running = executor.execute(() -> latch.await(5, TimeUnit.SECONDS)).test();
+        TestObserver<String> pending = executor.execute(() -> "pending").test();
+        TestObserver<String> rejected = executor.execute(() -> "rejected").test();
+
+        rejected.assertError(InternalAuthenticationServiceException.class);
+        latch.countDown();
+        running.awaitTerminalEvent();
+        pending.awaitTerminalEvent();
+        pending.assertValue("pending");
+        Assert.assertEquals(1, registry.get("am.idp.ldap.operations.rejected").tag("reason", "saturated").counter().count(), 0);
+    }
+
+    @Test
+    public void shouldTimeoutOperation() {
+        executor = new LdapOperationExecutor(registry, "idp-ldap", "ldap://localhost:389", "dc=example,dc=org", 1, 1, 50, 5, 30000);
+
+        TestObserver<String> testObserver = executor.execute(() -> {
+            Thread.sleep(5000);
+            return "late";
+        }).test();
+        testObserver.awaitTerminalEvent();
+
+        testObserver.assertError(InternalAuthenticationServiceException.class);
+        Assert.assertEquals(1, registry.get("am.idp.ldap.operations.rejected").tag("reason", "timeout").counter().count(), 0);
+    }
+
+    @Test
+    public void shouldOpenCircuit_consecutiveFailures() {
+        executor = new LdapOperationExecutor(registry, "idp-ldap", "ldap://localhost:389", "dc=example,dc=org", 1, 1, 1000, 2, 30000);
+        AtomicInteger calls = new AtomicInteger();
+
+        for (int i = 0; i < 2; i++) {
+            TestObserver<Object> testObserver = executor.execute(() -> {
+                calls.incrementAndGet();
+                throw new InternalAuthenticationServiceException("Connection refused");
+            }).test();
+            testObserver.awaitTerminalEvent();
+        }
+        Assert.assertTrue(executor.isCircuitOpen());
+
+        TestObserver<Integer> testObserver = executor.execute(() -> calls.incrementAndGet()).test();
+        testObserver.assertError(InternalAuthenticationServiceException.class);
+        Assert.assertEquals(2, calls.get());
+    }
+
+    @Test
+    public void shouldOpenCircuit_unexpectedErrors() {
+        executor = new LdapOperationExecutor(registry, "idp-ldap", "ldap://localhost:389", "dc=example,dc=org", 1, 1, 1000, 2, 30000);
+
+        for (int i = 0; i < 2; i++) {
+            TestObserver<Object> testObserver = executor.execute(() -> {
+                throw new NullPointerException();
+            }).test();
+            testObserver.awaitTerminalEvent();
+            testObserver.assertError(NullPointerException.class);
+        }
+
+        Assert.assertTrue(executor.isCircuitOpen());
+        Assert.assertEquals(2, registry.get("am.idp.ldap.operations").tag("result", "failure").timer().count());
+    }
+
+    @Test
+    public void shouldNotOpenCircuit_badCredentials() {
+        executor = new LdapOperationExecutor(registry, "idp-ldap", "ldap://localhost:389", "dc=example,dc=org", 1, 1, 1000, 1, 30000);
+
+        TestObserver<Object> testObserver = executor.execute(() -> {
+            throw new BadCredentialsException("Invalid credentials");
+        }).test();
+        testObserver.awaitTerminalEvent();
+
+        testObserver.assertError(BadCredentialsException.class);
+        Assert.assertFalse(executor.isCircuitOpen());
+    }
+
+    @Test
+    public void shouldKeepMeters_otherProviderOfSameServerClosed() {
+        executor = new LdapOperationExecutor(registry, "idp-ldap", "ldap://localhost:389", "dc=example,dc=org", 1, 1, 1000, 5, 30000);
+        LdapOperationExecutor other = new LdapOperationExecutor(registry, "idp-other", "ldap://localhost:389", "dc=example,dc=org", 1, 1, 1000, 5, 30000);
+
+        executor.execute(() -> "ok").test().awaitTerminalEvent();
+        other.execute(() -> "ok").test().awaitTerminalEvent();
+        other.execute(() -> "ok").test().awaitTerminalEvent();
+
+        Assert.assertEquals(1, registry.get("am.idp.ldap.operations").tags("identity_provider", "idp-ldap", "result", "success").timer().count());
+        Assert.assertEquals(2, registry.get("am.idp.ldap.operations").tags("identity_provider", "idp-other", "result", "success").timer().count());
+
+        other.close();
+
+        Assert.assertNull(registry.find("am.idp.ldap.workers.active").tag("identity_provider", "idp-other").gauge());
+        Assert.assertNotNull(registry.find("am.idp.ldap.workers.active").tag("identity_provider", "idp-ldap").gauge());
+        Assert.assertEquals(1, registry.get("am.idp.ldap.operations").tags("identity_provider", "idp-ldap", "result", "success").timer().count());
+    }
+}
@@ -18,20 +18,23 @@ package io.gravitee.am.identityprovider.mongo.authentication;
 import com.mongodb.reactivestreams.client.MongoClient;
 import com.mongodb.reactivestreams.client.MongoCollection;
 import io.gravitee.am.common.oidc.StandardClaims;
+import io.gravitee.am.common.utils.SharedResourceRegistry;
 import io.gravitee.am.identityprovider.api.Authentication;
 import io.gravitee.am.identityprovider.api.AuthenticationProvider;
 import io.gravitee.am.identityprovider.api.DefaultUser;
+import io.gravitee.am.identityprovider.api.PasswordHashExecutor;
 import io.gravitee.am.identityprovider.api.User;
 import io.gravitee.am.identityprovider.mongo.MongoIdentityProviderConfiguration;
 import io.gravitee.am.identityprovider.mongo.MongoIdentityProviderMapper;
 import io.gravitee.am.identityprovider.mongo.MongoIdentityProviderRoleMapper;
 import io.gravitee.am.identityprovider.mongo.authentication.spring.MongoAuthenticationProviderConfiguration;
+import io.gravitee.am.identityprovider.mongo.utils.UsernameQuery;
 import io.gravitee.am.service.authentication.crypto.password.PasswordEncoder;
 import io.gravitee.am.common.exception.authentication.BadCredentialsException;
 import io.gravitee.am.common.exception.authentication.UsernameNotFoundException;
 import io.reactivex.Maybe;
 import io.reactivex.Observable;
-import org.bson.BsonDocument;
+import io.reactivex.Single;
 import org.bson.Document;
 import org.bson.types.ObjectId;
 import org.slf4j.Logger;
@@ -40,6 +43,11 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.context.annotation.Import;
 
 import java.util.*;
+import java.util.concurrent.Callable;
+
+import static com.mongodb.client.model.Filters.and;
+import static com.mongodb.client.model.Filters.eq;
+import static com.mongodb.client.model.Updates.set;
 
 /**
  * @author David BRASSELY (david.brassely at graviteesource.com)
@@ -70,24 +78,39 @@ public class MongoAuthenticationProvider implements AuthenticationProvider {
     @Autowired
     private MongoClient mongoClient;
 
+    @Autowired(required = false)
+    private SharedResourceRegistry.Reference<List<Object>, MongoClient> mongoClientReference;
+
+    @Autowired(required = false)
+    private PasswordHashExecutor passwordHashExecutor;
+
+    @Autowired
+    private UsernameQuery usernameQuery;
+
     public Maybe<User> loadUserByUsername(Authentication authentication) {
         String username = ((String) authentication.getPrincipal()).toLowerCase();
         return findUserByUsername(username)
                 .switchIfEmpty(Maybe.error(new UsernameNotFoundException(username)))
-                .map(user -> {
+                .flatMap(user -> {
                     String password = user.getString(this.configuration.getPasswordField());
                     String presentedPassword = authentication.getCredentials().toString();
 
                     if (password == null) {
                         LOGGER.debug("Authentication failed: password is null");
-                        throw new BadCredentialsException("Invalid account");
+                        return Maybe.error(new BadCredentialsException("Invalid account"));
                     }
 
-                    if (!passwordEncoder.matches(presentedPassword, password)) {
-                        LOGGER.debug("Authentication failed: password does not match stored value");
-                        throw new BadCredentialsException("Bad credentials");
-                    }
-                    return createUser(user);
+                    return matches(presentedPassword, password)
+                            .flatMapMaybe(matches -> {
+                                if (!matches) {
+                                    LOGGER.debug("Authentication failed: password does not match stored value");
+                                    return Maybe.error(new BadCredentialsException("Bad credentials"));
+                                }
+                                if (configuration.isRehashPasswordOnLogin() && passwordEncoder.upgradeEncoding(password)) {
+                                    upgradePassword(user.get(FIELD_ID), password, presentedPassword);
+                                }
+                                return Maybe.just(createUser(user));
+                            });
                 });
     }
 
@@ -97,12 +120,65 @@ public class MongoAuthenticationProvider implements AuthenticationProvider {
                 .map(document -> createUser(document));
     }
 
+    @Override
+    public AuthenticationProvider start() throws Exception {
+        verifyUsernameIndex();
+        return this;
+    }
+
+    @Override
+    public AuthenticationProvider stop() throws Exception {
+        if (mongoClientReference != null) {
+            // the client is closed once no other provider uses it
+            mongoClientReference.release();
+        }
+        return this;
+    }
+
     private Maybe<Document> findUserByUsername(String username) {
         MongoCollection<Document> usersCol = this.mongoClient.getDatabase(this.configuration.getDatabase()).getCollection(this.configuration.getUsersCollection());
-        String rawQuery = this.configuration.getFindUserByUsernameQuery().replaceAll("\\?", username);
-        String jsonQuery = convertToJsonString(rawQuery);
-        BsonDocument query = BsonDocument.parse(jsonQuery);
-        return Observable.fromPublisher(usersCol.find(query).first()).firstElement();
+        return Observable.fromPublisher(usersCol.find(usernameQuery.bind(username)).first()).firstElement();
+    }
+
+    private void verifyUsernameIndex() {
+        // the fields compared with the username should lead an index, otherwise each login scans the users collection
+        // (the username field is indexed by the user provider)
+        MongoCollection<Document> usersCol = this.mongoClient.getDatabase(this.configuration.getDatabase()).getCollection(this.configuration.getUsersCollection());
+        Observable.fromPublisher(usersCol.listIndexes())
+                .map(index -> ((Document) index.get("key")).keySet().iterator().next())
+                .collect(HashSet<String>::new, Set::add)
+                .subscribe(
+                        indexedFields -> usernameQuery.getParameterFields().stream()
+                                .filter(field -> !FIELD_ID.equals(field) && !field.equals(this.configuration.getUsernameField()) && !indexedFields.contains(field))
+                                .forEach(field -> LOGGER.warn("No index of the users collection {} starts with the field {} used to find the users by username",
+                                        this.configuration.getUsersCollection(), field)),
+                        error -> LOGGER.debug("Unable to verify the indexes of the users collection {}", this.configuration.getUsersCollection(), error));
+    }
+
+    private Single<Boolean> matches(String presentedPassword, String password) {
+        // password hashing is CPU bound, keep it away from the event loop and the driver threads
+        Callable<Boolean> verification = () -> passwordEncoder.matches(presentedPassword, password);
+        return passwordHashExecutor != null ? passwordHashExecutor.execute(this, verification) : Single.fromCallable(verification);
+    }
+
+    private void upgradePassword(Object id, String password, String presentedPassword) {
+        if (id == null) {
+            return;
+        }
+        // the login is not delayed by the upgrade, the stored hash is only replaced if it has not changed meanwhile
+        MongoCollection<Document> usersCol = this.mongoClient.getDatabase(this.configuration.getDatabase()).getCollection(this.configuration.getUsersCollection());
+        encode(presentedPassword)
+                .flatMap(encodedPassword -> Single.fromPublisher(usersCol.updateOne(
+                        and(eq(FIELD_ID, id), eq(this.configuration.getPasswordField(), password)),
+                        set(this.configuration.getPasswordField(), encodedPassword))))
+                .subscribe(
+                        result -> LOGGER.debug("Password hash of user {} has been upgraded", id),
+                        error -> LOGGER.warn("Unable to upgrade the password hash of user {}", id, error));
+    }
+
+    private Single<String> encode(String presentedPassword) {
+        Callable<String> encoding = () -> passwordEncoder.encode(presentedPassword);
+        return passwordHashExecutor != null ? passwordHashExecutor.execute(this, encoding) : Single.fromCallable(encoding);
     }
 
     private User createUser(Document document) {
@@ -142,11 +218,6 @@ public class MongoAuthenticationProvider implements AuthenticationProvider {
         return user;
     }
 
-    private String convertToJsonString(String rawString) {
-        rawString = rawString.replaceAll("[^\\{\\}\\[\\],:]+", "\"$0\"").replaceAll("\\s+","");
-        return rawString;
-    }
-
     private List<String> getUserRoles(Document document) {
         Set<String> roles = new HashSet();
         if (roleMapper != null && roleMapper.getRoles() != null) {
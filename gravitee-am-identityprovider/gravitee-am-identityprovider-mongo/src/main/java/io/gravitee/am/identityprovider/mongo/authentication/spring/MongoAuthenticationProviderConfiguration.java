@@ -21,14 +21,17 @@ import com.mongodb.async.client.MongoClientSettings;
 import com.mongodb.connection.ClusterSettings;
 import com.mongodb.reactivestreams.client.MongoClient;
 import com.mongodb.reactivestreams.client.MongoClients;
+import io.gravitee.am.common.utils.SharedResourceRegistry;
 import io.gravitee.am.identityprovider.mongo.MongoIdentityProviderConfiguration;
-import io.gravitee.am.service.authentication.crypto.password.NoOpPasswordEncoder;
+import io.gravitee.am.identityprovider.mongo.utils.UsernameQuery;
 import io.gravitee.am.service.authentication.crypto.password.PasswordEncoder;
-import io.gravitee.am.service.authentication.crypto.password.bcrypt.BCryptPasswordEncoder;
+import io.gravitee.am.service.authentication.crypto.password.PasswordEncoders;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 
+import java.util.List;
+
 import static java.util.Arrays.asList;
 
 /**
@@ -38,11 +41,44 @@ import static java.util.Arrays.asList;
 @Configuration
 public class MongoAuthenticationProviderConfiguration {
 
+    /**
+     * Mongo clients shared by the identity providers (of every domain) pointing to the same deployment.
+     */
+    private static final SharedResourceRegistry<List<Object>, MongoClient> MONGO_CLIENTS = new SharedResourceRegistry<>(MongoClient::close);
+
     @Autowired
     private MongoIdentityProviderConfiguration configuration;
 
+    @Bean
+    public SharedResourceRegistry.Reference<List<Object>, MongoClient> mongoClientReference() {
+        // released when the provider is stopped
+        return MONGO_CLIENTS.acquire(asList(
+                configuration.getUri(),
+                configuration.getHost(),
+                configuration.getPort(),
+                configuration.isEnableCredentials(),
+                configuration.getUsernameCredentials(),
+                configuration.getDatabaseCredentials(),
+                configuration.getPasswordCredentials()), key -> createMongoClient());
+    }
+
     @Bean
     public MongoClient mongoClient() {
+        return mongoClientReference().get();
+    }
+
+    @Bean
+    public PasswordEncoder passwordEncoder() {
+        return PasswordEncoders.create(configuration.getPasswordEncoder(), configuration.getPasswordEncoderOptions());
+    }
+
+    @Bean
+    public UsernameQuery usernameQuery() {
+        // parsed once, an invalid query prevents the provider from starting
+        return UsernameQuery.compile(configuration.getFindUserByUsernameQuery());
+    }
+
+    private MongoClient createMongoClient() {
         MongoClient mongoClient;
         if ((this.configuration.getUri() != null) && (!this.configuration.getUri().isEmpty())) {
             mongoClient = MongoClients.create(this.configuration.getUri());
@@ -61,12 +97,4 @@ public class MongoAuthenticationProviderConfiguration {
         }
         return mongoClient;
     }
-
-    @Bean
-    public PasswordEncoder passwordEncoder() {
-        if (configuration.getPasswordEncoder() != null && io.gravitee.am.identityprovider.mongo.utils.PasswordEncoder.BCRYPT.getValue().equals(configuration.getPasswordEncoder())) {
-            return new BCryptPasswordEncoder();
-        }
-        return NoOpPasswordEncoder.getInstance();
-    }
 }
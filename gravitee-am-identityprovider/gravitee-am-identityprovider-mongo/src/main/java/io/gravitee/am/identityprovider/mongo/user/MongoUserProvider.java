@@ -19,11 +19,13 @@ import com.mongodb.reactivestreams.client.MongoClient;
 import com.mongodb.reactivestreams.client.MongoCollection;
 import io.gravitee.am.common.oidc.StandardClaims;
 import io.gravitee.am.common.utils.RandomString;
+import io.gravitee.am.common.utils.SharedResourceRegistry;
 import io.gravitee.am.identityprovider.api.DefaultUser;
 import io.gravitee.am.identityprovider.api.User;
 import io.gravitee.am.identityprovider.api.UserProvider;
 import io.gravitee.am.identityprovider.mongo.MongoIdentityProviderConfiguration;
 import io.gravitee.am.identityprovider.mongo.authentication.spring.MongoAuthenticationProviderConfiguration;
+import io.gravitee.am.identityprovider.mongo.utils.UsernameQuery;
 import io.gravitee.am.service.authentication.crypto.password.PasswordEncoder;
 import io.gravitee.am.service.exception.UserAlreadyExistsException;
 import io.gravitee.am.service.exception.UserNotFoundException;
@@ -32,7 +34,6 @@ import io.reactivex.Completable;
 import io.reactivex.Maybe;
 import io.reactivex.Observable;
 import io.reactivex.Single;
-import org.bson.BsonDocument;
 import org.bson.Document;
 import org.springframework.beans.factory.InitializingBean;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -40,6 +41,7 @@ import org.springframework.context.annotation.Import;
 
 import java.util.Date;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 
 import static com.mongodb.client.model.Filters.eq;
@@ -61,9 +63,15 @@ public class MongoUserProvider implements UserProvider, InitializingBean {
     @Autowired
     private MongoClient mongoClient;
 
+    @Autowired(required = false)
+    private SharedResourceRegistry.Reference<List<Object>, MongoClient> mongoClientReference;
+
     @Autowired
     private MongoIdentityProviderConfiguration configuration;
 
+    @Autowired
+    private UsernameQuery usernameQuery;
+
     private MongoCollection<Document> usersCollection;
 
     @Override
@@ -71,10 +79,7 @@ public class MongoUserProvider implements UserProvider, InitializingBean {
         // lowercase username since case-sensitivity feature
         final String encodedUsername = username.toLowerCase();
 
-        String rawQuery = this.configuration.getFindUserByUsernameQuery().replaceAll("\\?", encodedUsername);
-        String jsonQuery = convertToJsonString(rawQuery);
-        BsonDocument query = BsonDocument.parse(jsonQuery);
-        return Observable.fromPublisher(usersCollection.find(query).first()).firstElement().map(this::convert);
+        return Observable.fromPublisher(usersCollection.find(usernameQuery.bind(encodedUsername)).first()).firstElement().map(this::convert);
     }
 
     @Override
@@ -146,6 +151,15 @@ public class MongoUserProvider implements UserProvider, InitializingBean {
         Observable.fromPublisher(usersCollection.createIndex(new Document(configuration.getUsernameField(), 1))).subscribe();
     }
 
+    @Override
+    public UserProvider stop() throws Exception {
+        if (mongoClientReference != null) {
+            // the client is closed once no other provider uses it
+            mongoClientReference.release();
+        }
+        return this;
+    }
+
     private Maybe<User> findById(String userId) {
         return Observable.fromPublisher(usersCollection.find(eq(FIELD_ID, userId)).first()).firstElement().map(this::convert);
     }
@@ -169,9 +183,4 @@ public class MongoUserProvider implements UserProvider, InitializingBean {
         user.setAdditionalInformation(claims);
         return user;
     }
-
-    private String convertToJsonString(String rawString) {
-        rawString = rawString.replaceAll("[^\\{\\}\\[\\],:]+", "\"$0\"").replaceAll("\\s+","");
-        return rawString;
-    }
 }
@@ -22,7 +22,10 @@ package io.gravitee.am.identityprovider.mongo.utils;
 public enum PasswordEncoder {
 
     NONE("None"),
-    BCRYPT("BCrypt");
+    BCRYPT("BCrypt"),
+    ARGON2ID("Argon2id"),
+    SCRYPT("SCrypt"),
+    PBKDF2("PBKDF2");
 
     private final String value;
 
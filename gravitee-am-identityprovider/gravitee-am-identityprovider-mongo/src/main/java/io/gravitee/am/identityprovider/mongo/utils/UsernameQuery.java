@@ -0,0 +1,125 @@
+/**
+ * Copyright (C) 2015 The Gravitee team (http://gravitee.io)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.gravitee.am.identityprovider.mongo.utils;
+
+import org.bson.BsonArray;
+import org.bson.BsonDocument;
+import org.bson.BsonString;
+import org.bson.BsonValue;
+
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * The query used to find a user by its username, compiled once from the configured query.
+ *
+ * The query keeps its historical syntax (every token is a string, <code>?</code> is replaced by the username)
+ * but the username is bound as a value of the parsed document instead of being written into the query string.
+ *
+ * @author GraviteeSource Team
+ */
+public final class UsernameQuery {
+
+    private static final String PARAMETER = "?";
+
+    private final BsonDocument template;
+
+    private final Set<String> parameterFields;
+
+    private UsernameQuery(BsonDocument template, Set<String> parameterFields) {
+        this.template = template;
+        this.parameterFields = Collections.unmodifiableSet(parameterFields);
+    }
+
+    public static UsernameQuery compile(String rawQuery) {
+        if (rawQuery == null || rawQuery.trim().isEmpty()) {
+            throw new IllegalArgumentException("The query to find a user by its username is required");
+        }
+        final BsonDocument template;
+        try {
+            template = BsonDocument.parse(convertToJsonString(rawQuery));
+        } catch (RuntimeException ex) {
+            throw new IllegalArgumentException("Invalid query to find a user by its username: " + rawQuery, ex);
+        }
+        Set<String> parameterFields = new LinkedHashSet<>();
+        collectParameterFields(template, null, parameterFields);
+        return new UsernameQuery(template, parameterFields);
+    }
+
+    /**
+     * @return a new query document where the parameter is replaced by the given username.
+     */
+    public BsonDocument bind(String username) {
+        return bind(template, username);
+    }
+
+    /**
+     * @return the fields compared with the username, used to check that the users collection is indexed accordingly.
+     */
+    public Set<String> getParameterFields() {
+        return parameterFields;
+    }
+
+    private static BsonDocument bind(BsonDocument document, String username) {
+        BsonDocument bound = new BsonDocument();
+        for (Map.Entry<String, BsonValue> entry : document.entrySet()) {
+            bound.put(bind(entry.getKey(), username), bind(entry.getValue(), username));
+        }
+        return bound;
+    }
+
+    private static BsonValue bind(BsonValue value, String username) {
+        if (value.isDocument()) {
+            return bind(value.asDocument(), username);
+        }
+        if (value.isArray()) {
+            BsonArray bound = new BsonArray();
+            value.asArray().forEach(item -> bound.add(bind(item, username)));
+            return bound;
+        }
+        if (value.isString() && value.asString().getValue().contains(PARAMETER)) {
+            return new BsonString(bind(value.asString().getValue(), username));
+        }
+        // values without parameter are never modified, they can be shared by the bound queries
+        return value;
+    }
+
+    private static String bind(String token, String username) {
+        if (PARAMETER.equals(token)) {
+            return username;
+        }
+        return token.contains(PARAMETER) ? token.replace(PARAMETER, username) : token;
+    }
+
+    private static void collectParameterFields(BsonValue value, String field, Set<String> parameterFields) {
+        if (value.isDocument()) {
+            value.asDocument().forEach((key, child) ->
+                    // operators ($eq, $in, $regex, ...) apply to the enclosing field
+                    collectParameterFields(child, key.startsWith("$") ? field : key, parameterFields));
+        } else if (value.isArray()) {
+            value.asArray().forEach(item -> collectParameterFields(item, field, parameterFields));
+        } else if (field != null && value.isString() && value.asString().getValue().contains(PARAMETER)) {
+            parameterFields.add(field);
+        }
+    }
+
+    private static String convertToJsonString(String rawString) {
+        // whitespaces are removed first so that blanks between brackets don't become empty tokens
+        return rawString.replaceAll("\\s+", "").replaceAll("[^\\{\\}\\[\\],:]+", "\"$0\"");
+    }
+}
@@ -0,0 +1,69 @@
+/**
+ * Copyright (C) 2015 The Gravitee team (http://gravitee.io)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.gravitee.am.identityprovider.mongo.utils;
+
+import org.bson.BsonDocument;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+
+/**
+ * @author GraviteeSource Team
+ */
+public class UsernameQueryTest {
+
+    @Test
+    public void shouldBindUsername() {
+        UsernameQuery query = UsernameQuery.compile("{username: ?}");
+
+        Assert.assertEquals(BsonDocument.parse("{\"username\": \"bob\"}"), query.bind("bob"));
+        Assert.assertEquals(Collections.singleton("username"), query.getParameterFields());
+    }
+
+    @Test
+    public void shouldBindUsername_severalParameters() {
+        UsernameQuery query = UsernameQuery.compile("{ $or : [ { username : ? }, { email : { $eq : ? } }, { login : ?@acme.com } ] }");
+
+        Assert.assertEquals(BsonDocument.parse("{\"$or\": [{\"username\": \"bob\"}, {\"email\": {\"$eq\": \"bob\"}}, {\"login\": \"bob@acme.com\"}]}"), query.bind("bob"));
+        Assert.assertEquals(new LinkedHashSet<>(Arrays.asList("username", "email", "login")), query.getParameterFields());
+    }
+
+    @Test
+    public void shouldBindUsername_asValue() {
+        UsernameQuery query = UsernameQuery.compile("{username: ?}");
+
+        Assert.assertEquals(new BsonDocument("username", new org.bson.BsonString("bob\", \"$where\": \"true")), query.bind("bob\", \"$where\": \"true"));
+        Assert.assertEquals(new BsonDocument("username", new org.bson.BsonString("$1 \\?")), query.bind("$1 \\?"));
+    }
+
+    @Test
+    public void shouldNotShareBoundQueries() {
+        UsernameQuery query = UsernameQuery.compile("{username: ?}");
+
+        BsonDocument bob = query.bind("bob");
+        query.bind("alice");
+
+        Assert.assertEquals("bob", bob.getString("username").getValue());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void shouldNotCompile_invalidQuery() {
+        UsernameQuery.compile("{username: ?");
+    }
+}
@@ -16,25 +16,26 @@
 package io.gravitee.am.jwt;
 
 import com.nimbusds.jose.*;
+import com.nimbusds.jose.crypto.ECDSASigner;
+import com.nimbusds.jose.crypto.Ed25519Signer;
 import com.nimbusds.jose.crypto.MACSigner;
 import com.nimbusds.jose.crypto.RSASSASigner;
 import com.nimbusds.jose.crypto.bc.BouncyCastleProviderSingleton;
 import com.nimbusds.jose.jca.JCASupport;
-import com.nimbusds.jwt.JWTClaimsSet;
-import com.nimbusds.jwt.SignedJWT;
+import com.nimbusds.jose.util.Base64URL;
 import io.gravitee.am.common.exception.jwt.MalformedJWTException;
 import io.gravitee.am.common.exception.jwt.SignatureException;
-import io.gravitee.am.common.jwt.Claims;
 import io.gravitee.am.common.jwt.JWT;
-import net.minidev.json.JSONObject;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import javax.crypto.SecretKey;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
 import java.security.InvalidKeyException;
 import java.security.Key;
 import java.security.PrivateKey;
-import java.text.ParseException;
+import java.security.interfaces.ECPrivateKey;
 
 /**
  * @author Titouan COMPIEGNE (titouan.compiegne at graviteesource.com)
@@ -45,12 +46,25 @@ public class DefaultJWTBuilder implements JWTBuilder {
     private static final Logger logger = LoggerFactory.getLogger(DefaultJWTBuilder.class);
     private final JWSSigner signer;
     private final JWSHeader header;
+    private final byte[] encodedHeader;
     private String issuer;
 
     public DefaultJWTBuilder(final Key key,
                              final String signatureAlgorithm,
                              final String keyId) throws InvalidKeyException {
-        if (key instanceof PrivateKey) {
+        if (key instanceof ECPrivateKey) {
+            try {
+                signer = new ECDSASigner((ECPrivateKey) key);
+            } catch (JOSEException e) {
+                throw new InvalidKeyException(e);
+            }
+        } else if (Ed25519Keys.isEd25519(key) && key instanceof PrivateKey) {
+            try {
+                signer = new Ed25519Signer(Ed25519Keys.toOctetKeyPair((PrivateKey) key, keyId));
+            } catch (JOSEException e) {
+                throw new InvalidKeyException(e);
+            }
+        } else if (key instanceof PrivateKey) {
             signer = new RSASSASigner((PrivateKey) key, true);
             // if JCA doesn't support at least the PS256 algorithm (jdk <= 8)
             // add BouncyCastle JCA provider
@@ -67,6 +81,8 @@ public class DefaultJWTBuilder implements JWTBuilder {
             throw new InvalidKeyException("No matching JWT signer for key : " + key);
         }
         header = new JWSHeader.Builder(new JWSAlgorithm(signatureAlgorithm)).keyID(keyId).build();
+        // the header never changes for a given key, encode it once
+        encodedHeader = header.toBase64URL().toString().getBytes(StandardCharsets.US_ASCII);
     }
 
     public DefaultJWTBuilder(final Key key,
@@ -81,14 +97,10 @@ public class DefaultJWTBuilder implements JWTBuilder {
     @Override
     public String sign(JWT payload) {
         try {
-            JSONObject jsonObject = new JSONObject(payload);
-            if (issuer != null && !jsonObject.containsKey(Claims.iss)) {
-                jsonObject.put(Claims.iss, issuer);
-            }
-            SignedJWT signedJWT = new SignedJWT(header, JWTClaimsSet.parse(jsonObject));
-            signedJWT.sign(signer);
-            return signedJWT.serialize();
-        } catch (ParseException ex) {
+            byte[] signingInput = JWTClaimsWriter.signingInput(encodedHeader, payload, issuer);
+            Base64URL signature = signer.sign(header, signingInput);
+            return new String(signingInput, StandardCharsets.US_ASCII) + '.' + signature;
+        } catch (IOException ex) {
             logger.debug("Signing JWT token: {} has failed", payload);
             throw new MalformedJWTException("Signing JWT token has failed", ex);
         } catch (JOSEException ex) {
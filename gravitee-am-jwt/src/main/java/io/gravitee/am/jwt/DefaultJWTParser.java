@@ -18,6 +18,8 @@ package io.gravitee.am.jwt;
 import com.nimbusds.jose.JOSEException;
 import com.nimbusds.jose.JWSAlgorithm;
 import com.nimbusds.jose.JWSVerifier;
+import com.nimbusds.jose.crypto.ECDSAVerifier;
+import com.nimbusds.jose.crypto.Ed25519Verifier;
 import com.nimbusds.jose.crypto.MACVerifier;
 import com.nimbusds.jose.crypto.RSASSAVerifier;
 import com.nimbusds.jose.crypto.bc.BouncyCastleProviderSingleton;
@@ -34,6 +36,8 @@ import org.slf4j.LoggerFactory;
 import javax.crypto.SecretKey;
 import java.security.InvalidKeyException;
 import java.security.Key;
+import java.security.PublicKey;
+import java.security.interfaces.ECPublicKey;
 import java.security.interfaces.RSAPublicKey;
 import java.text.ParseException;
 import java.time.Instant;
@@ -58,6 +62,18 @@ public class DefaultJWTParser implements JWTParser {
             if (!JCASupport.isSupported(JWSAlgorithm.PS256)) {
                 verifier.getJCAContext().setProvider(BouncyCastleProviderSingleton.getInstance());
             }
+        } else if (key instanceof ECPublicKey) {
+            try {
+                this.verifier = new ECDSAVerifier((ECPublicKey) key);
+            } catch (JOSEException e) {
+                throw new InvalidKeyException(e);
+            }
+        } else if (Ed25519Keys.isEd25519(key) && key instanceof PublicKey) {
+            try {
+                this.verifier = new Ed25519Verifier(Ed25519Keys.toOctetKeyPair((PublicKey) key));
+            } catch (JOSEException e) {
+                throw new InvalidKeyException(e);
+            }
         } else if (key instanceof SecretKey) {
             try {
                 this.verifier = new MACVerifier((SecretKey) key);
@@ -0,0 +1,67 @@
+/**
+ * Copyright (C) 2015 The Gravitee team (http://gravitee.io)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.gravitee.am.jwt;
+
+import com.nimbusds.jose.jwk.Curve;
+import com.nimbusds.jose.jwk.OctetKeyPair;
+import com.nimbusds.jose.util.Base64URL;
+import org.bouncycastle.asn1.ASN1OctetString;
+import org.bouncycastle.asn1.pkcs.PrivateKeyInfo;
+import org.bouncycastle.asn1.x509.SubjectPublicKeyInfo;
+import org.bouncycastle.crypto.params.Ed25519PrivateKeyParameters;
+
+import java.security.InvalidKeyException;
+import java.security.Key;
+import java.security.PrivateKey;
+import java.security.PublicKey;
+
+/**
+ * Nimbus Ed25519 signer and verifier only accept {@link OctetKeyPair} (RFC 8037) keys,
+ * this class converts JCA Ed25519 keys (either from BouncyCastle or from the JDK 15+ provider) to such keys.
+ *
+ * @author GraviteeSource Team
+ */
+final class Ed25519Keys {
+
+    private Ed25519Keys() { }
+
+    static boolean isEd25519(Key key) {
+        return key != null && ("Ed25519".equals(key.getAlgorithm()) || "EdDSA".equals(key.getAlgorithm()));
+    }
+
+    static OctetKeyPair toOctetKeyPair(PrivateKey privateKey, String keyId) throws InvalidKeyException {
+        try {
+            // PKCS#8 private key wraps the 32 bytes seed into an octet string
+            byte[] d = ASN1OctetString.getInstance(PrivateKeyInfo.getInstance(privateKey.getEncoded()).parsePrivateKey()).getOctets();
+            byte[] x = new Ed25519PrivateKeyParameters(d, 0).generatePublicKey().getEncoded();
+            return new OctetKeyPair.Builder(Curve.Ed25519, Base64URL.encode(x))
+                    .d(Base64URL.encode(d))
+                    .keyID(keyId)
+                    .build();
+        } catch (Exception ex) {
+            throw new InvalidKeyException("Invalid Ed25519 private key", ex);
+        }
+    }
+
+    static OctetKeyPair toOctetKeyPair(PublicKey publicKey) throws InvalidKeyException {
+        try {
+            byte[] x = SubjectPublicKeyInfo.getInstance(publicKey.getEncoded()).getPublicKeyData().getBytes();
+            return new OctetKeyPair.Builder(Curve.Ed25519, Base64URL.encode(x)).build();
+        } catch (Exception ex) {
+            throw new InvalidKeyException("Invalid Ed25519 public key", ex);
+        }
+    }
+}
@@ -0,0 +1,104 @@
+/**
+ * Copyright (C) 2015 The Gravitee team (http://gravitee.io)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.gravitee.am.jwt;
+
+import io.gravitee.am.common.jwt.Claims;
+import net.minidev.json.JSONObject;
+import net.minidev.json.JSONValue;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.Date;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Write the JWS signing input {@code BASE64URL(header) '.' BASE64URL(claims)} straight from the claims map,
+ * without copying the claims into intermediate {@link JSONObject} / {@link com.nimbusds.jwt.JWTClaimsSet} instances.
+ *
+ * The JSON output is the same as the one produced by nimbus {@link com.nimbusds.jwt.JWTClaimsSet} :
+ * null claims are skipped, dates are written as seconds since epoch and a single valued audience is written as a string.
+ *
+ * @author GraviteeSource Team
+ */
+final class JWTClaimsWriter {
+
+    private static final int INITIAL_BUFFER_SIZE = 512;
+    private static final int MAX_BUFFER_SIZE = 16 * 1024;
+    private static final ThreadLocal<StringBuilder> BUFFERS = ThreadLocal.withInitial(() -> new StringBuilder(INITIAL_BUFFER_SIZE));
+    private static final Base64.Encoder ENCODER = Base64.getUrlEncoder().withoutPadding();
+
+    private JWTClaimsWriter() { }
+
+    /**
+     * @param encodedHeader the BASE64URL encoded JWS header (ASCII bytes)
+     * @param claims the JWT claims
+     * @param issuer default issuer, only written if the claims do not contain any {@link Claims#iss} claim
+     * @return the JWS signing input as ASCII bytes
+     */
+    static byte[] signingInput(byte[] encodedHeader, Map<String, Object> claims, String issuer) throws IOException {
+        byte[] encodedPayload = ENCODER.encode(write(claims, issuer).getBytes(StandardCharsets.UTF_8));
+        byte[] signingInput = new byte[encodedHeader.length + 1 + encodedPayload.length];
+        System.arraycopy(encodedHeader, 0, signingInput, 0, encodedHeader.length);
+        signingInput[encodedHeader.length] = '.';
+        System.arraycopy(encodedPayload, 0, signingInput, encodedHeader.length + 1, encodedPayload.length);
+        return signingInput;
+    }
+
+    static String write(Map<String, Object> claims, String issuer) throws IOException {
+        StringBuilder json = buffer();
+        json.append('{');
+        boolean first = true;
+        if (issuer != null && !claims.containsKey(Claims.iss)) {
+            JSONObject.writeJSONKV(Claims.iss, issuer, json, JSONValue.COMPRESSION);
+            first = false;
+        }
+        for (Map.Entry<String, Object> claim : claims.entrySet()) {
+            Object value = claim.getValue();
+            if (value == null) {
+                continue;
+            }
+            if (!first) {
+                json.append(',');
+            }
+            JSONObject.writeJSONKV(claim.getKey(), convert(claim.getKey(), value), json, JSONValue.COMPRESSION);
+            first = false;
+        }
+        return json.append('}').toString();
+    }
+
+    private static Object convert(String name, Object value) {
+        if (value instanceof Date) {
+            return ((Date) value).getTime() / 1000;
+        }
+        if (Claims.aud.equals(name) && value instanceof List && ((List) value).size() == 1) {
+            return ((List) value).get(0);
+        }
+        return value;
+    }
+
+    private static StringBuilder buffer() {
+        StringBuilder buffer = BUFFERS.get();
+        if (buffer.capacity() > MAX_BUFFER_SIZE) {
+            // do not retain the memory of an unusually large token
+            buffer = new StringBuilder(INITIAL_BUFFER_SIZE);
+            BUFFERS.set(buffer);
+        }
+        buffer.setLength(0);
+        return buffer;
+    }
+}
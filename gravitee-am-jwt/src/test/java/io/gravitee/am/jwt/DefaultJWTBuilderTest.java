@@ -0,0 +1,111 @@
+/**
+ * Copyright (C) 2015 The Gravitee team (http://gravitee.io)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.gravitee.am.jwt;
+
+import com.nimbusds.jose.JWSAlgorithm;
+import com.nimbusds.jose.crypto.MACVerifier;
+import com.nimbusds.jwt.SignedJWT;
+import io.gravitee.am.common.jwt.JWT;
+import io.gravitee.am.common.jwt.SignatureAlgorithm;
+import net.minidev.json.JSONArray;
+import net.minidev.json.JSONObject;
+import org.junit.Before;
+import org.junit.Test;
+
+import javax.crypto.spec.SecretKeySpec;
+import java.security.SecureRandom;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Date;
+
+import static org.junit.Assert.*;
+
+/**
+ * @author GraviteeSource Team
+ */
+public class DefaultJWTBuilderTest {
+
+    private byte[] sharedSecret;
+    private SecretKeySpec secretKey;
+
+    @Before
+    public void setUp() {
+        sharedSecret = new byte[32];
+        new SecureRandom().nextBytes(sharedSecret);
+        secretKey = new SecretKeySpec(sharedSecret, SignatureAlgorithm.HS256.getJcaName());
+    }
+
+    @Test
+    public void shouldSign() throws Exception {
+        JWTBuilder jwtBuilder = new DefaultJWTBuilder(secretKey, SignatureAlgorithm.HS256.getValue(), "my-kid");
+
+        JWT jwt = new JWT();
+        jwt.setSub("alice");
+        jwt.setAud("my-client");
+        jwt.setExp(1700000000L);
+        jwt.put("permissions", Arrays.asList("read", "write"));
+        jwt.put("address", Collections.singletonMap("locality", "Paris/Lyon"));
+
+        SignedJWT signedJWT = SignedJWT.parse(jwtBuilder.sign(jwt));
+        assertTrue(signedJWT.verify(new MACVerifier(sharedSecret)));
+        assertEquals(JWSAlgorithm.HS256, signedJWT.getHeader().getAlgorithm());
+        assertEquals("my-kid", signedJWT.getHeader().getKeyID());
+        assertEquals("alice", signedJWT.getJWTClaimsSet().getSubject());
+        assertEquals(Collections.singletonList("my-client"), signedJWT.getJWTClaimsSet().getAudience());
+        assertEquals(new Date(1700000000000L), signedJWT.getJWTClaimsSet().getExpirationTime());
+        assertEquals(Arrays.asList("read", "write"), signedJWT.getJWTClaimsSet().getStringListClaim("permissions"));
+        assertEquals("Paris/Lyon", signedJWT.getJWTClaimsSet().getJSONObjectClaim("address").get("locality"));
+    }
+
+    @Test
+    public void shouldSign_sameOutputAsClaimsSet() throws Exception {
+        JWT jwt = new JWT();
+        jwt.setIss("https://gravitee.io/domain/oidc");
+        jwt.setSub("alice");
+        JSONArray audience = new JSONArray();
+        audience.add("my-client");
+        jwt.put("aud", audience);
+        jwt.put("auth_time", new Date(1700000000000L));
+        jwt.put("empty", null);
+
+        JSONObject expected = com.nimbusds.jwt.JWTClaimsSet.parse(new JSONObject(jwt)).toJSONObject();
+        assertEquals(expected, SignedJWT.parse(new DefaultJWTBuilder(secretKey, SignatureAlgorithm.HS256.getValue(), "my-kid").sign(jwt))
+                .getPayload().toJSONObject());
+    }
+
+    @Test
+    public void shouldSign_defaultIssuer() throws Exception {
+        JWTBuilder jwtBuilder = new DefaultJWTBuilder(secretKey, SignatureAlgorithm.HS256.getValue(), "my-kid", "https://gravitee.io");
+
+        JWT jwt = new JWT();
+        jwt.setSub("alice");
+        assertEquals("https://gravitee.io", SignedJWT.parse(jwtBuilder.sign(jwt)).getJWTClaimsSet().getIssuer());
+        // the payload is left untouched
+        assertFalse(jwt.containsKey("iss"));
+
+        jwt.setIss("https://issuer.io");
+        assertEquals("https://issuer.io", SignedJWT.parse(jwtBuilder.sign(jwt)).getJWTClaimsSet().getIssuer());
+    }
+
+    @Test
+    public void shouldSign_emptyClaims() throws Exception {
+        JWTBuilder jwtBuilder = new DefaultJWTBuilder(secretKey, SignatureAlgorithm.HS256.getValue(), "my-kid");
+
+        SignedJWT signedJWT = SignedJWT.parse(jwtBuilder.sign(new JWT()));
+        assertTrue(signedJWT.verify(new MACVerifier(sharedSecret)));
+        assertTrue(signedJWT.getJWTClaimsSet().getClaims().isEmpty());
+    }
+}
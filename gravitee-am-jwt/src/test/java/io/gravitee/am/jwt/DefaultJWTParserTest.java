@@ -15,6 +15,7 @@
  */
 package io.gravitee.am.jwt;
 
+import com.nimbusds.jose.crypto.bc.BouncyCastleProviderSingleton;
 import com.nimbusds.jose.jwk.RSAKey;
 import com.nimbusds.jose.jwk.gen.RSAKeyGenerator;
 import io.gravitee.am.common.exception.jwt.ExpiredJWTException;
@@ -26,9 +27,12 @@ import io.gravitee.am.common.jwt.SignatureAlgorithm;
 import org.junit.Test;
 
 import javax.crypto.spec.SecretKeySpec;
+import java.security.KeyPair;
+import java.security.KeyPairGenerator;
 import java.security.SecureRandom;
 import java.security.interfaces.RSAPrivateKey;
 import java.security.interfaces.RSAPublicKey;
+import java.security.spec.ECGenParameterSpec;
 import java.time.Instant;
 import java.time.temporal.ChronoUnit;
 import java.util.Date;
@@ -236,4 +240,71 @@ public class DefaultJWTParserTest {
 
         jwtParser.parse("malformed-token");
     }
+
+    @Test
+    public void shouldParse_ec() throws Exception {
+        KeyPair keyPair = ecKeyPair("secp256r1");
+        JWTBuilder jwtBuilder  = new DefaultJWTBuilder(keyPair.getPrivate(), SignatureAlgorithm.ES256.getValue(), "123");
+        JWTParser jwtParser = new DefaultJWTParser(keyPair.getPublic());
+
+        JWT parsedJWT = jwtParser.parse(jwtBuilder.sign(jwt()));
+        assertEquals("alice", parsedJWT.getSub());
+        assertEquals("https://gravitee.io", parsedJWT.getIss());
+    }
+
+    @Test
+    public void shouldParse_ec_p384() throws Exception {
+        KeyPair keyPair = ecKeyPair("secp384r1");
+        JWTBuilder jwtBuilder  = new DefaultJWTBuilder(keyPair.getPrivate(), SignatureAlgorithm.ES384.getValue(), "123");
+        JWTParser jwtParser = new DefaultJWTParser(keyPair.getPublic());
+
+        JWT parsedJWT = jwtParser.parse(jwtBuilder.sign(jwt()));
+        assertEquals("alice", parsedJWT.getSub());
+    }
+
+    @Test(expected = SignatureException.class)
+    public void shouldNotParse_ec_wrongSignature() throws Exception {
+        JWTBuilder jwtBuilder  = new DefaultJWTBuilder(ecKeyPair("secp256r1").getPrivate(), SignatureAlgorithm.ES256.getValue(), "123");
+        JWTParser jwtParser = new DefaultJWTParser(ecKeyPair("secp256r1").getPublic());
+
+        jwtParser.parse(jwtBuilder.sign(jwt()));
+    }
+
+    @Test
+    public void shouldParse_eddsa() throws Exception {
+        KeyPair keyPair = ed25519KeyPair();
+        JWTBuilder jwtBuilder  = new DefaultJWTBuilder(keyPair.getPrivate(), SignatureAlgorithm.EdDSA.getValue(), "123");
+        JWTParser jwtParser = new DefaultJWTParser(keyPair.getPublic());
+
+        JWT parsedJWT = jwtParser.parse(jwtBuilder.sign(jwt()));
+        assertEquals("alice", parsedJWT.getSub());
+        assertEquals("https://gravitee.io", parsedJWT.getIss());
+    }
+
+    @Test(expected = SignatureException.class)
+    public void shouldNotParse_eddsa_wrongSignature() throws Exception {
+        JWTBuilder jwtBuilder  = new DefaultJWTBuilder(ed25519KeyPair().getPrivate(), SignatureAlgorithm.EdDSA.getValue(), "123");
+        JWTParser jwtParser = new DefaultJWTParser(ed25519KeyPair().getPublic());
+
+        jwtParser.parse(jwtBuilder.sign(jwt()));
+    }
+
+    private static KeyPair ecKeyPair(String curve) throws Exception {
+        KeyPairGenerator keyPairGenerator = KeyPairGenerator.getInstance("EC");
+        keyPairGenerator.initialize(new ECGenParameterSpec(curve));
+        return keyPairGenerator.generateKeyPair();
+    }
+
+    private static KeyPair ed25519KeyPair() throws Exception {
+        return KeyPairGenerator.getInstance("Ed25519", BouncyCastleProviderSingleton.getInstance()).generateKeyPair();
+    }
+
+    private static JWT jwt() {
+        JWT jwt = new JWT();
+        jwt.setIss("https://gravitee.io");
+        jwt.setSub("alice");
+        jwt.setIat(Instant.now().getEpochSecond());
+        jwt.setExp(Instant.now().plus(60, ChronoUnit.MINUTES).getEpochSecond());
+        return jwt;
+    }
 }
@@ -0,0 +1,150 @@
+/**
+ * Copyright (C) 2015 The Gravitee team (http://gravitee.io)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.gravitee.am.jwt;
+
+import com.nimbusds.jose.JWSAlgorithm;
+import com.nimbusds.jose.JWSHeader;
+import com.nimbusds.jose.crypto.MACSigner;
+import com.nimbusds.jwt.JWTClaimsSet;
+import com.nimbusds.jwt.SignedJWT;
+import io.gravitee.am.common.jwt.Claims;
+import io.gravitee.am.common.jwt.JWT;
+import io.gravitee.am.common.jwt.SignatureAlgorithm;
+import net.minidev.json.JSONObject;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import javax.crypto.spec.SecretKeySpec;
+import java.security.SecureRandom;
+import java.time.Instant;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares the allocations of the former token signing path (claims copied into a {@link JSONObject}, parsed into a
+ * {@link JWTClaimsSet} then serialized) with the streaming {@link DefaultJWTBuilder}, for the tokens issued by the
+ * client_credentials flow (access token) and by the authorization_code flow (access token + refresh token carrying
+ * the access token custom claims).
+ *
+ * HMAC signatures are used so that the claims serialization is not hidden behind the signature cost.
+ *
+ * Run with: <code>mvn test-compile exec:java -Dexec.classpathScope=test -Dexec.mainClass=io.gravitee.am.jwt.JWTBuilderBenchmark</code>
+ * (the main method enables the gc profiler, look at the <code>gc.alloc.rate.norm</code> results).
+ *
+ * @author GraviteeSource Team
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class JWTBuilderBenchmark {
+
+    private static final String ISSUER = "https://auth.gravitee.io/my-domain/oidc";
+
+    @Param({"client_credentials", "authorization_code"})
+    private String flow;
+
+    private JWTBuilder jwtBuilder;
+    private MACSigner signer;
+    private JWSHeader header;
+    private JWT accessToken;
+
+    @Setup
+    public void setUp() throws Exception {
+        byte[] sharedSecret = new byte[32];
+        new SecureRandom().nextBytes(sharedSecret);
+        jwtBuilder = new DefaultJWTBuilder(new SecretKeySpec(sharedSecret, SignatureAlgorithm.HS256.getJcaName()), SignatureAlgorithm.HS256.getValue(), "default-gravitee-am");
+        signer = new MACSigner(sharedSecret);
+        header = new JWSHeader.Builder(JWSAlgorithm.HS256).keyID("default-gravitee-am").build();
+
+        accessToken = new JWT();
+        accessToken.setIss(ISSUER);
+        accessToken.setAud("my-client");
+        accessToken.setDomain("my-domain");
+        accessToken.setIat(Instant.now().getEpochSecond());
+        accessToken.setExp(Instant.now().plusSeconds(7200).getEpochSecond());
+        accessToken.setJti("Bg0uLNIfROK3BFD5eXaD0u5lQ3tUGiwsLH1e8Jw5fHI");
+        if ("authorization_code".equals(flow)) {
+            accessToken.setSub("0f4a6cbe-89ba-4c7a-8a6c-be89baec7a2e");
+            accessToken.setScope("openid profile email offline_access");
+            accessToken.put("tenant", "acme");
+            accessToken.put("roles", "admin user");
+        } else {
+            accessToken.setSub("my-client");
+            accessToken.setScope("read write");
+        }
+    }
+
+    @Benchmark
+    public void legacy(Blackhole blackhole) throws Exception {
+        blackhole.consume(legacySign(accessToken));
+        if ("authorization_code".equals(flow)) {
+            JWT refreshToken = refreshToken();
+            Map<String, Object> customClaims = new HashMap<>(accessToken);
+            Claims.claims().forEach(customClaims::remove);
+            refreshToken.putAll(customClaims);
+            blackhole.consume(legacySign(refreshToken));
+        }
+    }
+
+    @Benchmark
+    public void streaming(Blackhole blackhole) {
+        blackhole.consume(jwtBuilder.sign(accessToken));
+        if ("authorization_code".equals(flow)) {
+            JWT refreshToken = refreshToken();
+            List<String> standardClaims = Claims.claims();
+            accessToken.forEach((name, value) -> {
+                if (!standardClaims.contains(name)) {
+                    refreshToken.put(name, value);
+                }
+            });
+            blackhole.consume(jwtBuilder.sign(refreshToken));
+        }
+    }
+
+    private String legacySign(JWT payload) throws Exception {
+        SignedJWT signedJWT = new SignedJWT(header, JWTClaimsSet.parse(new JSONObject(payload)));
+        signedJWT.sign(signer);
+        return signedJWT.serialize();
+    }
+
+    private JWT refreshToken() {
+        JWT refreshToken = new JWT();
+        refreshToken.setIss(ISSUER);
+        refreshToken.setSub(accessToken.getSub());
+        refreshToken.setAud(accessToken.getAud());
+        refreshToken.setDomain(accessToken.getDomain());
+        refreshToken.setIat(accessToken.getIat());
+        refreshToken.setExp(accessToken.getIat() + 14400);
+        refreshToken.setJti("xVb0bpQEeYhDpqmhmKMvKgJmFN29xIhV8ixLgT6XKLg");
+        refreshToken.setScope(accessToken.getScope());
+        return refreshToken;
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(JWTBuilderBenchmark.class.getSimpleName())
+                .addProfiler("gc")
+                .build()).run();
+    }
+}
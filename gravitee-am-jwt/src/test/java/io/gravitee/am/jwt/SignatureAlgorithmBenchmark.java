@@ -0,0 +1,101 @@
+/**
+ * Copyright (C) 2015 The Gravitee team (http://gravitee.io)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.gravitee.am.jwt;
+
+import com.nimbusds.jose.crypto.bc.BouncyCastleProviderSingleton;
+import io.gravitee.am.common.jwt.JWT;
+import io.gravitee.am.common.jwt.SignatureAlgorithm;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.security.KeyPair;
+import java.security.KeyPairGenerator;
+import java.security.spec.ECGenParameterSpec;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares the cost of signing and verifying access tokens with RS256 (2048 bits), ES256, ES384 and EdDSA (Ed25519) keys.
+ *
+ * Run with: <code>mvn test-compile exec:java -Dexec.classpathScope=test -Dexec.mainClass=io.gravitee.am.jwt.SignatureAlgorithmBenchmark</code>
+ *
+ * @author GraviteeSource Team
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SignatureAlgorithmBenchmark {
+
+    @Param({"RS256", "ES256", "ES384", "EdDSA"})
+    private String algorithm;
+
+    private JWTBuilder jwtBuilder;
+    private JWTParser jwtParser;
+    private JWT jwt;
+    private String signedJWT;
+
+    @Setup
+    public void setUp() throws Exception {
+        KeyPair keyPair = keyPair(SignatureAlgorithm.valueOf(algorithm));
+        jwtBuilder = new DefaultJWTBuilder(keyPair.getPrivate(), algorithm, "benchmark");
+        jwtParser = new DefaultJWTParser(keyPair.getPublic());
+
+        jwt = new JWT();
+        jwt.setIss("https://gravitee.io");
+        jwt.setSub("alice");
+        jwt.setAud("my-client");
+        jwt.setIat(Instant.now().getEpochSecond());
+        jwt.setExp(Instant.now().plus(60, ChronoUnit.MINUTES).getEpochSecond());
+        jwt.put("scope", "openid profile email");
+        signedJWT = jwtBuilder.sign(jwt);
+    }
+
+    @Benchmark
+    public String sign() {
+        return jwtBuilder.sign(jwt);
+    }
+
+    @Benchmark
+    public JWT verify() {
+        return jwtParser.parse(signedJWT);
+    }
+
+    private static KeyPair keyPair(SignatureAlgorithm signatureAlgorithm) throws Exception {
+        switch (signatureAlgorithm) {
+            case ES256:
+            case ES384:
+                KeyPairGenerator ecGenerator = KeyPairGenerator.getInstance("EC");
+                ecGenerator.initialize(new ECGenParameterSpec(signatureAlgorithm == SignatureAlgorithm.ES256 ? "secp256r1" : "secp384r1"));
+                return ecGenerator.generateKeyPair();
+            case EdDSA:
+                return KeyPairGenerator.getInstance("Ed25519", BouncyCastleProviderSingleton.getInstance()).generateKeyPair();
+            default:
+                KeyPairGenerator rsaGenerator = KeyPairGenerator.getInstance("RSA");
+                rsaGenerator.initialize(2048);
+                return rsaGenerator.generateKeyPair();
+        }
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder().include(SignatureAlgorithmBenchmark.class.getSimpleName()).build()).run();
+    }
+}
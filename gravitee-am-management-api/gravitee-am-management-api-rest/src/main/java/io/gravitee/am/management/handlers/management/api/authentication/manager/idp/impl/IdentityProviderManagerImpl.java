@@ -118,8 +118,8 @@ public class IdentityProviderManagerImpl implements IdentityProviderManager, Ini
             clearProvider(identityProvider.getId());
             // create and start the new provider
             AuthenticationProvider authenticationProvider =
-                    identityProviderPluginManager.create(identityProvider.getType(), identityProvider.getConfiguration(),
-                            identityProvider.getMappers(), identityProvider.getRoleMapper());
+                    identityProviderPluginManager.create(identityProvider.getId(), identityProvider.getType(), identityProvider.getConfiguration(),
+                            identityProvider.getMappers(), identityProvider.getRoleMapper(), null);
             if (authenticationProvider != null) {
                 // start the authentication provider
                 authenticationProvider.start();
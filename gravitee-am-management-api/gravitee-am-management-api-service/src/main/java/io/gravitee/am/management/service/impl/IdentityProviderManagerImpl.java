@@ -145,7 +145,7 @@ public class IdentityProviderManagerImpl extends AbstractService<IdentityProvide
 
     private void removeUserProvider(String identityProviderId) {
         logger.info("Management API has received a undeploy identity provider event for {}", identityProviderId);
-        userProviders.remove(identityProviderId);
+        stopUserProvider(identityProviderId, userProviders.remove(identityProviderId));
     }
 
     private void loadUserProvider(IdentityProvider identityProvider) {
@@ -153,13 +153,23 @@ public class IdentityProviderManagerImpl extends AbstractService<IdentityProvide
             UserProvider userProvider = identityProviderPluginManager.create(identityProvider.getType(), identityProvider.getConfiguration());
             if (userProvider != null) {
                 logger.info("Initializing user provider : {}", identityProvider.getId());
-                userProviders.put(identityProvider.getId(), userProvider);
+                stopUserProvider(identityProvider.getId(), userProviders.put(identityProvider.getId(), userProvider));
             } else {
-                userProviders.remove(identityProvider.getId());
+                stopUserProvider(identityProvider.getId(), userProviders.remove(identityProvider.getId()));
             }
         } catch (Exception ex) {
             logger.error("An error has occurred while loading user provider: {} [{}]", identityProvider.getName(), identityProvider.getType(), ex);
-            userProviders.remove(identityProvider.getId());
+            stopUserProvider(identityProvider.getId(), userProviders.remove(identityProvider.getId()));
+        }
+    }
+
+    private void stopUserProvider(String identityProviderId, UserProvider userProvider) {
+        if (userProvider != null) {
+            try {
+                userProvider.stop();
+            } catch (Exception e) {
+                logger.error("An error has occurred while stopping user provider: {}", identityProviderId, e);
+            }
         }
     }
 }
@@ -15,6 +15,7 @@
  */
 package io.gravitee.am.management.services.sync;
 
+import io.gravitee.am.service.EventService;
 import io.gravitee.common.service.AbstractService;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -24,6 +25,7 @@ import org.springframework.scheduling.TaskScheduler;
 import org.springframework.scheduling.support.CronTrigger;
 
 import java.time.Instant;
+import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicLong;
 
 /**
@@ -46,9 +48,18 @@ public class ScheduledSyncService extends AbstractService implements Runnable {
     @Value("${services.sync.enabled:true}")
     private boolean enabled;
 
+    @Value("${services.sync.events.retention.cron:0 0 * * * *}")
+    private String retentionCronTrigger;
+
+    @Value("${services.sync.events.retention.days:7}")
+    private int retentionDays;
+
     @Autowired
     private SyncManager syncStateManager;
 
+    @Autowired
+    private EventService eventService;
+
     private final AtomicLong counter = new AtomicLong(0);
 
     @Override
@@ -59,6 +70,12 @@ public class ScheduledSyncService extends AbstractService implements Runnable {
             // Sync must start only when doStart() is invoked, that's the reason why we are not
             // using @Scheduled annotation on doSync() method.
             scheduler.schedule(this, new CronTrigger(cronTrigger));
+            // events are only needed by running nodes to catch up with the latest changes,
+            // starting nodes always load the whole configuration
+            if (retentionDays > 0) {
+                logger.info("Events retention has been initialized with cron [{}] and retention of {} days", retentionCronTrigger, retentionDays);
+                scheduler.schedule(this::purgeEvents, new CronTrigger(retentionCronTrigger));
+            }
         } else {
             logger.warn("Sync service has been disabled");
         }
@@ -81,6 +98,16 @@ public class ScheduledSyncService extends AbstractService implements Runnable {
         logger.debug("Synchronization #{} ended at {}", counter.get(), Instant.now().toString());
     }
 
+    private void purgeEvents() {
+        final long to = System.currentTimeMillis() - TimeUnit.DAYS.toMillis(retentionDays);
+        logger.debug("Purging events not updated since {}", Instant.ofEpochMilli(to));
+        try {
+            eventService.deleteUntil(to).blockingAwait();
+        } catch (Exception ex) {
+            logger.error("An error occurs while purging events", ex);
+        }
+    }
+
     @Override
     protected String name() {
         return "Sync Service";
@@ -129,6 +129,7 @@ public class Domain implements Resource {
         this.tags = other.tags;
         this.referenceType = other.referenceType;
         this.referenceId = other.referenceId;
+        this.identities = other.identities;
     }
 
     public String getId() {
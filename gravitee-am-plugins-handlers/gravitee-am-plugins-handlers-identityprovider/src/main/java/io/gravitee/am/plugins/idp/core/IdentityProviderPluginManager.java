@@ -37,12 +37,21 @@ public interface IdentityProviderPluginManager {
 
     Plugin findById(String identityProviderId);
 
-    AuthenticationProvider create(String type, String configuration, Map<String, String> mappers, Map<String, String[]> roleMapper, CertificateManager certificateManager);
+    /**
+     * Create the authentication provider of an identity provider.
+     *
+     * @param id the id of the identity provider instance, exposed to the plugin context as the <code>identityProviderId</code> bean
+     */
+    AuthenticationProvider create(String id, String type, String configuration, Map<String, String> mappers, Map<String, String[]> roleMapper, CertificateManager certificateManager);
 
     UserProvider create(String type, String configuration);
 
     String getSchema(String identityProviderId) throws IOException;
 
+    default AuthenticationProvider create(String type, String configuration, Map<String, String> mappers, Map<String, String[]> roleMapper, CertificateManager certificateManager) {
+        return create(null, type, configuration, mappers, roleMapper, certificateManager);
+    }
+
     default AuthenticationProvider create(String type, String configuration, Map<String, String> mappers, Map<String, String[]> roleMapper) {
         return create(type, configuration, mappers, roleMapper, null);
     }
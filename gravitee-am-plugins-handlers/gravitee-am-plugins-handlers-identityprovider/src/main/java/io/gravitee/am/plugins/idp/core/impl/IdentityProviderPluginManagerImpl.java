@@ -69,6 +69,9 @@ public class IdentityProviderPluginManagerImpl implements IdentityProviderPlugin
     @Autowired
     private Vertx vertx;
 
+    @Autowired
+    private PasswordHashExecutor passwordHashExecutor;
+
     @Override
     public void register(IdentityProviderDefinition identityProviderPluginDefinition) {
         identityProviders.putIfAbsent(identityProviderPluginDefinition.getPlugin().id(),
@@ -90,7 +93,7 @@ public class IdentityProviderPluginManagerImpl implements IdentityProviderPlugin
     }
 
     @Override
-    public AuthenticationProvider create(String type, String configuration, Map<String, String> mappers, Map<String, String[]> roleMapper, CertificateManager certificateManager) {
+    public AuthenticationProvider create(String id, String type, String configuration, Map<String, String> mappers, Map<String, String[]> roleMapper, CertificateManager certificateManager) {
         logger.debug("Looking for an authentication provider for [{}]", type);
         IdentityProvider identityProvider = identityProviders.get(type);
 
@@ -107,7 +110,7 @@ public class IdentityProviderPluginManagerImpl implements IdentityProviderPlugin
             return create0(
                     identityProviderPlugins.get(identityProvider),
                     identityProvider.authenticationProvider(),
-                    identityProviderConfiguration, identityProviderMapper, identityProviderRoleMapper, certificateManager);
+                    id, identityProviderConfiguration, identityProviderMapper, identityProviderRoleMapper, certificateManager);
         } else {
             logger.error("No identity provider is registered for type {}", type);
             throw new IllegalStateException("No identity provider is registered for type " + type);
@@ -158,7 +161,7 @@ public class IdentityProviderPluginManagerImpl implements IdentityProviderPlugin
         return null;
     }
 
-    private <T> T create0(Plugin plugin, Class<T> identityClass, IdentityProviderConfiguration identityProviderConfiguration,
+    private <T> T create0(Plugin plugin, Class<T> identityClass, String id, IdentityProviderConfiguration identityProviderConfiguration,
                           IdentityProviderMapper identityProviderMapper, IdentityProviderRoleMapper identityProviderRoleMapper, CertificateManager certificateManager) {
         if (identityClass == null) {
             return null;
@@ -188,6 +191,16 @@ public class IdentityProviderPluginManagerImpl implements IdentityProviderPlugin
                     configurableApplicationContext.addBeanFactoryPostProcessor(
                             new VertxBeanFactoryPostProcessor(vertx));
 
+                    // Add password hashing executor
+                    configurableApplicationContext.addBeanFactoryPostProcessor(
+                            new PasswordHashExecutorBeanFactoryPostProcessor(passwordHashExecutor));
+
+                    if (id != null) {
+                        // Add identity provider id bean
+                        configurableApplicationContext.addBeanFactoryPostProcessor(
+                                new IdentityProviderIdBeanFactoryPostProcessor(id));
+                    }
+
                     // Add identity provider configuration bean
                     configurableApplicationContext.addBeanFactoryPostProcessor(
                             new IdentityProviderConfigurationBeanFactoryPostProcessor(identityProviderConfiguration));
@@ -247,6 +260,10 @@ public class IdentityProviderPluginManagerImpl implements IdentityProviderPlugin
                     configurableApplicationContext.addBeanFactoryPostProcessor(
                             new VertxBeanFactoryPostProcessor(vertx));
 
+                    // Add password hashing executor
+                    configurableApplicationContext.addBeanFactoryPostProcessor(
+                            new PasswordHashExecutorBeanFactoryPostProcessor(passwordHashExecutor));
+
                     // Add identity provider configuration bean
                     configurableApplicationContext.addBeanFactoryPostProcessor(
                             new IdentityProviderConfigurationBeanFactoryPostProcessor(identityProviderConfiguration));
@@ -0,0 +1,294 @@
+/**
+ * Copyright (C) 2015 The Gravitee team (http://gravitee.io)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.gravitee.am.plugins.idp.core.impl;
+
+import io.gravitee.am.common.exception.oauth2.TemporarilyUnavailableException;
+import io.gravitee.am.common.metrics.MeterGroup;
+import io.gravitee.am.identityprovider.api.PasswordHashExecutor;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.Timer;
+import io.reactivex.Single;
+import io.reactivex.SingleEmitter;
+import io.vertx.core.Context;
+import io.vertx.core.Vertx;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.beans.factory.annotation.Value;
+
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Each owner has its own lane of pending tasks, the workers take the next task from the lanes in turn.
+ *
+ * @author GraviteeSource Team
+ */
+public class PasswordHashExecutorImpl implements PasswordHashExecutor, InitializingBean, DisposableBean {
+
+    private static final Logger logger = LoggerFactory.getLogger(PasswordHashExecutorImpl.class);
+
+    @Value("${password.executor.enabled:true}")
+    private boolean enabled = true;
+
+    @Value("${password.executor.threads:0}")
+    private int threads;
+
+    @Value("${password.executor.queueSize:1024}")
+    private int queueSize = 1024;
+
+    @Value("${password.executor.maxPendingPerProvider:256}")
+    private int maxPendingPerOwner = 256;
+
+    private final MeterGroup meters;
+
+    private final ReentrantLock lock = new ReentrantLock();
+
+    private final Condition notEmpty = lock.newCondition();
+
+    private final Map<Object, ArrayDeque<Task<?>>> lanes = new IdentityHashMap<>();
+
+    private final ArrayDeque<Object> readyOwners = new ArrayDeque<>();
+
+    private final AtomicInteger activeWorkers = new AtomicInteger();
+
+    private final List<Thread> workers = new ArrayList<>();
+
+    private int pending;
+
+    private volatile boolean running;
+
+    private Timer waitTimer;
+
+    private Timer executionTimer;
+
+    private Counter saturatedCounter;
+
+    private Counter ownerSaturatedCounter;
+
+    public PasswordHashExecutorImpl() {
+        this.meters = new MeterGroup();
+    }
+
+    public PasswordHashExecutorImpl(MeterRegistry registry) {
+        this.meters = new MeterGroup(registry);
+    }
+
+    public PasswordHashExecutorImpl(MeterRegistry registry, int threads, int queueSize, int maxPendingPerOwner) {
+        this(registry);
+        this.threads = threads;
+        this.queueSize = queueSize;
+        this.maxPendingPerOwner = maxPendingPerOwner;
+    }
+
+    @Override
+    public <T> Single<T> execute(Object owner, Callable<T> task) {
+        if (!running) {
+            // password executor disabled, run the task on the caller thread
+            return Single.fromCallable(task);
+        }
+
+        return Single.create(emitter -> {
+            final Task<T> pendingTask = new Task<>(task, emitter, Vertx.currentContext());
+            final Counter rejection = offer(owner, pendingTask);
+            if (rejection != null) {
+                rejection.increment();
+                logger.debug("Password executor is saturated, rejecting the task");
+                emitter.onError(new TemporarilyUnavailableException("The server is currently unable to handle the request due to a temporary overloading"));
+            }
+        });
+    }
+
+    @Override
+    public void afterPropertiesSet() {
+        if (!enabled) {
+            logger.info("Password executor is disabled, password hashes are computed on the caller thread");
+            return;
+        }
+
+        meters.gauge("am.password.executor.pending", Tags.empty(),
+                "Number of password hash operations waiting for a worker", this, PasswordHashExecutorImpl::pending);
+        meters.gauge("am.password.executor.active", Tags.empty(),
+                "Number of workers running a password hash operation", activeWorkers, AtomicInteger::get);
+        waitTimer = meters.timer(Timer.builder("am.password.executor.wait")
+                .description("Time spent by password hash operations in the queue"));
+        executionTimer = meters.timer(Timer.builder("am.password.executor.execution")
+                .description("Time spent computing or verifying password hashes")
+                .publishPercentileHistogram()
+                .minimumExpectedValue(Duration.ofMillis(1))
+                .maximumExpectedValue(Duration.ofSeconds(10)));
+        saturatedCounter = meters.counter(Counter.builder("am.password.executor.rejected")
+                .tag("reason", "saturated")
+                .description("Number of password hash operations rejected because the executor was saturated"));
+        ownerSaturatedCounter = meters.counter(Counter.builder("am.password.executor.rejected")
+                .tag("reason", "provider_saturated")
+                .description("Number of password hash operations rejected because the identity provider had too many pending operations"));
+
+        final int poolSize = threads > 0 ? threads : Runtime.getRuntime().availableProcessors();
+        running = true;
+        for (int i = 1; i <= poolSize; i++) {
+            Thread worker = new Thread(this::work, "gio.am-password-" + i);
+            worker.setDaemon(true);
+            worker.start();
+            workers.add(worker);
+        }
+
+        logger.info("Password executor started with {} worker(s), a queue of {} task(s) and at most {} task(s) per provider",
+                poolSize, queueSize, maxPendingPerOwner);
+    }
+
+    @Override
+    public void destroy() {
+        running = false;
+        workers.forEach(Thread::interrupt);
+
+        // the pending tasks won't be run anymore
+        lock.lock();
+        try {
+            lanes.values().forEach(lane -> lane.forEach(task -> task.emitter.tryOnError(
+                    new TemporarilyUnavailableException("The server is currently unable to handle the request"))));
+            lanes.clear();
+            readyOwners.clear();
+            pending = 0;
+        } finally {
+            lock.unlock();
+        }
+
+        meters.close();
+    }
+
+    int pending() {
+        lock.lock();
+        try {
+            return pending;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private Counter offer(Object owner, Task<?> task) {
+        lock.lock();
+        try {
+            if (pending >= queueSize) {
+                return saturatedCounter;
+            }
+            ArrayDeque<Task<?>> lane = lanes.get(owner);
+            if (lane == null) {
+                lane = new ArrayDeque<>();
+                lanes.put(owner, lane);
+                readyOwners.addLast(owner);
+            } else if (maxPendingPerOwner > 0 && lane.size() >= maxPendingPerOwner) {
+                return ownerSaturatedCounter;
+            }
+            lane.addLast(task);
+            pending++;
+            notEmpty.signal();
+            return null;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private Task<?> take() throws InterruptedException {
+        lock.lockInterruptibly();
+        try {
+            while (readyOwners.isEmpty()) {
+                notEmpty.await();
+            }
+            // serve the owners in turn, an owner with remaining tasks goes back to the end of the line
+            Object owner = readyOwners.pollFirst();
+            ArrayDeque<Task<?>> lane = lanes.get(owner);
+            Task<?> task = lane.pollFirst();
+            if (lane.isEmpty()) {
+                lanes.remove(owner);
+            } else {
+                readyOwners.addLast(owner);
+            }
+            pending--;
+            return task;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void work() {
+        while (running) {
+            Task<?> task;
+            try {
+                task = take();
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+            activeWorkers.incrementAndGet();
+            try {
+                task.run();
+            } finally {
+                activeWorkers.decrementAndGet();
+            }
+        }
+    }
+
+    private class Task<T> {
+
+        private final Callable<T> callable;
+        private final SingleEmitter<T> emitter;
+        private final Context context;
+        private final long submittedAt = System.nanoTime();
+
+        Task(Callable<T> callable, SingleEmitter<T> emitter, Context context) {
+            this.callable = callable;
+            this.emitter = emitter;
+            this.context = context;
+        }
+
+        void run() {
+            final long startedAt = System.nanoTime();
+            waitTimer.record(startedAt - submittedAt, TimeUnit.NANOSECONDS);
+            if (emitter.isDisposed()) {
+                return;
+            }
+            try {
+                T result = callable.call();
+                executionTimer.record(System.nanoTime() - startedAt, TimeUnit.NANOSECONDS);
+                emit(() -> emitter.onSuccess(result));
+            } catch (Throwable throwable) {
+                executionTimer.record(System.nanoTime() - startedAt, TimeUnit.NANOSECONDS);
+                emit(() -> emitter.tryOnError(throwable));
+            }
+        }
+
+        private void emit(Runnable runnable) {
+            if (context != null) {
+                context.runOnContext(v -> runnable.run());
+            } else {
+                runnable.run();
+            }
+        }
+    }
+}
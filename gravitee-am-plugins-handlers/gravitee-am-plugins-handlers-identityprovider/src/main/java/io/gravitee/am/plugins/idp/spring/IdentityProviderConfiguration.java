@@ -15,6 +15,7 @@
  */
 package io.gravitee.am.plugins.idp.spring;
 
+import io.gravitee.am.identityprovider.api.PasswordHashExecutor;
 import io.gravitee.am.plugins.idp.core.IdentityProviderConfigurationFactory;
 import io.gravitee.am.plugins.idp.core.IdentityProviderMapperFactory;
 import io.gravitee.am.plugins.idp.core.IdentityProviderPluginManager;
@@ -23,6 +24,7 @@ import io.gravitee.am.plugins.idp.core.impl.IdentityProviderConfigurationFactory
 import io.gravitee.am.plugins.idp.core.impl.IdentityProviderMapperFactoryImpl;
 import io.gravitee.am.plugins.idp.core.impl.IdentityProviderPluginManagerImpl;
 import io.gravitee.am.plugins.idp.core.impl.IdentityProviderRoleMapperFactoryImpl;
+import io.gravitee.am.plugins.idp.core.impl.PasswordHashExecutorImpl;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 
@@ -52,4 +54,9 @@ public class IdentityProviderConfiguration {
     public IdentityProviderRoleMapperFactory identityProviderRoleMapperFactory() {
         return new IdentityProviderRoleMapperFactoryImpl();
     }
+
+    @Bean
+    public PasswordHashExecutor passwordHashExecutor() {
+        return new PasswordHashExecutorImpl();
+    }
 }
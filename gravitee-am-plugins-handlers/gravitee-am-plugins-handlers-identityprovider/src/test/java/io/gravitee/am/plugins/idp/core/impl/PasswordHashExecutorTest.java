@@ -0,0 +1,158 @@
+/**
+ * Copyright (C) 2015 The Gravitee team (http://gravitee.io)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.gravitee.am.plugins.idp.core.impl;
+
+import io.gravitee.am.common.exception.oauth2.TemporarilyUnavailableException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.reactivex.observers.TestObserver;
+import org.junit.After;
+import org.junit.Test;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static java.util.Arrays.asList;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * @author GraviteeSource Team
+ */
+public class PasswordHashExecutorTest {
+
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+
+    private PasswordHashExecutorImpl passwordHashExecutor;
+
+    @After
+    public void tearDown() {
+        if (passwordHashExecutor != null) {
+            passwordHashExecutor.destroy();
+        }
+    }
+
+    @Test
+    public void shouldExecute_onWorkerThread() throws Exception {
+        passwordHashExecutor = new PasswordHashExecutorImpl(registry, 1, 1, 1);
+        passwordHashExecutor.afterPropertiesSet();
+
+        TestObserver<String> observer = passwordHashExecutor.execute("domain-1", () -> Thread.currentThread().getName()).test();
+
+        observer.await(5, TimeUnit.SECONDS);
+        observer.assertComplete();
+        observer.assertValue(name -> name.startsWith("gio.am-password-"));
+        assertEquals(1, registry.get("am.password.executor.execution").timer().count());
+    }
+
+    @Test
+    public void shouldServeOwners_inTurn() throws Exception {
+        passwordHashExecutor = new PasswordHashExecutorImpl(registry, 1, 10, 10);
+        passwordHashExecutor.afterPropertiesSet();
+
+        CountDownLatch latch = new CountDownLatch(1);
+        List<String> executions = new CopyOnWriteArrayList<>();
+        // occupy the single worker, then queue a burst for domain-1 before a single task for domain-2
+        TestObserver<Boolean> running = passwordHashExecutor.execute("domain-1", () -> latch.await(5, TimeUnit.SECONDS)).test();
+        awaitPending(0);
+        TestObserver<Boolean> first = passwordHashExecutor.execute("domain-1", () -> executions.add("domain-1")).test();
+        TestObserver<Boolean> second = passwordHashExecutor.execute("domain-1", () -> executions.add("domain-1")).test();
+        TestObserver<Boolean> other = passwordHashExecutor.execute("domain-2", () -> executions.add("domain-2")).test();
+
+        latch.countDown();
+        running.await(5, TimeUnit.SECONDS);
+        first.await(5, TimeUnit.SECONDS);
+        second.await(5, TimeUnit.SECONDS);
+        other.await(5, TimeUnit.SECONDS);
+        assertEquals(asList("domain-1", "domain-2", "domain-1"), executions);
+    }
+
+    @Test
+    public void shouldReject_ownerIsSaturated() throws Exception {
+        passwordHashExecutor = new PasswordHashExecutorImpl(registry, 1, 10, 1);
+        passwordHashExecutor.afterPropertiesSet();
+
+        CountDownLatch latch = new CountDownLatch(1);
+        TestObserver<Boolean> running = passwordHashExecutor.execute("domain-1", () -> latch.await(5, TimeUnit.SECONDS)).test();
+        awaitPending(0);
+        TestObserver<Boolean> queued = passwordHashExecutor.execute("domain-1", () -> true).test();
+        TestObserver<Boolean> rejected = passwordHashExecutor.execute("domain-1", () -> true).test();
+        TestObserver<Boolean> other = passwordHashExecutor.execute("domain-2", () -> true).test();
+
+        rejected.assertError(TemporarilyUnavailableException.class);
+        assertEquals(1.0, registry.get("am.password.executor.rejected").tag("reason", "provider_saturated").counter().count(), 0);
+
+        latch.countDown();
+        running.await(5, TimeUnit.SECONDS);
+        queued.await(5, TimeUnit.SECONDS);
+        other.await(5, TimeUnit.SECONDS);
+        queued.assertValue(true);
+        other.assertValue(true);
+    }
+
+    @Test
+    public void shouldReject_queueIsFull() throws Exception {
+        passwordHashExecutor = new PasswordHashExecutorImpl(registry, 1, 1, 0);
+        passwordHashExecutor.afterPropertiesSet();
+
+        CountDownLatch latch = new CountDownLatch(1);
+        TestObserver<Boolean> running = passwordHashExecutor.execute("domain-1", () -> latch.await(5, TimeUnit.SECONDS)).test();
+        awaitPending(0);
+        TestObserver<Boolean> queued = passwordHashExecutor.execute("domain-1", () -> true).test();
+        TestObserver<Boolean> rejected = passwordHashExecutor.execute("domain-2", () -> true).test();
+
+        rejected.assertError(TemporarilyUnavailableException.class);
+        assertEquals(1.0, registry.get("am.password.executor.rejected").tag("reason", "saturated").counter().count(), 0);
+
+        latch.countDown();
+        running.await(5, TimeUnit.SECONDS);
+        queued.await(5, TimeUnit.SECONDS);
+        queued.assertValue(true);
+    }
+
+    @Test
+    public void shouldExecute_onCallerThread_disabled() {
+        // executor not started
+        passwordHashExecutor = new PasswordHashExecutorImpl(registry);
+        final String caller = Thread.currentThread().getName();
+
+        TestObserver<String> observer = passwordHashExecutor.execute("domain-1", () -> Thread.currentThread().getName()).test();
+
+        observer.assertComplete();
+        observer.assertValue(caller);
+    }
+
+    @Test
+    public void shouldRemoveMeters_onDestroy() throws Exception {
+        passwordHashExecutor = new PasswordHashExecutorImpl(registry, 1, 1, 1);
+        passwordHashExecutor.afterPropertiesSet();
+        assertFalse(registry.getMeters().isEmpty());
+
+        passwordHashExecutor.destroy();
+        passwordHashExecutor = null;
+
+        assertTrue(registry.getMeters().isEmpty());
+    }
+
+    private void awaitPending(int expected) throws InterruptedException {
+        long timeout = System.currentTimeMillis() + 5000;
+        while (passwordHashExecutor.pending() != expected && System.currentTimeMillis() < timeout) {
+            Thread.sleep(10);
+        }
+    }
+}
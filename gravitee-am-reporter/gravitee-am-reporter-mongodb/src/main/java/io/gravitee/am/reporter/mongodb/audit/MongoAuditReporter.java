@@ -24,6 +24,7 @@ import com.mongodb.reactivestreams.client.MongoClient;
 import com.mongodb.reactivestreams.client.MongoCollection;
 import io.gravitee.am.common.analytics.Type;
 import io.gravitee.am.common.audit.Status;
+import io.gravitee.am.common.utils.SharedResourceRegistry;
 import io.gravitee.am.model.ReferenceType;
 import io.gravitee.am.model.common.Page;
 import io.gravitee.am.reporter.api.audit.AuditReportableCriteria;
@@ -81,6 +82,9 @@ public class MongoAuditReporter extends AbstractService implements AuditReporter
     @Autowired
     private MongoClient mongoClient;
 
+    @Autowired
+    private SharedResourceRegistry.Reference<List<Object>, MongoClient> mongoClientReference;
+
     @Autowired
     private MongoReporterConfiguration configuration;
 
@@ -161,7 +165,8 @@ public class MongoAuditReporter extends AbstractService implements AuditReporter
                 logger.debug("The bulk processor is processing data, wait.");
             }
 
-            mongoClient.close();
+            // the client is closed once no other reporter uses it
+            mongoClientReference.release();
         } catch (Exception ex) {
             logger.error("Failed to close mongoDB client", ex);
         }
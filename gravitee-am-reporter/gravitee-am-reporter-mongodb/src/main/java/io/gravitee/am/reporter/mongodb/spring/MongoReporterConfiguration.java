@@ -22,12 +22,15 @@ import com.mongodb.WriteConcern;
 import com.mongodb.connection.ClusterSettings;
 import com.mongodb.reactivestreams.client.MongoClient;
 import com.mongodb.reactivestreams.client.MongoClients;
+import io.gravitee.am.common.utils.SharedResourceRegistry;
 import org.bson.codecs.configuration.CodecRegistry;
 import org.bson.codecs.pojo.PojoCodecProvider;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 
+import java.util.List;
+
 import static java.util.Arrays.asList;
 import static org.bson.codecs.configuration.CodecRegistries.fromProviders;
 import static org.bson.codecs.configuration.CodecRegistries.fromRegistries;
@@ -42,8 +45,30 @@ public class MongoReporterConfiguration {
     @Autowired
     private io.gravitee.am.reporter.mongodb.MongoReporterConfiguration configuration;
 
+    /**
+     * Mongo clients shared by the reporters (of every domain) pointing to the same deployment.
+     */
+    private static final SharedResourceRegistry<List<Object>, MongoClient> MONGO_CLIENTS = new SharedResourceRegistry<>(MongoClient::close);
+
+    @Bean
+    public SharedResourceRegistry.Reference<List<Object>, MongoClient> mongoClientReference() {
+        // released when the reporter is stopped
+        return MONGO_CLIENTS.acquire(asList(
+                configuration.getUri(),
+                configuration.getHost(),
+                configuration.getPort(),
+                configuration.isEnableCredentials(),
+                configuration.getUsernameCredentials(),
+                configuration.getDatabaseCredentials(),
+                configuration.getPasswordCredentials()), key -> createMongoClient());
+    }
+
     @Bean
     public MongoClient mongoClient() {
+        return mongoClientReference().get();
+    }
+
+    private MongoClient createMongoClient() {
         // Client settings
         com.mongodb.MongoClientSettings.Builder builder = com.mongodb.MongoClientSettings.builder();
         builder.writeConcern(WriteConcern.ACKNOWLEDGED);
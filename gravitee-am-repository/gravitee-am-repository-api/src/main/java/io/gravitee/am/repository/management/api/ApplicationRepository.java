@@ -19,9 +19,11 @@ import io.gravitee.am.model.Application;
 import io.gravitee.am.model.common.Page;
 import io.gravitee.am.repository.common.CrudRepository;
 import io.reactivex.Completable;
+import io.reactivex.Flowable;
 import io.reactivex.Maybe;
 import io.reactivex.Single;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Set;
 
@@ -49,6 +51,8 @@ public interface ApplicationRepository extends CrudRepository<Application, Strin
 
     Single<Set<Application>> findByIdIn(List<String> ids);
 
+    Flowable<Application> findByDomainIn(Collection<String> domains);
+
     Single<Long> count();
 
     Single<Long> countByDomain(String domain);
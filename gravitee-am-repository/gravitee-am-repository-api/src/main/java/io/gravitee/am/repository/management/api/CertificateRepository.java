@@ -19,6 +19,7 @@ import io.gravitee.am.model.Certificate;
 import io.gravitee.am.repository.common.CrudRepository;
 import io.reactivex.Single;
 
+import java.util.Collection;
 import java.util.Set;
 
 /**
@@ -30,4 +31,6 @@ public interface CertificateRepository extends CrudRepository<Certificate, Strin
     Single<Set<Certificate>> findAll();
 
     Single<Set<Certificate>> findByDomain(String domain);
+
+    Single<Set<Certificate>> findByIdIn(Collection<String> ids);
 }
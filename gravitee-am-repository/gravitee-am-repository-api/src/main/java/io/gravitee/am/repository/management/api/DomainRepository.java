@@ -18,6 +18,7 @@ package io.gravitee.am.repository.management.api;
 import io.gravitee.am.model.Domain;
 import io.gravitee.am.repository.common.CrudRepository;
 import io.gravitee.am.repository.exceptions.TechnicalException;
+import io.gravitee.am.repository.management.api.search.DomainCriteria;
 import io.reactivex.Flowable;
 import io.reactivex.Maybe;
 import io.reactivex.Single;
@@ -40,4 +41,6 @@ public interface DomainRepository extends CrudRepository<Domain, String> {
     Single<Set<Domain>> findByIdIn(Collection<String> ids);
 
     Flowable<Domain> findAllByEnvironment(String environmentId);
+
+    Flowable<Domain> findAllByCriteria(DomainCriteria criteria);
 }
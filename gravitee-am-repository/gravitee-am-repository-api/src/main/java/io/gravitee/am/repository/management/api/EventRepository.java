@@ -17,6 +17,9 @@ package io.gravitee.am.repository.management.api;
 
 import io.gravitee.am.model.common.event.Event;
 import io.gravitee.am.repository.common.CrudRepository;
+import io.gravitee.am.repository.management.model.WatchedEvent;
+import io.reactivex.Completable;
+import io.reactivex.Flowable;
 import io.reactivex.Single;
 
 import java.util.List;
@@ -29,4 +32,21 @@ public interface EventRepository extends CrudRepository<Event, String> {
 
     Single<List<Event>> findByTimeFrame(long from, long to);
 
+    /**
+     * Push the events as soon as they are written.
+     *
+     * @param resumeToken token of the last received event to resume watching right after it,
+     *                    or <code>null</code> to only watch the events written from now on.
+     * @return the written events. Fails with an {@link UnsupportedOperationException} if the underlying storage is
+     * not able to push the events, {@link #findByTimeFrame(long, long)} has then to be polled.
+     */
+    Flowable<WatchedEvent> watch(String resumeToken);
+
+    /**
+     * Delete the events which have not been updated since the given date.
+     *
+     * @param to date (in milliseconds) before which events are deleted
+     */
+    Completable deleteUntil(long to);
+
 }
@@ -0,0 +1,80 @@
+/**
+ * Copyright (C) 2015 The Gravitee team (http://gravitee.io)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.gravitee.am.repository.management.api.search;
+
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Tags are compared ignoring case and accents.
+ *
+ * @author GraviteeSource Team
+ */
+public class DomainCriteria {
+
+    private boolean logicalOR;
+
+    private Boolean enabled;
+
+    private List<String> tags;
+
+    private List<String> excludedTags;
+
+    public Optional<Boolean> isEnabled() {
+        return Optional.ofNullable(enabled);
+    }
+
+    /**
+     * @return tags of which the domain must have at least one
+     */
+    public Optional<List<String>> getTags() {
+        return Optional.ofNullable(tags);
+    }
+
+    /**
+     * @return tags of which the domain must have none
+     */
+    public Optional<List<String>> getExcludedTags() {
+        return Optional.ofNullable(excludedTags);
+    }
+
+    /**
+     * @return <code>true</code> if the tags and the excluded tags conditions are combined with a logical OR
+     */
+    public boolean isLogicalOR() {
+        return logicalOR;
+    }
+
+    public DomainCriteria setLogicalOR(boolean logicalOR) {
+        this.logicalOR = logicalOR;
+        return this;
+    }
+
+    public DomainCriteria setEnabled(Boolean enabled) {
+        this.enabled = enabled;
+        return this;
+    }
+
+    public DomainCriteria setTags(List<String> tags) {
+        this.tags = tags;
+        return this;
+    }
+
+    public DomainCriteria setExcludedTags(List<String> excludedTags) {
+        this.excludedTags = excludedTags;
+        return this;
+    }
+}
@@ -0,0 +1,43 @@
+/**
+ * Copyright (C) 2015 The Gravitee team (http://gravitee.io)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.gravitee.am.repository.management.model;
+
+import io.gravitee.am.model.common.event.Event;
+
+/**
+ * An event pushed by the repository as soon as it has been written, along with the token to use to resume watching
+ * the events right after this one.
+ *
+ * @author GraviteeSource Team
+ */
+public class WatchedEvent {
+
+    private final Event event;
+    private final String resumeToken;
+
+    public WatchedEvent(Event event, String resumeToken) {
+        this.event = event;
+        this.resumeToken = resumeToken;
+    }
+
+    public Event getEvent() {
+        return event;
+    }
+
+    public String getResumeToken() {
+        return resumeToken;
+    }
+}
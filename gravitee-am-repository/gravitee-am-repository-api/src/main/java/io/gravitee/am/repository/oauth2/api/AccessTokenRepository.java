@@ -100,4 +100,12 @@ public interface AccessTokenRepository {
     Completable deleteByDomainIdClientIdAndUserId(String domainId, String clientId, String userId);
 
     Completable deleteByDomainIdAndUserId(String domainId, String userId);
+
+    /**
+     * Delete the access tokens issued from the provided authorization code.
+     *
+     * @param authorizationCode the authorization code
+     * @return acknowledge of the operation
+     */
+    Completable deleteByAuthorizationCode(String authorizationCode);
 }
@@ -48,4 +48,14 @@ public interface AuthorizationCodeRepository {
      * @return
      */
     Maybe<AuthorizationCode> findByCode(String code);
+
+    /**
+     * Find an {@link AuthorizationCode} by its code and client and delete it in a single atomic operation:
+     * only one of concurrent redemptions of the same code gets it back, a code is never removed by another client.
+     *
+     * @param code The authorization code.
+     * @param clientId The client the authorization code has been issued to.
+     * @return the removed authorization code, empty if none.
+     */
+    Maybe<AuthorizationCode> findAndRemoveByCodeAndClientId(String code, String clientId);
 }
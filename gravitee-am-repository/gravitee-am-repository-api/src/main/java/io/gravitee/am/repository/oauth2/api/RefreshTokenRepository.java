@@ -36,6 +36,13 @@ public interface RefreshTokenRepository {
 
     Completable delete(String token);
 
+    /**
+     * Bulk delete of refresh tokens
+     * @param tokens tokens to delete
+     * @return acknowledge of the operation
+     */
+    Completable bulkDelete(List<String> tokens);
+
     Completable deleteByUserId(String userId);
 
     Completable deleteByDomainIdClientIdAndUserId(String domainId, String clientId, String userId);
@@ -0,0 +1,87 @@
+/**
+ * Copyright (C) 2015 The Gravitee team (http://gravitee.io)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.gravitee.am.repository.jdbc.common;
+
+import io.reactivex.Completable;
+import io.reactivex.Flowable;
+import io.reactivex.Maybe;
+import io.reactivex.Observable;
+import io.reactivex.Scheduler;
+import io.reactivex.Single;
+import io.reactivex.functions.Action;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Timestamp;
+import java.util.Date;
+import java.util.List;
+import java.util.concurrent.Callable;
+
+/**
+ * JDBC calls are blocking: they are run on a dedicated scheduler, bounded to the size of the connection pool,
+ * so they never hold a Vert.x event loop.
+ *
+ * @author GraviteeSource Team
+ */
+public abstract class AbstractJdbcRepository {
+
+    protected JdbcTemplate jdbcTemplate;
+
+    protected TransactionTemplate transactionTemplate;
+
+    protected Scheduler scheduler;
+
+    /**
+     * Each scope has its own connection pool: the subclasses inject the beans of their scope.
+     */
+    protected void init(JdbcTemplate jdbcTemplate, TransactionTemplate transactionTemplate, Scheduler scheduler) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = transactionTemplate;
+        this.scheduler = scheduler;
+    }
+
+    protected <T> Maybe<T> maybe(Callable<T> callable) {
+        return Maybe.fromCallable(callable).subscribeOn(scheduler);
+    }
+
+    protected <T> Single<T> single(Callable<T> callable) {
+        return Single.fromCallable(callable).subscribeOn(scheduler);
+    }
+
+    protected <T> Observable<T> observable(Callable<List<T>> callable) {
+        return Observable.defer(() -> Observable.fromIterable(callable.call())).subscribeOn(scheduler);
+    }
+
+    protected <T> Flowable<T> flowable(Callable<List<T>> callable) {
+        return Flowable.defer(() -> Flowable.fromIterable(callable.call())).subscribeOn(scheduler);
+    }
+
+    protected Completable completable(Action action) {
+        return Completable.fromAction(action).subscribeOn(scheduler);
+    }
+
+    protected static Timestamp toTimestamp(Date date) {
+        return date == null ? null : new Timestamp(date.getTime());
+    }
+
+    protected static Timestamp now() {
+        return new Timestamp(System.currentTimeMillis());
+    }
+
+    protected static Date toDate(Timestamp timestamp) {
+        return timestamp == null ? null : new Date(timestamp.getTime());
+    }
+}
@@ -0,0 +1,89 @@
+/**
+ * Copyright (C) 2015 The Gravitee team (http://gravitee.io)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.gravitee.am.repository.jdbc.common;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.Timestamp;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Periodically delete the expired rows, relational counterpart of the MongoDB TTL indexes.
+ *
+ * @author GraviteeSource Team
+ */
+public class ExpiredRowsPurger implements InitializingBean, DisposableBean {
+
+    private final Logger logger = LoggerFactory.getLogger(ExpiredRowsPurger.class);
+
+    private final JdbcTemplate jdbcTemplate;
+
+    /**
+     * Expiration column by table
+     */
+    private final Map<String, String> tables;
+
+    private final long purgeInterval;
+
+    private ScheduledExecutorService executor;
+
+    public ExpiredRowsPurger(JdbcTemplate jdbcTemplate, Map<String, String> tables, long purgeInterval) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.tables = tables;
+        this.purgeInterval = purgeInterval;
+    }
+
+    @Override
+    public void afterPropertiesSet() {
+        if (purgeInterval <= 0) {
+            return;
+        }
+        executor = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread thread = new Thread(r, "gio.am-jdbc-purge");
+            thread.setDaemon(true);
+            return thread;
+        });
+        executor.scheduleWithFixedDelay(this::purge, purgeInterval, purgeInterval, TimeUnit.SECONDS);
+    }
+
+    @Override
+    public void destroy() {
+        if (executor != null) {
+            executor.shutdownNow();
+        }
+    }
+
+    public int purge() {
+        int purged = 0;
+        Timestamp now = new Timestamp(System.currentTimeMillis());
+        for (Map.Entry<String, String> table : tables.entrySet()) {
+            try {
+                purged += jdbcTemplate.update("DELETE FROM " + table.getKey() + " WHERE " + table.getValue() + " < ?", now);
+            } catch (Exception ex) {
+                logger.error("Unable to purge the expired rows of {}", table.getKey(), ex);
+            }
+        }
+        logger.debug("{} expired rows purged", purged);
+        return purged;
+    }
+}
@@ -0,0 +1,86 @@
+/**
+ * Copyright (C) 2015 The Gravitee team (http://gravitee.io)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.gravitee.am.repository.jdbc.common;
+
+import com.zaxxer.hikari.HikariConfig;
+import com.zaxxer.hikari.HikariDataSource;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.FactoryBean;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.core.env.Environment;
+
+import javax.sql.DataSource;
+
+/**
+ * Build the connection pool from the {@code <scope>.jdbc.*} settings.
+ *
+ * @author GraviteeSource Team
+ */
+public class JdbcFactory implements FactoryBean<DataSource>, DisposableBean {
+
+    private final Logger logger = LoggerFactory.getLogger(JdbcFactory.class);
+
+    @Autowired
+    private Environment environment;
+
+    private final String propertyPrefix;
+
+    private HikariDataSource dataSource;
+
+    public JdbcFactory(String propertyPrefix) {
+        this.propertyPrefix = propertyPrefix + ".jdbc.";
+    }
+
+    @Override
+    public synchronized DataSource getObject() {
+        if (dataSource == null) {
+            HikariConfig config = new HikariConfig();
+            config.setPoolName("gio.am-jdbc-" + propertyPrefix.substring(0, propertyPrefix.indexOf('.')));
+            config.setJdbcUrl(environment.getProperty(propertyPrefix + "url", "jdbc:postgresql://localhost:5432/gravitee-am"));
+            config.setUsername(environment.getProperty(propertyPrefix + "username"));
+            config.setPassword(environment.getProperty(propertyPrefix + "password"));
+            String driverClassName = environment.getProperty(propertyPrefix + "driverClassName");
+            if (driverClassName != null && !driverClassName.isEmpty()) {
+                config.setDriverClassName(driverClassName);
+            }
+            config.setMaximumPoolSize(environment.getProperty(propertyPrefix + "pool.maxSize", Integer.class, 10));
+            config.setMinimumIdle(environment.getProperty(propertyPrefix + "pool.minIdle", Integer.class, 2));
+            config.setConnectionTimeout(environment.getProperty(propertyPrefix + "pool.connectionTimeout", Long.class, 30000L));
+            config.setIdleTimeout(environment.getProperty(propertyPrefix + "pool.idleTimeout", Long.class, 600000L));
+            config.setMaxLifetime(environment.getProperty(propertyPrefix + "pool.maxLifetime", Long.class, 1800000L));
+            // fail on the first use rather than at startup if the database is not reachable yet
+            config.setInitializationFailTimeout(-1);
+
+            logger.info("Create JDBC connection pool {} to {}", config.getPoolName(), config.getJdbcUrl());
+            dataSource = new HikariDataSource(config);
+        }
+        return dataSource;
+    }
+
+    @Override
+    public Class<?> getObjectType() {
+        return DataSource.class;
+    }
+
+    @Override
+    public void destroy() {
+        if (dataSource != null) {
+            dataSource.close();
+        }
+    }
+}
@@ -0,0 +1,195 @@
+/**
+ * Copyright (C) 2015 The Gravitee team (http://gravitee.io)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.gravitee.am.repository.jdbc.management;
+
+import com.fasterxml.jackson.annotation.JsonAutoDetect;
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.annotation.JsonSubTypes;
+import com.fasterxml.jackson.annotation.JsonTypeInfo;
+import com.fasterxml.jackson.annotation.PropertyAccessor;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.jsontype.BasicPolymorphicTypeValidator;
+import io.gravitee.am.model.User;
+import io.gravitee.am.model.common.Page;
+import io.gravitee.am.model.jose.ECKey;
+import io.gravitee.am.model.jose.JWK;
+import io.gravitee.am.model.jose.OCTKey;
+import io.gravitee.am.model.jose.OKPKey;
+import io.gravitee.am.model.jose.RSAKey;
+import io.gravitee.am.repository.jdbc.common.AbstractJdbcRepository;
+import io.reactivex.Scheduler;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Date;
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * Management items are stored as a JSON document in the {@code data} column, next to the indexed columns
+ * the lookups are made on.
+ *
+ * @author GraviteeSource Team
+ */
+public abstract class AbstractManagementJdbcRepository extends AbstractJdbcRepository {
+
+    private static final ObjectMapper MAPPER = new ObjectMapper()
+            // the model is a set of plain beans, its fields are its state
+            .setVisibility(PropertyAccessor.ALL, JsonAutoDetect.Visibility.NONE)
+            .setVisibility(PropertyAccessor.FIELD, JsonAutoDetect.Visibility.ANY)
+            .setSerializationInclusion(JsonInclude.Include.NON_NULL)
+            .configure(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES, false)
+            // keep the type of the free-form values (dates, longs, binaries of the metadata and additional information)
+            .activateDefaultTyping(BasicPolymorphicTypeValidator.builder()
+                    .allowIfSubType("java.lang.")
+                    .allowIfSubType("java.util.")
+                    .allowIfSubType("io.gravitee.am.model.")
+                    .allowIfSubTypeIsArray()
+                    .build(), ObjectMapper.DefaultTyping.JAVA_LANG_OBJECT)
+            .addMixIn(JWK.class, JWKMixIn.class)
+            .addMixIn(User.class, UserMixIn.class);
+
+    private static final Date EPOCH = new Date(0);
+
+    @Autowired
+    protected void init(@Qualifier("managementJdbcTemplate") JdbcTemplate jdbcTemplate,
+                        @Qualifier("managementTransactionTemplate") TransactionTemplate transactionTemplate,
+                        @Qualifier("managementJdbcScheduler") Scheduler scheduler) {
+        super.init(jdbcTemplate, transactionTemplate, scheduler);
+    }
+
+    protected static String toJson(Object item) {
+        try {
+            return MAPPER.writeValueAsString(item);
+        } catch (JsonProcessingException ex) {
+            throw new IllegalArgumentException("Unable to serialize " + item.getClass().getSimpleName(), ex);
+        }
+    }
+
+    /**
+     * The item given to a create is left untouched, as with the other repositories, only its stored copy gets an id.
+     */
+    @SuppressWarnings("unchecked")
+    protected static <T> T copy(T item) {
+        try {
+            return (T) MAPPER.readValue(toJson(item), item.getClass());
+        } catch (IOException ex) {
+            throw new IllegalArgumentException("Unable to copy " + item.getClass().getSimpleName(), ex);
+        }
+    }
+
+    protected static <T> RowMapper<T> dataMapper(Class<T> type) {
+        return (rs, rowNum) -> {
+            try {
+                return MAPPER.readValue(rs.getString("data"), type);
+            } catch (IOException ex) {
+                throw new IllegalStateException("Unable to read the " + type.getSimpleName() + " " + rs.getString("id"), ex);
+            }
+        };
+    }
+
+    protected static String name(Enum<?> value) {
+        return value == null ? null : value.name();
+    }
+
+    /**
+     * Sort columns are not nullable, items without date are sorted as the oldest ones.
+     */
+    protected static Timestamp toSortTimestamp(Date date) {
+        return toTimestamp(date == null ? EPOCH : date);
+    }
+
+    /**
+     * @return the {@code ?, ?, ...} placeholders of an IN clause
+     */
+    protected static String placeholders(Collection<?> values) {
+        return values.stream().map(value -> "?").collect(Collectors.joining(", "));
+    }
+
+    protected static Object[] args(Object[] args, Collection<?> values) {
+        List<Object> all = new ArrayList<>(args.length + values.size());
+        Collections.addAll(all, args);
+        all.addAll(values);
+        return all.toArray();
+    }
+
+    /**
+     * Translate a search query, where {@code *} is a wildcard, to a LIKE pattern matching the beginning of the value.
+     */
+    protected static String toLikePattern(String query) {
+        String escaped = query.replace("\\", "\\\\").replace("%", "\\%").replace("_", "\\_");
+        return escaped.replaceAll("\\*+", "%") + "%";
+    }
+
+    /**
+     * Read a page of items without skipping the rows of the previous pages: the first key of the page is resolved
+     * from the index, then the page is read from that key (keyset pagination).
+     *
+     * @param criteria WHERE clause of the query, without the sort condition
+     * @param sortColumn not nullable column to sort on, the id is used as the tie-breaker
+     */
+    protected <T> Page<T> page(Class<T> type, String table, String criteria, String sortColumn, boolean descending,
+                               int page, int size, Object... args) {
+        Long count = jdbcTemplate.queryForObject("SELECT COUNT(*) FROM " + table + " WHERE " + criteria, Long.class, args);
+        if (count == null || count <= (long) page * size || size <= 0) {
+            return new Page<>(Collections.emptyList(), page, count == null ? 0 : count);
+        }
+
+        String order = descending ? " DESC" : " ASC";
+        String orderBy = " ORDER BY " + sortColumn + order + ", id" + order;
+        List<Object[]> firstKey = jdbcTemplate.query("SELECT " + sortColumn + ", id FROM " + table + " WHERE " + criteria + orderBy + " LIMIT 1 OFFSET ?",
+                (rs, rowNum) -> new Object[]{rs.getObject(1), rs.getString(2)}, args(args, Collections.singletonList((long) page * size)));
+        if (firstKey.isEmpty()) {
+            return new Page<>(Collections.emptyList(), page, count);
+        }
+
+        List<Object> pageArgs = new ArrayList<>();
+        Collections.addAll(pageArgs, args);
+        Collections.addAll(pageArgs, firstKey.get(0));
+        pageArgs.add(size);
+        List<T> items = jdbcTemplate.query("SELECT id, data FROM " + table + " WHERE " + criteria
+                        + " AND (" + sortColumn + ", id) " + (descending ? "<=" : ">=") + " (?, ?)" + orderBy + " LIMIT ?",
+                dataMapper(type), pageArgs.toArray());
+        return new Page<>(items, page, count);
+    }
+
+    @JsonTypeInfo(use = JsonTypeInfo.Id.NAME, include = JsonTypeInfo.As.EXISTING_PROPERTY, property = "kty", visible = true)
+    @JsonSubTypes({
+            @JsonSubTypes.Type(value = RSAKey.class, name = "RSA"),
+            @JsonSubTypes.Type(value = ECKey.class, name = "EC"),
+            @JsonSubTypes.Type(value = OCTKey.class, name = "oct"),
+            @JsonSubTypes.Type(value = OKPKey.class, name = "OKP")
+    })
+    private abstract static class JWKMixIn {
+    }
+
+    private abstract static class UserMixIn {
+        // the password belongs to the identity provider, it is never stored with the user
+        @JsonIgnore
+        private String password;
+    }
+}
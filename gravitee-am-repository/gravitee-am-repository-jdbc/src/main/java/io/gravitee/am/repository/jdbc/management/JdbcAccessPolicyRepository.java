@@ -0,0 +1,99 @@
+/**
+ * Copyright (C) 2015 The Gravitee team (http://gravitee.io)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.gravitee.am.repository.jdbc.management;
+
+import io.gravitee.am.common.utils.RandomString;
+import io.gravitee.am.model.common.Page;
+import io.gravitee.am.model.uma.policy.AccessPolicy;
+import io.gravitee.am.repository.management.api.AccessPolicyRepository;
+import io.reactivex.Completable;
+import io.reactivex.Maybe;
+import io.reactivex.Single;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * @author GraviteeSource Team
+ */
+@Component
+public class JdbcAccessPolicyRepository extends AbstractManagementJdbcRepository implements AccessPolicyRepository {
+
+    private static final String SELECT = "SELECT id, data FROM uma_access_policies WHERE ";
+
+    private static final RowMapper<AccessPolicy> ROW_MAPPER = dataMapper(AccessPolicy.class);
+
+    @Override
+    public Single<Page<AccessPolicy>> findByDomain(String domain, int page, int size) {
+        return single(() -> page(AccessPolicy.class, "uma_access_policies", "domain = ?", "updated_at", true, page, size, domain));
+    }
+
+    @Override
+    public Single<List<AccessPolicy>> findByDomainAndResource(String domain, String resource) {
+        return single(() -> jdbcTemplate.query(SELECT + "domain = ? AND resource = ?", ROW_MAPPER, domain, resource));
+    }
+
+    @Override
+    public Single<List<AccessPolicy>> findByResources(List<String> resources) {
+        if (resources == null || resources.isEmpty()) {
+            return Single.just(new ArrayList<>());
+        }
+        return single(() -> jdbcTemplate.query(SELECT + "resource IN (" + placeholders(resources) + ")", ROW_MAPPER, resources.toArray()));
+    }
+
+    @Override
+    public Single<Long> countByResource(String resource) {
+        return single(() -> jdbcTemplate.queryForObject("SELECT COUNT(*) FROM uma_access_policies WHERE resource = ?", Long.class, resource));
+    }
+
+    @Override
+    public Maybe<AccessPolicy> findById(String id) {
+        return maybe(() -> findOne(id));
+    }
+
+    @Override
+    public Single<AccessPolicy> create(AccessPolicy item) {
+        return single(() -> {
+            AccessPolicy accessPolicy = copy(item);
+            accessPolicy.setId(accessPolicy.getId() == null ? RandomString.generate() : accessPolicy.getId());
+            jdbcTemplate.update("INSERT INTO uma_access_policies (id, domain, resource, updated_at, data) VALUES (?, ?, ?, ?, ?)",
+                    accessPolicy.getId(), accessPolicy.getDomain(), accessPolicy.getResource(),
+                    toSortTimestamp(accessPolicy.getUpdatedAt()), toJson(accessPolicy));
+            return findOne(accessPolicy.getId());
+        });
+    }
+
+    @Override
+    public Single<AccessPolicy> update(AccessPolicy accessPolicy) {
+        return single(() -> {
+            jdbcTemplate.update("UPDATE uma_access_policies SET domain = ?, resource = ?, updated_at = ?, data = ? WHERE id = ?",
+                    accessPolicy.getDomain(), accessPolicy.getResource(),
+                    toSortTimestamp(accessPolicy.getUpdatedAt()), toJson(accessPolicy), accessPolicy.getId());
+            return findOne(accessPolicy.getId());
+        });
+    }
+
+    @Override
+    public Completable delete(String id) {
+        return completable(() -> jdbcTemplate.update("DELETE FROM uma_access_policies WHERE id = ?", id));
+    }
+
+    private AccessPolicy findOne(String id) {
+        return jdbcTemplate.query(SELECT + "id = ?", ROW_MAPPER, id).stream().findFirst().orElse(null);
+    }
+}
@@ -0,0 +1,204 @@
+/**
+ * Copyright (C) 2015 The Gravitee team (http://gravitee.io)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.gravitee.am.repository.jdbc.management;
+
+import io.gravitee.am.common.utils.RandomString;
+import io.gravitee.am.model.Application;
+import io.gravitee.am.model.common.Page;
+import io.gravitee.am.repository.management.api.ApplicationRepository;
+import io.reactivex.Completable;
+import io.reactivex.Flowable;
+import io.reactivex.Maybe;
+import io.reactivex.Single;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.stereotype.Component;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Identities, factors and grant types of the applications are indexed in their own tables.
+ *
+ * @author GraviteeSource Team
+ */
+@Component
+public class JdbcApplicationRepository extends AbstractManagementJdbcRepository implements ApplicationRepository {
+
+    private static final String SELECT = "SELECT id, data FROM applications";
+
+    private static final RowMapper<Application> ROW_MAPPER = dataMapper(Application.class);
+
+    private static final List<String> LOOKUP_TABLES = Arrays.asList("application_identities", "application_factors", "application_grant_types");
+
+    @Override
+    public Single<List<Application>> findAll() {
+        return single(() -> jdbcTemplate.query(SELECT, ROW_MAPPER));
+    }
+
+    @Override
+    public Single<Page<Application>> findAll(int page, int size) {
+        return single(() -> page(Application.class, "applications", "1 = 1", "updated_at", true, page, size));
+    }
+
+    @Override
+    public Single<Page<Application>> findByDomain(String domain, int page, int size) {
+        return single(() -> page(Application.class, "applications", "domain = ?", "updated_at", true, page, size, domain));
+    }
+
+    @Override
+    public Single<Page<Application>> search(String domain, String query, int page, int size) {
+        // search on the client id and the name, '*' is a wildcard
+        if (query.contains("*")) {
+            String pattern = toLikePattern(query.toLowerCase(Locale.ROOT));
+            return single(() -> page(Application.class, "applications", "domain = ? AND (LOWER(client_id) LIKE ? OR LOWER(name) LIKE ?)",
+                    "updated_at", true, page, size, domain, pattern, pattern));
+        }
+        return single(() -> page(Application.class, "applications", "domain = ? AND (client_id = ? OR name = ?)",
+                "updated_at", true, page, size, domain, query, query));
+    }
+
+    @Override
+    public Single<Set<Application>> findByCertificate(String certificate) {
+        return single(() -> new HashSet<>(jdbcTemplate.query(SELECT + " WHERE certificate = ?", ROW_MAPPER, certificate)));
+    }
+
+    @Override
+    public Single<Set<Application>> findByIdentityProvider(String identityProvider) {
+        return single(() -> new HashSet<>(jdbcTemplate.query(SELECT + " WHERE id IN (SELECT application_id FROM application_identities WHERE identity_id = ?)",
+                ROW_MAPPER, identityProvider)));
+    }
+
+    @Override
+    public Single<Set<Application>> findByFactor(String factor) {
+        return single(() -> new HashSet<>(jdbcTemplate.query(SELECT + " WHERE id IN (SELECT application_id FROM application_factors WHERE factor_id = ?)",
+                ROW_MAPPER, factor)));
+    }
+
+    @Override
+    public Single<Set<Application>> findByDomainAndExtensionGrant(String domain, String extensionGrant) {
+        return single(() -> new HashSet<>(jdbcTemplate.query(SELECT + " WHERE domain = ? AND id IN (SELECT application_id FROM application_grant_types WHERE grant_type = ?)",
+                ROW_MAPPER, domain, extensionGrant)));
+    }
+
+    @Override
+    public Single<Set<Application>> findByIdIn(List<String> ids) {
+        if (ids == null || ids.isEmpty()) {
+            return Single.just(new HashSet<>());
+        }
+        return single(() -> new HashSet<>(jdbcTemplate.query(SELECT + " WHERE id IN (" + placeholders(ids) + ")", ROW_MAPPER, ids.toArray())));
+    }
+
+    @Override
+    public Flowable<Application> findByDomainIn(Collection<String> domains) {
+        if (domains == null || domains.isEmpty()) {
+            return Flowable.empty();
+        }
+        return flowable(() -> jdbcTemplate.query(SELECT + " WHERE domain IN (" + placeholders(domains) + ")", ROW_MAPPER, domains.toArray()));
+    }
+
+    @Override
+    public Single<Long> count() {
+        return single(() -> jdbcTemplate.queryForObject("SELECT COUNT(*) FROM applications", Long.class));
+    }
+
+    @Override
+    public Single<Long> countByDomain(String domain) {
+        return single(() -> jdbcTemplate.queryForObject("SELECT COUNT(*) FROM applications WHERE domain = ?", Long.class, domain));
+    }
+
+    @Override
+    public Maybe<Application> findByDomainAndClientId(String domain, String clientId) {
+        return maybe(() -> jdbcTemplate.query(SELECT + " WHERE domain = ? AND client_id = ?", ROW_MAPPER, domain, clientId).stream().findFirst().orElse(null));
+    }
+
+    @Override
+    public Maybe<Application> findById(String id) {
+        return maybe(() -> findOne(id));
+    }
+
+    @Override
+    public Single<Application> create(Application item) {
+        return single(() -> {
+            Application application = copy(item);
+            application.setId(application.getId() == null ? RandomString.generate() : application.getId());
+            transactionTemplate.execute(status -> {
+                jdbcTemplate.update("INSERT INTO applications (id, domain, client_id, name, certificate, updated_at, data) VALUES (?, ?, ?, ?, ?, ?, ?)",
+                        application.getId(), application.getDomain(), clientId(application), application.getName(), application.getCertificate(),
+                        toSortTimestamp(application.getUpdatedAt()), toJson(application));
+                insertLookups(application);
+                return null;
+            });
+            return findOne(application.getId());
+        });
+    }
+
+    @Override
+    public Single<Application> update(Application application) {
+        return single(() -> {
+            transactionTemplate.execute(status -> {
+                jdbcTemplate.update("UPDATE applications SET domain = ?, client_id = ?, name = ?, certificate = ?, updated_at = ?, data = ? WHERE id = ?",
+                        application.getDomain(), clientId(application), application.getName(), application.getCertificate(),
+                        toSortTimestamp(application.getUpdatedAt()), toJson(application), application.getId());
+                deleteLookups(application.getId());
+                insertLookups(application);
+                return null;
+            });
+            return findOne(application.getId());
+        });
+    }
+
+    @Override
+    public Completable delete(String id) {
+        return completable(() -> transactionTemplate.execute(status -> {
+            deleteLookups(id);
+            return jdbcTemplate.update("DELETE FROM applications WHERE id = ?", id);
+        }));
+    }
+
+    private Application findOne(String id) {
+        return jdbcTemplate.query(SELECT + " WHERE id = ?", ROW_MAPPER, id).stream().findFirst().orElse(null);
+    }
+
+    private void insertLookups(Application application) {
+        insertLookup("INSERT INTO application_identities (application_id, identity_id) VALUES (?, ?)", application.getId(), application.getIdentities());
+        insertLookup("INSERT INTO application_factors (application_id, factor_id) VALUES (?, ?)", application.getId(), application.getFactors());
+        insertLookup("INSERT INTO application_grant_types (application_id, grant_type) VALUES (?, ?)", application.getId(),
+                application.getSettings() == null || application.getSettings().getOauth() == null ? null : application.getSettings().getOauth().getGrantTypes());
+    }
+
+    private void insertLookup(String sql, String applicationId, Collection<String> values) {
+        if (values == null || values.isEmpty()) {
+            return;
+        }
+        jdbcTemplate.batchUpdate(sql, new LinkedHashSet<>(values).stream().map(value -> new Object[]{applicationId, value}).collect(Collectors.toList()));
+    }
+
+    private void deleteLookups(String applicationId) {
+        for (String table : LOOKUP_TABLES) {
+            jdbcTemplate.update("DELETE FROM " + table + " WHERE application_id = ?", applicationId);
+        }
+    }
+
+    private static String clientId(Application application) {
+        return application.getSettings() == null || application.getSettings().getOauth() == null ? null : application.getSettings().getOauth().getClientId();
+    }
+}
@@ -0,0 +1,92 @@
+/**
+ * Copyright (C) 2015 The Gravitee team (http://gravitee.io)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.gravitee.am.repository.jdbc.management;
+
+import io.gravitee.am.common.utils.RandomString;
+import io.gravitee.am.model.Certificate;
+import io.gravitee.am.repository.management.api.CertificateRepository;
+import io.reactivex.Completable;
+import io.reactivex.Maybe;
+import io.reactivex.Single;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.stereotype.Component;
+
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.Set;
+
+/**
+ * @author GraviteeSource Team
+ */
+@Component
+public class JdbcCertificateRepository extends AbstractManagementJdbcRepository implements CertificateRepository {
+
+    private static final String SELECT = "SELECT id, data FROM certificates";
+
+    private static final RowMapper<Certificate> ROW_MAPPER = dataMapper(Certificate.class);
+
+    @Override
+    public Single<Set<Certificate>> findAll() {
+        return single(() -> new HashSet<>(jdbcTemplate.query(SELECT, ROW_MAPPER)));
+    }
+
+    @Override
+    public Single<Set<Certificate>> findByDomain(String domain) {
+        return single(() -> new HashSet<>(jdbcTemplate.query(SELECT + " WHERE domain = ?", ROW_MAPPER, domain)));
+    }
+
+    @Override
+    public Single<Set<Certificate>> findByIdIn(Collection<String> ids) {
+        if (ids == null || ids.isEmpty()) {
+            return Single.just(new HashSet<>());
+        }
+        return single(() -> new HashSet<>(jdbcTemplate.query(SELECT + " WHERE id IN (" + placeholders(ids) + ")", ROW_MAPPER, ids.toArray())));
+    }
+
+    @Override
+    public Maybe<Certificate> findById(String id) {
+        return maybe(() -> findOne(id));
+    }
+
+    @Override
+    public Single<Certificate> create(Certificate item) {
+        return single(() -> {
+            Certificate certificate = copy(item);
+            certificate.setId(certificate.getId() == null ? RandomString.generate() : certificate.getId());
+            jdbcTemplate.update("INSERT INTO certificates (id, domain, data) VALUES (?, ?, ?)",
+                    certificate.getId(), certificate.getDomain(), toJson(certificate));
+            return findOne(certificate.getId());
+        });
+    }
+
+    @Override
+    public Single<Certificate> update(Certificate certificate) {
+        return single(() -> {
+            jdbcTemplate.update("UPDATE certificates SET domain = ?, data = ? WHERE id = ?",
+                    certificate.getDomain(), toJson(certificate), certificate.getId());
+            return findOne(certificate.getId());
+        });
+    }
+
+    @Override
+    public Completable delete(String id) {
+        return completable(() -> jdbcTemplate.update("DELETE FROM certificates WHERE id = ?", id));
+    }
+
+    private Certificate findOne(String id) {
+        return jdbcTemplate.query(SELECT + " WHERE id = ?", ROW_MAPPER, id).stream().findFirst().orElse(null);
+    }
+}
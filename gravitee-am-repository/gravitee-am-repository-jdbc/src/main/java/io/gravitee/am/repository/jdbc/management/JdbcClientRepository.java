@@ -0,0 +1,49 @@
+/**
+ * Copyright (C) 2015 The Gravitee team (http://gravitee.io)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.gravitee.am.repository.jdbc.management;
+
+import io.gravitee.am.model.oidc.Client;
+import io.gravitee.am.repository.management.api.ClientRepository;
+import io.reactivex.Completable;
+import io.reactivex.Single;
+import org.springframework.stereotype.Component;
+
+import java.util.Collections;
+import java.util.Set;
+
+/**
+ * Clients have been migrated to applications before the relational repository existed: there is no client to upgrade.
+ *
+ * @author GraviteeSource Team
+ */
+@Component
+public class JdbcClientRepository extends AbstractManagementJdbcRepository implements ClientRepository {
+
+    @Override
+    public Single<Set<Client>> findAll() {
+        return Single.just(Collections.emptySet());
+    }
+
+    @Override
+    public Single<Boolean> collectionExists() {
+        return Single.just(false);
+    }
+
+    @Override
+    public Completable deleteCollection() {
+        return Completable.complete();
+    }
+}
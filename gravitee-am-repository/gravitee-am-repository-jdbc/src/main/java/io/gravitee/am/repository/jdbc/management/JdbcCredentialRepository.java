@@ -0,0 +1,90 @@
+/**
+ * Copyright (C) 2015 The Gravitee team (http://gravitee.io)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.gravitee.am.repository.jdbc.management;
+
+import io.gravitee.am.common.utils.RandomString;
+import io.gravitee.am.model.Credential;
+import io.gravitee.am.model.ReferenceType;
+import io.gravitee.am.repository.management.api.CredentialRepository;
+import io.reactivex.Completable;
+import io.reactivex.Maybe;
+import io.reactivex.Single;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * @author GraviteeSource Team
+ */
+@Component
+public class JdbcCredentialRepository extends AbstractManagementJdbcRepository implements CredentialRepository {
+
+    private static final String SELECT = "SELECT id, data FROM webauthn_credentials WHERE ";
+
+    private static final RowMapper<Credential> ROW_MAPPER = dataMapper(Credential.class);
+
+    @Override
+    public Single<List<Credential>> findByUserId(ReferenceType referenceType, String referenceId, String userId) {
+        return single(() -> jdbcTemplate.query(SELECT + "reference_type = ? AND reference_id = ? AND user_id = ?", ROW_MAPPER, referenceType.name(), referenceId, userId));
+    }
+
+    @Override
+    public Single<List<Credential>> findByUsername(ReferenceType referenceType, String referenceId, String username) {
+        return single(() -> jdbcTemplate.query(SELECT + "reference_type = ? AND reference_id = ? AND username = ?", ROW_MAPPER, referenceType.name(), referenceId, username));
+    }
+
+    @Override
+    public Single<List<Credential>> findByCredentialId(ReferenceType referenceType, String referenceId, String credentialId) {
+        return single(() -> jdbcTemplate.query(SELECT + "reference_type = ? AND reference_id = ? AND credential_id = ?", ROW_MAPPER, referenceType.name(), referenceId, credentialId));
+    }
+
+    @Override
+    public Maybe<Credential> findById(String id) {
+        return maybe(() -> findOne(id));
+    }
+
+    @Override
+    public Single<Credential> create(Credential item) {
+        return single(() -> {
+            Credential credential = copy(item);
+            credential.setId(credential.getId() == null ? RandomString.generate() : credential.getId());
+            jdbcTemplate.update("INSERT INTO webauthn_credentials (id, reference_type, reference_id, user_id, username, credential_id, data) VALUES (?, ?, ?, ?, ?, ?, ?)",
+                    credential.getId(), name(credential.getReferenceType()), credential.getReferenceId(), credential.getUserId(), credential.getUsername(),
+                    credential.getCredentialId(), toJson(credential));
+            return findOne(credential.getId());
+        });
+    }
+
+    @Override
+    public Single<Credential> update(Credential credential) {
+        return single(() -> {
+            jdbcTemplate.update("UPDATE webauthn_credentials SET reference_type = ?, reference_id = ?, user_id = ?, username = ?, credential_id = ?, data = ? WHERE id = ?",
+                    name(credential.getReferenceType()), credential.getReferenceId(), credential.getUserId(), credential.getUsername(),
+                    credential.getCredentialId(), toJson(credential), credential.getId());
+            return findOne(credential.getId());
+        });
+    }
+
+    @Override
+    public Completable delete(String id) {
+        return completable(() -> jdbcTemplate.update("DELETE FROM webauthn_credentials WHERE id = ?", id));
+    }
+
+    private Credential findOne(String id) {
+        return jdbcTemplate.query(SELECT + "id = ?", ROW_MAPPER, id).stream().findFirst().orElse(null);
+    }
+}
@@ -0,0 +1,136 @@
+/**
+ * Copyright (C) 2015 The Gravitee team (http://gravitee.io)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.gravitee.am.repository.jdbc.management;
+
+import io.gravitee.am.common.utils.RandomString;
+import io.gravitee.am.model.Domain;
+import io.gravitee.am.model.ReferenceType;
+import io.gravitee.am.repository.management.api.DomainRepository;
+import io.gravitee.am.repository.management.api.search.DomainCriteria;
+import io.reactivex.Completable;
+import io.reactivex.Flowable;
+import io.reactivex.Maybe;
+import io.reactivex.Single;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.stereotype.Component;
+
+import java.text.Normalizer;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.Locale;
+import java.util.Set;
+import java.util.function.Predicate;
+import java.util.stream.Collectors;
+
+/**
+ * @author GraviteeSource Team
+ */
+@Component
+public class JdbcDomainRepository extends AbstractManagementJdbcRepository implements DomainRepository {
+
+    private static final String SELECT = "SELECT id, data FROM domains";
+
+    private static final RowMapper<Domain> ROW_MAPPER = dataMapper(Domain.class);
+
+    @Override
+    public Maybe<Domain> findMaster() {
+        // the master domain only exists in the MongoDB databases created before the organizations
+        return Maybe.empty();
+    }
+
+    @Override
+    public Single<Set<Domain>> findAll() {
+        return single(() -> new HashSet<>(jdbcTemplate.query(SELECT, ROW_MAPPER)));
+    }
+
+    @Override
+    public Single<Set<Domain>> findByIdIn(Collection<String> ids) {
+        if (ids == null || ids.isEmpty()) {
+            return Single.just(new HashSet<>());
+        }
+        return single(() -> new HashSet<>(jdbcTemplate.query(SELECT + " WHERE id IN (" + placeholders(ids) + ")", ROW_MAPPER, ids.toArray())));
+    }
+
+    @Override
+    public Flowable<Domain> findAllByEnvironment(String environmentId) {
+        return flowable(() -> jdbcTemplate.query(SELECT + " WHERE reference_type = ? AND reference_id = ?", ROW_MAPPER, ReferenceType.ENVIRONMENT.name(), environmentId));
+    }
+
+    @Override
+    public Flowable<Domain> findAllByCriteria(DomainCriteria criteria) {
+        Flowable<Domain> domains = criteria.isEnabled()
+                .map(enabled -> flowable(() -> jdbcTemplate.query(SELECT + " WHERE enabled = ?", ROW_MAPPER, enabled)))
+                .orElseGet(() -> flowable(() -> jdbcTemplate.query(SELECT, ROW_MAPPER)));
+
+        // domains are few, the tags are compared ignoring case and accents rather than through a dedicated table
+        Predicate<Domain> inTags = criteria.getTags()
+                .map(JdbcDomainRepository::normalize)
+                .map(tags -> (Predicate<Domain>) domain -> domain.getTags() != null && normalize(domain.getTags()).stream().anyMatch(tags::contains))
+                .orElse(null);
+        Predicate<Domain> ninTags = criteria.getExcludedTags()
+                .map(JdbcDomainRepository::normalize)
+                .map(tags -> (Predicate<Domain>) domain -> domain.getTags() != null && normalize(domain.getTags()).stream().noneMatch(tags::contains))
+                .orElse(null);
+
+        Predicate<Domain> filter;
+        if (inTags != null && ninTags != null) {
+            filter = criteria.isLogicalOR() ? inTags.or(ninTags) : inTags.and(ninTags);
+        } else {
+            filter = inTags != null ? inTags : ninTags;
+        }
+        return filter == null ? domains : domains.filter(filter::test);
+    }
+
+    @Override
+    public Maybe<Domain> findById(String id) {
+        return maybe(() -> findOne(id));
+    }
+
+    @Override
+    public Single<Domain> create(Domain item) {
+        return single(() -> {
+            Domain domain = copy(item);
+            domain.setId(domain.getId() == null ? RandomString.generate() : domain.getId());
+            jdbcTemplate.update("INSERT INTO domains (id, reference_type, reference_id, enabled, data) VALUES (?, ?, ?, ?, ?)",
+                    domain.getId(), name(domain.getReferenceType()), domain.getReferenceId(), domain.isEnabled(), toJson(domain));
+            return findOne(domain.getId());
+        });
+    }
+
+    @Override
+    public Single<Domain> update(Domain domain) {
+        return single(() -> {
+            jdbcTemplate.update("UPDATE domains SET reference_type = ?, reference_id = ?, enabled = ?, data = ? WHERE id = ?",
+                    name(domain.getReferenceType()), domain.getReferenceId(), domain.isEnabled(), toJson(domain), domain.getId());
+            return findOne(domain.getId());
+        });
+    }
+
+    @Override
+    public Completable delete(String id) {
+        return completable(() -> jdbcTemplate.update("DELETE FROM domains WHERE id = ?", id));
+    }
+
+    private Domain findOne(String id) {
+        return jdbcTemplate.query(SELECT + " WHERE id = ?", ROW_MAPPER, id).stream().findFirst().orElse(null);
+    }
+
+    private static Set<String> normalize(Collection<String> tags) {
+        return tags.stream()
+                .map(tag -> Normalizer.normalize(tag, Normalizer.Form.NFD).replaceAll("\\p{M}", "").toLowerCase(Locale.ROOT))
+                .collect(Collectors.toSet());
+    }
+}
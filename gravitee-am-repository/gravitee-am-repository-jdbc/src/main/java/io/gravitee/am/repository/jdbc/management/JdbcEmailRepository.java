@@ -0,0 +1,121 @@
+/**
+ * Copyright (C) 2015 The Gravitee team (http://gravitee.io)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.gravitee.am.repository.jdbc.management;
+
+import io.gravitee.am.common.utils.RandomString;
+import io.gravitee.am.model.Email;
+import io.gravitee.am.model.ReferenceType;
+import io.gravitee.am.repository.management.api.EmailRepository;
+import io.reactivex.Completable;
+import io.reactivex.Maybe;
+import io.reactivex.Single;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * @author GraviteeSource Team
+ */
+@Component
+public class JdbcEmailRepository extends AbstractManagementJdbcRepository implements EmailRepository {
+
+    private static final String SELECT = "SELECT id, data FROM emails WHERE ";
+
+    private static final RowMapper<Email> ROW_MAPPER = dataMapper(Email.class);
+
+    @Override
+    public Single<List<Email>> findAll() {
+        return single(() -> jdbcTemplate.query("SELECT id, data FROM emails", ROW_MAPPER));
+    }
+
+    @Override
+    public Single<List<Email>> findAll(ReferenceType referenceType, String referenceId) {
+        return single(() -> jdbcTemplate.query(SELECT + "reference_type = ? AND reference_id = ?", ROW_MAPPER, referenceType.name(), referenceId));
+    }
+
+    @Override
+    public Single<List<Email>> findByDomain(String domain) {
+        return findAll(ReferenceType.DOMAIN, domain);
+    }
+
+    @Override
+    public Single<List<Email>> findByClient(ReferenceType referenceType, String referenceId, String client) {
+        return single(() -> jdbcTemplate.query(SELECT + "reference_type = ? AND reference_id = ? AND client = ?", ROW_MAPPER, referenceType.name(), referenceId, client));
+    }
+
+    @Override
+    public Maybe<Email> findByTemplate(ReferenceType referenceType, String referenceId, String template) {
+        return maybe(() -> jdbcTemplate.query(SELECT + "reference_type = ? AND reference_id = ? AND template = ? AND client IS NULL", ROW_MAPPER,
+                referenceType.name(), referenceId, template).stream().findFirst().orElse(null));
+    }
+
+    @Override
+    public Maybe<Email> findByDomainAndTemplate(String domain, String template) {
+        return findByTemplate(ReferenceType.DOMAIN, domain, template);
+    }
+
+    @Override
+    public Maybe<Email> findByClientAndTemplate(ReferenceType referenceType, String referenceId, String client, String template) {
+        return maybe(() -> jdbcTemplate.query(SELECT + "reference_type = ? AND reference_id = ? AND client = ? AND template = ?", ROW_MAPPER,
+                referenceType.name(), referenceId, client, template).stream().findFirst().orElse(null));
+    }
+
+    @Override
+    public Maybe<Email> findByDomainAndClientAndTemplate(String domain, String client, String template) {
+        return findByClientAndTemplate(ReferenceType.DOMAIN, domain, client, template);
+    }
+
+    @Override
+    public Maybe<Email> findById(ReferenceType referenceType, String referenceId, String id) {
+        return maybe(() -> jdbcTemplate.query(SELECT + "reference_type = ? AND reference_id = ? AND id = ?", ROW_MAPPER,
+                referenceType.name(), referenceId, id).stream().findFirst().orElse(null));
+    }
+
+    @Override
+    public Maybe<Email> findById(String id) {
+        return maybe(() -> findOne(id));
+    }
+
+    @Override
+    public Single<Email> create(Email item) {
+        return single(() -> {
+            Email email = copy(item);
+            email.setId(email.getId() == null ? RandomString.generate() : email.getId());
+            jdbcTemplate.update("INSERT INTO emails (id, reference_type, reference_id, client, template, data) VALUES (?, ?, ?, ?, ?, ?)",
+                    email.getId(), name(email.getReferenceType()), email.getReferenceId(), email.getClient(), email.getTemplate(), toJson(email));
+            return findOne(email.getId());
+        });
+    }
+
+    @Override
+    public Single<Email> update(Email email) {
+        return single(() -> {
+            jdbcTemplate.update("UPDATE emails SET reference_type = ?, reference_id = ?, client = ?, template = ?, data = ? WHERE id = ?",
+                    name(email.getReferenceType()), email.getReferenceId(), email.getClient(), email.getTemplate(), toJson(email), email.getId());
+            return findOne(email.getId());
+        });
+    }
+
+    @Override
+    public Completable delete(String id) {
+        return completable(() -> jdbcTemplate.update("DELETE FROM emails WHERE id = ?", id));
+    }
+
+    private Email findOne(String id) {
+        return jdbcTemplate.query(SELECT + "id = ?", ROW_MAPPER, id).stream().findFirst().orElse(null);
+    }
+}
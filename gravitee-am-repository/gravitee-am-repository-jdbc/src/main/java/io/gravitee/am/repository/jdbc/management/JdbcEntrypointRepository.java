@@ -0,0 +1,81 @@
+/**
+ * Copyright (C) 2015 The Gravitee team (http://gravitee.io)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.gravitee.am.repository.jdbc.management;
+
+import io.gravitee.am.common.utils.RandomString;
+import io.gravitee.am.model.Entrypoint;
+import io.gravitee.am.repository.management.api.EntrypointRepository;
+import io.reactivex.Completable;
+import io.reactivex.Flowable;
+import io.reactivex.Maybe;
+import io.reactivex.Single;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.stereotype.Component;
+
+/**
+ * @author GraviteeSource Team
+ */
+@Component
+public class JdbcEntrypointRepository extends AbstractManagementJdbcRepository implements EntrypointRepository {
+
+    private static final String SELECT = "SELECT id, data FROM entrypoints WHERE ";
+
+    private static final RowMapper<Entrypoint> ROW_MAPPER = dataMapper(Entrypoint.class);
+
+    @Override
+    public Maybe<Entrypoint> findById(String id, String organizationId) {
+        return maybe(() -> jdbcTemplate.query(SELECT + "id = ? AND organization_id = ?", ROW_MAPPER, id, organizationId).stream().findFirst().orElse(null));
+    }
+
+    @Override
+    public Maybe<Entrypoint> findById(String id) {
+        return maybe(() -> findOne(id));
+    }
+
+    @Override
+    public Flowable<Entrypoint> findAll(String organizationId) {
+        return flowable(() -> jdbcTemplate.query(SELECT + "organization_id = ?", ROW_MAPPER, organizationId));
+    }
+
+    @Override
+    public Single<Entrypoint> create(Entrypoint item) {
+        return single(() -> {
+            Entrypoint entrypoint = copy(item);
+            entrypoint.setId(entrypoint.getId() == null ? RandomString.generate() : entrypoint.getId());
+            jdbcTemplate.update("INSERT INTO entrypoints (id, organization_id, data) VALUES (?, ?, ?)",
+                    entrypoint.getId(), entrypoint.getOrganizationId(), toJson(entrypoint));
+            return findOne(entrypoint.getId());
+        });
+    }
+
+    @Override
+    public Single<Entrypoint> update(Entrypoint entrypoint) {
+        return single(() -> {
+            jdbcTemplate.update("UPDATE entrypoints SET organization_id = ?, data = ? WHERE id = ?",
+                    entrypoint.getOrganizationId(), toJson(entrypoint), entrypoint.getId());
+            return findOne(entrypoint.getId());
+        });
+    }
+
+    @Override
+    public Completable delete(String id) {
+        return completable(() -> jdbcTemplate.update("DELETE FROM entrypoints WHERE id = ?", id));
+    }
+
+    private Entrypoint findOne(String id) {
+        return jdbcTemplate.query(SELECT + "id = ?", ROW_MAPPER, id).stream().findFirst().orElse(null);
+    }
+}
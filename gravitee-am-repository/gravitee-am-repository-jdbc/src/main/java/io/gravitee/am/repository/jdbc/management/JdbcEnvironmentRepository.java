@@ -0,0 +1,80 @@
+/**
+ * Copyright (C) 2015 The Gravitee team (http://gravitee.io)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.gravitee.am.repository.jdbc.management;
+
+import io.gravitee.am.common.utils.RandomString;
+import io.gravitee.am.model.Environment;
+import io.gravitee.am.repository.management.api.EnvironmentRepository;
+import io.reactivex.Completable;
+import io.reactivex.Maybe;
+import io.reactivex.Single;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.stereotype.Component;
+
+/**
+ * @author GraviteeSource Team
+ */
+@Component
+public class JdbcEnvironmentRepository extends AbstractManagementJdbcRepository implements EnvironmentRepository {
+
+    private static final String SELECT = "SELECT id, data FROM environments WHERE ";
+
+    private static final RowMapper<Environment> ROW_MAPPER = dataMapper(Environment.class);
+
+    @Override
+    public Maybe<Environment> findById(String id, String organizationId) {
+        return maybe(() -> jdbcTemplate.query(SELECT + "id = ? AND organization_id = ?", ROW_MAPPER, id, organizationId).stream().findFirst().orElse(null));
+    }
+
+    @Override
+    public Maybe<Environment> findById(String id) {
+        return maybe(() -> findOne(id));
+    }
+
+    @Override
+    public Single<Long> count() {
+        return single(() -> jdbcTemplate.queryForObject("SELECT COUNT(*) FROM environments", Long.class));
+    }
+
+    @Override
+    public Single<Environment> create(Environment item) {
+        return single(() -> {
+            Environment environment = copy(item);
+            environment.setId(environment.getId() == null ? RandomString.generate() : environment.getId());
+            jdbcTemplate.update("INSERT INTO environments (id, organization_id, data) VALUES (?, ?, ?)",
+                    environment.getId(), environment.getOrganizationId(), toJson(environment));
+            return findOne(environment.getId());
+        });
+    }
+
+    @Override
+    public Single<Environment> update(Environment environment) {
+        return single(() -> {
+            jdbcTemplate.update("UPDATE environments SET organization_id = ?, data = ? WHERE id = ?",
+                    environment.getOrganizationId(), toJson(environment), environment.getId());
+            return findOne(environment.getId());
+        });
+    }
+
+    @Override
+    public Completable delete(String id) {
+        return completable(() -> jdbcTemplate.update("DELETE FROM environments WHERE id = ?", id));
+    }
+
+    private Environment findOne(String id) {
+        return jdbcTemplate.query(SELECT + "id = ?", ROW_MAPPER, id).stream().findFirst().orElse(null);
+    }
+}
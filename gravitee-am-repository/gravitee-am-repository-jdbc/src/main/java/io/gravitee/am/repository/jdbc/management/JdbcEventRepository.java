@@ -0,0 +1,94 @@
+/**
+ * Copyright (C) 2015 The Gravitee team (http://gravitee.io)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.gravitee.am.repository.jdbc.management;
+
+import io.gravitee.am.common.utils.RandomString;
+import io.gravitee.am.model.common.event.Event;
+import io.gravitee.am.repository.management.api.EventRepository;
+import io.gravitee.am.repository.management.model.WatchedEvent;
+import io.reactivex.Completable;
+import io.reactivex.Flowable;
+import io.reactivex.Maybe;
+import io.reactivex.Single;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.stereotype.Component;
+
+import java.sql.Timestamp;
+import java.util.List;
+
+/**
+ * @author GraviteeSource Team
+ */
+@Component
+public class JdbcEventRepository extends AbstractManagementJdbcRepository implements EventRepository {
+
+    private static final String SELECT = "SELECT id, data FROM events WHERE ";
+
+    private static final RowMapper<Event> ROW_MAPPER = dataMapper(Event.class);
+
+    @Override
+    public Single<List<Event>> findByTimeFrame(long from, long to) {
+        if (to > from) {
+            return single(() -> jdbcTemplate.query(SELECT + "updated_at >= ? AND updated_at <= ?", ROW_MAPPER, new Timestamp(from), new Timestamp(to)));
+        }
+        return single(() -> jdbcTemplate.query(SELECT + "updated_at >= ?", ROW_MAPPER, new Timestamp(from)));
+    }
+
+    @Override
+    public Flowable<WatchedEvent> watch(String resumeToken) {
+        // the events are polled
+        return Flowable.error(new UnsupportedOperationException("Events can not be pushed by a relational database"));
+    }
+
+    @Override
+    public Completable deleteUntil(long to) {
+        return completable(() -> jdbcTemplate.update("DELETE FROM events WHERE updated_at < ?", new Timestamp(to)));
+    }
+
+    @Override
+    public Maybe<Event> findById(String id) {
+        return maybe(() -> findOne(id));
+    }
+
+    @Override
+    public Single<Event> create(Event item) {
+        return single(() -> {
+            Event event = copy(item);
+            event.setId(event.getId() == null ? RandomString.generate() : event.getId());
+            jdbcTemplate.update("INSERT INTO events (id, updated_at, data) VALUES (?, ?, ?)",
+                    event.getId(), toSortTimestamp(event.getUpdatedAt()), toJson(event));
+            return findOne(event.getId());
+        });
+    }
+
+    @Override
+    public Single<Event> update(Event event) {
+        return single(() -> {
+            jdbcTemplate.update("UPDATE events SET updated_at = ?, data = ? WHERE id = ?",
+                    toSortTimestamp(event.getUpdatedAt()), toJson(event), event.getId());
+            return findOne(event.getId());
+        });
+    }
+
+    @Override
+    public Completable delete(String id) {
+        return completable(() -> jdbcTemplate.update("DELETE FROM events WHERE id = ?", id));
+    }
+
+    private Event findOne(String id) {
+        return jdbcTemplate.query(SELECT + "id = ?", ROW_MAPPER, id).stream().findFirst().orElse(null);
+    }
+}
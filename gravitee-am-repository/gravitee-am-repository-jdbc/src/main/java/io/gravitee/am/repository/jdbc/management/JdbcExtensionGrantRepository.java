@@ -0,0 +1,83 @@
+/**
+ * Copyright (C) 2015 The Gravitee team (http://gravitee.io)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.gravitee.am.repository.jdbc.management;
+
+import io.gravitee.am.common.utils.RandomString;
+import io.gravitee.am.model.ExtensionGrant;
+import io.gravitee.am.repository.management.api.ExtensionGrantRepository;
+import io.reactivex.Completable;
+import io.reactivex.Maybe;
+import io.reactivex.Single;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.stereotype.Component;
+
+import java.util.HashSet;
+import java.util.Set;
+
+/**
+ * @author GraviteeSource Team
+ */
+@Component
+public class JdbcExtensionGrantRepository extends AbstractManagementJdbcRepository implements ExtensionGrantRepository {
+
+    private static final String SELECT = "SELECT id, data FROM extension_grants WHERE ";
+
+    private static final RowMapper<ExtensionGrant> ROW_MAPPER = dataMapper(ExtensionGrant.class);
+
+    @Override
+    public Single<Set<ExtensionGrant>> findByDomain(String domain) {
+        return single(() -> new HashSet<>(jdbcTemplate.query(SELECT + "domain = ?", ROW_MAPPER, domain)));
+    }
+
+    @Override
+    public Maybe<ExtensionGrant> findByDomainAndName(String domain, String name) {
+        return maybe(() -> jdbcTemplate.query(SELECT + "domain = ? AND name = ?", ROW_MAPPER, domain, name).stream().findFirst().orElse(null));
+    }
+
+    @Override
+    public Maybe<ExtensionGrant> findById(String id) {
+        return maybe(() -> findOne(id));
+    }
+
+    @Override
+    public Single<ExtensionGrant> create(ExtensionGrant item) {
+        return single(() -> {
+            ExtensionGrant extensionGrant = copy(item);
+            extensionGrant.setId(extensionGrant.getId() == null ? RandomString.generate() : extensionGrant.getId());
+            jdbcTemplate.update("INSERT INTO extension_grants (id, domain, name, data) VALUES (?, ?, ?, ?)",
+                    extensionGrant.getId(), extensionGrant.getDomain(), extensionGrant.getName(), toJson(extensionGrant));
+            return findOne(extensionGrant.getId());
+        });
+    }
+
+    @Override
+    public Single<ExtensionGrant> update(ExtensionGrant extensionGrant) {
+        return single(() -> {
+            jdbcTemplate.update("UPDATE extension_grants SET domain = ?, name = ?, data = ? WHERE id = ?",
+                    extensionGrant.getDomain(), extensionGrant.getName(), toJson(extensionGrant), extensionGrant.getId());
+            return findOne(extensionGrant.getId());
+        });
+    }
+
+    @Override
+    public Completable delete(String id) {
+        return completable(() -> jdbcTemplate.update("DELETE FROM extension_grants WHERE id = ?", id));
+    }
+
+    private ExtensionGrant findOne(String id) {
+        return jdbcTemplate.query(SELECT + "id = ?", ROW_MAPPER, id).stream().findFirst().orElse(null);
+    }
+}
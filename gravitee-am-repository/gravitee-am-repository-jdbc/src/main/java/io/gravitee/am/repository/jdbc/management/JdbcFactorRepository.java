@@ -0,0 +1,88 @@
+/**
+ * Copyright (C) 2015 The Gravitee team (http://gravitee.io)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.gravitee.am.repository.jdbc.management;
+
+import io.gravitee.am.common.utils.RandomString;
+import io.gravitee.am.model.Factor;
+import io.gravitee.am.repository.management.api.FactorRepository;
+import io.reactivex.Completable;
+import io.reactivex.Maybe;
+import io.reactivex.Single;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.stereotype.Component;
+
+import java.util.HashSet;
+import java.util.Set;
+
+/**
+ * @author GraviteeSource Team
+ */
+@Component
+public class JdbcFactorRepository extends AbstractManagementJdbcRepository implements FactorRepository {
+
+    private static final String SELECT = "SELECT id, data FROM factors";
+
+    private static final RowMapper<Factor> ROW_MAPPER = dataMapper(Factor.class);
+
+    @Override
+    public Single<Set<Factor>> findAll() {
+        return single(() -> new HashSet<>(jdbcTemplate.query(SELECT, ROW_MAPPER)));
+    }
+
+    @Override
+    public Single<Set<Factor>> findByDomain(String domain) {
+        return single(() -> new HashSet<>(jdbcTemplate.query(SELECT + " WHERE domain = ?", ROW_MAPPER, domain)));
+    }
+
+    @Override
+    public Maybe<Factor> findByDomainAndFactorType(String domain, String factorType) {
+        return maybe(() -> jdbcTemplate.query(SELECT + " WHERE domain = ? AND factor_type = ?", ROW_MAPPER, domain, factorType).stream().findFirst().orElse(null));
+    }
+
+    @Override
+    public Maybe<Factor> findById(String id) {
+        return maybe(() -> findOne(id));
+    }
+
+    @Override
+    public Single<Factor> create(Factor item) {
+        return single(() -> {
+            Factor factor = copy(item);
+            factor.setId(factor.getId() == null ? RandomString.generate() : factor.getId());
+            jdbcTemplate.update("INSERT INTO factors (id, domain, factor_type, data) VALUES (?, ?, ?, ?)",
+                    factor.getId(), factor.getDomain(), factor.getFactorType(), toJson(factor));
+            return findOne(factor.getId());
+        });
+    }
+
+    @Override
+    public Single<Factor> update(Factor factor) {
+        return single(() -> {
+            jdbcTemplate.update("UPDATE factors SET domain = ?, factor_type = ?, data = ? WHERE id = ?",
+                    factor.getDomain(), factor.getFactorType(), toJson(factor), factor.getId());
+            return findOne(factor.getId());
+        });
+    }
+
+    @Override
+    public Completable delete(String id) {
+        return completable(() -> jdbcTemplate.update("DELETE FROM factors WHERE id = ?", id));
+    }
+
+    private Factor findOne(String id) {
+        return jdbcTemplate.query(SELECT + " WHERE id = ?", ROW_MAPPER, id).stream().findFirst().orElse(null);
+    }
+}
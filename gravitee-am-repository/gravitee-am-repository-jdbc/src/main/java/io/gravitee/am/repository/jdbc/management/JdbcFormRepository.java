@@ -0,0 +1,106 @@
+/**
+ * Copyright (C) 2015 The Gravitee team (http://gravitee.io)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.gravitee.am.repository.jdbc.management;
+
+import io.gravitee.am.common.utils.RandomString;
+import io.gravitee.am.model.Form;
+import io.gravitee.am.model.ReferenceType;
+import io.gravitee.am.repository.management.api.FormRepository;
+import io.reactivex.Completable;
+import io.reactivex.Maybe;
+import io.reactivex.Single;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * @author GraviteeSource Team
+ */
+@Component
+public class JdbcFormRepository extends AbstractManagementJdbcRepository implements FormRepository {
+
+    private static final String SELECT = "SELECT id, data FROM forms WHERE ";
+
+    private static final RowMapper<Form> ROW_MAPPER = dataMapper(Form.class);
+
+    @Override
+    public Single<List<Form>> findAll(ReferenceType referenceType, String referenceId) {
+        return single(() -> jdbcTemplate.query(SELECT + "reference_type = ? AND reference_id = ?", ROW_MAPPER, referenceType.name(), referenceId));
+    }
+
+    @Override
+    public Single<List<Form>> findByDomain(String domain) {
+        return findAll(ReferenceType.DOMAIN, domain);
+    }
+
+    @Override
+    public Single<List<Form>> findByClient(ReferenceType referenceType, String referenceId, String client) {
+        return single(() -> jdbcTemplate.query(SELECT + "reference_type = ? AND reference_id = ? AND client = ?", ROW_MAPPER, referenceType.name(), referenceId, client));
+    }
+
+    @Override
+    public Maybe<Form> findByTemplate(ReferenceType referenceType, String referenceId, String template) {
+        return maybe(() -> jdbcTemplate.query(SELECT + "reference_type = ? AND reference_id = ? AND template = ? AND client IS NULL", ROW_MAPPER,
+                referenceType.name(), referenceId, template).stream().findFirst().orElse(null));
+    }
+
+    @Override
+    public Maybe<Form> findByClientAndTemplate(ReferenceType referenceType, String referenceId, String client, String template) {
+        return maybe(() -> jdbcTemplate.query(SELECT + "reference_type = ? AND reference_id = ? AND client = ? AND template = ?", ROW_MAPPER,
+                referenceType.name(), referenceId, client, template).stream().findFirst().orElse(null));
+    }
+
+    @Override
+    public Maybe<Form> findById(ReferenceType referenceType, String referenceId, String id) {
+        return maybe(() -> jdbcTemplate.query(SELECT + "reference_type = ? AND reference_id = ? AND id = ?", ROW_MAPPER,
+                referenceType.name(), referenceId, id).stream().findFirst().orElse(null));
+    }
+
+    @Override
+    public Maybe<Form> findById(String id) {
+        return maybe(() -> findOne(id));
+    }
+
+    @Override
+    public Single<Form> create(Form item) {
+        return single(() -> {
+            Form form = copy(item);
+            form.setId(form.getId() == null ? RandomString.generate() : form.getId());
+            jdbcTemplate.update("INSERT INTO forms (id, reference_type, reference_id, client, template, data) VALUES (?, ?, ?, ?, ?, ?)",
+                    form.getId(), name(form.getReferenceType()), form.getReferenceId(), form.getClient(), form.getTemplate(), toJson(form));
+            return findOne(form.getId());
+        });
+    }
+
+    @Override
+    public Single<Form> update(Form form) {
+        return single(() -> {
+            jdbcTemplate.update("UPDATE forms SET reference_type = ?, reference_id = ?, client = ?, template = ?, data = ? WHERE id = ?",
+                    name(form.getReferenceType()), form.getReferenceId(), form.getClient(), form.getTemplate(), toJson(form), form.getId());
+            return findOne(form.getId());
+        });
+    }
+
+    @Override
+    public Completable delete(String id) {
+        return completable(() -> jdbcTemplate.update("DELETE FROM forms WHERE id = ?", id));
+    }
+
+    private Form findOne(String id) {
+        return jdbcTemplate.query(SELECT + "id = ?", ROW_MAPPER, id).stream().findFirst().orElse(null);
+    }
+}
@@ -0,0 +1,154 @@
+/**
+ * Copyright (C) 2015 The Gravitee team (http://gravitee.io)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.gravitee.am.repository.jdbc.management;
+
+import io.gravitee.am.common.utils.RandomString;
+import io.gravitee.am.model.Group;
+import io.gravitee.am.model.ReferenceType;
+import io.gravitee.am.model.common.Page;
+import io.gravitee.am.repository.management.api.GroupRepository;
+import io.reactivex.Completable;
+import io.reactivex.Maybe;
+import io.reactivex.Single;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * Group members are indexed in the {@code user_group_members} table.
+ *
+ * @author GraviteeSource Team
+ */
+@Component
+public class JdbcGroupRepository extends AbstractManagementJdbcRepository implements GroupRepository {
+
+    private static final String SELECT = "SELECT id, data FROM user_groups WHERE ";
+
+    private static final RowMapper<Group> ROW_MAPPER = dataMapper(Group.class);
+
+    @Override
+    public Single<List<Group>> findByMember(String memberId) {
+        return single(() -> jdbcTemplate.query(SELECT + "id IN (SELECT group_id FROM user_group_members WHERE member_id = ?)", ROW_MAPPER, memberId));
+    }
+
+    @Override
+    public Single<List<Group>> findAll(ReferenceType referenceType, String referenceId) {
+        return single(() -> jdbcTemplate.query(SELECT + "reference_type = ? AND reference_id = ?", ROW_MAPPER, referenceType.name(), referenceId));
+    }
+
+    @Override
+    public Single<List<Group>> findByDomain(String domain) {
+        return findAll(ReferenceType.DOMAIN, domain);
+    }
+
+    @Override
+    public Single<Page<Group>> findAll(ReferenceType referenceType, String referenceId, int page, int size) {
+        return single(() -> page(Group.class, "user_groups", "reference_type = ? AND reference_id = ?", "name", false, page, size,
+                referenceType.name(), referenceId));
+    }
+
+    @Override
+    public Single<Page<Group>> findByDomain(String domain, int page, int size) {
+        return findAll(ReferenceType.DOMAIN, domain, page, size);
+    }
+
+    @Override
+    public Single<List<Group>> findByIdIn(List<String> ids) {
+        if (ids == null || ids.isEmpty()) {
+            return Single.just(new ArrayList<>());
+        }
+        return single(() -> jdbcTemplate.query(SELECT + "id IN (" + placeholders(ids) + ")", ROW_MAPPER, ids.toArray()));
+    }
+
+    @Override
+    public Maybe<Group> findByName(ReferenceType referenceType, String referenceId, String groupName) {
+        return maybe(() -> jdbcTemplate.query(SELECT + "reference_type = ? AND reference_id = ? AND name = ?", ROW_MAPPER,
+                referenceType.name(), referenceId, groupName).stream().findFirst().orElse(null));
+    }
+
+    @Override
+    public Maybe<Group> findByDomainAndName(String domain, String groupName) {
+        return findByName(ReferenceType.DOMAIN, domain, groupName);
+    }
+
+    @Override
+    public Maybe<Group> findById(ReferenceType referenceType, String referenceId, String group) {
+        return maybe(() -> jdbcTemplate.query(SELECT + "reference_type = ? AND reference_id = ? AND id = ?", ROW_MAPPER,
+                referenceType.name(), referenceId, group).stream().findFirst().orElse(null));
+    }
+
+    @Override
+    public Maybe<Group> findById(String id) {
+        return maybe(() -> findOne(id));
+    }
+
+    @Override
+    public Single<Group> create(Group item) {
+        return single(() -> {
+            Group group = copy(item);
+            group.setId(group.getId() == null ? RandomString.generate() : group.getId());
+            transactionTemplate.execute(status -> {
+                jdbcTemplate.update("INSERT INTO user_groups (id, reference_type, reference_id, name, data) VALUES (?, ?, ?, ?, ?)",
+                        group.getId(), name(group.getReferenceType()), group.getReferenceId(), sortName(group), toJson(group));
+                insertMembers(group);
+                return null;
+            });
+            return findOne(group.getId());
+        });
+    }
+
+    @Override
+    public Single<Group> update(Group group) {
+        return single(() -> {
+            transactionTemplate.execute(status -> {
+                jdbcTemplate.update("UPDATE user_groups SET reference_type = ?, reference_id = ?, name = ?, data = ? WHERE id = ?",
+                        name(group.getReferenceType()), group.getReferenceId(), sortName(group), toJson(group), group.getId());
+                jdbcTemplate.update("DELETE FROM user_group_members WHERE group_id = ?", group.getId());
+                insertMembers(group);
+                return null;
+            });
+            return findOne(group.getId());
+        });
+    }
+
+    @Override
+    public Completable delete(String id) {
+        return completable(() -> transactionTemplate.execute(status -> {
+            jdbcTemplate.update("DELETE FROM user_group_members WHERE group_id = ?", id);
+            return jdbcTemplate.update("DELETE FROM user_groups WHERE id = ?", id);
+        }));
+    }
+
+    private Group findOne(String id) {
+        return jdbcTemplate.query(SELECT + "id = ?", ROW_MAPPER, id).stream().findFirst().orElse(null);
+    }
+
+    private void insertMembers(Group group) {
+        if (group.getMembers() == null || group.getMembers().isEmpty()) {
+            return;
+        }
+        jdbcTemplate.batchUpdate("INSERT INTO user_group_members (group_id, member_id) VALUES (?, ?)",
+                new LinkedHashSet<>(group.getMembers()).stream().map(member -> new Object[]{group.getId(), member}).collect(Collectors.toList()));
+    }
+
+    private static String sortName(Group group) {
+        return group.getName() == null ? "" : group.getName();
+    }
+}
@@ -0,0 +1,95 @@
+/**
+ * Copyright (C) 2015 The Gravitee team (http://gravitee.io)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.gravitee.am.repository.jdbc.management;
+
+import io.gravitee.am.common.utils.RandomString;
+import io.gravitee.am.model.IdentityProvider;
+import io.gravitee.am.model.ReferenceType;
+import io.gravitee.am.repository.management.api.IdentityProviderRepository;
+import io.reactivex.Completable;
+import io.reactivex.Maybe;
+import io.reactivex.Single;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.stereotype.Component;
+
+import java.util.HashSet;
+import java.util.Set;
+
+/**
+ * @author GraviteeSource Team
+ */
+@Component
+public class JdbcIdentityProviderRepository extends AbstractManagementJdbcRepository implements IdentityProviderRepository {
+
+    private static final String SELECT = "SELECT id, data FROM identities";
+
+    private static final RowMapper<IdentityProvider> ROW_MAPPER = dataMapper(IdentityProvider.class);
+
+    @Override
+    public Single<Set<IdentityProvider>> findAll(ReferenceType referenceType, String referenceId) {
+        return single(() -> new HashSet<>(jdbcTemplate.query(SELECT + " WHERE reference_type = ? AND reference_id = ?", ROW_MAPPER, referenceType.name(), referenceId)));
+    }
+
+    @Override
+    public Single<Set<IdentityProvider>> findAll() {
+        return single(() -> new HashSet<>(jdbcTemplate.query(SELECT, ROW_MAPPER)));
+    }
+
+    @Override
+    public Single<Set<IdentityProvider>> findByDomain(String domain) {
+        return findAll(ReferenceType.DOMAIN, domain);
+    }
+
+    @Override
+    public Maybe<IdentityProvider> findById(ReferenceType referenceType, String referenceId, String identityProviderId) {
+        return maybe(() -> jdbcTemplate.query(SELECT + " WHERE reference_type = ? AND reference_id = ? AND id = ?", ROW_MAPPER,
+                referenceType.name(), referenceId, identityProviderId).stream().findFirst().orElse(null));
+    }
+
+    @Override
+    public Maybe<IdentityProvider> findById(String id) {
+        return maybe(() -> findOne(id));
+    }
+
+    @Override
+    public Single<IdentityProvider> create(IdentityProvider item) {
+        return single(() -> {
+            IdentityProvider identityProvider = copy(item);
+            identityProvider.setId(identityProvider.getId() == null ? RandomString.generate() : identityProvider.getId());
+            jdbcTemplate.update("INSERT INTO identities (id, reference_type, reference_id, data) VALUES (?, ?, ?, ?)",
+                    identityProvider.getId(), name(identityProvider.getReferenceType()), identityProvider.getReferenceId(), toJson(identityProvider));
+            return findOne(identityProvider.getId());
+        });
+    }
+
+    @Override
+    public Single<IdentityProvider> update(IdentityProvider identityProvider) {
+        return single(() -> {
+            jdbcTemplate.update("UPDATE identities SET reference_type = ?, reference_id = ?, data = ? WHERE id = ?",
+                    name(identityProvider.getReferenceType()), identityProvider.getReferenceId(), toJson(identityProvider), identityProvider.getId());
+            return findOne(identityProvider.getId());
+        });
+    }
+
+    @Override
+    public Completable delete(String id) {
+        return completable(() -> jdbcTemplate.update("DELETE FROM identities WHERE id = ?", id));
+    }
+
+    private IdentityProvider findOne(String id) {
+        return jdbcTemplate.query(SELECT + " WHERE id = ?", ROW_MAPPER, id).stream().findFirst().orElse(null);
+    }
+}
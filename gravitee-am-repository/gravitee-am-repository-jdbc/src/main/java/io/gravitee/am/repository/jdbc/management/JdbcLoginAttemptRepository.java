@@ -0,0 +1,108 @@
+/**
+ * Copyright (C) 2015 The Gravitee team (http://gravitee.io)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.gravitee.am.repository.jdbc.management;
+
+import io.gravitee.am.common.utils.RandomString;
+import io.gravitee.am.model.LoginAttempt;
+import io.gravitee.am.repository.management.api.LoginAttemptRepository;
+import io.gravitee.am.repository.management.api.search.LoginAttemptCriteria;
+import io.reactivex.Completable;
+import io.reactivex.Maybe;
+import io.reactivex.Single;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * @author GraviteeSource Team
+ */
+@Component
+public class JdbcLoginAttemptRepository extends AbstractManagementJdbcRepository implements LoginAttemptRepository {
+
+    private static final String SELECT = "SELECT id, data FROM login_attempts WHERE ";
+
+    private static final RowMapper<LoginAttempt> ROW_MAPPER = dataMapper(LoginAttempt.class);
+
+    @Override
+    public Maybe<LoginAttempt> findByCriteria(LoginAttemptCriteria criteria) {
+        return maybe(() -> {
+            List<Object> args = new ArrayList<>();
+            return jdbcTemplate.query(SELECT + where(criteria, args) + " LIMIT 1", ROW_MAPPER, args.toArray()).stream().findFirst().orElse(null);
+        });
+    }
+
+    @Override
+    public Completable delete(LoginAttemptCriteria criteria) {
+        return completable(() -> {
+            List<Object> args = new ArrayList<>();
+            jdbcTemplate.update("DELETE FROM login_attempts WHERE id IN (SELECT id FROM login_attempts WHERE " + where(criteria, args) + " LIMIT 1)", args.toArray());
+        });
+    }
+
+    @Override
+    public Maybe<LoginAttempt> findById(String id) {
+        return maybe(() -> findOne(id));
+    }
+
+    @Override
+    public Single<LoginAttempt> create(LoginAttempt item) {
+        return single(() -> {
+            LoginAttempt loginAttempt = copy(item);
+            loginAttempt.setId(loginAttempt.getId() == null ? RandomString.generate() : loginAttempt.getId());
+            jdbcTemplate.update("INSERT INTO login_attempts (id, domain, client, identity_provider, username, expire_at, data) VALUES (?, ?, ?, ?, ?, ?, ?)",
+                    loginAttempt.getId(), loginAttempt.getDomain(), loginAttempt.getClient(), loginAttempt.getIdentityProvider(),
+                    loginAttempt.getUsername(), toTimestamp(loginAttempt.getExpireAt()), toJson(loginAttempt));
+            return findOne(loginAttempt.getId());
+        });
+    }
+
+    @Override
+    public Single<LoginAttempt> update(LoginAttempt loginAttempt) {
+        return single(() -> {
+            jdbcTemplate.update("UPDATE login_attempts SET domain = ?, client = ?, identity_provider = ?, username = ?, expire_at = ?, data = ? WHERE id = ?",
+                    loginAttempt.getDomain(), loginAttempt.getClient(), loginAttempt.getIdentityProvider(),
+                    loginAttempt.getUsername(), toTimestamp(loginAttempt.getExpireAt()), toJson(loginAttempt), loginAttempt.getId());
+            return findOne(loginAttempt.getId());
+        });
+    }
+
+    @Override
+    public Completable delete(String id) {
+        return completable(() -> jdbcTemplate.update("DELETE FROM login_attempts WHERE id = ?", id));
+    }
+
+    private LoginAttempt findOne(String id) {
+        return jdbcTemplate.query(SELECT + "id = ?", ROW_MAPPER, id).stream().findFirst().orElse(null);
+    }
+
+    private static String where(LoginAttemptCriteria criteria, List<Object> args) {
+        StringBuilder where = new StringBuilder("1 = 1");
+        appendFilter(where, args, "domain", criteria.domain());
+        appendFilter(where, args, "client", criteria.client());
+        appendFilter(where, args, "identity_provider", criteria.identityProvider());
+        appendFilter(where, args, "username", criteria.username());
+        return where.toString();
+    }
+
+    private static void appendFilter(StringBuilder where, List<Object> args, String column, String value) {
+        if (value != null && !value.isEmpty()) {
+            where.append(" AND ").append(column).append(" = ?");
+            args.add(value);
+        }
+    }
+}
@@ -0,0 +1,122 @@
+/**
+ * Copyright (C) 2015 The Gravitee team (http://gravitee.io)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.gravitee.am.repository.jdbc.management;
+
+import io.gravitee.am.common.utils.RandomString;
+import io.gravitee.am.model.Membership;
+import io.gravitee.am.model.ReferenceType;
+import io.gravitee.am.model.membership.MemberType;
+import io.gravitee.am.repository.management.api.MembershipRepository;
+import io.gravitee.am.repository.management.api.search.MembershipCriteria;
+import io.reactivex.Completable;
+import io.reactivex.Flowable;
+import io.reactivex.Maybe;
+import io.reactivex.Single;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * @author GraviteeSource Team
+ */
+@Component
+public class JdbcMembershipRepository extends AbstractManagementJdbcRepository implements MembershipRepository {
+
+    private static final String SELECT = "SELECT id, data FROM memberships WHERE ";
+
+    private static final RowMapper<Membership> ROW_MAPPER = dataMapper(Membership.class);
+
+    @Override
+    public Single<List<Membership>> findByReference(String referenceId, ReferenceType referenceType) {
+        return single(() -> jdbcTemplate.query(SELECT + "reference_id = ? AND reference_type = ?", ROW_MAPPER, referenceId, referenceType.name()));
+    }
+
+    @Override
+    public Flowable<Membership> findByCriteria(ReferenceType referenceType, String referenceId, MembershipCriteria criteria) {
+        List<Object> args = new ArrayList<>();
+        args.add(referenceId);
+        args.add(referenceType.name());
+
+        String groupFilter = criteria.getGroupIds().map(groupIds -> {
+            if (groupIds.isEmpty()) {
+                return "1 = 0";
+            }
+            args.add(MemberType.GROUP.name());
+            args.addAll(groupIds);
+            return "member_type = ? AND member_id IN (" + placeholders(groupIds) + ")";
+        }).orElse(null);
+
+        String userFilter = null;
+        if (criteria.getRoleId().isPresent()) {
+            userFilter = "role = ?";
+            args.add(criteria.getRoleId().get());
+        } else if (criteria.getUserId().isPresent()) {
+            userFilter = "member_type = ? AND member_id = ?";
+            args.add(MemberType.USER.name());
+            args.add(criteria.getUserId().get());
+        }
+
+        String filter;
+        if (groupFilter != null && userFilter != null) {
+            filter = " AND ((" + groupFilter + ")" + (criteria.isLogicalOR() ? " OR " : " AND ") + "(" + userFilter + "))";
+        } else if (groupFilter != null || userFilter != null) {
+            filter = " AND (" + (groupFilter != null ? groupFilter : userFilter) + ")";
+        } else {
+            filter = "";
+        }
+        return flowable(() -> jdbcTemplate.query(SELECT + "reference_id = ? AND reference_type = ?" + filter, ROW_MAPPER, args.toArray()));
+    }
+
+    @Override
+    public Maybe<Membership> findByReferenceAndMember(ReferenceType referenceType, String referenceId, MemberType memberType, String memberId) {
+        return maybe(() -> jdbcTemplate.query(SELECT + "reference_id = ? AND reference_type = ? AND member_type = ? AND member_id = ?", ROW_MAPPER,
+                referenceId, referenceType.name(), memberType.name(), memberId).stream().findFirst().orElse(null));
+    }
+
+    @Override
+    public Maybe<Membership> findById(String id) {
+        return maybe(() -> jdbcTemplate.query(SELECT + "id = ?", ROW_MAPPER, id).stream().findFirst().orElse(null));
+    }
+
+    @Override
+    public Single<Membership> create(Membership item) {
+        return single(() -> {
+            Membership membership = copy(item);
+            membership.setId(membership.getId() == null ? RandomString.generate() : membership.getId());
+            jdbcTemplate.update("INSERT INTO memberships (id, reference_type, reference_id, member_type, member_id, role, data) VALUES (?, ?, ?, ?, ?, ?, ?)",
+                    membership.getId(), name(membership.getReferenceType()), membership.getReferenceId(), name(membership.getMemberType()),
+                    membership.getMemberId(), membership.getRoleId(), toJson(membership));
+            return membership;
+        });
+    }
+
+    @Override
+    public Single<Membership> update(Membership membership) {
+        return single(() -> {
+            jdbcTemplate.update("UPDATE memberships SET reference_type = ?, reference_id = ?, member_type = ?, member_id = ?, role = ?, data = ? WHERE id = ?",
+                    name(membership.getReferenceType()), membership.getReferenceId(), name(membership.getMemberType()),
+                    membership.getMemberId(), membership.getRoleId(), toJson(membership), membership.getId());
+            return membership;
+        });
+    }
+
+    @Override
+    public Completable delete(String id) {
+        return completable(() -> jdbcTemplate.update("DELETE FROM memberships WHERE id = ?", id));
+    }
+}
@@ -0,0 +1,73 @@
+/**
+ * Copyright (C) 2015 The Gravitee team (http://gravitee.io)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.gravitee.am.repository.jdbc.management;
+
+import io.gravitee.am.common.utils.RandomString;
+import io.gravitee.am.model.Organization;
+import io.gravitee.am.repository.management.api.OrganizationRepository;
+import io.reactivex.Completable;
+import io.reactivex.Maybe;
+import io.reactivex.Single;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.stereotype.Component;
+
+/**
+ * @author GraviteeSource Team
+ */
+@Component
+public class JdbcOrganizationRepository extends AbstractManagementJdbcRepository implements OrganizationRepository {
+
+    private static final String SELECT = "SELECT id, data FROM organizations WHERE ";
+
+    private static final RowMapper<Organization> ROW_MAPPER = dataMapper(Organization.class);
+
+    @Override
+    public Maybe<Organization> findById(String id) {
+        return maybe(() -> findOne(id));
+    }
+
+    @Override
+    public Single<Long> count() {
+        return single(() -> jdbcTemplate.queryForObject("SELECT COUNT(*) FROM organizations", Long.class));
+    }
+
+    @Override
+    public Single<Organization> create(Organization item) {
+        return single(() -> {
+            Organization organization = copy(item);
+            organization.setId(organization.getId() == null ? RandomString.generate() : organization.getId());
+            jdbcTemplate.update("INSERT INTO organizations (id, data) VALUES (?, ?)", organization.getId(), toJson(organization));
+            return findOne(organization.getId());
+        });
+    }
+
+    @Override
+    public Single<Organization> update(Organization organization) {
+        return single(() -> {
+            jdbcTemplate.update("UPDATE organizations SET data = ? WHERE id = ?", toJson(organization), organization.getId());
+            return findOne(organization.getId());
+        });
+    }
+
+    @Override
+    public Completable delete(String id) {
+        return completable(() -> jdbcTemplate.update("DELETE FROM organizations WHERE id = ?", id));
+    }
+
+    private Organization findOne(String id) {
+        return jdbcTemplate.query(SELECT + "id = ?", ROW_MAPPER, id).stream().findFirst().orElse(null);
+    }
+}
@@ -0,0 +1,70 @@
+/**
+ * Copyright (C) 2015 The Gravitee team (http://gravitee.io)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.gravitee.am.repository.jdbc.management;
+
+import io.gravitee.am.common.utils.RandomString;
+import io.gravitee.am.model.uma.PermissionTicket;
+import io.gravitee.am.repository.management.api.PermissionTicketRepository;
+import io.reactivex.Completable;
+import io.reactivex.Maybe;
+import io.reactivex.Single;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.stereotype.Component;
+
+/**
+ * @author GraviteeSource Team
+ */
+@Component
+public class JdbcPermissionTicketRepository extends AbstractManagementJdbcRepository implements PermissionTicketRepository {
+
+    private static final String SELECT = "SELECT id, data FROM uma_permission_ticket WHERE ";
+
+    private static final RowMapper<PermissionTicket> ROW_MAPPER = dataMapper(PermissionTicket.class);
+
+    @Override
+    public Maybe<PermissionTicket> findById(String id) {
+        return maybe(() -> findOne(id));
+    }
+
+    @Override
+    public Single<PermissionTicket> create(PermissionTicket item) {
+        return single(() -> {
+            PermissionTicket permissionTicket = copy(item);
+            permissionTicket.setId(permissionTicket.getId() == null ? RandomString.generate() : permissionTicket.getId());
+            jdbcTemplate.update("INSERT INTO uma_permission_ticket (id, expire_at, data) VALUES (?, ?, ?)",
+                    permissionTicket.getId(), toTimestamp(permissionTicket.getExpireAt()), toJson(permissionTicket));
+            return findOne(permissionTicket.getId());
+        });
+    }
+
+    @Override
+    public Single<PermissionTicket> update(PermissionTicket permissionTicket) {
+        return single(() -> {
+            jdbcTemplate.update("UPDATE uma_permission_ticket SET expire_at = ?, data = ? WHERE id = ?",
+                    toTimestamp(permissionTicket.getExpireAt()), toJson(permissionTicket), permissionTicket.getId());
+            return findOne(permissionTicket.getId());
+        });
+    }
+
+    @Override
+    public Completable delete(String id) {
+        return completable(() -> jdbcTemplate.update("DELETE FROM uma_permission_ticket WHERE id = ?", id));
+    }
+
+    private PermissionTicket findOne(String id) {
+        return jdbcTemplate.query(SELECT + "id = ?", ROW_MAPPER, id).stream().findFirst().orElse(null);
+    }
+}
@@ -0,0 +1,82 @@
+/**
+ * Copyright (C) 2015 The Gravitee team (http://gravitee.io)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.gravitee.am.repository.jdbc.management;
+
+import io.gravitee.am.common.utils.RandomString;
+import io.gravitee.am.model.Policy;
+import io.gravitee.am.repository.management.api.PolicyRepository;
+import io.reactivex.Completable;
+import io.reactivex.Maybe;
+import io.reactivex.Single;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * @author GraviteeSource Team
+ */
+@Component
+public class JdbcPolicyRepository extends AbstractManagementJdbcRepository implements PolicyRepository {
+
+    private static final String SELECT = "SELECT id, data FROM policies";
+
+    private static final RowMapper<Policy> ROW_MAPPER = dataMapper(Policy.class);
+
+    @Override
+    public Single<List<Policy>> findAll() {
+        return single(() -> jdbcTemplate.query(SELECT, ROW_MAPPER));
+    }
+
+    @Override
+    public Single<List<Policy>> findByDomain(String domain) {
+        return single(() -> jdbcTemplate.query(SELECT + " WHERE domain = ?", ROW_MAPPER, domain));
+    }
+
+    @Override
+    public Maybe<Policy> findById(String id) {
+        return maybe(() -> findOne(id));
+    }
+
+    @Override
+    public Single<Policy> create(Policy item) {
+        return single(() -> {
+            Policy policy = copy(item);
+            policy.setId(policy.getId() == null ? RandomString.generate() : policy.getId());
+            jdbcTemplate.update("INSERT INTO policies (id, domain, data) VALUES (?, ?, ?)",
+                    policy.getId(), policy.getDomain(), toJson(policy));
+            return findOne(policy.getId());
+        });
+    }
+
+    @Override
+    public Single<Policy> update(Policy policy) {
+        return single(() -> {
+            jdbcTemplate.update("UPDATE policies SET domain = ?, data = ? WHERE id = ?",
+                    policy.getDomain(), toJson(policy), policy.getId());
+            return findOne(policy.getId());
+        });
+    }
+
+    @Override
+    public Completable delete(String id) {
+        return completable(() -> jdbcTemplate.update("DELETE FROM policies WHERE id = ?", id));
+    }
+
+    private Policy findOne(String id) {
+        return jdbcTemplate.query(SELECT + " WHERE id = ?", ROW_MAPPER, id).stream().findFirst().orElse(null);
+    }
+}
@@ -0,0 +1,82 @@
+/**
+ * Copyright (C) 2015 The Gravitee team (http://gravitee.io)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.gravitee.am.repository.jdbc.management;
+
+import io.gravitee.am.common.utils.RandomString;
+import io.gravitee.am.model.Reporter;
+import io.gravitee.am.repository.management.api.ReporterRepository;
+import io.reactivex.Completable;
+import io.reactivex.Maybe;
+import io.reactivex.Single;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * @author GraviteeSource Team
+ */
+@Component
+public class JdbcReporterRepository extends AbstractManagementJdbcRepository implements ReporterRepository {
+
+    private static final String SELECT = "SELECT id, data FROM reporters";
+
+    private static final RowMapper<Reporter> ROW_MAPPER = dataMapper(Reporter.class);
+
+    @Override
+    public Single<List<Reporter>> findAll() {
+        return single(() -> jdbcTemplate.query(SELECT, ROW_MAPPER));
+    }
+
+    @Override
+    public Single<List<Reporter>> findByDomain(String domain) {
+        return single(() -> jdbcTemplate.query(SELECT + " WHERE domain = ?", ROW_MAPPER, domain));
+    }
+
+    @Override
+    public Maybe<Reporter> findById(String id) {
+        return maybe(() -> findOne(id));
+    }
+
+    @Override
+    public Single<Reporter> create(Reporter item) {
+        return single(() -> {
+            Reporter reporter = copy(item);
+            reporter.setId(reporter.getId() == null ? RandomString.generate() : reporter.getId());
+            jdbcTemplate.update("INSERT INTO reporters (id, domain, data) VALUES (?, ?, ?)",
+                    reporter.getId(), reporter.getDomain(), toJson(reporter));
+            return findOne(reporter.getId());
+        });
+    }
+
+    @Override
+    public Single<Reporter> update(Reporter reporter) {
+        return single(() -> {
+            jdbcTemplate.update("UPDATE reporters SET domain = ?, data = ? WHERE id = ?",
+                    reporter.getDomain(), toJson(reporter), reporter.getId());
+            return findOne(reporter.getId());
+        });
+    }
+
+    @Override
+    public Completable delete(String id) {
+        return completable(() -> jdbcTemplate.update("DELETE FROM reporters WHERE id = ?", id));
+    }
+
+    private Reporter findOne(String id) {
+        return jdbcTemplate.query(SELECT + " WHERE id = ?", ROW_MAPPER, id).stream().findFirst().orElse(null);
+    }
+}
@@ -0,0 +1,114 @@
+/**
+ * Copyright (C) 2015 The Gravitee team (http://gravitee.io)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.gravitee.am.repository.jdbc.management;
+
+import io.gravitee.am.common.utils.RandomString;
+import io.gravitee.am.model.common.Page;
+import io.gravitee.am.model.uma.Resource;
+import io.gravitee.am.repository.management.api.ResourceRepository;
+import io.reactivex.Completable;
+import io.reactivex.Maybe;
+import io.reactivex.Single;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * @author GraviteeSource Team
+ */
+@Component
+public class JdbcResourceRepository extends AbstractManagementJdbcRepository implements ResourceRepository {
+
+    private static final String SELECT = "SELECT id, data FROM uma_resource_set WHERE ";
+
+    private static final RowMapper<Resource> ROW_MAPPER = dataMapper(Resource.class);
+
+    @Override
+    public Single<Page<Resource>> findByDomain(String domain, int page, int size) {
+        return single(() -> page(Resource.class, "uma_resource_set", "domain = ?", "updated_at", true, page, size, domain));
+    }
+
+    @Override
+    public Single<Page<Resource>> findByDomainAndClient(String domain, String client, int page, int size) {
+        return single(() -> page(Resource.class, "uma_resource_set", "domain = ? AND client_id = ?", "updated_at", true, page, size, domain, client));
+    }
+
+    @Override
+    public Single<List<Resource>> findByResources(List<String> resources) {
+        if (resources == null || resources.isEmpty()) {
+            return Single.just(new ArrayList<>());
+        }
+        return single(() -> jdbcTemplate.query(SELECT + "id IN (" + placeholders(resources) + ")", ROW_MAPPER, resources.toArray()));
+    }
+
+    @Override
+    public Single<List<Resource>> findByDomainAndClientAndUser(String domain, String client, String userId) {
+        return single(() -> jdbcTemplate.query(SELECT + "domain = ? AND client_id = ? AND user_id = ?", ROW_MAPPER, domain, client, userId));
+    }
+
+    @Override
+    public Single<List<Resource>> findByDomainAndClientAndResources(String domain, String client, List<String> resources) {
+        if (resources == null || resources.isEmpty()) {
+            return Single.just(new ArrayList<>());
+        }
+        return single(() -> jdbcTemplate.query(SELECT + "domain = ? AND client_id = ? AND id IN (" + placeholders(resources) + ")", ROW_MAPPER,
+                args(new Object[]{domain, client}, resources)));
+    }
+
+    @Override
+    public Maybe<Resource> findByDomainAndClientAndUserAndResource(String domain, String client, String userId, String resource) {
+        return maybe(() -> jdbcTemplate.query(SELECT + "domain = ? AND client_id = ? AND user_id = ? AND id = ?", ROW_MAPPER,
+                domain, client, userId, resource).stream().findFirst().orElse(null));
+    }
+
+    @Override
+    public Maybe<Resource> findById(String id) {
+        return maybe(() -> findOne(id));
+    }
+
+    @Override
+    public Single<Resource> create(Resource item) {
+        return single(() -> {
+            Resource resource = copy(item);
+            resource.setId(resource.getId() == null ? RandomString.generate() : resource.getId());
+            jdbcTemplate.update("INSERT INTO uma_resource_set (id, domain, client_id, user_id, updated_at, data) VALUES (?, ?, ?, ?, ?, ?)",
+                    resource.getId(), resource.getDomain(), resource.getClientId(), resource.getUserId(),
+                    toSortTimestamp(resource.getUpdatedAt()), toJson(resource));
+            return findOne(resource.getId());
+        });
+    }
+
+    @Override
+    public Single<Resource> update(Resource resource) {
+        return single(() -> {
+            jdbcTemplate.update("UPDATE uma_resource_set SET domain = ?, client_id = ?, user_id = ?, updated_at = ?, data = ? WHERE id = ?",
+                    resource.getDomain(), resource.getClientId(), resource.getUserId(),
+                    toSortTimestamp(resource.getUpdatedAt()), toJson(resource), resource.getId());
+            return findOne(resource.getId());
+        });
+    }
+
+    @Override
+    public Completable delete(String id) {
+        return completable(() -> jdbcTemplate.update("DELETE FROM uma_resource_set WHERE id = ?", id));
+    }
+
+    private Resource findOne(String id) {
+        return jdbcTemplate.query(SELECT + "id = ?", ROW_MAPPER, id).stream().findFirst().orElse(null);
+    }
+}
@@ -0,0 +1,106 @@
+/**
+ * Copyright (C) 2015 The Gravitee team (http://gravitee.io)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.gravitee.am.repository.jdbc.management;
+
+import io.gravitee.am.common.utils.RandomString;
+import io.gravitee.am.model.ReferenceType;
+import io.gravitee.am.model.Role;
+import io.gravitee.am.repository.management.api.RoleRepository;
+import io.reactivex.Completable;
+import io.reactivex.Flowable;
+import io.reactivex.Maybe;
+import io.reactivex.Single;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.stereotype.Component;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * @author GraviteeSource Team
+ */
+@Component
+public class JdbcRoleRepository extends AbstractManagementJdbcRepository implements RoleRepository {
+
+    private static final String SELECT = "SELECT id, data FROM roles WHERE ";
+
+    private static final RowMapper<Role> ROW_MAPPER = dataMapper(Role.class);
+
+    @Override
+    public Flowable<Role> findAll(ReferenceType referenceType, String referenceId) {
+        return flowable(() -> jdbcTemplate.query(SELECT + "reference_type = ? AND reference_id = ?", ROW_MAPPER, name(referenceType), referenceId));
+    }
+
+    @Override
+    public Single<Set<Role>> findByDomain(String domain) {
+        return findAll(ReferenceType.DOMAIN, domain).collect(HashSet::new, Set::add);
+    }
+
+    @Override
+    public Single<Set<Role>> findByIdIn(List<String> ids) {
+        if (ids == null || ids.isEmpty()) {
+            return Single.just(new HashSet<>());
+        }
+        return single(() -> new HashSet<>(jdbcTemplate.query(SELECT + "id IN (" + placeholders(ids) + ")", ROW_MAPPER, ids.toArray())));
+    }
+
+    @Override
+    public Maybe<Role> findById(ReferenceType referenceType, String referenceId, String role) {
+        return maybe(() -> jdbcTemplate.query(SELECT + "reference_type = ? AND reference_id = ? AND id = ?", ROW_MAPPER,
+                referenceType.name(), referenceId, role).stream().findFirst().orElse(null));
+    }
+
+    @Override
+    public Maybe<Role> findByNameAndAssignableType(ReferenceType referenceType, String referenceId, String name, ReferenceType assignableType) {
+        return maybe(() -> jdbcTemplate.query(SELECT + "reference_type = ? AND reference_id = ? AND name = ? AND assignable_type = ?", ROW_MAPPER,
+                referenceType.name(), referenceId, name, assignableType.name()).stream().findFirst().orElse(null));
+    }
+
+    @Override
+    public Maybe<Role> findById(String id) {
+        return maybe(() -> findOne(id));
+    }
+
+    @Override
+    public Single<Role> create(Role item) {
+        return single(() -> {
+            Role role = copy(item);
+            role.setId(role.getId() == null ? RandomString.generate() : role.getId());
+            jdbcTemplate.update("INSERT INTO roles (id, reference_type, reference_id, name, assignable_type, data) VALUES (?, ?, ?, ?, ?, ?)",
+                    role.getId(), name(role.getReferenceType()), role.getReferenceId(), role.getName(), name(role.getAssignableType()), toJson(role));
+            return findOne(role.getId());
+        });
+    }
+
+    @Override
+    public Single<Role> update(Role role) {
+        return single(() -> {
+            jdbcTemplate.update("UPDATE roles SET reference_type = ?, reference_id = ?, name = ?, assignable_type = ?, data = ? WHERE id = ?",
+                    name(role.getReferenceType()), role.getReferenceId(), role.getName(), name(role.getAssignableType()), toJson(role), role.getId());
+            return findOne(role.getId());
+        });
+    }
+
+    @Override
+    public Completable delete(String id) {
+        return completable(() -> jdbcTemplate.update("DELETE FROM roles WHERE id = ?", id));
+    }
+
+    private Role findOne(String id) {
+        return jdbcTemplate.query(SELECT + "id = ?", ROW_MAPPER, id).stream().findFirst().orElse(null);
+    }
+}
@@ -0,0 +1,93 @@
+/**
+ * Copyright (C) 2015 The Gravitee team (http://gravitee.io)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.gravitee.am.repository.jdbc.management;
+
+import io.gravitee.am.common.utils.RandomString;
+import io.gravitee.am.model.oauth2.Scope;
+import io.gravitee.am.repository.management.api.ScopeRepository;
+import io.reactivex.Completable;
+import io.reactivex.Maybe;
+import io.reactivex.Single;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * @author GraviteeSource Team
+ */
+@Component
+public class JdbcScopeRepository extends AbstractManagementJdbcRepository implements ScopeRepository {
+
+    private static final String SELECT = "SELECT id, data FROM scopes WHERE ";
+
+    private static final RowMapper<Scope> ROW_MAPPER = dataMapper(Scope.class);
+
+    @Override
+    public Single<Set<Scope>> findByDomain(String domain) {
+        return single(() -> new HashSet<>(jdbcTemplate.query(SELECT + "domain = ?", ROW_MAPPER, domain)));
+    }
+
+    @Override
+    public Maybe<Scope> findByDomainAndKey(String domain, String key) {
+        return maybe(() -> jdbcTemplate.query(SELECT + "domain = ? AND scope_key = ?", ROW_MAPPER, domain, key).stream().findFirst().orElse(null));
+    }
+
+    @Override
+    public Single<List<Scope>> findByDomainAndKeys(String domain, List<String> keys) {
+        if (keys == null || keys.isEmpty()) {
+            return Single.just(new ArrayList<>());
+        }
+        return single(() -> jdbcTemplate.query(SELECT + "domain = ? AND scope_key IN (" + placeholders(keys) + ")", ROW_MAPPER, args(new Object[]{domain}, keys)));
+    }
+
+    @Override
+    public Maybe<Scope> findById(String id) {
+        return maybe(() -> findOne(id));
+    }
+
+    @Override
+    public Single<Scope> create(Scope item) {
+        return single(() -> {
+            Scope scope = copy(item);
+            scope.setId(scope.getId() == null ? RandomString.generate() : scope.getId());
+            jdbcTemplate.update("INSERT INTO scopes (id, domain, scope_key, data) VALUES (?, ?, ?, ?)",
+                    scope.getId(), scope.getDomain(), scope.getKey(), toJson(scope));
+            return findOne(scope.getId());
+        });
+    }
+
+    @Override
+    public Single<Scope> update(Scope scope) {
+        return single(() -> {
+            jdbcTemplate.update("UPDATE scopes SET domain = ?, scope_key = ?, data = ? WHERE id = ?",
+                    scope.getDomain(), scope.getKey(), toJson(scope), scope.getId());
+            return findOne(scope.getId());
+        });
+    }
+
+    @Override
+    public Completable delete(String id) {
+        return completable(() -> jdbcTemplate.update("DELETE FROM scopes WHERE id = ?", id));
+    }
+
+    private Scope findOne(String id) {
+        return jdbcTemplate.query(SELECT + "id = ?", ROW_MAPPER, id).stream().findFirst().orElse(null);
+    }
+}
@@ -0,0 +1,81 @@
+/**
+ * Copyright (C) 2015 The Gravitee team (http://gravitee.io)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.gravitee.am.repository.jdbc.management;
+
+import io.gravitee.am.common.utils.RandomString;
+import io.gravitee.am.model.Tag;
+import io.gravitee.am.repository.management.api.TagRepository;
+import io.reactivex.Completable;
+import io.reactivex.Flowable;
+import io.reactivex.Maybe;
+import io.reactivex.Single;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.stereotype.Component;
+
+/**
+ * @author GraviteeSource Team
+ */
+@Component
+public class JdbcTagRepository extends AbstractManagementJdbcRepository implements TagRepository {
+
+    private static final String SELECT = "SELECT id, data FROM tags WHERE ";
+
+    private static final RowMapper<Tag> ROW_MAPPER = dataMapper(Tag.class);
+
+    @Override
+    public Maybe<Tag> findById(String id, String organizationId) {
+        return maybe(() -> jdbcTemplate.query(SELECT + "id = ? AND organization_id = ?", ROW_MAPPER, id, organizationId).stream().findFirst().orElse(null));
+    }
+
+    @Override
+    public Maybe<Tag> findById(String id) {
+        return maybe(() -> findOne(id));
+    }
+
+    @Override
+    public Flowable<Tag> findAll(String organizationId) {
+        return flowable(() -> jdbcTemplate.query(SELECT + "organization_id = ?", ROW_MAPPER, organizationId));
+    }
+
+    @Override
+    public Single<Tag> create(Tag item) {
+        return single(() -> {
+            Tag tag = copy(item);
+            tag.setId(tag.getId() == null ? RandomString.generate() : tag.getId());
+            jdbcTemplate.update("INSERT INTO tags (id, organization_id, data) VALUES (?, ?, ?)",
+                    tag.getId(), tag.getOrganizationId(), toJson(tag));
+            return findOne(tag.getId());
+        });
+    }
+
+    @Override
+    public Single<Tag> update(Tag tag) {
+        return single(() -> {
+            jdbcTemplate.update("UPDATE tags SET organization_id = ?, data = ? WHERE id = ?",
+                    tag.getOrganizationId(), toJson(tag), tag.getId());
+            return findOne(tag.getId());
+        });
+    }
+
+    @Override
+    public Completable delete(String id) {
+        return completable(() -> jdbcTemplate.update("DELETE FROM tags WHERE id = ?", id));
+    }
+
+    private Tag findOne(String id) {
+        return jdbcTemplate.query(SELECT + "id = ?", ROW_MAPPER, id).stream().findFirst().orElse(null);
+    }
+}
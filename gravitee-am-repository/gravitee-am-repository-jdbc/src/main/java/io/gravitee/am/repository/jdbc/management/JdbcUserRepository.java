@@ -0,0 +1,242 @@
+/**
+ * Copyright (C) 2015 The Gravitee team (http://gravitee.io)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.gravitee.am.repository.jdbc.management;
+
+import io.gravitee.am.common.analytics.Field;
+import io.gravitee.am.common.utils.RandomString;
+import io.gravitee.am.model.ReferenceType;
+import io.gravitee.am.model.User;
+import io.gravitee.am.model.analytics.AnalyticsQuery;
+import io.gravitee.am.model.common.Page;
+import io.gravitee.am.repository.management.api.UserRepository;
+import io.reactivex.Completable;
+import io.reactivex.Maybe;
+import io.reactivex.Single;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.stereotype.Component;
+
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * @author GraviteeSource Team
+ */
+@Component
+public class JdbcUserRepository extends AbstractManagementJdbcRepository implements UserRepository {
+
+    private static final String SELECT = "SELECT id, data FROM users WHERE ";
+
+    private static final String COLUMNS = "reference_type, reference_id, username, email, email_claim, external_id, source, enabled, "
+            + "account_non_locked, account_locked_until, logged_at, pre_registration, registration_completed, data";
+
+    private static final RowMapper<User> ROW_MAPPER = dataMapper(User.class);
+
+    @Override
+    public Single<Set<User>> findByDomain(String domain) {
+        return single(() -> new HashSet<>(jdbcTemplate.query(SELECT + "reference_type = ? AND reference_id = ?", ROW_MAPPER, ReferenceType.DOMAIN.name(), domain)));
+    }
+
+    @Override
+    public Single<Page<User>> findAll(ReferenceType referenceType, String referenceId, int page, int size) {
+        return single(() -> page(User.class, "users", "reference_type = ? AND reference_id = ?", "username", false, page, size,
+                referenceType.name(), referenceId));
+    }
+
+    @Override
+    public Single<Page<User>> findByDomain(String domain, int page, int size) {
+        return findAll(ReferenceType.DOMAIN, domain, page, size);
+    }
+
+    @Override
+    public Single<Page<User>> search(ReferenceType referenceType, String referenceId, String query, int page, int size) {
+        // search on the username, '*' is a wildcard
+        if (query.contains("*")) {
+            return single(() -> page(User.class, "users", "reference_type = ? AND reference_id = ? AND LOWER(username) LIKE ?", "username", false, page, size,
+                    referenceType.name(), referenceId, toLikePattern(query.toLowerCase(Locale.ROOT))));
+        }
+        return single(() -> page(User.class, "users", "reference_type = ? AND reference_id = ? AND username = ?", "username", false, page, size,
+                referenceType.name(), referenceId, query));
+    }
+
+    @Override
+    public Single<Page<User>> search(String domain, String query, int page, int size) {
+        return search(ReferenceType.DOMAIN, domain, query, page, size);
+    }
+
+    @Override
+    public Single<List<User>> findByDomainAndEmail(String domain, String email, boolean strict) {
+        if (strict) {
+            return single(() -> jdbcTemplate.query(SELECT + "reference_type = ? AND reference_id = ? AND (email = ? OR email_claim = ?)", ROW_MAPPER,
+                    ReferenceType.DOMAIN.name(), domain, email, email));
+        }
+        String pattern = "%" + toLikePattern(email.toLowerCase(Locale.ROOT));
+        return single(() -> jdbcTemplate.query(SELECT + "reference_type = ? AND reference_id = ? AND (LOWER(email) LIKE ? OR LOWER(email_claim) LIKE ?)", ROW_MAPPER,
+                ReferenceType.DOMAIN.name(), domain, pattern, pattern));
+    }
+
+    @Override
+    public Maybe<User> findByUsernameAndDomain(String domain, String username) {
+        return maybe(() -> findFirst(SELECT + "reference_type = ? AND reference_id = ? AND username = ?", ReferenceType.DOMAIN.name(), domain, username));
+    }
+
+    @Override
+    public Maybe<User> findByUsernameAndSource(ReferenceType referenceType, String referenceId, String username, String source) {
+        return maybe(() -> findFirst(SELECT + "reference_type = ? AND reference_id = ? AND username = ? AND source = ?", referenceType.name(), referenceId, username, source));
+    }
+
+    @Override
+    public Maybe<User> findByDomainAndUsernameAndSource(String domain, String username, String source) {
+        return findByUsernameAndSource(ReferenceType.DOMAIN, domain, username, source);
+    }
+
+    @Override
+    public Maybe<User> findByExternalIdAndSource(ReferenceType referenceType, String referenceId, String externalId, String source) {
+        return maybe(() -> findFirst(SELECT + "reference_type = ? AND reference_id = ? AND external_id = ? AND source = ?", referenceType.name(), referenceId, externalId, source));
+    }
+
+    @Override
+    public Single<List<User>> findByIdIn(List<String> ids) {
+        if (ids == null || ids.isEmpty()) {
+            return Single.just(new ArrayList<>());
+        }
+        return single(() -> jdbcTemplate.query(SELECT + "id IN (" + placeholders(ids) + ")", ROW_MAPPER, ids.toArray()));
+    }
+
+    @Override
+    public Maybe<User> findById(ReferenceType referenceType, String referenceId, String userId) {
+        return maybe(() -> findFirst(SELECT + "reference_type = ? AND reference_id = ? AND id = ?", referenceType.name(), referenceId, userId));
+    }
+
+    @Override
+    public Maybe<User> findById(String id) {
+        return maybe(() -> findFirst(SELECT + "id = ?", id));
+    }
+
+    @Override
+    public Single<Long> countByDomain(String domain) {
+        return single(() -> jdbcTemplate.queryForObject("SELECT COUNT(*) FROM users WHERE reference_type = ? AND reference_id = ?", Long.class,
+                ReferenceType.DOMAIN.name(), domain));
+    }
+
+    @Override
+    public Single<Map<Object, Object>> statistics(AnalyticsQuery query) {
+        switch (query.getField()) {
+            case Field.USER_STATUS:
+                return single(() -> usersStatusRepartition(query));
+            case Field.USER_REGISTRATION:
+                return single(() -> registrationsStatusRepartition(query));
+        }
+        return Single.just(Collections.emptyMap());
+    }
+
+    @Override
+    public Single<User> create(User item) {
+        return single(() -> {
+            User user = copy(item);
+            user.setId(user.getId() == null ? RandomString.generate() : user.getId());
+            jdbcTemplate.update("INSERT INTO users (id, " + COLUMNS + ") VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)",
+                    args(new Object[]{user.getId()}, columns(user)));
+            return findFirst(SELECT + "id = ?", user.getId());
+        });
+    }
+
+    @Override
+    public Single<User> update(User user) {
+        return single(() -> {
+            jdbcTemplate.update("UPDATE users SET " + COLUMNS.replace(",", " = ?,") + " = ? WHERE id = ?",
+                    args(columns(user).toArray(), Collections.singletonList(user.getId())));
+            return findFirst(SELECT + "id = ?", user.getId());
+        });
+    }
+
+    @Override
+    public Completable delete(String id) {
+        return completable(() -> jdbcTemplate.update("DELETE FROM users WHERE id = ?", id));
+    }
+
+    private User findFirst(String sql, Object... args) {
+        return jdbcTemplate.query(sql + " LIMIT 1", ROW_MAPPER, args).stream().findFirst().orElse(null);
+    }
+
+    private Map<Object, Object> usersStatusRepartition(AnalyticsQuery query) {
+        Timestamp now = now();
+        Timestamp inactiveSince = new Timestamp(Instant.now().minus(90, ChronoUnit.DAYS).toEpochMilli());
+        return jdbcTemplate.query("SELECT COUNT(*) AS total, "
+                        + "SUM(CASE WHEN enabled = FALSE THEN 1 ELSE 0 END) AS disabled, "
+                        + "SUM(CASE WHEN account_non_locked = FALSE AND account_locked_until >= ? THEN 1 ELSE 0 END) AS locked, "
+                        + "SUM(CASE WHEN logged_at <= ? THEN 1 ELSE 0 END) AS inactive "
+                        + "FROM users WHERE reference_type = ? AND reference_id = ?",
+                rs -> {
+                    if (!rs.next() || rs.getLong("total") == 0) {
+                        return Collections.emptyMap();
+                    }
+                    long disabled = rs.getLong("disabled");
+                    long locked = rs.getLong("locked");
+                    long inactive = rs.getLong("inactive");
+                    Map<Object, Object> users = new HashMap<>();
+                    users.put("active", rs.getLong("total") - (disabled + locked + inactive));
+                    users.put("disabled", disabled);
+                    users.put("locked", locked);
+                    users.put("inactive", inactive);
+                    return users;
+                }, now, inactiveSince, ReferenceType.DOMAIN.name(), query.getDomain());
+    }
+
+    private Map<Object, Object> registrationsStatusRepartition(AnalyticsQuery query) {
+        return jdbcTemplate.query("SELECT COUNT(*) AS total, "
+                        + "SUM(CASE WHEN registration_completed = TRUE THEN 1 ELSE 0 END) AS completed "
+                        + "FROM users WHERE reference_type = ? AND reference_id = ? AND pre_registration = TRUE",
+                rs -> {
+                    if (!rs.next() || rs.getLong("total") == 0) {
+                        return Collections.emptyMap();
+                    }
+                    Map<Object, Object> registrations = new HashMap<>();
+                    registrations.put("total", rs.getLong("total"));
+                    registrations.put("completed", rs.getLong("completed"));
+                    return registrations;
+                }, ReferenceType.DOMAIN.name(), query.getDomain());
+    }
+
+    private static List<Object> columns(User user) {
+        Object emailClaim = user.getAdditionalInformation() == null ? null : user.getAdditionalInformation().get("email");
+        List<Object> columns = new ArrayList<>();
+        columns.add(name(user.getReferenceType()));
+        columns.add(user.getReferenceId());
+        // sort column
+        columns.add(user.getUsername() == null ? "" : user.getUsername());
+        columns.add(user.getEmail());
+        columns.add(emailClaim instanceof String ? emailClaim : null);
+        columns.add(user.getExternalId());
+        columns.add(user.getSource());
+        columns.add(user.isEnabled());
+        columns.add(user.isAccountNonLocked());
+        columns.add(toTimestamp(user.getAccountLockedUntil()));
+        columns.add(toTimestamp(user.getLoggedAt()));
+        columns.add(user.isPreRegistration());
+        columns.add(user.isRegistrationCompleted());
+        columns.add(toJson(user));
+        return columns;
+    }
+}
@@ -0,0 +1,36 @@
+/**
+ * Copyright (C) 2015 The Gravitee team (http://gravitee.io)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.gravitee.am.repository.jdbc.oauth2;
+
+import io.gravitee.am.repository.jdbc.common.AbstractJdbcRepository;
+import io.reactivex.Scheduler;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * @author GraviteeSource Team
+ */
+public abstract class AbstractOAuth2JdbcRepository extends AbstractJdbcRepository {
+
+    @Autowired
+    protected void init(@Qualifier("oauth2JdbcTemplate") JdbcTemplate jdbcTemplate,
+                        @Qualifier("oauth2TransactionTemplate") TransactionTemplate transactionTemplate,
+                        @Qualifier("oauth2JdbcScheduler") Scheduler scheduler) {
+        super.init(jdbcTemplate, transactionTemplate, scheduler);
+    }
+}
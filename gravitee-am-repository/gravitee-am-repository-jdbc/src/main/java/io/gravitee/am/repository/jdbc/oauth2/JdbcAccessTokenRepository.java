@@ -0,0 +1,142 @@
+/**
+ * Copyright (C) 2015 The Gravitee team (http://gravitee.io)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.gravitee.am.repository.jdbc.oauth2;
+
+import io.gravitee.am.common.utils.RandomString;
+import io.gravitee.am.repository.oauth2.api.AccessTokenRepository;
+import io.gravitee.am.repository.oauth2.model.AccessToken;
+import io.reactivex.Completable;
+import io.reactivex.Maybe;
+import io.reactivex.Observable;
+import io.reactivex.Single;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * @author GraviteeSource Team
+ */
+@Component
+public class JdbcAccessTokenRepository extends AbstractOAuth2JdbcRepository implements AccessTokenRepository {
+
+    private static final String COLUMNS = "id, token, domain, client, subject, refresh_token, authorization_code, created_at, expire_at";
+    private static final String SELECT = "SELECT " + COLUMNS + " FROM access_tokens WHERE ";
+    private static final String NOT_EXPIRED = " AND (expire_at IS NULL OR expire_at > ?)";
+    private static final String INSERT = "INSERT INTO access_tokens (" + COLUMNS + ") VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?)";
+
+    private static final RowMapper<AccessToken> ROW_MAPPER = (rs, rowNum) -> {
+        AccessToken accessToken = new AccessToken();
+        accessToken.setId(rs.getString("id"));
+        accessToken.setToken(rs.getString("token"));
+        accessToken.setDomain(rs.getString("domain"));
+        accessToken.setClient(rs.getString("client"));
+        accessToken.setSubject(rs.getString("subject"));
+        accessToken.setRefreshToken(rs.getString("refresh_token"));
+        accessToken.setAuthorizationCode(rs.getString("authorization_code"));
+        accessToken.setCreatedAt(toDate(rs.getTimestamp("created_at")));
+        accessToken.setExpireAt(toDate(rs.getTimestamp("expire_at")));
+        return accessToken;
+    };
+
+    @Override
+    public Maybe<AccessToken> findByToken(String token) {
+        return maybe(() -> jdbcTemplate.query(SELECT + "token = ?" + NOT_EXPIRED, ROW_MAPPER, token, now())
+                .stream().findFirst().orElse(null));
+    }
+
+    @Override
+    public Single<AccessToken> create(AccessToken accessToken) {
+        return single(() -> {
+            if (accessToken.getId() == null) {
+                accessToken.setId(RandomString.generate());
+            }
+            jdbcTemplate.update(INSERT, values(accessToken));
+            return accessToken;
+        });
+    }
+
+    @Override
+    public Completable bulkWrite(List<AccessToken> accessTokens) {
+        // delete then insert within the same transaction, a batch replayed after a failure is written only once
+        return completable(() -> transactionTemplate.executeWithoutResult(status -> {
+            jdbcTemplate.batchUpdate("DELETE FROM access_tokens WHERE id = ?",
+                    accessTokens.stream().map(accessToken -> new Object[]{accessToken.getId()}).collect(Collectors.toList()));
+            jdbcTemplate.batchUpdate(INSERT,
+                    accessTokens.stream().map(JdbcAccessTokenRepository::values).collect(Collectors.toList()));
+        }));
+    }
+
+    @Override
+    public Completable delete(String token) {
+        return completable(() -> jdbcTemplate.update("DELETE FROM access_tokens WHERE token = ?", token));
+    }
+
+    @Override
+    public Observable<AccessToken> findByClientIdAndSubject(String clientId, String subject) {
+        return observable(() -> jdbcTemplate.query(SELECT + "client = ? AND subject = ?" + NOT_EXPIRED, ROW_MAPPER, clientId, subject, now()));
+    }
+
+    @Override
+    public Observable<AccessToken> findByClientId(String clientId) {
+        return observable(() -> jdbcTemplate.query(SELECT + "client = ?" + NOT_EXPIRED, ROW_MAPPER, clientId, now()));
+    }
+
+    @Override
+    public Observable<AccessToken> findByAuthorizationCode(String authorizationCode) {
+        return observable(() -> jdbcTemplate.query(SELECT + "authorization_code = ?" + NOT_EXPIRED, ROW_MAPPER, authorizationCode, now()));
+    }
+
+    @Override
+    public Single<Long> countByClientId(String clientId) {
+        return single(() -> jdbcTemplate.queryForObject("SELECT COUNT(*) FROM access_tokens WHERE client = ?" + NOT_EXPIRED, Long.class, clientId, now()));
+    }
+
+    @Override
+    public Completable deleteByUserId(String userId) {
+        return completable(() -> jdbcTemplate.update("DELETE FROM access_tokens WHERE subject = ?", userId));
+    }
+
+    @Override
+    public Completable deleteByDomainIdClientIdAndUserId(String domainId, String clientId, String userId) {
+        return completable(() -> jdbcTemplate.update("DELETE FROM access_tokens WHERE subject = ? AND domain = ? AND client = ?", userId, domainId, clientId));
+    }
+
+    @Override
+    public Completable deleteByDomainIdAndUserId(String domainId, String userId) {
+        return completable(() -> jdbcTemplate.update("DELETE FROM access_tokens WHERE subject = ? AND domain = ?", userId, domainId));
+    }
+
+    @Override
+    public Completable deleteByAuthorizationCode(String authorizationCode) {
+        return completable(() -> jdbcTemplate.update("DELETE FROM access_tokens WHERE authorization_code = ?", authorizationCode));
+    }
+
+    private static Object[] values(AccessToken accessToken) {
+        return new Object[]{
+                accessToken.getId(),
+                accessToken.getToken(),
+                accessToken.getDomain(),
+                accessToken.getClient(),
+                accessToken.getSubject(),
+                accessToken.getRefreshToken(),
+                accessToken.getAuthorizationCode(),
+                toTimestamp(accessToken.getCreatedAt()),
+                toTimestamp(accessToken.getExpireAt())
+        };
+    }
+}
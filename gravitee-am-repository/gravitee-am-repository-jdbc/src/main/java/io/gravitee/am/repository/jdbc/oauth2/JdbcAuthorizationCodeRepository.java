@@ -0,0 +1,154 @@
+/**
+ * Copyright (C) 2015 The Gravitee team (http://gravitee.io)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.gravitee.am.repository.jdbc.oauth2;
+
+import io.gravitee.am.common.utils.RandomString;
+import io.gravitee.am.repository.oauth2.api.AuthorizationCodeRepository;
+import io.gravitee.am.repository.oauth2.model.AuthorizationCode;
+import io.gravitee.common.util.LinkedMultiValueMap;
+import io.gravitee.common.util.MultiValueMap;
+import io.reactivex.Maybe;
+import io.reactivex.Single;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.stereotype.Component;
+
+import java.io.UnsupportedEncodingException;
+import java.net.URLDecoder;
+import java.net.URLEncoder;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * @author GraviteeSource Team
+ */
+@Component
+public class JdbcAuthorizationCodeRepository extends AbstractOAuth2JdbcRepository implements AuthorizationCodeRepository {
+
+    private static final String COLUMNS = "id, transaction_id, code, client_id, subject, redirect_uri, scopes, request_parameters, created_at, expire_at";
+    private static final String SELECT = "SELECT " + COLUMNS + " FROM authorization_codes WHERE ";
+
+    private static final RowMapper<AuthorizationCode> ROW_MAPPER = (rs, rowNum) -> {
+        AuthorizationCode authorizationCode = new AuthorizationCode();
+        authorizationCode.setId(rs.getString("id"));
+        authorizationCode.setTransactionId(rs.getString("transaction_id"));
+        authorizationCode.setCode(rs.getString("code"));
+        authorizationCode.setClientId(rs.getString("client_id"));
+        authorizationCode.setSubject(rs.getString("subject"));
+        authorizationCode.setRedirectUri(rs.getString("redirect_uri"));
+        String scopes = rs.getString("scopes");
+        if (scopes != null) {
+            authorizationCode.setScopes(scopes.isEmpty() ? new HashSet<>() : new HashSet<>(Arrays.asList(scopes.split(" "))));
+        }
+        authorizationCode.setRequestParameters(decode(rs.getString("request_parameters")));
+        authorizationCode.setCreatedAt(toDate(rs.getTimestamp("created_at")));
+        authorizationCode.setExpireAt(toDate(rs.getTimestamp("expire_at")));
+        return authorizationCode;
+    };
+
+    @Override
+    public Single<AuthorizationCode> create(AuthorizationCode authorizationCode) {
+        return single(() -> {
+            if (authorizationCode.getId() == null) {
+                authorizationCode.setId(RandomString.generate());
+            }
+            jdbcTemplate.update("INSERT INTO authorization_codes (" + COLUMNS + ") VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?)",
+                    authorizationCode.getId(),
+                    authorizationCode.getTransactionId(),
+                    authorizationCode.getCode(),
+                    authorizationCode.getClientId(),
+                    authorizationCode.getSubject(),
+                    authorizationCode.getRedirectUri(),
+                    // scope tokens never contain spaces (RFC 6749 section 3.3)
+                    authorizationCode.getScopes() == null ? null : String.join(" ", authorizationCode.getScopes()),
+                    encode(authorizationCode.getRequestParameters()),
+                    toTimestamp(authorizationCode.getCreatedAt()),
+                    toTimestamp(authorizationCode.getExpireAt()));
+            return authorizationCode;
+        });
+    }
+
+    @Override
+    public Maybe<AuthorizationCode> delete(String id) {
+        return maybe(() -> remove(jdbcTemplate.query(SELECT + "id = ?", ROW_MAPPER, id)));
+    }
+
+    @Override
+    public Maybe<AuthorizationCode> findByCode(String code) {
+        return maybe(() -> jdbcTemplate.query(SELECT + "code = ? AND (expire_at IS NULL OR expire_at > ?)", ROW_MAPPER, code, now())
+                .stream().findFirst().orElse(null));
+    }
+
+    @Override
+    public Maybe<AuthorizationCode> findAndRemoveByCodeAndClientId(String code, String clientId) {
+        return maybe(() -> remove(jdbcTemplate.query(SELECT + "code = ? AND client_id = ? AND (expire_at IS NULL OR expire_at > ?)", ROW_MAPPER, code, clientId, now())));
+    }
+
+    private AuthorizationCode remove(List<AuthorizationCode> authorizationCodes) {
+        if (authorizationCodes.isEmpty()) {
+            return null;
+        }
+        AuthorizationCode authorizationCode = authorizationCodes.get(0);
+        // only the caller actually deleting the row gets the code back
+        return jdbcTemplate.update("DELETE FROM authorization_codes WHERE id = ?", authorizationCode.getId()) == 0 ? null : authorizationCode;
+    }
+
+    private static String encode(MultiValueMap<String, String> parameters) {
+        if (parameters == null) {
+            return null;
+        }
+        StringBuilder builder = new StringBuilder();
+        try {
+            for (Map.Entry<String, List<String>> parameter : parameters.entrySet()) {
+                for (String value : parameter.getValue()) {
+                    if (builder.length() > 0) {
+                        builder.append('&');
+                    }
+                    builder.append(URLEncoder.encode(parameter.getKey(), StandardCharsets.UTF_8.name()));
+                    if (value != null) {
+                        builder.append('=').append(URLEncoder.encode(value, StandardCharsets.UTF_8.name()));
+                    }
+                }
+            }
+        } catch (UnsupportedEncodingException e) {
+            throw new IllegalStateException(e);
+        }
+        return builder.toString();
+    }
+
+    private static MultiValueMap<String, String> decode(String parameters) {
+        if (parameters == null) {
+            return null;
+        }
+        MultiValueMap<String, String> requestParameters = new LinkedMultiValueMap<>();
+        try {
+            for (String parameter : parameters.split("&")) {
+                if (parameter.isEmpty()) {
+                    continue;
+                }
+                int idx = parameter.indexOf('=');
+                String key = URLDecoder.decode(idx < 0 ? parameter : parameter.substring(0, idx), StandardCharsets.UTF_8.name());
+                String value = idx < 0 ? null : URLDecoder.decode(parameter.substring(idx + 1), StandardCharsets.UTF_8.name());
+                requestParameters.add(key, value);
+            }
+        } catch (UnsupportedEncodingException e) {
+            throw new IllegalStateException(e);
+        }
+        return requestParameters;
+    }
+}
@@ -0,0 +1,116 @@
+/**
+ * Copyright (C) 2015 The Gravitee team (http://gravitee.io)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.gravitee.am.repository.jdbc.oauth2;
+
+import io.gravitee.am.common.utils.RandomString;
+import io.gravitee.am.repository.oauth2.api.RefreshTokenRepository;
+import io.gravitee.am.repository.oauth2.model.RefreshToken;
+import io.reactivex.Completable;
+import io.reactivex.Maybe;
+import io.reactivex.Single;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * @author GraviteeSource Team
+ */
+@Component
+public class JdbcRefreshTokenRepository extends AbstractOAuth2JdbcRepository implements RefreshTokenRepository {
+
+    private static final String COLUMNS = "id, token, domain, client, subject, created_at, expire_at";
+    private static final String INSERT = "INSERT INTO refresh_tokens (" + COLUMNS + ") VALUES (?, ?, ?, ?, ?, ?, ?)";
+
+    private static final RowMapper<RefreshToken> ROW_MAPPER = (rs, rowNum) -> {
+        RefreshToken refreshToken = new RefreshToken();
+        refreshToken.setId(rs.getString("id"));
+        refreshToken.setToken(rs.getString("token"));
+        refreshToken.setDomain(rs.getString("domain"));
+        refreshToken.setClient(rs.getString("client"));
+        refreshToken.setSubject(rs.getString("subject"));
+        refreshToken.setCreatedAt(toDate(rs.getTimestamp("created_at")));
+        refreshToken.setExpireAt(toDate(rs.getTimestamp("expire_at")));
+        return refreshToken;
+    };
+
+    @Override
+    public Maybe<RefreshToken> findByToken(String token) {
+        return maybe(() -> jdbcTemplate.query("SELECT " + COLUMNS + " FROM refresh_tokens WHERE token = ? AND (expire_at IS NULL OR expire_at > ?)",
+                ROW_MAPPER, token, now()).stream().findFirst().orElse(null));
+    }
+
+    @Override
+    public Single<RefreshToken> create(RefreshToken refreshToken) {
+        return single(() -> {
+            if (refreshToken.getId() == null) {
+                refreshToken.setId(RandomString.generate());
+            }
+            jdbcTemplate.update(INSERT, values(refreshToken));
+            return refreshToken;
+        });
+    }
+
+    @Override
+    public Completable bulkWrite(List<RefreshToken> refreshTokens) {
+        // delete then insert within the same transaction, a batch replayed after a failure is written only once
+        return completable(() -> transactionTemplate.executeWithoutResult(status -> {
+            jdbcTemplate.batchUpdate("DELETE FROM refresh_tokens WHERE id = ?",
+                    refreshTokens.stream().map(refreshToken -> new Object[]{refreshToken.getId()}).collect(Collectors.toList()));
+            jdbcTemplate.batchUpdate(INSERT,
+                    refreshTokens.stream().map(JdbcRefreshTokenRepository::values).collect(Collectors.toList()));
+        }));
+    }
+
+    @Override
+    public Completable delete(String token) {
+        return completable(() -> jdbcTemplate.update("DELETE FROM refresh_tokens WHERE token = ?", token));
+    }
+
+    @Override
+    public Completable bulkDelete(List<String> tokens) {
+        return completable(() -> jdbcTemplate.batchUpdate("DELETE FROM refresh_tokens WHERE token = ?",
+                tokens.stream().map(token -> new Object[]{token}).collect(Collectors.toList())));
+    }
+
+    @Override
+    public Completable deleteByUserId(String userId) {
+        return completable(() -> jdbcTemplate.update("DELETE FROM refresh_tokens WHERE subject = ?", userId));
+    }
+
+    @Override
+    public Completable deleteByDomainIdClientIdAndUserId(String domainId, String clientId, String userId) {
+        return completable(() -> jdbcTemplate.update("DELETE FROM refresh_tokens WHERE subject = ? AND domain = ? AND client = ?", userId, domainId, clientId));
+    }
+
+    @Override
+    public Completable deleteByDomainIdAndUserId(String domainId, String userId) {
+        return completable(() -> jdbcTemplate.update("DELETE FROM refresh_tokens WHERE subject = ? AND domain = ?", userId, domainId));
+    }
+
+    private static Object[] values(RefreshToken refreshToken) {
+        return new Object[]{
+                refreshToken.getId(),
+                refreshToken.getToken(),
+                refreshToken.getDomain(),
+                refreshToken.getClient(),
+                refreshToken.getSubject(),
+                toTimestamp(refreshToken.getCreatedAt()),
+                toTimestamp(refreshToken.getExpireAt())
+        };
+    }
+}
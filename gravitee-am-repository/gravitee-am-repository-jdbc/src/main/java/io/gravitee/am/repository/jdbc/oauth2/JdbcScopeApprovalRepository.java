@@ -0,0 +1,170 @@
+/**
+ * Copyright (C) 2015 The Gravitee team (http://gravitee.io)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.gravitee.am.repository.jdbc.oauth2;
+
+import io.gravitee.am.common.utils.RandomString;
+import io.gravitee.am.model.oauth2.ScopeApproval;
+import io.gravitee.am.repository.oauth2.api.ScopeApprovalRepository;
+import io.reactivex.Completable;
+import io.reactivex.Maybe;
+import io.reactivex.Single;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.stereotype.Component;
+
+import java.util.Date;
+import java.util.HashSet;
+import java.util.Set;
+
+/**
+ * @author GraviteeSource Team
+ */
+@Component
+public class JdbcScopeApprovalRepository extends AbstractOAuth2JdbcRepository implements ScopeApprovalRepository {
+
+    private static final String COLUMNS = "id, transaction_id, domain, user_id, client_id, scope, status, expires_at, created_at, updated_at";
+    private static final String SELECT = "SELECT " + COLUMNS + " FROM scope_approvals WHERE ";
+
+    private static final RowMapper<ScopeApproval> ROW_MAPPER = (rs, rowNum) -> {
+        ScopeApproval scopeApproval = new ScopeApproval();
+        scopeApproval.setId(rs.getString("id"));
+        scopeApproval.setTransactionId(rs.getString("transaction_id"));
+        scopeApproval.setDomain(rs.getString("domain"));
+        scopeApproval.setUserId(rs.getString("user_id"));
+        scopeApproval.setClientId(rs.getString("client_id"));
+        scopeApproval.setScope(rs.getString("scope"));
+        String status = rs.getString("status");
+        scopeApproval.setStatus(status == null ? null : ScopeApproval.ApprovalStatus.valueOf(status));
+        scopeApproval.setExpiresAt(toDate(rs.getTimestamp("expires_at")));
+        scopeApproval.setCreatedAt(toDate(rs.getTimestamp("created_at")));
+        scopeApproval.setUpdatedAt(toDate(rs.getTimestamp("updated_at")));
+        return scopeApproval;
+    };
+
+    @Override
+    public Single<Set<ScopeApproval>> findByDomainAndUserAndClient(String domain, String userId, String clientId) {
+        return single(() -> new HashSet<>(jdbcTemplate.query(SELECT + "domain = ? AND user_id = ? AND client_id = ?", ROW_MAPPER, domain, userId, clientId)));
+    }
+
+    @Override
+    public Single<Set<ScopeApproval>> findByDomainAndUser(String domain, String user) {
+        return single(() -> new HashSet<>(jdbcTemplate.query(SELECT + "domain = ? AND user_id = ?", ROW_MAPPER, domain, user)));
+    }
+
+    @Override
+    public Maybe<ScopeApproval> findById(String id) {
+        return maybe(() -> findOne(id));
+    }
+
+    @Override
+    public Single<ScopeApproval> create(ScopeApproval scopeApproval) {
+        return single(() -> {
+            if (scopeApproval.getId() == null) {
+                scopeApproval.setId(RandomString.generate());
+            }
+            insert(scopeApproval);
+            return scopeApproval;
+        });
+    }
+
+    @Override
+    public Single<ScopeApproval> update(ScopeApproval scopeApproval) {
+        return single(() -> {
+            jdbcTemplate.update("UPDATE scope_approvals SET transaction_id = ?, domain = ?, user_id = ?, client_id = ?, scope = ?, status = ?, expires_at = ?, created_at = ?, updated_at = ? WHERE id = ?",
+                    scopeApproval.getTransactionId(),
+                    scopeApproval.getDomain(),
+                    scopeApproval.getUserId(),
+                    scopeApproval.getClientId(),
+                    scopeApproval.getScope(),
+                    scopeApproval.getStatus() == null ? null : scopeApproval.getStatus().name(),
+                    toTimestamp(scopeApproval.getExpiresAt()),
+                    toTimestamp(scopeApproval.getCreatedAt()),
+                    toTimestamp(scopeApproval.getUpdatedAt()),
+                    scopeApproval.getId());
+            return findOne(scopeApproval.getId());
+        });
+    }
+
+    @Override
+    public Single<ScopeApproval> upsert(ScopeApproval scopeApproval) {
+        return single(() -> {
+            if (updateByKey(scopeApproval) == 0) {
+                scopeApproval.setId(scopeApproval.getId() == null ? RandomString.generate() : scopeApproval.getId());
+                scopeApproval.setCreatedAt(new Date());
+                scopeApproval.setUpdatedAt(scopeApproval.getCreatedAt());
+                try {
+                    insert(scopeApproval);
+                } catch (DuplicateKeyException ex) {
+                    // approval concurrently created by another request
+                    updateByKey(scopeApproval);
+                }
+            }
+            return jdbcTemplate.query(SELECT + "domain = ? AND user_id = ? AND client_id = ? AND scope = ?", ROW_MAPPER,
+                    scopeApproval.getDomain(), scopeApproval.getUserId(), scopeApproval.getClientId(), scopeApproval.getScope())
+                    .get(0);
+        });
+    }
+
+    @Override
+    public Completable deleteByDomainAndScopeKey(String domain, String scope) {
+        return completable(() -> jdbcTemplate.update("DELETE FROM scope_approvals WHERE domain = ? AND scope = ?", domain, scope));
+    }
+
+    @Override
+    public Completable delete(String id) {
+        return completable(() -> jdbcTemplate.update("DELETE FROM scope_approvals WHERE id = ?", id));
+    }
+
+    @Override
+    public Completable deleteByDomainAndUserAndClient(String domain, String user, String client) {
+        return completable(() -> jdbcTemplate.update("DELETE FROM scope_approvals WHERE domain = ? AND user_id = ? AND client_id = ?", domain, user, client));
+    }
+
+    @Override
+    public Completable deleteByDomainAndUser(String domain, String user) {
+        return completable(() -> jdbcTemplate.update("DELETE FROM scope_approvals WHERE domain = ? AND user_id = ?", domain, user));
+    }
+
+    private ScopeApproval findOne(String id) {
+        return jdbcTemplate.query(SELECT + "id = ?", ROW_MAPPER, id).stream().findFirst().orElse(null);
+    }
+
+    private void insert(ScopeApproval scopeApproval) {
+        jdbcTemplate.update("INSERT INTO scope_approvals (" + COLUMNS + ") VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?)",
+                scopeApproval.getId(),
+                scopeApproval.getTransactionId(),
+                scopeApproval.getDomain(),
+                scopeApproval.getUserId(),
+                scopeApproval.getClientId(),
+                scopeApproval.getScope(),
+                scopeApproval.getStatus() == null ? null : scopeApproval.getStatus().name(),
+                toTimestamp(scopeApproval.getExpiresAt()),
+                toTimestamp(scopeApproval.getCreatedAt()),
+                toTimestamp(scopeApproval.getUpdatedAt()));
+    }
+
+    private int updateByKey(ScopeApproval scopeApproval) {
+        return jdbcTemplate.update("UPDATE scope_approvals SET transaction_id = ?, status = ?, expires_at = ?, updated_at = ? WHERE domain = ? AND user_id = ? AND client_id = ? AND scope = ?",
+                scopeApproval.getTransactionId(),
+                scopeApproval.getStatus() == null ? null : scopeApproval.getStatus().name(),
+                toTimestamp(scopeApproval.getExpiresAt()),
+                toTimestamp(new Date()),
+                scopeApproval.getDomain(),
+                scopeApproval.getUserId(),
+                scopeApproval.getClientId(),
+                scopeApproval.getScope());
+    }
+}
@@ -0,0 +1,106 @@
+/**
+ * Copyright (C) 2015 The Gravitee team (http://gravitee.io)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.gravitee.am.repository.jdbc.oauth2;
+
+import io.gravitee.am.repository.Scope;
+import io.gravitee.am.repository.jdbc.common.ExpiredRowsPurger;
+import io.gravitee.am.repository.jdbc.common.JdbcFactory;
+import io.reactivex.Scheduler;
+import io.reactivex.schedulers.Schedulers;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.ComponentScan;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.init.DataSourceInitializer;
+import org.springframework.jdbc.datasource.init.ResourceDatabasePopulator;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * @author GraviteeSource Team
+ */
+@Configuration
+@ComponentScan({
+        "io.gravitee.am.repository.jdbc.oauth2",
+        "io.gravitee.am.repository.jdbc.oidc",
+})
+public class OAuth2RepositoryConfiguration {
+
+    @Autowired
+    private Environment environment;
+
+    @Bean(name = "oauth2DataSource")
+    public static JdbcFactory jdbcFactory() {
+        return new JdbcFactory(Scope.OAUTH2.getName());
+    }
+
+    @Bean(name = "oauth2DataSourceInitializer")
+    public DataSourceInitializer dataSourceInitializer(@Qualifier("oauth2DataSource") DataSource dataSource) {
+        DataSourceInitializer initializer = new DataSourceInitializer();
+        initializer.setDataSource(dataSource);
+        initializer.setDatabasePopulator(new ResourceDatabasePopulator(new ClassPathResource("schema/oauth2.sql")));
+        initializer.setEnabled(environment.getProperty("oauth2.jdbc.schema.init", Boolean.class, true));
+        return initializer;
+    }
+
+    @Bean(name = "oauth2JdbcTemplate")
+    public JdbcTemplate jdbcTemplate(@Qualifier("oauth2DataSource") DataSource dataSource) {
+        return new JdbcTemplate(dataSource);
+    }
+
+    @Bean(name = "oauth2TransactionTemplate")
+    public TransactionTemplate transactionTemplate(@Qualifier("oauth2DataSource") DataSource dataSource) {
+        return new TransactionTemplate(new DataSourceTransactionManager(dataSource));
+    }
+
+    @Bean(name = "oauth2JdbcExecutor", destroyMethod = "shutdown")
+    public ExecutorService jdbcExecutor() {
+        // no more threads than connections, extra work waits in the queue rather than for a connection
+        AtomicInteger counter = new AtomicInteger();
+        return Executors.newFixedThreadPool(environment.getProperty("oauth2.jdbc.pool.maxSize", Integer.class, 10), r -> {
+            Thread thread = new Thread(r, "gio.am-jdbc-oauth2-" + counter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    @Bean(name = "oauth2JdbcScheduler")
+    public Scheduler jdbcScheduler(@Qualifier("oauth2JdbcExecutor") ExecutorService jdbcExecutor) {
+        return Schedulers.from(jdbcExecutor);
+    }
+
+    @Bean(name = "oauth2ExpiredRowsPurger")
+    public ExpiredRowsPurger expiredRowsPurger(@Qualifier("oauth2JdbcTemplate") JdbcTemplate jdbcTemplate) {
+        Map<String, String> tables = new LinkedHashMap<>();
+        tables.put("access_tokens", "expire_at");
+        tables.put("refresh_tokens", "expire_at");
+        tables.put("authorization_codes", "expire_at");
+        tables.put("scope_approvals", "expires_at");
+        tables.put("request_objects", "expire_at");
+        return new ExpiredRowsPurger(jdbcTemplate, tables, environment.getProperty("oauth2.jdbc.purgeInterval", Long.class, 60L));
+    }
+}
@@ -0,0 +1,74 @@
+/**
+ * Copyright (C) 2015 The Gravitee team (http://gravitee.io)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.gravitee.am.repository.jdbc.oidc;
+
+import io.gravitee.am.common.utils.RandomString;
+import io.gravitee.am.repository.jdbc.oauth2.AbstractOAuth2JdbcRepository;
+import io.gravitee.am.repository.oidc.api.RequestObjectRepository;
+import io.gravitee.am.repository.oidc.model.RequestObject;
+import io.reactivex.Completable;
+import io.reactivex.Maybe;
+import io.reactivex.Single;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.stereotype.Component;
+
+/**
+ * @author GraviteeSource Team
+ */
+@Component
+public class JdbcRequestObjectRepository extends AbstractOAuth2JdbcRepository implements RequestObjectRepository {
+
+    private static final String COLUMNS = "id, domain, client, payload, created_at, expire_at";
+
+    private static final RowMapper<RequestObject> ROW_MAPPER = (rs, rowNum) -> {
+        RequestObject requestObject = new RequestObject();
+        requestObject.setId(rs.getString("id"));
+        requestObject.setDomain(rs.getString("domain"));
+        requestObject.setClient(rs.getString("client"));
+        requestObject.setPayload(rs.getString("payload"));
+        requestObject.setCreatedAt(toDate(rs.getTimestamp("created_at")));
+        requestObject.setExpireAt(toDate(rs.getTimestamp("expire_at")));
+        return requestObject;
+    };
+
+    @Override
+    public Maybe<RequestObject> findById(String id) {
+        return maybe(() -> jdbcTemplate.query("SELECT " + COLUMNS + " FROM request_objects WHERE id = ? AND (expire_at IS NULL OR expire_at > ?)",
+                ROW_MAPPER, id, now()).stream().findFirst().orElse(null));
+    }
+
+    @Override
+    public Single<RequestObject> create(RequestObject requestObject) {
+        return single(() -> {
+            if (requestObject.getId() == null) {
+                requestObject.setId(RandomString.generate());
+            }
+            jdbcTemplate.update("INSERT INTO request_objects (" + COLUMNS + ") VALUES (?, ?, ?, ?, ?, ?)",
+                    requestObject.getId(),
+                    requestObject.getDomain(),
+                    requestObject.getClient(),
+                    requestObject.getPayload(),
+                    toTimestamp(requestObject.getCreatedAt()),
+                    toTimestamp(requestObject.getExpireAt()));
+            return requestObject;
+        });
+    }
+
+    @Override
+    public Completable delete(String id) {
+        return completable(() -> jdbcTemplate.update("DELETE FROM request_objects WHERE id = ?", id));
+    }
+}
@@ -0,0 +1,285 @@
+--
+-- Copyright (C) 2015 The Gravitee team (http://gravitee.io)
+--
+-- Licensed under the Apache License, Version 2.0 (the "License");
+-- you may not use this file except in compliance with the License.
+-- You may obtain a copy of the License at
+--
+--         http://www.apache.org/licenses/LICENSE-2.0
+--
+-- Unless required by applicable law or agreed to in writing, software
+-- distributed under the License is distributed on an "AS IS" BASIS,
+-- WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+-- See the License for the specific language governing permissions and
+-- limitations under the License.
+--
+
+-- Items are stored as JSON in the data column, the other columns are the indexed lookup keys
+
+CREATE TABLE IF NOT EXISTS organizations (
+    id VARCHAR(64) NOT NULL PRIMARY KEY,
+    data TEXT NOT NULL
+);
+
+CREATE TABLE IF NOT EXISTS environments (
+    id VARCHAR(64) NOT NULL PRIMARY KEY,
+    organization_id VARCHAR(255),
+    data TEXT NOT NULL
+);
+CREATE INDEX IF NOT EXISTS idx_environments_organization_id ON environments (organization_id);
+
+CREATE TABLE IF NOT EXISTS entrypoints (
+    id VARCHAR(64) NOT NULL PRIMARY KEY,
+    organization_id VARCHAR(255),
+    data TEXT NOT NULL
+);
+CREATE INDEX IF NOT EXISTS idx_entrypoints_organization_id ON entrypoints (organization_id);
+
+CREATE TABLE IF NOT EXISTS tags (
+    id VARCHAR(64) NOT NULL PRIMARY KEY,
+    organization_id VARCHAR(255),
+    data TEXT NOT NULL
+);
+CREATE INDEX IF NOT EXISTS idx_tags_organization_id ON tags (organization_id);
+
+CREATE TABLE IF NOT EXISTS domains (
+    id VARCHAR(64) NOT NULL PRIMARY KEY,
+    reference_type VARCHAR(64),
+    reference_id VARCHAR(255),
+    enabled BOOLEAN,
+    data TEXT NOT NULL
+);
+CREATE INDEX IF NOT EXISTS idx_domains_reference ON domains (reference_type, reference_id);
+
+CREATE TABLE IF NOT EXISTS events (
+    id VARCHAR(64) NOT NULL PRIMARY KEY,
+    updated_at TIMESTAMP NOT NULL,
+    data TEXT NOT NULL
+);
+CREATE INDEX IF NOT EXISTS idx_events_updated_at ON events (updated_at);
+
+CREATE TABLE IF NOT EXISTS applications (
+    id VARCHAR(64) NOT NULL PRIMARY KEY,
+    domain VARCHAR(255),
+    client_id VARCHAR(255),
+    name VARCHAR(255),
+    certificate VARCHAR(255),
+    updated_at TIMESTAMP NOT NULL,
+    data TEXT NOT NULL
+);
+CREATE INDEX IF NOT EXISTS idx_applications_domain_updated_at ON applications (domain, updated_at, id);
+CREATE INDEX IF NOT EXISTS idx_applications_updated_at ON applications (updated_at, id);
+CREATE INDEX IF NOT EXISTS idx_applications_domain_client_id ON applications (domain, client_id);
+CREATE INDEX IF NOT EXISTS idx_applications_domain_name ON applications (domain, name);
+CREATE INDEX IF NOT EXISTS idx_applications_certificate ON applications (certificate);
+
+CREATE TABLE IF NOT EXISTS application_identities (
+    application_id VARCHAR(64) NOT NULL,
+    identity_id VARCHAR(255) NOT NULL,
+    PRIMARY KEY (application_id, identity_id)
+);
+CREATE INDEX IF NOT EXISTS idx_application_identities_identity_id ON application_identities (identity_id);
+
+CREATE TABLE IF NOT EXISTS application_factors (
+    application_id VARCHAR(64) NOT NULL,
+    factor_id VARCHAR(255) NOT NULL,
+    PRIMARY KEY (application_id, factor_id)
+);
+CREATE INDEX IF NOT EXISTS idx_application_factors_factor_id ON application_factors (factor_id);
+
+CREATE TABLE IF NOT EXISTS application_grant_types (
+    application_id VARCHAR(64) NOT NULL,
+    grant_type VARCHAR(255) NOT NULL,
+    PRIMARY KEY (application_id, grant_type)
+);
+CREATE INDEX IF NOT EXISTS idx_application_grant_types_grant_type ON application_grant_types (grant_type);
+
+CREATE TABLE IF NOT EXISTS certificates (
+    id VARCHAR(64) NOT NULL PRIMARY KEY,
+    domain VARCHAR(255),
+    data TEXT NOT NULL
+);
+CREATE INDEX IF NOT EXISTS idx_certificates_domain ON certificates (domain);
+
+CREATE TABLE IF NOT EXISTS identities (
+    id VARCHAR(64) NOT NULL PRIMARY KEY,
+    reference_type VARCHAR(64),
+    reference_id VARCHAR(255),
+    data TEXT NOT NULL
+);
+CREATE INDEX IF NOT EXISTS idx_identities_reference ON identities (reference_type, reference_id);
+
+CREATE TABLE IF NOT EXISTS extension_grants (
+    id VARCHAR(64) NOT NULL PRIMARY KEY,
+    domain VARCHAR(255),
+    name VARCHAR(255),
+    data TEXT NOT NULL
+);
+CREATE INDEX IF NOT EXISTS idx_extension_grants_domain_name ON extension_grants (domain, name);
+
+CREATE TABLE IF NOT EXISTS factors (
+    id VARCHAR(64) NOT NULL PRIMARY KEY,
+    domain VARCHAR(255),
+    factor_type VARCHAR(255),
+    data TEXT NOT NULL
+);
+CREATE INDEX IF NOT EXISTS idx_factors_domain_factor_type ON factors (domain, factor_type);
+
+CREATE TABLE IF NOT EXISTS scopes (
+    id VARCHAR(64) NOT NULL PRIMARY KEY,
+    domain VARCHAR(255),
+    scope_key VARCHAR(255),
+    data TEXT NOT NULL
+);
+CREATE INDEX IF NOT EXISTS idx_scopes_domain_scope_key ON scopes (domain, scope_key);
+
+CREATE TABLE IF NOT EXISTS roles (
+    id VARCHAR(64) NOT NULL PRIMARY KEY,
+    reference_type VARCHAR(64),
+    reference_id VARCHAR(255),
+    name VARCHAR(255),
+    assignable_type VARCHAR(64),
+    data TEXT NOT NULL
+);
+CREATE INDEX IF NOT EXISTS idx_roles_reference_name ON roles (reference_type, reference_id, name);
+
+CREATE TABLE IF NOT EXISTS user_groups (
+    id VARCHAR(64) NOT NULL PRIMARY KEY,
+    reference_type VARCHAR(64),
+    reference_id VARCHAR(255),
+    name VARCHAR(255) NOT NULL,
+    data TEXT NOT NULL
+);
+CREATE INDEX IF NOT EXISTS idx_user_groups_reference_name ON user_groups (reference_type, reference_id, name, id);
+
+CREATE TABLE IF NOT EXISTS user_group_members (
+    group_id VARCHAR(64) NOT NULL,
+    member_id VARCHAR(255) NOT NULL,
+    PRIMARY KEY (group_id, member_id)
+);
+CREATE INDEX IF NOT EXISTS idx_user_group_members_member_id ON user_group_members (member_id);
+
+CREATE TABLE IF NOT EXISTS memberships (
+    id VARCHAR(64) NOT NULL PRIMARY KEY,
+    reference_type VARCHAR(64),
+    reference_id VARCHAR(255),
+    member_type VARCHAR(64),
+    member_id VARCHAR(255),
+    role VARCHAR(255),
+    data TEXT NOT NULL
+);
+CREATE INDEX IF NOT EXISTS idx_memberships_reference_member ON memberships (reference_id, reference_type, member_type, member_id);
+CREATE INDEX IF NOT EXISTS idx_memberships_reference_role ON memberships (reference_id, role);
+
+CREATE TABLE IF NOT EXISTS users (
+    id VARCHAR(64) NOT NULL PRIMARY KEY,
+    reference_type VARCHAR(64),
+    reference_id VARCHAR(255),
+    username VARCHAR(320) NOT NULL,
+    email VARCHAR(320),
+    email_claim VARCHAR(320),
+    external_id VARCHAR(255),
+    source VARCHAR(255),
+    enabled BOOLEAN,
+    account_non_locked BOOLEAN,
+    account_locked_until TIMESTAMP,
+    logged_at TIMESTAMP,
+    pre_registration BOOLEAN,
+    registration_completed BOOLEAN,
+    data TEXT NOT NULL
+);
+CREATE INDEX IF NOT EXISTS idx_users_reference_username ON users (reference_type, reference_id, username, id);
+CREATE INDEX IF NOT EXISTS idx_users_reference_username_source ON users (reference_type, reference_id, username, source);
+CREATE INDEX IF NOT EXISTS idx_users_reference_external_id_source ON users (reference_type, reference_id, external_id, source);
+CREATE INDEX IF NOT EXISTS idx_users_reference_email ON users (reference_type, reference_id, email);
+CREATE INDEX IF NOT EXISTS idx_users_reference_email_claim ON users (reference_type, reference_id, email_claim);
+
+CREATE TABLE IF NOT EXISTS webauthn_credentials (
+    id VARCHAR(64) NOT NULL PRIMARY KEY,
+    reference_type VARCHAR(64),
+    reference_id VARCHAR(255),
+    user_id VARCHAR(255),
+    username VARCHAR(320),
+    credential_id VARCHAR(1024),
+    data TEXT NOT NULL
+);
+CREATE INDEX IF NOT EXISTS idx_webauthn_credentials_reference_user_id ON webauthn_credentials (reference_type, reference_id, user_id);
+CREATE INDEX IF NOT EXISTS idx_webauthn_credentials_reference_username ON webauthn_credentials (reference_type, reference_id, username);
+CREATE INDEX IF NOT EXISTS idx_webauthn_credentials_reference_credential_id ON webauthn_credentials (reference_type, reference_id, credential_id);
+
+CREATE TABLE IF NOT EXISTS emails (
+    id VARCHAR(64) NOT NULL PRIMARY KEY,
+    reference_type VARCHAR(64),
+    reference_id VARCHAR(255),
+    client VARCHAR(255),
+    template VARCHAR(255),
+    data TEXT NOT NULL
+);
+CREATE INDEX IF NOT EXISTS idx_emails_reference_client_template ON emails (reference_type, reference_id, client, template);
+CREATE INDEX IF NOT EXISTS idx_emails_reference_template ON emails (reference_type, reference_id, template);
+
+CREATE TABLE IF NOT EXISTS forms (
+    id VARCHAR(64) NOT NULL PRIMARY KEY,
+    reference_type VARCHAR(64),
+    reference_id VARCHAR(255),
+    client VARCHAR(255),
+    template VARCHAR(255),
+    data TEXT NOT NULL
+);
+CREATE INDEX IF NOT EXISTS idx_forms_reference_client_template ON forms (reference_type, reference_id, client, template);
+CREATE INDEX IF NOT EXISTS idx_forms_reference_template ON forms (reference_type, reference_id, template);
+
+CREATE TABLE IF NOT EXISTS policies (
+    id VARCHAR(64) NOT NULL PRIMARY KEY,
+    domain VARCHAR(255),
+    data TEXT NOT NULL
+);
+CREATE INDEX IF NOT EXISTS idx_policies_domain ON policies (domain);
+
+CREATE TABLE IF NOT EXISTS reporters (
+    id VARCHAR(64) NOT NULL PRIMARY KEY,
+    domain VARCHAR(255),
+    data TEXT NOT NULL
+);
+CREATE INDEX IF NOT EXISTS idx_reporters_domain ON reporters (domain);
+
+CREATE TABLE IF NOT EXISTS login_attempts (
+    id VARCHAR(64) NOT NULL PRIMARY KEY,
+    domain VARCHAR(255),
+    client VARCHAR(255),
+    identity_provider VARCHAR(255),
+    username VARCHAR(320),
+    expire_at TIMESTAMP,
+    data TEXT NOT NULL
+);
+CREATE INDEX IF NOT EXISTS idx_login_attempts_domain_client_username ON login_attempts (domain, client, username);
+CREATE INDEX IF NOT EXISTS idx_login_attempts_expire_at ON login_attempts (expire_at);
+
+CREATE TABLE IF NOT EXISTS uma_resource_set (
+    id VARCHAR(64) NOT NULL PRIMARY KEY,
+    domain VARCHAR(255),
+    client_id VARCHAR(255),
+    user_id VARCHAR(255),
+    updated_at TIMESTAMP NOT NULL,
+    data TEXT NOT NULL
+);
+CREATE INDEX IF NOT EXISTS idx_uma_resource_set_domain_updated_at ON uma_resource_set (domain, updated_at, id);
+CREATE INDEX IF NOT EXISTS idx_uma_resource_set_domain_client_user ON uma_resource_set (domain, client_id, user_id);
+CREATE INDEX IF NOT EXISTS idx_uma_resource_set_domain_client_updated_at ON uma_resource_set (domain, client_id, updated_at, id);
+
+CREATE TABLE IF NOT EXISTS uma_access_policies (
+    id VARCHAR(64) NOT NULL PRIMARY KEY,
+    domain VARCHAR(255),
+    resource VARCHAR(255),
+    updated_at TIMESTAMP NOT NULL,
+    data TEXT NOT NULL
+);
+CREATE INDEX IF NOT EXISTS idx_uma_access_policies_domain_updated_at ON uma_access_policies (domain, updated_at, id);
+CREATE INDEX IF NOT EXISTS idx_uma_access_policies_resource ON uma_access_policies (resource);
+
+CREATE TABLE IF NOT EXISTS uma_permission_ticket (
+    id VARCHAR(64) NOT NULL PRIMARY KEY,
+    expire_at TIMESTAMP,
+    data TEXT NOT NULL
+);
+CREATE INDEX IF NOT EXISTS idx_uma_permission_ticket_expire_at ON uma_permission_ticket (expire_at);
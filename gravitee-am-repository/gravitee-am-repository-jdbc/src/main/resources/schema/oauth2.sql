@@ -0,0 +1,86 @@
+--
+-- Copyright (C) 2015 The Gravitee team (http://gravitee.io)
+--
+-- Licensed under the Apache License, Version 2.0 (the "License");
+-- you may not use this file except in compliance with the License.
+-- You may obtain a copy of the License at
+--
+--         http://www.apache.org/licenses/LICENSE-2.0
+--
+-- Unless required by applicable law or agreed to in writing, software
+-- distributed under the License is distributed on an "AS IS" BASIS,
+-- WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+-- See the License for the specific language governing permissions and
+-- limitations under the License.
+--
+
+CREATE TABLE IF NOT EXISTS access_tokens (
+    id VARCHAR(64) NOT NULL PRIMARY KEY,
+    token VARCHAR(255) NOT NULL,
+    domain VARCHAR(255),
+    client VARCHAR(255),
+    subject VARCHAR(255),
+    refresh_token VARCHAR(255),
+    authorization_code VARCHAR(255),
+    created_at TIMESTAMP,
+    expire_at TIMESTAMP
+);
+CREATE UNIQUE INDEX IF NOT EXISTS idx_access_tokens_token ON access_tokens (token);
+CREATE INDEX IF NOT EXISTS idx_access_tokens_client_subject ON access_tokens (client, subject);
+CREATE INDEX IF NOT EXISTS idx_access_tokens_subject_domain ON access_tokens (subject, domain);
+CREATE INDEX IF NOT EXISTS idx_access_tokens_authorization_code ON access_tokens (authorization_code);
+CREATE INDEX IF NOT EXISTS idx_access_tokens_expire_at ON access_tokens (expire_at);
+
+CREATE TABLE IF NOT EXISTS refresh_tokens (
+    id VARCHAR(64) NOT NULL PRIMARY KEY,
+    token VARCHAR(255) NOT NULL,
+    domain VARCHAR(255),
+    client VARCHAR(255),
+    subject VARCHAR(255),
+    created_at TIMESTAMP,
+    expire_at TIMESTAMP
+);
+CREATE UNIQUE INDEX IF NOT EXISTS idx_refresh_tokens_token ON refresh_tokens (token);
+CREATE INDEX IF NOT EXISTS idx_refresh_tokens_subject_domain ON refresh_tokens (subject, domain);
+CREATE INDEX IF NOT EXISTS idx_refresh_tokens_expire_at ON refresh_tokens (expire_at);
+
+CREATE TABLE IF NOT EXISTS authorization_codes (
+    id VARCHAR(64) NOT NULL PRIMARY KEY,
+    transaction_id VARCHAR(255),
+    code VARCHAR(255) NOT NULL,
+    client_id VARCHAR(255),
+    subject VARCHAR(255),
+    redirect_uri VARCHAR(2048),
+    scopes VARCHAR(4096),
+    request_parameters TEXT,
+    created_at TIMESTAMP,
+    expire_at TIMESTAMP
+);
+CREATE UNIQUE INDEX IF NOT EXISTS idx_authorization_codes_code ON authorization_codes (code);
+CREATE INDEX IF NOT EXISTS idx_authorization_codes_expire_at ON authorization_codes (expire_at);
+
+CREATE TABLE IF NOT EXISTS scope_approvals (
+    id VARCHAR(64) NOT NULL PRIMARY KEY,
+    transaction_id VARCHAR(255),
+    domain VARCHAR(255) NOT NULL,
+    user_id VARCHAR(255) NOT NULL,
+    client_id VARCHAR(255) NOT NULL,
+    scope VARCHAR(255) NOT NULL,
+    status VARCHAR(64),
+    expires_at TIMESTAMP,
+    created_at TIMESTAMP,
+    updated_at TIMESTAMP
+);
+CREATE UNIQUE INDEX IF NOT EXISTS idx_scope_approvals_domain_user_client_scope ON scope_approvals (domain, user_id, client_id, scope);
+CREATE INDEX IF NOT EXISTS idx_scope_approvals_domain_scope ON scope_approvals (domain, scope);
+CREATE INDEX IF NOT EXISTS idx_scope_approvals_expires_at ON scope_approvals (expires_at);
+
+CREATE TABLE IF NOT EXISTS request_objects (
+    id VARCHAR(64) NOT NULL PRIMARY KEY,
+    domain VARCHAR(255),
+    client VARCHAR(255),
+    payload TEXT,
+    created_at TIMESTAMP,
+    expire_at TIMESTAMP
+);
+CREATE INDEX IF NOT EXISTS idx_request_objects_expire_at ON request_objects (expire_at);
@@ -0,0 +1,95 @@
+/**
+ * Copyright (C) 2015 The Gravitee team (http://gravitee.io)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.gravitee.am.repository.jdbc.oauth2;
+
+import io.gravitee.am.repository.oauth2.api.AuthorizationCodeRepository;
+import io.gravitee.am.repository.oauth2.model.AuthorizationCode;
+import io.gravitee.common.util.LinkedMultiValueMap;
+import io.gravitee.common.util.MultiValueMap;
+import io.reactivex.observers.TestObserver;
+import org.junit.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+
+import java.util.Collections;
+import java.util.Date;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * @author GraviteeSource Team
+ */
+public class JdbcAuthorizationCodeRepositoryTest extends AbstractOAuth2RepositoryTest {
+
+    @Autowired
+    private AuthorizationCodeRepository authorizationCodeRepository;
+
+    @Test
+    public void shouldStoreCode() {
+        String code = "testCode";
+        AuthorizationCode authorizationCode = new AuthorizationCode();
+        authorizationCode.setCode(code);
+        authorizationCode.setScopes(Collections.singleton("openid"));
+        MultiValueMap<String, String> requestParameters = new LinkedMultiValueMap<>();
+        requestParameters.add("state", "my-state");
+        authorizationCode.setRequestParameters(requestParameters);
+        authorizationCode.setExpireAt(new Date(System.currentTimeMillis() + 60000));
+
+        authorizationCodeRepository.create(authorizationCode).blockingGet();
+
+        TestObserver<AuthorizationCode> testObserver = authorizationCodeRepository.findByCode(code).test();
+        testObserver.awaitTerminalEvent();
+
+        testObserver.assertComplete();
+        testObserver.assertNoErrors();
+        testObserver.assertValue(authorizationCode1 -> authorizationCode1.getCode().equals(code)
+                && authorizationCode1.getScopes().contains("openid")
+                && "my-state".equals(authorizationCode1.getRequestParameters().getFirst("state")));
+    }
+
+    @Test
+    public void shouldNotFindCode() {
+        String code = "unknownCode";
+        authorizationCodeRepository.findByCode(code).test().awaitDone(5, TimeUnit.SECONDS).assertComplete().assertNoValues();
+    }
+
+    @Test
+    public void shouldRemoveCode() {
+        String code = "testCode";
+        AuthorizationCode authorizationCode = new AuthorizationCode();
+        authorizationCode.setId(code);
+        authorizationCode.setCode(code);
+
+        authorizationCodeRepository.create(authorizationCode).blockingGet();
+
+        authorizationCodeRepository.delete(code).test().awaitDone(5, TimeUnit.SECONDS).assertValue(removed -> code.equals(removed.getCode()));
+        authorizationCodeRepository.findByCode(code).test().awaitDone(5, TimeUnit.SECONDS).assertComplete().assertNoValues();
+        authorizationCodeRepository.delete(code).test().awaitDone(5, TimeUnit.SECONDS).assertComplete().assertNoValues();
+    }
+
+    @Test
+    public void shouldFindAndRemoveByCodeAndClientId() {
+        AuthorizationCode authorizationCode = new AuthorizationCode();
+        authorizationCode.setCode("testCode");
+        authorizationCode.setClientId("client");
+        authorizationCodeRepository.create(authorizationCode).blockingGet();
+
+        // the code is not removed by another client
+        authorizationCodeRepository.findAndRemoveByCodeAndClientId("testCode", "other-client").test().awaitDone(5, TimeUnit.SECONDS).assertComplete().assertNoValues();
+        authorizationCodeRepository.findAndRemoveByCodeAndClientId("testCode", "client").test().awaitDone(5, TimeUnit.SECONDS).assertValue(removed -> "testCode".equals(removed.getCode()));
+        // the code can be redeemed only once
+        authorizationCodeRepository.findAndRemoveByCodeAndClientId("testCode", "client").test().awaitDone(5, TimeUnit.SECONDS).assertComplete().assertNoValues();
+        authorizationCodeRepository.findByCode("testCode").test().awaitDone(5, TimeUnit.SECONDS).assertComplete().assertNoValues();
+    }
+}
@@ -0,0 +1,67 @@
+/**
+ * Copyright (C) 2015 The Gravitee team (http://gravitee.io)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.gravitee.am.repository.jdbc.oauth2;
+
+import io.gravitee.am.model.oauth2.ScopeApproval;
+import io.gravitee.am.repository.oauth2.api.ScopeApprovalRepository;
+import org.junit.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+
+import java.util.Date;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.assertEquals;
+
+/**
+ * @author GraviteeSource Team
+ */
+public class JdbcScopeApprovalRepositoryTest extends AbstractOAuth2RepositoryTest {
+
+    @Autowired
+    private ScopeApprovalRepository scopeApprovalRepository;
+
+    @Test
+    public void shouldUpsert() {
+        ScopeApproval created = scopeApprovalRepository.upsert(scopeApproval(ScopeApproval.ApprovalStatus.APPROVED)).blockingGet();
+        ScopeApproval updated = scopeApprovalRepository.upsert(scopeApproval(ScopeApproval.ApprovalStatus.DENIED)).blockingGet();
+
+        assertEquals(created.getId(), updated.getId());
+        assertEquals(ScopeApproval.ApprovalStatus.DENIED, updated.getStatus());
+        scopeApprovalRepository.findByDomainAndUser("my-domain", "my-user").test().awaitDone(5, TimeUnit.SECONDS)
+                .assertValue(approvals -> approvals.size() == 1);
+    }
+
+    @Test
+    public void shouldDeleteByDomainAndScopeKey() {
+        scopeApprovalRepository.create(scopeApproval(ScopeApproval.ApprovalStatus.APPROVED)).blockingGet();
+
+        scopeApprovalRepository.deleteByDomainAndScopeKey("my-domain", "read").test().awaitDone(5, TimeUnit.SECONDS).assertComplete();
+
+        scopeApprovalRepository.findByDomainAndUserAndClient("my-domain", "my-user", "my-client").test().awaitDone(5, TimeUnit.SECONDS)
+                .assertValue(approvals -> approvals.isEmpty());
+    }
+
+    private static ScopeApproval scopeApproval(ScopeApproval.ApprovalStatus status) {
+        ScopeApproval scopeApproval = new ScopeApproval();
+        scopeApproval.setDomain("my-domain");
+        scopeApproval.setUserId("my-user");
+        scopeApproval.setClientId("my-client");
+        scopeApproval.setScope("read");
+        scopeApproval.setStatus(status);
+        scopeApproval.setExpiresAt(new Date(System.currentTimeMillis() + 60000));
+        return scopeApproval;
+    }
+}
@@ -0,0 +1,48 @@
+/**
+ * Copyright (C) 2015 The Gravitee team (http://gravitee.io)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.gravitee.am.repository.memory;
+
+import io.gravitee.am.repository.memory.oauth2.OAuth2RepositoryConfiguration;
+import io.gravitee.platform.repository.api.RepositoryProvider;
+import io.gravitee.platform.repository.api.Scope;
+
+/**
+ * In-process repository, only the OAuth2 scope is handled: tokens, codes and approvals are kept by the gateway
+ * itself and are not shared between gateway instances.
+ *
+ * @author GraviteeSource Team
+ */
+public class MemoryRepositoryProvider implements RepositoryProvider {
+
+    @Override
+    public String type() {
+        return "memory";
+    }
+
+    @Override
+    public Scope[] scopes() {
+        return new Scope [] {Scope.OAUTH2};
+    }
+
+    @Override
+    public Class<?> configuration(Scope scope) {
+        if (scope == Scope.OAUTH2) {
+            return OAuth2RepositoryConfiguration.class;
+        }
+
+        return null;
+    }
+}
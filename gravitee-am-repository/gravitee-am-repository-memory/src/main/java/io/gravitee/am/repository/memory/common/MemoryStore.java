@@ -0,0 +1,295 @@
+/**
+ * Copyright (C) 2015 The Gravitee team (http://gravitee.io)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.gravitee.am.repository.memory.common;
+
+import java.io.*;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+import java.util.function.Predicate;
+
+/**
+ * In-process store of items indexed by id, by secondary keys and by expiration date.
+ *
+ * Items are kept serialized: callers always get their own copy (as with a remote store) and the memory footprint
+ * stays close to the size of the data. Expired items are never returned and are removed by {@link #purge(long)}.
+ *
+ * Reads are lock-free, writes are serialized to keep the indexes consistent.
+ *
+ * @author GraviteeSource Team
+ */
+public class MemoryStore<T> {
+
+    private static final long NO_EXPIRATION = Long.MAX_VALUE;
+
+    private final String name;
+    private final Codec<T> codec;
+    private final Function<T, String> id;
+    private final Function<T, Date> expiration;
+    private final Map<String, Entry> entries = new ConcurrentHashMap<>();
+    private final List<Index<T>> indexes = new ArrayList<>();
+    private final TreeMap<Long, Set<String>> expirations = new TreeMap<>();
+
+    public MemoryStore(String name, Codec<T> codec, Function<T, String> id, Function<T, Date> expiration) {
+        this.name = name;
+        this.codec = codec;
+        this.id = id;
+        this.expiration = expiration;
+    }
+
+    /**
+     * Declare a secondary index, must be called before storing any item.
+     *
+     * @param key the indexed key of an item, <code>null</code> if the item is not indexed.
+     */
+    public MemoryStore<T> index(String name, Function<T, String> key) {
+        indexes.add(new Index<>(name, key));
+        return this;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public T get(String id) {
+        Entry entry = entries.get(id);
+        return entry == null || entry.isExpired(System.currentTimeMillis()) ? null : decode(entry);
+    }
+
+    public synchronized void put(T item) {
+        Date expireAt = expiration.apply(item);
+        String[] keys = new String[indexes.size()];
+        for (int i = 0; i < keys.length; i++) {
+            keys[i] = indexes.get(i).key.apply(item);
+        }
+        store(id.apply(item), new Entry(encode(item), expireAt == null ? NO_EXPIRATION : expireAt.getTime(), keys));
+    }
+
+    /**
+     * @return the removed item, <code>null</code> if none or expired.
+     */
+    public synchronized T remove(String id) {
+        Entry entry = unstore(id);
+        return entry == null || entry.isExpired(System.currentTimeMillis()) ? null : decode(entry);
+    }
+
+    /**
+     * Find the items by a secondary index.
+     */
+    public List<T> find(String index, String key) {
+        return find(index, key, item -> true);
+    }
+
+    public List<T> find(String index, String key, Predicate<T> filter) {
+        Set<String> ids = index(index).ids.get(key);
+        if (ids == null) {
+            return Collections.emptyList();
+        }
+        long now = System.currentTimeMillis();
+        List<T> items = new ArrayList<>();
+        for (String id : ids) {
+            Entry entry = entries.get(id);
+            if (entry != null && !entry.isExpired(now)) {
+                T item = decode(entry);
+                if (filter.test(item)) {
+                    items.add(item);
+                }
+            }
+        }
+        return items;
+    }
+
+    public Optional<T> findFirst(String index, String key) {
+        List<T> items = find(index, key);
+        return items.isEmpty() ? Optional.empty() : Optional.of(items.get(0));
+    }
+
+    /**
+     * Remove the items found by a secondary index.
+     *
+     * @return the number of removed items.
+     */
+    public synchronized int remove(String index, String key, Predicate<T> filter) {
+        int removed = 0;
+        for (T item : find(index, key, filter)) {
+            if (unstore(id.apply(item)) != null) {
+                removed++;
+            }
+        }
+        return removed;
+    }
+
+    /**
+     * Remove the expired items.
+     *
+     * @return the number of removed items.
+     */
+    public synchronized int purge(long now) {
+        int removed = 0;
+        while (!expirations.isEmpty() && expirations.firstKey() <= now) {
+            for (String id : expirations.pollFirstEntry().getValue()) {
+                Entry entry = entries.get(id);
+                if (entry != null && entry.isExpired(now)) {
+                    unstore(id);
+                    removed++;
+                }
+            }
+        }
+        return removed;
+    }
+
+    public int size() {
+        return entries.size();
+    }
+
+    public synchronized void clear() {
+        entries.clear();
+        expirations.clear();
+        indexes.forEach(index -> index.ids.clear());
+    }
+
+    /**
+     * Write the items which are not expired yet.
+     */
+    public synchronized void writeTo(DataOutput out) throws IOException {
+        long now = System.currentTimeMillis();
+        out.writeInt((int) entries.values().stream().filter(entry -> !entry.isExpired(now)).count());
+        for (Entry entry : entries.values()) {
+            if (!entry.isExpired(now)) {
+                out.writeLong(entry.expireAt);
+                out.writeInt(entry.data.length);
+                out.write(entry.data);
+            }
+        }
+    }
+
+    /**
+     * Load the items written by {@link #writeTo(DataOutput)}, expired ones are skipped.
+     *
+     * @return the number of loaded items.
+     */
+    public synchronized int readFrom(DataInput in) throws IOException {
+        long now = System.currentTimeMillis();
+        int count = in.readInt();
+        int loaded = 0;
+        for (int i = 0; i < count; i++) {
+            long expireAt = in.readLong();
+            byte[] data = new byte[in.readInt()];
+            in.readFully(data);
+            if (expireAt > now) {
+                put(codec.read(new DataInputStream(new ByteArrayInputStream(data))));
+                loaded++;
+            }
+        }
+        return loaded;
+    }
+
+    private void store(String id, Entry entry) {
+        unstore(id);
+        entries.put(id, entry);
+        for (int i = 0; i < entry.keys.length; i++) {
+            if (entry.keys[i] != null) {
+                indexes.get(i).ids.computeIfAbsent(entry.keys[i], k -> ConcurrentHashMap.newKeySet()).add(id);
+            }
+        }
+        if (entry.expireAt != NO_EXPIRATION) {
+            expirations.computeIfAbsent(entry.expireAt, k -> new HashSet<>()).add(id);
+        }
+    }
+
+    private Entry unstore(String id) {
+        Entry entry = entries.remove(id);
+        if (entry == null) {
+            return null;
+        }
+        for (int i = 0; i < entry.keys.length; i++) {
+            if (entry.keys[i] != null) {
+                Map<String, Set<String>> ids = indexes.get(i).ids;
+                Set<String> keyIds = ids.get(entry.keys[i]);
+                if (keyIds != null) {
+                    keyIds.remove(id);
+                    if (keyIds.isEmpty()) {
+                        ids.remove(entry.keys[i]);
+                    }
+                }
+            }
+        }
+        if (entry.expireAt != NO_EXPIRATION) {
+            Set<String> ids = expirations.get(entry.expireAt);
+            if (ids != null) {
+                ids.remove(id);
+                if (ids.isEmpty()) {
+                    expirations.remove(entry.expireAt);
+                }
+            }
+        }
+        return entry;
+    }
+
+    private Index<T> index(String name) {
+        for (Index<T> index : indexes) {
+            if (index.name.equals(name)) {
+                return index;
+            }
+        }
+        throw new IllegalArgumentException("Unknown index " + name + " for store " + this.name);
+    }
+
+    private byte[] encode(T item) {
+        try {
+            ByteArrayOutputStream bytes = new ByteArrayOutputStream(256);
+            codec.write(item, new DataOutputStream(bytes));
+            return bytes.toByteArray();
+        } catch (IOException ex) {
+            throw new IllegalStateException("Unable to serialize item into store " + name, ex);
+        }
+    }
+
+    private T decode(Entry entry) {
+        try {
+            return codec.read(new DataInputStream(new ByteArrayInputStream(entry.data)));
+        } catch (IOException ex) {
+            throw new IllegalStateException("Unable to deserialize item from store " + name, ex);
+        }
+    }
+
+    private static class Entry {
+        private final byte[] data;
+        private final long expireAt;
+        private final String[] keys;
+
+        private Entry(byte[] data, long expireAt, String[] keys) {
+            this.data = data;
+            this.expireAt = expireAt;
+            this.keys = keys;
+        }
+
+        private boolean isExpired(long now) {
+            return expireAt <= now;
+        }
+    }
+
+    private static class Index<T> {
+        private final String name;
+        private final Function<T, String> key;
+        private final Map<String, Set<String>> ids = new ConcurrentHashMap<>();
+
+        private Index(String name, Function<T, String> key) {
+            this.name = name;
+            this.key = key;
+        }
+    }
+}
@@ -0,0 +1,148 @@
+/**
+ * Copyright (C) 2015 The Gravitee team (http://gravitee.io)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.gravitee.am.repository.memory.common;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.beans.factory.annotation.Value;
+
+import java.io.*;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Purge the expired items of the registered {@link MemoryStore}s and, if enabled, periodically write a snapshot of
+ * them to disk. Snapshots are loaded when a store is registered.
+ *
+ * @author GraviteeSource Team
+ */
+public class MemoryStoreManager implements InitializingBean, DisposableBean {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(MemoryStoreManager.class);
+
+    private static final String SNAPSHOT_EXTENSION = ".snapshot";
+
+    @Value("${oauth2.memory.purgeInterval:10}")
+    private long purgeInterval = 10;
+
+    @Value("${oauth2.memory.snapshot.enabled:false}")
+    private boolean snapshotEnabled;
+
+    @Value("${oauth2.memory.snapshot.path:${gravitee.home}/work/oauth2}")
+    private String snapshotPath;
+
+    @Value("${oauth2.memory.snapshot.interval:60}")
+    private long snapshotInterval = 60;
+
+    private final List<MemoryStore<?>> stores = new CopyOnWriteArrayList<>();
+
+    private ScheduledExecutorService scheduler;
+
+    public MemoryStoreManager() {
+    }
+
+    public MemoryStoreManager(boolean snapshotEnabled, String snapshotPath) {
+        this.snapshotEnabled = snapshotEnabled;
+        this.snapshotPath = snapshotPath;
+    }
+
+    /**
+     * Register a store (once its indexes are declared) and load its last snapshot, if any.
+     */
+    public <T> MemoryStore<T> register(MemoryStore<T> store) {
+        if (snapshotEnabled) {
+            Path file = snapshot(store);
+            if (Files.exists(file)) {
+                try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(file)))) {
+                    int loaded = store.readFrom(in);
+                    LOGGER.info("{} items loaded from snapshot {}", loaded, file);
+                } catch (Exception ex) {
+                    LOGGER.error("Unable to load snapshot {}", file, ex);
+                    store.clear();
+                }
+            }
+        }
+        stores.add(store);
+        return store;
+    }
+
+    /**
+     * Write a snapshot of every store, the previous snapshot is atomically replaced.
+     */
+    public void snapshot() {
+        if (!snapshotEnabled) {
+            return;
+        }
+        for (MemoryStore<?> store : stores) {
+            Path file = snapshot(store);
+            try {
+                Files.createDirectories(file.toAbsolutePath().getParent());
+                Path tmp = file.resolveSibling(file.getFileName() + ".tmp");
+                try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(tmp)))) {
+                    store.writeTo(out);
+                }
+                Files.move(tmp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            } catch (Exception ex) {
+                LOGGER.error("Unable to write snapshot {}", file, ex);
+            }
+        }
+    }
+
+    public void purge() {
+        long now = System.currentTimeMillis();
+        for (MemoryStore<?> store : stores) {
+            int removed = store.purge(now);
+            if (removed > 0) {
+                LOGGER.debug("{} expired items removed from {}", removed, store.getName());
+            }
+        }
+    }
+
+    @Override
+    public void afterPropertiesSet() {
+        scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "gio.am-memory-repository");
+            thread.setDaemon(true);
+            return thread;
+        });
+        scheduler.scheduleWithFixedDelay(this::purge, purgeInterval, purgeInterval, TimeUnit.SECONDS);
+        if (snapshotEnabled) {
+            scheduler.scheduleWithFixedDelay(this::snapshot, snapshotInterval, snapshotInterval, TimeUnit.SECONDS);
+        }
+    }
+
+    @Override
+    public void destroy() throws Exception {
+        if (scheduler != null) {
+            scheduler.shutdown();
+            scheduler.awaitTermination(10, TimeUnit.SECONDS);
+        }
+        snapshot();
+    }
+
+    private Path snapshot(MemoryStore<?> store) {
+        return Paths.get(snapshotPath, store.getName() + SNAPSHOT_EXTENSION);
+    }
+}
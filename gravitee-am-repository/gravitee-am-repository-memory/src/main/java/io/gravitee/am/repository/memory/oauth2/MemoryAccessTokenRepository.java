@@ -0,0 +1,121 @@
+/**
+ * Copyright (C) 2015 The Gravitee team (http://gravitee.io)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.gravitee.am.repository.memory.oauth2;
+
+import io.gravitee.am.common.utils.RandomString;
+import io.gravitee.am.repository.memory.common.AbstractMemoryRepository;
+import io.gravitee.am.repository.memory.common.MemoryStore;
+import io.gravitee.am.repository.memory.oauth2.internal.codec.TokenCodec;
+import io.gravitee.am.repository.oauth2.api.AccessTokenRepository;
+import io.gravitee.am.repository.oauth2.model.AccessToken;
+import io.reactivex.Completable;
+import io.reactivex.Maybe;
+import io.reactivex.Observable;
+import io.reactivex.Single;
+import org.springframework.stereotype.Component;
+
+import javax.annotation.PostConstruct;
+import java.util.List;
+
+/**
+ * @author GraviteeSource Team
+ */
+@Component
+public class MemoryAccessTokenRepository extends AbstractMemoryRepository implements AccessTokenRepository {
+
+    private static final String INDEX_TOKEN = "token";
+    private static final String INDEX_CLIENT_ID = "client";
+    private static final String INDEX_SUBJECT = "subject";
+    private static final String INDEX_AUTHORIZATION_CODE = "authorization_code";
+
+    private MemoryStore<AccessToken> store;
+
+    @PostConstruct
+    public void init() {
+        store = storeManager.register(new MemoryStore<>("access_tokens", TokenCodec.ACCESS_TOKEN, AccessToken::getId, AccessToken::getExpireAt)
+                .index(INDEX_TOKEN, AccessToken::getToken)
+                .index(INDEX_CLIENT_ID, AccessToken::getClient)
+                .index(INDEX_SUBJECT, AccessToken::getSubject)
+                .index(INDEX_AUTHORIZATION_CODE, AccessToken::getAuthorizationCode));
+    }
+
+    @Override
+    public Maybe<AccessToken> findByToken(String token) {
+        return Maybe.fromCallable(() -> store.findFirst(INDEX_TOKEN, token).orElse(null));
+    }
+
+    @Override
+    public Single<AccessToken> create(AccessToken accessToken) {
+        return Single.fromCallable(() -> {
+            if (accessToken.getId() == null) {
+                accessToken.setId(RandomString.generate());
+            }
+            store.put(accessToken);
+            return store.get(accessToken.getId());
+        });
+    }
+
+    @Override
+    public Completable bulkWrite(List<AccessToken> accessTokens) {
+        return Completable.fromAction(() -> accessTokens.forEach(store::put));
+    }
+
+    @Override
+    public Completable delete(String token) {
+        return Completable.fromAction(() -> store.remove(INDEX_TOKEN, token, accessToken -> true));
+    }
+
+    @Override
+    public Observable<AccessToken> findByClientIdAndSubject(String clientId, String subject) {
+        return Observable.defer(() -> Observable.fromIterable(store.find(INDEX_SUBJECT, subject, accessToken -> clientId.equals(accessToken.getClient()))));
+    }
+
+    @Override
+    public Observable<AccessToken> findByClientId(String clientId) {
+        return Observable.defer(() -> Observable.fromIterable(store.find(INDEX_CLIENT_ID, clientId)));
+    }
+
+    @Override
+    public Observable<AccessToken> findByAuthorizationCode(String authorizationCode) {
+        return Observable.defer(() -> Observable.fromIterable(store.find(INDEX_AUTHORIZATION_CODE, authorizationCode)));
+    }
+
+    @Override
+    public Single<Long> countByClientId(String clientId) {
+        return Single.fromCallable(() -> (long) store.find(INDEX_CLIENT_ID, clientId).size());
+    }
+
+    @Override
+    public Completable deleteByUserId(String userId) {
+        return Completable.fromAction(() -> store.remove(INDEX_SUBJECT, userId, accessToken -> true));
+    }
+
+    @Override
+    public Completable deleteByDomainIdClientIdAndUserId(String domainId, String clientId, String userId) {
+        return Completable.fromAction(() -> store.remove(INDEX_SUBJECT, userId,
+                accessToken -> domainId.equals(accessToken.getDomain()) && clientId.equals(accessToken.getClient())));
+    }
+
+    @Override
+    public Completable deleteByDomainIdAndUserId(String domainId, String userId) {
+        return Completable.fromAction(() -> store.remove(INDEX_SUBJECT, userId, accessToken -> domainId.equals(accessToken.getDomain())));
+    }
+
+    @Override
+    public Completable deleteByAuthorizationCode(String authorizationCode) {
+        return Completable.fromAction(() -> store.remove(INDEX_AUTHORIZATION_CODE, authorizationCode, accessToken -> true));
+    }
+}
@@ -0,0 +1,75 @@
+/**
+ * Copyright (C) 2015 The Gravitee team (http://gravitee.io)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.gravitee.am.repository.memory.oauth2;
+
+import io.gravitee.am.common.utils.RandomString;
+import io.gravitee.am.repository.memory.common.AbstractMemoryRepository;
+import io.gravitee.am.repository.memory.common.MemoryStore;
+import io.gravitee.am.repository.memory.oauth2.internal.codec.AuthorizationCodeCodec;
+import io.gravitee.am.repository.oauth2.api.AuthorizationCodeRepository;
+import io.gravitee.am.repository.oauth2.model.AuthorizationCode;
+import io.reactivex.Maybe;
+import io.reactivex.Single;
+import org.springframework.stereotype.Component;
+
+import javax.annotation.PostConstruct;
+
+/**
+ * @author GraviteeSource Team
+ */
+@Component
+public class MemoryAuthorizationCodeRepository extends AbstractMemoryRepository implements AuthorizationCodeRepository {
+
+    private static final String INDEX_CODE = "code";
+
+    private MemoryStore<AuthorizationCode> store;
+
+    @PostConstruct
+    public void init() {
+        store = storeManager.register(new MemoryStore<>("authorization_codes", new AuthorizationCodeCodec(), AuthorizationCode::getId, AuthorizationCode::getExpireAt)
+                .index(INDEX_CODE, AuthorizationCode::getCode));
+    }
+
+    @Override
+    public Single<AuthorizationCode> create(AuthorizationCode authorizationCode) {
+        return Single.fromCallable(() -> {
+            if (authorizationCode.getId() == null) {
+                authorizationCode.setId(RandomString.generate());
+            }
+            store.put(authorizationCode);
+            return store.get(authorizationCode.getId());
+        });
+    }
+
+    @Override
+    public Maybe<AuthorizationCode> delete(String id) {
+        return Maybe.fromCallable(() -> store.remove(id));
+    }
+
+    @Override
+    public Maybe<AuthorizationCode> findByCode(String code) {
+        return Maybe.fromCallable(() -> store.findFirst(INDEX_CODE, code).orElse(null));
+    }
+
+    @Override
+    public Maybe<AuthorizationCode> findAndRemoveByCodeAndClientId(String code, String clientId) {
+        // the removal by id is atomic, only one of concurrent callers gets the code back
+        return Maybe.fromCallable(() -> store.findFirst(INDEX_CODE, code)
+                .filter(authorizationCode -> clientId.equals(authorizationCode.getClientId()))
+                .map(authorizationCode -> store.remove(authorizationCode.getId()))
+                .orElse(null));
+    }
+}
@@ -0,0 +1,96 @@
+/**
+ * Copyright (C) 2015 The Gravitee team (http://gravitee.io)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.gravitee.am.repository.memory.oauth2;
+
+import io.gravitee.am.common.utils.RandomString;
+import io.gravitee.am.repository.memory.common.AbstractMemoryRepository;
+import io.gravitee.am.repository.memory.common.MemoryStore;
+import io.gravitee.am.repository.memory.oauth2.internal.codec.TokenCodec;
+import io.gravitee.am.repository.oauth2.api.RefreshTokenRepository;
+import io.gravitee.am.repository.oauth2.model.RefreshToken;
+import io.reactivex.Completable;
+import io.reactivex.Maybe;
+import io.reactivex.Single;
+import org.springframework.stereotype.Component;
+
+import javax.annotation.PostConstruct;
+import java.util.List;
+
+/**
+ * @author GraviteeSource Team
+ */
+@Component
+public class MemoryRefreshTokenRepository extends AbstractMemoryRepository implements RefreshTokenRepository {
+
+    private static final String INDEX_TOKEN = "token";
+    private static final String INDEX_SUBJECT = "subject";
+
+    private MemoryStore<RefreshToken> store;
+
+    @PostConstruct
+    public void init() {
+        store = storeManager.register(new MemoryStore<>("refresh_tokens", TokenCodec.REFRESH_TOKEN, RefreshToken::getId, RefreshToken::getExpireAt)
+                .index(INDEX_TOKEN, RefreshToken::getToken)
+                .index(INDEX_SUBJECT, RefreshToken::getSubject));
+    }
+
+    @Override
+    public Maybe<RefreshToken> findByToken(String token) {
+        return Maybe.fromCallable(() -> store.findFirst(INDEX_TOKEN, token).orElse(null));
+    }
+
+    @Override
+    public Single<RefreshToken> create(RefreshToken refreshToken) {
+        return Single.fromCallable(() -> {
+            if (refreshToken.getId() == null) {
+                refreshToken.setId(RandomString.generate());
+            }
+            store.put(refreshToken);
+            return store.get(refreshToken.getId());
+        });
+    }
+
+    @Override
+    public Completable bulkWrite(List<RefreshToken> refreshTokens) {
+        return Completable.fromAction(() -> refreshTokens.forEach(store::put));
+    }
+
+    @Override
+    public Completable delete(String token) {
+        return Completable.fromAction(() -> store.remove(INDEX_TOKEN, token, refreshToken -> true));
+    }
+
+    @Override
+    public Completable bulkDelete(List<String> tokens) {
+        return Completable.fromAction(() -> tokens.forEach(token -> store.remove(INDEX_TOKEN, token, refreshToken -> true)));
+    }
+
+    @Override
+    public Completable deleteByUserId(String userId) {
+        return Completable.fromAction(() -> store.remove(INDEX_SUBJECT, userId, refreshToken -> true));
+    }
+
+    @Override
+    public Completable deleteByDomainIdClientIdAndUserId(String domainId, String clientId, String userId) {
+        return Completable.fromAction(() -> store.remove(INDEX_SUBJECT, userId,
+                refreshToken -> domainId.equals(refreshToken.getDomain()) && clientId.equals(refreshToken.getClient())));
+    }
+
+    @Override
+    public Completable deleteByDomainIdAndUserId(String domainId, String userId) {
+        return Completable.fromAction(() -> store.remove(INDEX_SUBJECT, userId, refreshToken -> domainId.equals(refreshToken.getDomain())));
+    }
+}
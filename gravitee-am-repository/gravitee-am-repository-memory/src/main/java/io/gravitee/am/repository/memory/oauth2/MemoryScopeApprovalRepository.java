@@ -0,0 +1,133 @@
+/**
+ * Copyright (C) 2015 The Gravitee team (http://gravitee.io)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.gravitee.am.repository.memory.oauth2;
+
+import io.gravitee.am.common.utils.RandomString;
+import io.gravitee.am.model.oauth2.ScopeApproval;
+import io.gravitee.am.repository.memory.common.AbstractMemoryRepository;
+import io.gravitee.am.repository.memory.common.MemoryStore;
+import io.gravitee.am.repository.memory.oauth2.internal.codec.ScopeApprovalCodec;
+import io.gravitee.am.repository.oauth2.api.ScopeApprovalRepository;
+import io.reactivex.Completable;
+import io.reactivex.Maybe;
+import io.reactivex.Single;
+import org.springframework.stereotype.Component;
+
+import javax.annotation.PostConstruct;
+import java.util.Date;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Objects;
+import java.util.Set;
+
+/**
+ * @author GraviteeSource Team
+ */
+@Component
+public class MemoryScopeApprovalRepository extends AbstractMemoryRepository implements ScopeApprovalRepository {
+
+    private static final String INDEX_DOMAIN = "domain";
+    private static final String INDEX_DOMAIN_USER = "domain_user";
+
+    private MemoryStore<ScopeApproval> store;
+
+    @PostConstruct
+    public void init() {
+        store = storeManager.register(new MemoryStore<>("scope_approvals", new ScopeApprovalCodec(), ScopeApproval::getId, ScopeApproval::getExpiresAt)
+                .index(INDEX_DOMAIN, ScopeApproval::getDomain)
+                .index(INDEX_DOMAIN_USER, approval -> key(approval.getDomain(), approval.getUserId())));
+    }
+
+    @Override
+    public Single<Set<ScopeApproval>> findByDomainAndUserAndClient(String domain, String userId, String clientId) {
+        return Single.fromCallable(() -> new HashSet<>(store.find(INDEX_DOMAIN_USER, key(domain, userId), approval -> Objects.equals(clientId, approval.getClientId()))));
+    }
+
+    @Override
+    public Single<Set<ScopeApproval>> findByDomainAndUser(String domain, String user) {
+        return Single.fromCallable(() -> new HashSet<>(store.find(INDEX_DOMAIN_USER, key(domain, user))));
+    }
+
+    @Override
+    public Maybe<ScopeApproval> findById(String id) {
+        return Maybe.fromCallable(() -> store.get(id));
+    }
+
+    @Override
+    public Single<ScopeApproval> create(ScopeApproval scopeApproval) {
+        return Single.fromCallable(() -> {
+            if (scopeApproval.getId() == null) {
+                scopeApproval.setId(RandomString.generate());
+            }
+            store.put(scopeApproval);
+            return store.get(scopeApproval.getId());
+        });
+    }
+
+    @Override
+    public Single<ScopeApproval> update(ScopeApproval scopeApproval) {
+        return Single.fromCallable(() -> {
+            store.put(scopeApproval);
+            return store.get(scopeApproval.getId());
+        });
+    }
+
+    @Override
+    public Single<ScopeApproval> upsert(ScopeApproval scopeApproval) {
+        return Single.fromCallable(() -> {
+            // the look-up and the write must not interleave with another upsert of the same approval
+            synchronized (store) {
+                List<ScopeApproval> approvals = store.find(INDEX_DOMAIN_USER, key(scopeApproval.getDomain(), scopeApproval.getUserId()),
+                        approval -> Objects.equals(scopeApproval.getClientId(), approval.getClientId())
+                                && Objects.equals(scopeApproval.getScope(), approval.getScope()));
+                if (approvals.isEmpty()) {
+                    scopeApproval.setId(scopeApproval.getId() == null ? RandomString.generate() : scopeApproval.getId());
+                    scopeApproval.setCreatedAt(new Date());
+                    scopeApproval.setUpdatedAt(scopeApproval.getCreatedAt());
+                } else {
+                    scopeApproval.setId(approvals.get(0).getId());
+                    scopeApproval.setUpdatedAt(new Date());
+                }
+                store.put(scopeApproval);
+                return store.get(scopeApproval.getId());
+            }
+        });
+    }
+
+    @Override
+    public Completable deleteByDomainAndScopeKey(String domain, String scope) {
+        return Completable.fromAction(() -> store.remove(INDEX_DOMAIN, domain, approval -> Objects.equals(scope, approval.getScope())));
+    }
+
+    @Override
+    public Completable delete(String id) {
+        return Completable.fromAction(() -> store.remove(id));
+    }
+
+    @Override
+    public Completable deleteByDomainAndUserAndClient(String domain, String user, String client) {
+        return Completable.fromAction(() -> store.remove(INDEX_DOMAIN_USER, key(domain, user), approval -> Objects.equals(client, approval.getClientId())));
+    }
+
+    @Override
+    public Completable deleteByDomainAndUser(String domain, String user) {
+        return Completable.fromAction(() -> store.remove(INDEX_DOMAIN_USER, key(domain, user), approval -> true));
+    }
+
+    private static String key(String domain, String user) {
+        return domain + ':' + user;
+    }
+}
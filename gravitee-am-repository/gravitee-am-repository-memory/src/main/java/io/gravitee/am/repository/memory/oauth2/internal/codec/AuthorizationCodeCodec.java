@@ -0,0 +1,98 @@
+/**
+ * Copyright (C) 2015 The Gravitee team (http://gravitee.io)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.gravitee.am.repository.memory.oauth2.internal.codec;
+
+import io.gravitee.am.repository.memory.common.Codec;
+import io.gravitee.am.repository.oauth2.model.AuthorizationCode;
+import io.gravitee.common.util.LinkedMultiValueMap;
+import io.gravitee.common.util.MultiValueMap;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.util.*;
+
+import static io.gravitee.am.repository.memory.common.Codec.*;
+
+/**
+ * @author GraviteeSource Team
+ */
+public class AuthorizationCodeCodec implements Codec<AuthorizationCode> {
+
+    @Override
+    public void write(AuthorizationCode code, DataOutput out) throws IOException {
+        writeString(code.getId(), out);
+        writeString(code.getTransactionId(), out);
+        writeString(code.getCode(), out);
+        writeDate(code.getCreatedAt(), out);
+        writeDate(code.getExpireAt(), out);
+        writeString(code.getClientId(), out);
+        writeString(code.getSubject(), out);
+        writeString(code.getRedirectUri(), out);
+        writeStrings(code.getScopes(), out);
+        MultiValueMap<String, String> parameters = code.getRequestParameters();
+        out.writeInt(parameters == null ? -1 : parameters.size());
+        if (parameters != null) {
+            for (Map.Entry<String, List<String>> parameter : parameters.entrySet()) {
+                writeString(parameter.getKey(), out);
+                writeStrings(parameter.getValue(), out);
+            }
+        }
+    }
+
+    @Override
+    public AuthorizationCode read(DataInput in) throws IOException {
+        AuthorizationCode code = new AuthorizationCode();
+        code.setId(readString(in));
+        code.setTransactionId(readString(in));
+        code.setCode(readString(in));
+        code.setCreatedAt(readDate(in));
+        code.setExpireAt(readDate(in));
+        code.setClientId(readString(in));
+        code.setSubject(readString(in));
+        code.setRedirectUri(readString(in));
+        code.setScopes(readStrings(in, new HashSet<>()));
+        int size = in.readInt();
+        if (size >= 0) {
+            MultiValueMap<String, String> parameters = new LinkedMultiValueMap<>();
+            for (int i = 0; i < size; i++) {
+                parameters.put(readString(in), readStrings(in, new ArrayList<>()));
+            }
+            code.setRequestParameters(parameters);
+        }
+        return code;
+    }
+
+    private static void writeStrings(Collection<String> values, DataOutput out) throws IOException {
+        out.writeInt(values == null ? -1 : values.size());
+        if (values != null) {
+            for (String value : values) {
+                writeString(value, out);
+            }
+        }
+    }
+
+    private static <C extends Collection<String>> C readStrings(DataInput in, C values) throws IOException {
+        int size = in.readInt();
+        if (size < 0) {
+            return null;
+        }
+        for (int i = 0; i < size; i++) {
+            values.add(readString(in));
+        }
+        return values;
+    }
+}
@@ -0,0 +1,62 @@
+/**
+ * Copyright (C) 2015 The Gravitee team (http://gravitee.io)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.gravitee.am.repository.memory.oauth2.internal.codec;
+
+import io.gravitee.am.model.oauth2.ScopeApproval;
+import io.gravitee.am.repository.memory.common.Codec;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+
+import static io.gravitee.am.repository.memory.common.Codec.*;
+
+/**
+ * @author GraviteeSource Team
+ */
+public class ScopeApprovalCodec implements Codec<ScopeApproval> {
+
+    @Override
+    public void write(ScopeApproval approval, DataOutput out) throws IOException {
+        writeString(approval.getId(), out);
+        writeString(approval.getTransactionId(), out);
+        writeString(approval.getUserId(), out);
+        writeString(approval.getClientId(), out);
+        writeString(approval.getDomain(), out);
+        writeString(approval.getScope(), out);
+        writeString(approval.getStatus() == null ? null : approval.getStatus().name(), out);
+        writeDate(approval.getExpiresAt(), out);
+        writeDate(approval.getCreatedAt(), out);
+        writeDate(approval.getUpdatedAt(), out);
+    }
+
+    @Override
+    public ScopeApproval read(DataInput in) throws IOException {
+        ScopeApproval approval = new ScopeApproval();
+        approval.setId(readString(in));
+        approval.setTransactionId(readString(in));
+        approval.setUserId(readString(in));
+        approval.setClientId(readString(in));
+        approval.setDomain(readString(in));
+        approval.setScope(readString(in));
+        String status = readString(in);
+        approval.setStatus(status == null ? null : ScopeApproval.ApprovalStatus.valueOf(status));
+        approval.setExpiresAt(readDate(in));
+        approval.setCreatedAt(readDate(in));
+        approval.setUpdatedAt(readDate(in));
+        return approval;
+    }
+}
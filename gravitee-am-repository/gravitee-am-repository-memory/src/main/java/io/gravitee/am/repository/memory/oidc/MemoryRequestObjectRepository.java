@@ -0,0 +1,64 @@
+/**
+ * Copyright (C) 2015 The Gravitee team (http://gravitee.io)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.gravitee.am.repository.memory.oidc;
+
+import io.gravitee.am.common.utils.RandomString;
+import io.gravitee.am.repository.memory.common.AbstractMemoryRepository;
+import io.gravitee.am.repository.memory.common.MemoryStore;
+import io.gravitee.am.repository.memory.oidc.internal.codec.RequestObjectCodec;
+import io.gravitee.am.repository.oidc.api.RequestObjectRepository;
+import io.gravitee.am.repository.oidc.model.RequestObject;
+import io.reactivex.Completable;
+import io.reactivex.Maybe;
+import io.reactivex.Single;
+import org.springframework.stereotype.Component;
+
+import javax.annotation.PostConstruct;
+
+/**
+ * @author GraviteeSource Team
+ */
+@Component
+public class MemoryRequestObjectRepository extends AbstractMemoryRepository implements RequestObjectRepository {
+
+    private MemoryStore<RequestObject> store;
+
+    @PostConstruct
+    public void init() {
+        store = storeManager.register(new MemoryStore<>("request_objects", new RequestObjectCodec(), RequestObject::getId, RequestObject::getExpireAt));
+    }
+
+    @Override
+    public Maybe<RequestObject> findById(String id) {
+        return Maybe.fromCallable(() -> store.get(id));
+    }
+
+    @Override
+    public Single<RequestObject> create(RequestObject requestObject) {
+        return Single.fromCallable(() -> {
+            if (requestObject.getId() == null) {
+                requestObject.setId(RandomString.generate());
+            }
+            store.put(requestObject);
+            return store.get(requestObject.getId());
+        });
+    }
+
+    @Override
+    public Completable delete(String id) {
+        return Completable.fromAction(() -> store.remove(id));
+    }
+}
@@ -0,0 +1,64 @@
+/**
+ * Copyright (C) 2015 The Gravitee team (http://gravitee.io)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.gravitee.am.repository.memory.oidc.internal.codec;
+
+import io.gravitee.am.repository.memory.common.Codec;
+import io.gravitee.am.repository.oidc.model.RequestObject;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+
+import static io.gravitee.am.repository.memory.common.Codec.*;
+
+/**
+ * @author GraviteeSource Team
+ */
+public class RequestObjectCodec implements Codec<RequestObject> {
+
+    @Override
+    public void write(RequestObject requestObject, DataOutput out) throws IOException {
+        writeString(requestObject.getId(), out);
+        writeString(requestObject.getDomain(), out);
+        writeString(requestObject.getClient(), out);
+        // request objects may exceed the 64KB limit of modified UTF-8 strings
+        byte[] payload = requestObject.getPayload() == null ? null : requestObject.getPayload().getBytes(StandardCharsets.UTF_8);
+        out.writeInt(payload == null ? -1 : payload.length);
+        if (payload != null) {
+            out.write(payload);
+        }
+        writeDate(requestObject.getCreatedAt(), out);
+        writeDate(requestObject.getExpireAt(), out);
+    }
+
+    @Override
+    public RequestObject read(DataInput in) throws IOException {
+        RequestObject requestObject = new RequestObject();
+        requestObject.setId(readString(in));
+        requestObject.setDomain(readString(in));
+        requestObject.setClient(readString(in));
+        int length = in.readInt();
+        if (length >= 0) {
+            byte[] payload = new byte[length];
+            in.readFully(payload);
+            requestObject.setPayload(new String(payload, StandardCharsets.UTF_8));
+        }
+        requestObject.setCreatedAt(readDate(in));
+        requestObject.setExpireAt(readDate(in));
+        return requestObject;
+    }
+}
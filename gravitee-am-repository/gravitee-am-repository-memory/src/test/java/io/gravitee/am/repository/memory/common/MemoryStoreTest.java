@@ -0,0 +1,131 @@
+/**
+ * Copyright (C) 2015 The Gravitee team (http://gravitee.io)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.gravitee.am.repository.memory.common;
+
+import io.gravitee.am.repository.memory.oauth2.internal.codec.TokenCodec;
+import io.gravitee.am.repository.oauth2.model.AccessToken;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.util.Date;
+
+import static org.junit.Assert.*;
+
+/**
+ * @author GraviteeSource Team
+ */
+public class MemoryStoreTest {
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    private MemoryStore<AccessToken> store;
+
+    @Before
+    public void setUp() {
+        store = newStore();
+    }
+
+    @Test
+    public void shouldGet_copy() {
+        store.put(accessToken("id", "token", "client", 60000));
+
+        AccessToken accessToken = store.get("id");
+        assertEquals("token", accessToken.getToken());
+        accessToken.setToken("updated");
+        assertEquals("token", store.get("id").getToken());
+        assertNull(store.get("unknown"));
+    }
+
+    @Test
+    public void shouldFind_byIndex() {
+        store.put(accessToken("id", "token", "client", 60000));
+        store.put(accessToken("id2", "token2", "client", 60000));
+        store.put(accessToken("id3", "token3", "client2", 60000));
+
+        assertEquals(2, store.find("client", "client").size());
+        assertEquals("id3", store.findFirst("token", "token3").get().getId());
+        assertFalse(store.findFirst("token", "unknown").isPresent());
+    }
+
+    @Test
+    public void shouldReindex_onUpdate() {
+        store.put(accessToken("id", "token", "client", 60000));
+        store.put(accessToken("id", "token", "client2", 60000));
+
+        assertTrue(store.find("client", "client").isEmpty());
+        assertEquals(1, store.find("client", "client2").size());
+        assertEquals(1, store.size());
+    }
+
+    @Test
+    public void shouldRemove_byIndex() {
+        store.put(accessToken("id", "token", "client", 60000));
+        store.put(accessToken("id2", "token2", "client", 60000));
+        store.put(accessToken("id3", "token3", "client2", 60000));
+
+        assertEquals(1, store.remove("client", "client", accessToken -> "token2".equals(accessToken.getToken())));
+        assertEquals(2, store.size());
+        assertNull(store.get("id2"));
+        assertNotNull(store.remove("id"));
+        assertTrue(store.find("client", "client").isEmpty());
+    }
+
+    @Test
+    public void shouldNotReturn_expiredItems() {
+        store.put(accessToken("id", "token", "client", -1000));
+        store.put(accessToken("id2", "token2", "client", 60000));
+
+        assertNull(store.get("id"));
+        assertEquals(1, store.find("client", "client").size());
+
+        assertEquals(1, store.purge(System.currentTimeMillis()));
+        assertEquals(1, store.size());
+        assertEquals(0, store.purge(System.currentTimeMillis()));
+    }
+
+    @Test
+    public void shouldLoad_snapshot() {
+        String path = folder.getRoot().getAbsolutePath();
+        MemoryStoreManager storeManager = new MemoryStoreManager(true, path);
+        storeManager.register(store);
+        store.put(accessToken("id", "token", "client", 60000));
+        store.put(accessToken("id2", "token2", "client", 60000));
+        storeManager.snapshot();
+
+        MemoryStore<AccessToken> reloaded = new MemoryStoreManager(true, path).register(newStore());
+        assertEquals(2, reloaded.size());
+        assertEquals("id2", reloaded.findFirst("token", "token2").get().getId());
+    }
+
+    private static MemoryStore<AccessToken> newStore() {
+        return new MemoryStore<>("access_tokens", TokenCodec.ACCESS_TOKEN, AccessToken::getId, AccessToken::getExpireAt)
+                .index("token", AccessToken::getToken)
+                .index("client", AccessToken::getClient);
+    }
+
+    private static AccessToken accessToken(String id, String token, String client, long expiresIn) {
+        AccessToken accessToken = new AccessToken();
+        accessToken.setId(id);
+        accessToken.setToken(token);
+        accessToken.setClient(client);
+        accessToken.setCreatedAt(new Date());
+        accessToken.setExpireAt(new Date(System.currentTimeMillis() + expiresIn));
+        return accessToken;
+    }
+}
@@ -0,0 +1,103 @@
+/**
+ * Copyright (C) 2015 The Gravitee team (http://gravitee.io)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.gravitee.am.repository.memory.oauth2;
+
+import io.gravitee.am.repository.oauth2.api.AccessTokenRepository;
+import io.gravitee.am.repository.oauth2.model.AccessToken;
+import io.reactivex.observers.TestObserver;
+import org.junit.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+
+import java.util.Arrays;
+import java.util.Date;
+
+/**
+ * @author GraviteeSource Team
+ */
+public class MemoryAccessTokenRepositoryTest extends AbstractOAuth2RepositoryTest {
+
+    @Autowired
+    private AccessTokenRepository accessTokenRepository;
+
+    @Test
+    public void shouldFindByToken() {
+        accessTokenRepository.create(accessToken("id", "my-token", "my-client", "my-subject")).blockingGet();
+
+        TestObserver<AccessToken> testObserver = accessTokenRepository.findByToken("my-token").test();
+        testObserver.awaitTerminalEvent();
+
+        testObserver.assertComplete();
+        testObserver.assertValue(accessToken -> accessToken.getId().equals("id"));
+    }
+
+    @Test
+    public void shouldNotFindToken() {
+        accessTokenRepository.findByToken("unknown-token").test().assertComplete().assertNoValues();
+    }
+
+    @Test
+    public void shouldNotFindExpiredToken() {
+        AccessToken accessToken = accessToken("id", "my-token", "my-client", "my-subject");
+        accessToken.setExpireAt(new Date(System.currentTimeMillis() - 1000));
+        accessTokenRepository.bulkWrite(Arrays.asList(accessToken)).blockingAwait();
+
+        accessTokenRepository.findByToken("my-token").test().assertComplete().assertNoValues();
+    }
+
+    @Test
+    public void shouldBulkWrite_andCount() {
+        accessTokenRepository.bulkWrite(Arrays.asList(
+                accessToken("id", "my-token", "my-client", "my-subject"),
+                accessToken("id2", "my-token2", "my-client", "my-subject2"),
+                accessToken("id3", "my-token3", "my-client2", "my-subject"))).blockingAwait();
+
+        accessTokenRepository.countByClientId("my-client").test().assertValue(2L);
+        accessTokenRepository.findByClientIdAndSubject("my-client", "my-subject").test().assertValueCount(1);
+    }
+
+    @Test
+    public void shouldDelete() {
+        accessTokenRepository.create(accessToken("id", "my-token", "my-client", "my-subject")).blockingGet();
+
+        accessTokenRepository.delete("my-token").test().assertComplete();
+
+        accessTokenRepository.findByToken("my-token").test().assertNoValues();
+    }
+
+    @Test
+    public void shouldDeleteByDomainIdClientIdAndUserId() {
+        accessTokenRepository.bulkWrite(Arrays.asList(
+                accessToken("id", "my-token", "my-client", "my-subject"),
+                accessToken("id2", "my-token2", "my-client2", "my-subject"))).blockingAwait();
+
+        accessTokenRepository.deleteByDomainIdClientIdAndUserId("my-domain", "my-client", "my-subject").test().assertComplete();
+
+        accessTokenRepository.findByToken("my-token").test().assertNoValues();
+        accessTokenRepository.findByToken("my-token2").test().assertValueCount(1);
+    }
+
+    private static AccessToken accessToken(String id, String token, String client, String subject) {
+        AccessToken accessToken = new AccessToken();
+        accessToken.setId(id);
+        accessToken.setToken(token);
+        accessToken.setDomain("my-domain");
+        accessToken.setClient(client);
+        accessToken.setSubject(subject);
+        accessToken.setCreatedAt(new Date());
+        accessToken.setExpireAt(new Date(System.currentTimeMillis() + 60000));
+        return accessToken;
+    }
+}
@@ -19,6 +19,7 @@ import com.mongodb.*;
 import com.mongodb.connection.*;
 import com.mongodb.reactivestreams.client.MongoClient;
 import com.mongodb.reactivestreams.client.MongoClients;
+import io.gravitee.am.common.utils.SharedResourceRegistry;
 import org.bson.codecs.configuration.CodecRegistry;
 import org.bson.codecs.pojo.PojoCodecProvider;
 import org.slf4j.Logger;
@@ -45,6 +46,11 @@ import static org.bson.codecs.configuration.CodecRegistries.fromRegistries;
  */
 public class MongoFactory implements FactoryBean<MongoClient> {
 
+    /**
+     * Mongo clients shared by the repository scopes (management, oauth2) configured with the same uri.
+     */
+    private static final SharedResourceRegistry<String, MongoClient> MONGO_CLIENTS = new SharedResourceRegistry<>(MongoClient::close);
+
     private final Logger logger = LoggerFactory.getLogger(MongoFactory.class);
 
     @Autowired
@@ -79,7 +85,8 @@ public class MongoFactory implements FactoryBean<MongoClient> {
                     .applyConnectionString(new ConnectionString(uri))
                     .build();
 
-            return MongoClients.create(settings);
+            // repositories live as long as the node, the client is never released
+            return MONGO_CLIENTS.acquire(uri, key -> MongoClients.create(settings)).get();
         } else {
             // Advanced configuration
             SocketSettings.Builder socketBuilder = SocketSettings.builder();
@@ -33,6 +33,7 @@ import io.gravitee.am.model.oidc.JWKSet;
 import io.gravitee.am.repository.management.api.ApplicationRepository;
 import io.gravitee.am.repository.mongodb.management.internal.model.*;
 import io.reactivex.Completable;
+import io.reactivex.Flowable;
 import io.reactivex.Maybe;
 import io.reactivex.Observable;
 import io.reactivex.Single;
@@ -152,6 +153,11 @@ public class MongoApplicationRepository extends AbstractManagementMongoRepositor
         return Observable.fromPublisher(applicationsCollection.find(in(FIELD_ID, ids))).map(this::convert).collect(HashSet::new, Set::add);
     }
 
+    @Override
+    public Flowable<Application> findByDomainIn(Collection<String> domains) {
+        return Flowable.fromPublisher(applicationsCollection.find(in(FIELD_DOMAIN, domains))).map(this::convert);
+    }
+
     @Override
     public Single<Application> create(Application item) {
         ApplicationMongo application = convert(item);
@@ -29,12 +29,14 @@ import org.bson.types.Binary;
 import org.springframework.stereotype.Component;
 
 import javax.annotation.PostConstruct;
+import java.util.Collection;
 import java.util.HashSet;
 import java.util.Map;
 import java.util.Set;
 import java.util.stream.Collectors;
 
 import static com.mongodb.client.model.Filters.eq;
+import static com.mongodb.client.model.Filters.in;
 
 /**
  * @author Titouan COMPIEGNE (titouan.compiegne at graviteesource.com)
@@ -68,6 +70,11 @@ public class MongoCertificateRepository extends AbstractManagementMongoRepositor
         return Observable.fromPublisher(certificatesCollection.find(eq(FIELD_ID, certificateId)).first()).firstElement().map(this::convert);
     }
 
+    @Override
+    public Single<Set<Certificate>> findByIdIn(Collection<String> ids) {
+        return Observable.fromPublisher(certificatesCollection.find(in(FIELD_ID, ids))).map(this::convert).collect(HashSet::new, Set::add);
+    }
+
     @Override
     public Single<Certificate> create(Certificate item) {
         CertificateMongo certificate = convert(item);
@@ -15,6 +15,8 @@
  */
 package io.gravitee.am.repository.mongodb.management;
 
+import com.mongodb.client.model.Collation;
+import com.mongodb.client.model.CollationStrength;
 import com.mongodb.reactivestreams.client.MongoCollection;
 import io.gravitee.am.common.utils.RandomString;
 import io.gravitee.am.common.webauthn.AuthenticatorAttachment;
@@ -29,11 +31,14 @@ import io.gravitee.am.model.oidc.OIDCSettings;
 import io.gravitee.am.model.scim.SCIMSettings;
 import io.gravitee.am.model.uma.UMASettings;
 import io.gravitee.am.repository.management.api.DomainRepository;
+import io.gravitee.am.repository.management.api.search.DomainCriteria;
 import io.gravitee.am.repository.mongodb.management.internal.model.*;
 import io.gravitee.am.repository.mongodb.management.internal.model.oidc.ClientRegistrationSettingsMongo;
 import io.gravitee.am.repository.mongodb.management.internal.model.oidc.OIDCSettingsMongo;
 import io.gravitee.am.repository.mongodb.management.internal.model.uma.UMASettingsMongo;
 import io.reactivex.*;
+import org.bson.Document;
+import org.bson.conversions.Bson;
 import org.springframework.stereotype.Component;
 
 import javax.annotation.PostConstruct;
@@ -53,6 +58,10 @@ public class MongoDomainRepository extends AbstractManagementMongoRepository imp
 
     private static final String FIELD_ID = "_id";
     private static final String FIELD_MASTER = "master";
+    private static final String FIELD_ENABLED = "enabled";
+    private static final String FIELD_TAGS = "tags";
+    // tags are compared ignoring case and accents
+    private static final Collation TAGS_COLLATION = Collation.builder().locale("en").collationStrength(CollationStrength.PRIMARY).build();
     private MongoCollection<DomainMongo> domainsCollection;
 
     @PostConstruct
@@ -81,6 +90,20 @@ public class MongoDomainRepository extends AbstractManagementMongoRepository imp
         return Flowable.fromPublisher(domainsCollection.find(and(eq(FIELD_REFERENCE_TYPE, ReferenceType.ENVIRONMENT.name()), eq(FIELD_REFERENCE_ID, environmentId)))).map(this::convert);
     }
 
+    @Override
+    public Flowable<Domain> findAllByCriteria(DomainCriteria criteria) {
+
+        Bson eqEnabled = toBsonFilter(FIELD_ENABLED, criteria.isEnabled());
+        Bson inTags = criteria.getTags().map(tags -> in(FIELD_TAGS, tags)).orElse(null);
+        Bson ninTags = criteria.getExcludedTags().map(tags -> and(ne(FIELD_TAGS, null), nin(FIELD_TAGS, tags))).orElse(null);
+
+        return toBsonFilter(criteria.isLogicalOR(), inTags, ninTags)
+                .map(filter -> eqEnabled == null ? filter : and(eqEnabled, filter))
+                .switchIfEmpty(Single.just(eqEnabled == null ? new Document() : eqEnabled))
+                .flatMapPublisher(filter -> Flowable.fromPublisher(domainsCollection.find(filter).collation(TAGS_COLLATION)))
+                .map(this::convert);
+    }
+
     @Override
     public Maybe<Domain> findMaster() {
         return Observable.fromPublisher(domainsCollection.find(eq(FIELD_MASTER, true)).first()).firstElement().map(this::convert);
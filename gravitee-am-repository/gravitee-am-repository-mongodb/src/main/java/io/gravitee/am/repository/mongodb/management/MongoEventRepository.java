@@ -15,6 +15,9 @@
  */
 package io.gravitee.am.repository.mongodb.management;
 
+import com.mongodb.MongoCommandException;
+import com.mongodb.client.model.changestream.FullDocument;
+import com.mongodb.reactivestreams.client.ChangeStreamPublisher;
 import com.mongodb.reactivestreams.client.MongoCollection;
 import io.gravitee.am.common.utils.RandomString;
 import io.gravitee.am.common.event.Action;
@@ -22,18 +25,25 @@ import io.gravitee.am.model.common.event.Event;
 import io.gravitee.am.model.common.event.Payload;
 import io.gravitee.am.common.event.Type;
 import io.gravitee.am.repository.management.api.EventRepository;
+import io.gravitee.am.repository.management.model.WatchedEvent;
 import io.gravitee.am.repository.mongodb.management.internal.model.EventMongo;
 import io.reactivex.*;
+import org.bson.BsonDocument;
 import org.bson.Document;
 import org.bson.conversions.Bson;
 import org.springframework.stereotype.Component;
 
 import javax.annotation.PostConstruct;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
 import java.util.Date;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 
+import static com.mongodb.client.model.Aggregates.match;
 import static com.mongodb.client.model.Filters.*;
 
 /**
@@ -45,6 +55,9 @@ public class MongoEventRepository extends AbstractManagementMongoRepository impl
 
     private static final String FIELD_ID = "_id";
     private static final String FIELD_UPDATED_AT = "updatedAt";
+    private static final String FIELD_OPERATION_TYPE = "operationType";
+    // $changeStream is only supported on replica sets and sharded clusters (since MongoDB 3.6)
+    private static final Set<Integer> CHANGE_STREAM_NOT_SUPPORTED_CODES = new HashSet<>(Arrays.asList(40573, 40324));
     private MongoCollection<EventMongo> eventsCollection;
 
     @PostConstruct
@@ -63,6 +76,30 @@ public class MongoEventRepository extends AbstractManagementMongoRepository impl
         return Flowable.fromPublisher(eventsCollection.find(and(filters))).map(this::convert).toList();
     }
 
+    @Override
+    public Flowable<WatchedEvent> watch(String resumeToken) {
+        ChangeStreamPublisher<EventMongo> changeStream = eventsCollection
+                .watch(Collections.singletonList(match(in(FIELD_OPERATION_TYPE, "insert", "replace", "update"))), EventMongo.class)
+                .fullDocument(FullDocument.UPDATE_LOOKUP);
+        if (resumeToken != null) {
+            changeStream = changeStream.resumeAfter(BsonDocument.parse(resumeToken));
+        }
+        return Flowable.fromPublisher(changeStream)
+                .filter(change -> change.getFullDocument() != null)
+                .map(change -> new WatchedEvent(convert(change.getFullDocument()), change.getResumeToken().toJson()))
+                .onErrorResumeNext(ex -> {
+                    if (ex instanceof MongoCommandException && CHANGE_STREAM_NOT_SUPPORTED_CODES.contains(((MongoCommandException) ex).getErrorCode())) {
+                        return Flowable.error(new UnsupportedOperationException("Change streams are not supported by this MongoDB deployment", ex));
+                    }
+                    return Flowable.error(ex);
+                });
+    }
+
+    @Override
+    public Completable deleteUntil(long to) {
+        return Completable.fromPublisher(eventsCollection.deleteMany(lt(FIELD_UPDATED_AT, new Date(to))));
+    }
+
     @Override
     public Maybe<Event> findById(String id) {
         return Observable.fromPublisher(eventsCollection.find(eq(FIELD_ID, id)).first()).map(this::convert).firstElement();
@@ -16,7 +16,8 @@
 package io.gravitee.am.repository.mongodb.oauth2;
 
 import com.mongodb.client.model.IndexOptions;
-import com.mongodb.client.model.InsertOneModel;
+import com.mongodb.client.model.ReplaceOneModel;
+import com.mongodb.client.model.ReplaceOptions;
 import com.mongodb.client.model.WriteModel;
 import com.mongodb.reactivestreams.client.MongoCollection;
 import io.gravitee.am.repository.mongodb.oauth2.internal.model.AccessTokenMongo;
@@ -141,8 +142,14 @@ public class MongoAccessTokenRepository extends AbstractOAuth2MongoRepository im
         return Completable.fromPublisher(accessTokenCollection.deleteMany(and(eq(FIELD_DOMAIN_ID, domainId), eq(FIELD_SUBJECT, userId))));
     }
 
+    @Override
+    public Completable deleteByAuthorizationCode(String authorizationCode) {
+        return Completable.fromPublisher(accessTokenCollection.deleteMany(eq(FIELD_AUTHORIZATION_CODE, authorizationCode)));
+    }
+
+    // upsert so that a batch replayed by the gateway (e.g. after a crash) does not fail on duplicate keys
     private List<WriteModel<AccessTokenMongo>> convert(List<AccessToken> accessTokens) {
-        return accessTokens.stream().map(accessToken -> new InsertOneModel<>(convert(accessToken))).collect(Collectors.toList());
+        return accessTokens.stream().map(accessToken -> new ReplaceOneModel<>(eq(FIELD_ID, accessToken.getId()), convert(accessToken), new ReplaceOptions().upsert(true))).collect(Collectors.toList());
     }
 
     private AccessTokenMongo convert(AccessToken accessToken) {
@@ -33,6 +33,7 @@ import javax.annotation.PostConstruct;
 import java.util.List;
 import java.util.concurrent.TimeUnit;
 
+import static com.mongodb.client.model.Filters.and;
 import static com.mongodb.client.model.Filters.eq;
 
 /**
@@ -45,6 +46,7 @@ public class MongoAuthorizationCodeRepository extends AbstractOAuth2MongoReposit
     private static final String FIELD_ID = "_id";
     private static final String FIELD_TRANSACTION_ID = "transactionId";
     private static final String FIELD_CODE = "code";
+    private static final String FIELD_CLIENT_ID = "client_id";
     private static final String FIELD_RESET_TIME = "expire_at";
     private MongoCollection<AuthorizationCodeMongo> authorizationCodeCollection;
 
@@ -84,6 +86,11 @@ public class MongoAuthorizationCodeRepository extends AbstractOAuth2MongoReposit
         return Observable.fromPublisher(authorizationCodeCollection.find(eq(FIELD_CODE, code)).first()).firstElement().map(this::convert);
     }
 
+    @Override
+    public Maybe<AuthorizationCode> findAndRemoveByCodeAndClientId(String code, String clientId) {
+        return Observable.fromPublisher(authorizationCodeCollection.findOneAndDelete(and(eq(FIELD_CODE, code), eq(FIELD_CLIENT_ID, clientId)))).firstElement().map(this::convert);
+    }
+
     private AuthorizationCode convert(AuthorizationCodeMongo authorizationCodeMongo) {
         if (authorizationCodeMongo == null) {
             return null;
@@ -16,7 +16,8 @@
 package io.gravitee.am.repository.mongodb.oauth2;
 
 import com.mongodb.client.model.IndexOptions;
-import com.mongodb.client.model.InsertOneModel;
+import com.mongodb.client.model.ReplaceOneModel;
+import com.mongodb.client.model.ReplaceOptions;
 import com.mongodb.client.model.WriteModel;
 import com.mongodb.reactivestreams.client.MongoCollection;
 import io.gravitee.am.common.utils.RandomString;
@@ -37,6 +38,7 @@ import java.util.stream.Collectors;
 
 import static com.mongodb.client.model.Filters.and;
 import static com.mongodb.client.model.Filters.eq;
+import static com.mongodb.client.model.Filters.in;
 
 /**
  * @author Titouan COMPIEGNE (titouan.compiegne at graviteesource.com)
@@ -100,6 +102,11 @@ public class MongoRefreshTokenRepository extends AbstractOAuth2MongoRepository i
         return Completable.fromPublisher(refreshTokenCollection.deleteOne(eq(FIELD_TOKEN, token)));
     }
 
+    @Override
+    public Completable bulkDelete(List<String> tokens) {
+        return Completable.fromPublisher(refreshTokenCollection.deleteMany(in(FIELD_TOKEN, tokens)));
+    }
+
     @Override
     public Completable deleteByUserId(String userId) {
         return Completable.fromPublisher(refreshTokenCollection.deleteMany(eq(FIELD_SUBJECT, userId)));
@@ -115,8 +122,9 @@ public class MongoRefreshTokenRepository extends AbstractOAuth2MongoRepository i
         return Completable.fromPublisher(refreshTokenCollection.deleteMany(and(eq(FIELD_DOMAIN_ID, domainId), eq(FIELD_SUBJECT, userId))));
     }
 
+    // upsert so that a batch replayed by the gateway (e.g. after a crash) does not fail on duplicate keys
     private List<WriteModel<RefreshTokenMongo>> convert(List<RefreshToken> refreshTokens) {
-        return refreshTokens.stream().map(refreshToken -> new InsertOneModel<>(convert(refreshToken))).collect(Collectors.toList());
+        return refreshTokens.stream().map(refreshToken -> new ReplaceOneModel<>(eq(FIELD_ID, refreshToken.getId()), convert(refreshToken), new ReplaceOptions().upsert(true))).collect(Collectors.toList());
     }
 
     private RefreshTokenMongo convert(RefreshToken refreshToken) {
@@ -20,9 +20,12 @@ import io.gravitee.am.model.common.Page;
 import io.gravitee.am.repository.exceptions.TechnicalException;
 import io.gravitee.am.repository.management.api.ApplicationRepository;
 import io.reactivex.observers.TestObserver;
+import io.reactivex.subscribers.TestSubscriber;
 import org.junit.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 
+import java.util.Arrays;
+
 /**
  * @author Titouan COMPIEGNE (titouan.compiegne at graviteesource.com)
  * @author GraviteeSource Team
@@ -54,6 +57,27 @@ public class MongoApplicationRepositoryTest extends AbstractManagementRepository
         testObserver.assertValue(applicationPage -> applicationPage.getData().size() == 1);
     }
 
+    @Test
+    public void testFindByDomainIn() throws TechnicalException {
+        Application application = new Application();
+        application.setName("testApp");
+        application.setDomain("testDomain");
+        applicationRepository.create(application).blockingGet();
+
+        Application otherApplication = new Application();
+        otherApplication.setName("otherApp");
+        otherApplication.setDomain("otherDomain");
+        applicationRepository.create(otherApplication).blockingGet();
+
+        TestSubscriber<Application> testSubscriber = applicationRepository.findByDomainIn(Arrays.asList("testDomain", "unknownDomain")).test();
+        testSubscriber.awaitTerminalEvent();
+
+        testSubscriber.assertComplete();
+        testSubscriber.assertNoErrors();
+        testSubscriber.assertValueCount(1);
+        testSubscriber.assertValue(app -> app.getName().equals("testApp"));
+    }
+
     @Test
     public void testFindByDomainPagination() throws TechnicalException {
         // create app 1
@@ -22,6 +22,7 @@ import io.reactivex.observers.TestObserver;
 import org.junit.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 
+import java.util.Arrays;
 import java.util.Set;
 
 /**
@@ -71,6 +72,22 @@ public class MongoCertificateRepositoryTest extends AbstractManagementRepository
         testObserver.assertValue(d -> d.getName().equals("testName"));
     }
 
+    @Test
+    public void testFindByIdIn() throws TechnicalException {
+        // create certificate
+        Certificate certificate = new Certificate();
+        certificate.setName("testName");
+        Certificate certificateCreated = certificateRepository.create(certificate).blockingGet();
+
+        // fetch certificates
+        TestObserver<Set<Certificate>> testObserver = certificateRepository.findByIdIn(Arrays.asList(certificateCreated.getId(), "unknown")).test();
+        testObserver.awaitTerminalEvent();
+
+        testObserver.assertComplete();
+        testObserver.assertNoErrors();
+        testObserver.assertValue(certificates -> certificates.size() == 1);
+    }
+
     @Test
     public void testNotFoundById() throws TechnicalException {
         certificateRepository.findById("test").test().assertEmpty();
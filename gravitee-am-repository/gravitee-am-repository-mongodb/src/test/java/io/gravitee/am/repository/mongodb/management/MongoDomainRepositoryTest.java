@@ -19,12 +19,15 @@ import io.gravitee.am.model.Domain;
 import io.gravitee.am.model.ReferenceType;
 import io.gravitee.am.repository.exceptions.TechnicalException;
 import io.gravitee.am.repository.management.api.DomainRepository;
+import io.gravitee.am.repository.management.api.search.DomainCriteria;
 import io.reactivex.observers.TestObserver;
 import io.reactivex.subscribers.TestSubscriber;
 import org.junit.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 
+import java.util.Arrays;
 import java.util.Collections;
+import java.util.HashSet;
 import java.util.Set;
 
 /**
@@ -83,6 +86,41 @@ public class MongoDomainRepositoryTest extends AbstractManagementRepositoryTest
         testObserver1.assertValueCount(1);
     }
 
+    @Test
+    public void testFindAllByCriteria_tags() throws TechnicalException {
+        Domain domain = new Domain();
+        domain.setName("taggedDomain");
+        domain.setEnabled(true);
+        domain.setTags(new HashSet<>(Arrays.asList("Tést", "other")));
+        domainRepository.create(domain).blockingGet();
+
+        Domain excludedDomain = new Domain();
+        excludedDomain.setName("excludedDomain");
+        excludedDomain.setEnabled(true);
+        excludedDomain.setTags(Collections.singleton("excluded"));
+        domainRepository.create(excludedDomain).blockingGet();
+
+        Domain disabledDomain = new Domain();
+        disabledDomain.setName("disabledDomain");
+        disabledDomain.setEnabled(false);
+        disabledDomain.setTags(Collections.singleton("test"));
+        domainRepository.create(disabledDomain).blockingGet();
+
+        DomainCriteria criteria = new DomainCriteria()
+                .setEnabled(true)
+                .setTags(Collections.singletonList("test"))
+                .setExcludedTags(Collections.singletonList("excluded"))
+                .setLogicalOR(true);
+
+        TestSubscriber<Domain> testSubscriber = domainRepository.findAllByCriteria(criteria).test();
+        testSubscriber.awaitTerminalEvent();
+
+        testSubscriber.assertComplete();
+        testSubscriber.assertNoErrors();
+        testSubscriber.assertValueCount(1);
+        testSubscriber.assertValue(d -> d.getName().equals("taggedDomain"));
+    }
+
     @Test
     public void testFindInIds() throws TechnicalException {
         // create domain
@@ -63,6 +63,30 @@ public class MongoEventRepositoryTest extends AbstractManagementRepositoryTest {
         testObserver1.assertValue(events -> events.size() == 1);
     }
 
+    @Test
+    public void testDeleteUntil() throws TechnicalException {
+        final long now = System.currentTimeMillis();
+        Event oldEvent = new Event();
+        oldEvent.setType(Type.DOMAIN);
+        oldEvent.setCreatedAt(new Date(now - TimeUnit.DAYS.toMillis(10)));
+        oldEvent.setUpdatedAt(oldEvent.getCreatedAt());
+        eventRepository.create(oldEvent).blockingGet();
+
+        Event recentEvent = new Event();
+        recentEvent.setType(Type.DOMAIN);
+        recentEvent.setCreatedAt(new Date(now));
+        recentEvent.setUpdatedAt(recentEvent.getCreatedAt());
+        eventRepository.create(recentEvent).blockingGet();
+
+        TestObserver testObserver = eventRepository.deleteUntil(now - TimeUnit.DAYS.toMillis(7)).test();
+        testObserver.awaitTerminalEvent();
+        testObserver.assertComplete();
+
+        TestObserver<List<Event>> testObserver1 = eventRepository.findByTimeFrame(0, now + 1).test();
+        testObserver1.awaitTerminalEvent();
+        testObserver1.assertValue(events -> events.size() == 1 && events.get(0).getUpdatedAt().getTime() == now);
+    }
+
     @Test
     public void testFindById() throws TechnicalException {
         // create event
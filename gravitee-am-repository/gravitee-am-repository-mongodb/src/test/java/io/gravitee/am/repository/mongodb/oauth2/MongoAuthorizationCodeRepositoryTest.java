@@ -71,4 +71,31 @@ public class MongoAuthorizationCodeRepositoryTest extends AbstractOAuth2Reposito
                 .test().assertEmpty();
     }
 
+    @Test
+    public void shouldFindAndRemoveByCodeAndClientId() {
+        String code = "testCode";
+        AuthorizationCode authorizationCode = new AuthorizationCode();
+        authorizationCode.setId(code);
+        authorizationCode.setCode(code);
+        authorizationCode.setClientId("client");
+
+        // the code is not removed by another client
+        TestObserver<AuthorizationCode> testObserver = authorizationCodeRepository
+                .create(authorizationCode)
+                .toCompletable()
+                .andThen(authorizationCodeRepository.findAndRemoveByCodeAndClientId(code, "other-client"))
+                .test();
+        testObserver.awaitTerminalEvent();
+        testObserver.assertComplete();
+        testObserver.assertNoValues();
+
+        TestObserver<AuthorizationCode> testObserver1 = authorizationCodeRepository.findAndRemoveByCodeAndClientId(code, "client").test();
+        testObserver1.awaitTerminalEvent();
+        testObserver1.assertValue(authorizationCode1 -> authorizationCode1.getCode().equals(code));
+
+        TestObserver<AuthorizationCode> testObserver2 = authorizationCodeRepository.findAndRemoveByCodeAndClientId(code, "client").test();
+        testObserver2.awaitTerminalEvent();
+        testObserver2.assertComplete();
+        testObserver2.assertNoValues();
+    }
 }
@@ -16,6 +16,7 @@
 package io.gravitee.am.service;
 
 import io.gravitee.am.model.common.event.Event;
+import io.reactivex.Completable;
 import io.reactivex.Single;
 
 import java.util.List;
@@ -29,4 +30,6 @@ public interface EventService {
     Single<Event> create(Event event);
 
     Single<List<Event>> findByTimeFrame(long from, long to);
+
+    Completable deleteUntil(long to);
 }
@@ -0,0 +1,115 @@
+/**
+ * Copyright (C) 2015 The Gravitee team (http://gravitee.io)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.gravitee.am.service.authentication.crypto.password;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * A password encoder that delegates to another PasswordEncoder based upon a prefixed identifier,
+ * e.g. {@code {argon2id}$argon2id$v=19$m=65536,t=3,p=1$...}.
+ *
+ * Encoded passwords without identifier are matched with the default password encoder, so that the hashes stored
+ * before the identifiers were introduced keep working. When no identifier is given for encoding, passwords are
+ * encoded with the default password encoder without identifier.
+ *
+ * {@link #upgradeEncoding(String)} returns true when the encoded password does not use the algorithm (or the costs)
+ * used for encoding, so that it can be encoded again after a successful authentication. Without identifier for
+ * encoding, only the costs of the default password encoder are upgraded.
+ *
+ * @author GraviteeSource Team
+ */
+public class DelegatingPasswordEncoder implements PasswordEncoder {
+
+    private static final String PREFIX = "{";
+    private static final String SUFFIX = "}";
+
+    private final String idForEncode;
+
+    private final PasswordEncoder passwordEncoderForEncode;
+
+    private final Map<String, PasswordEncoder> idToPasswordEncoder;
+
+    private final PasswordEncoder defaultPasswordEncoderForMatches;
+
+    /**
+     * @param idForEncode the identifier of the password encoder used to encode passwords, or null to encode them with
+     *                    the default password encoder, without identifier
+     * @param idToPasswordEncoder the password encoders by identifier
+     * @param defaultPasswordEncoderForMatches the password encoder used for encoded passwords without identifier
+     */
+    public DelegatingPasswordEncoder(String idForEncode, Map<String, PasswordEncoder> idToPasswordEncoder, PasswordEncoder defaultPasswordEncoderForMatches) {
+        if (idForEncode != null && !idToPasswordEncoder.containsKey(idForEncode)) {
+            throw new IllegalArgumentException("idForEncode " + idForEncode + " is not found in idToPasswordEncoder " + idToPasswordEncoder.keySet());
+        }
+        this.idForEncode = idForEncode;
+        this.idToPasswordEncoder = new HashMap<>(idToPasswordEncoder);
+        this.defaultPasswordEncoderForMatches = defaultPasswordEncoderForMatches;
+        this.passwordEncoderForEncode = idForEncode != null ? idToPasswordEncoder.get(idForEncode) : defaultPasswordEncoderForMatches;
+    }
+
+    @Override
+    public String encode(CharSequence rawPassword) {
+        String encodedPassword = passwordEncoderForEncode.encode(rawPassword);
+        return idForEncode != null ? PREFIX + idForEncode + SUFFIX + encodedPassword : encodedPassword;
+    }
+
+    @Override
+    public boolean matches(CharSequence rawPassword, String encodedPassword) {
+        if (rawPassword == null && encodedPassword == null) {
+            return true;
+        }
+        String id = extractId(encodedPassword);
+        if (id == null) {
+            return defaultPasswordEncoderForMatches.matches(rawPassword, encodedPassword);
+        }
+        PasswordEncoder delegate = idToPasswordEncoder.get(id);
+        if (delegate == null) {
+            throw new IllegalArgumentException("There is no PasswordEncoder mapped for the id \"" + id + "\"");
+        }
+        return delegate.matches(rawPassword, extractEncodedPassword(encodedPassword));
+    }
+
+    @Override
+    public boolean upgradeEncoding(String encodedPassword) {
+        String id = extractId(encodedPassword);
+        if (idForEncode == null) {
+            // hashes of other algorithms are kept, the default one may be weaker (e.g. plain text)
+            return id == null && defaultPasswordEncoderForMatches.upgradeEncoding(encodedPassword);
+        }
+        if (!idForEncode.equals(id)) {
+            return true;
+        }
+        return passwordEncoderForEncode.upgradeEncoding(extractEncodedPassword(encodedPassword));
+    }
+
+    private String extractId(String encodedPassword) {
+        if (encodedPassword == null || !encodedPassword.startsWith(PREFIX)) {
+            return null;
+        }
+        int end = encodedPassword.indexOf(SUFFIX);
+        if (end < 0) {
+            return null;
+        }
+        String id = encodedPassword.substring(PREFIX.length(), end);
+        // only consider known identifiers, a plain text password may start with a brace
+        return idToPasswordEncoder.containsKey(id) ? id : null;
+    }
+
+    private String extractEncodedPassword(String prefixEncodedPassword) {
+        return prefixEncodedPassword.substring(prefixEncodedPassword.indexOf(SUFFIX) + 1);
+    }
+}
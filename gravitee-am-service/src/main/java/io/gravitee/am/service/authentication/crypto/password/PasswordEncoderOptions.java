@@ -0,0 +1,68 @@
+/**
+ * Copyright (C) 2015 The Gravitee team (http://gravitee.io)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.gravitee.am.service.authentication.crypto.password;
+
+/**
+ * Costs of the password hashing algorithms, a value of 0 means the default cost of the algorithm.
+ *
+ * <ul>
+ *     <li>BCrypt: {@code rounds} (log rounds)</li>
+ *     <li>Argon2id: {@code memory} (KiB), {@code iterations} and {@code parallelism}</li>
+ *     <li>scrypt: {@code rounds} (CPU/memory cost as a power of two) and {@code parallelism}</li>
+ *     <li>PBKDF2: {@code iterations}</li>
+ * </ul>
+ *
+ * @author GraviteeSource Team
+ */
+public class PasswordEncoderOptions {
+
+    private int rounds;
+    private int iterations;
+    private int memory;
+    private int parallelism;
+
+    public int getRounds() {
+        return rounds;
+    }
+
+    public void setRounds(int rounds) {
+        this.rounds = rounds;
+    }
+
+    public int getIterations() {
+        return iterations;
+    }
+
+    public void setIterations(int iterations) {
+        this.iterations = iterations;
+    }
+
+    public int getMemory() {
+        return memory;
+    }
+
+    public void setMemory(int memory) {
+        this.memory = memory;
+    }
+
+    public int getParallelism() {
+        return parallelism;
+    }
+
+    public void setParallelism(int parallelism) {
+        this.parallelism = parallelism;
+    }
+}
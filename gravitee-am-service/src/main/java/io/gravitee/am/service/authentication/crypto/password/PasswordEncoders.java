@@ -0,0 +1,87 @@
+/**
+ * Copyright (C) 2015 The Gravitee team (http://gravitee.io)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.gravitee.am.service.authentication.crypto.password;
+
+import io.gravitee.am.service.authentication.crypto.password.argon2.Argon2PasswordEncoder;
+import io.gravitee.am.service.authentication.crypto.password.bcrypt.BCryptPasswordEncoder;
+import io.gravitee.am.service.authentication.crypto.password.pbkdf2.Pbkdf2PasswordEncoder;
+import io.gravitee.am.service.authentication.crypto.password.scrypt.SCryptPasswordEncoder;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Creates the password encoders of the identity providers.
+ *
+ * Encoded passwords are prefixed by the identifier of their algorithm ({@code {argon2id}}, {@code {scrypt}},
+ * {@code {pbkdf2}}, ...) except for BCrypt and plain text passwords which are stored as is, as they were
+ * before the identifiers were introduced.
+ *
+ * @author GraviteeSource Team
+ */
+public final class PasswordEncoders {
+
+    public static final String NONE = "none";
+    public static final String BCRYPT = "bcrypt";
+    public static final String ARGON2ID = "argon2id";
+    public static final String SCRYPT = "scrypt";
+    public static final String PBKDF2 = "pbkdf2";
+
+    private PasswordEncoders() {
+    }
+
+    /**
+     * @param algorithm the algorithm used to encode passwords (case insensitive)
+     * @param options the costs of the algorithms, may be null
+     * @return a password encoder matching the passwords encoded with any of the supported algorithms
+     */
+    public static PasswordEncoder create(String algorithm, PasswordEncoderOptions options) {
+        final PasswordEncoderOptions costs = options != null ? options : new PasswordEncoderOptions();
+        final String id = algorithm != null ? algorithm.toLowerCase() : NONE;
+
+        Map<String, PasswordEncoder> encoders = new HashMap<>();
+        encoders.put(NONE, NoOpPasswordEncoder.getInstance());
+        encoders.put(BCRYPT, BCRYPT.equals(id) && costs.getRounds() > 0 ? new BCryptPasswordEncoder(costs.getRounds()) : new BCryptPasswordEncoder());
+        encoders.put(ARGON2ID, ARGON2ID.equals(id) ? new Argon2PasswordEncoder(
+                value(costs.getMemory(), Argon2PasswordEncoder.DEFAULT_MEMORY),
+                value(costs.getIterations(), Argon2PasswordEncoder.DEFAULT_ITERATIONS),
+                value(costs.getParallelism(), Argon2PasswordEncoder.DEFAULT_PARALLELISM)) : new Argon2PasswordEncoder());
+        encoders.put(SCRYPT, SCRYPT.equals(id) ? new SCryptPasswordEncoder(
+                value(costs.getRounds(), SCryptPasswordEncoder.DEFAULT_LOG_COST),
+                SCryptPasswordEncoder.DEFAULT_BLOCK_SIZE,
+                value(costs.getParallelism(), SCryptPasswordEncoder.DEFAULT_PARALLELISM)) : new SCryptPasswordEncoder());
+        encoders.put(PBKDF2, PBKDF2.equals(id) ? new Pbkdf2PasswordEncoder(
+                value(costs.getIterations(), Pbkdf2PasswordEncoder.DEFAULT_ITERATIONS)) : new Pbkdf2PasswordEncoder());
+
+        if (!encoders.containsKey(id)) {
+            throw new IllegalArgumentException("Unsupported password encoder: " + algorithm);
+        }
+
+        switch (id) {
+            case NONE:
+                return new DelegatingPasswordEncoder(null, encoders, encoders.get(NONE));
+            case BCRYPT:
+                return new DelegatingPasswordEncoder(null, encoders, encoders.get(BCRYPT));
+            default:
+                // unprefixed hashes have been encoded with BCrypt, the only algorithm supported before
+                return new DelegatingPasswordEncoder(id, encoders, encoders.get(BCRYPT));
+        }
+    }
+
+    private static int value(int value, int defaultValue) {
+        return value > 0 ? value : defaultValue;
+    }
+}
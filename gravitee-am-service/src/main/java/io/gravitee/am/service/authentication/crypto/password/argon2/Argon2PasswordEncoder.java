@@ -0,0 +1,143 @@
+/**
+ * Copyright (C) 2015 The Gravitee team (http://gravitee.io)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.gravitee.am.service.authentication.crypto.password.argon2;
+
+import io.gravitee.am.service.authentication.crypto.password.PasswordEncoder;
+import org.bouncycastle.crypto.generators.Argon2BytesGenerator;
+import org.bouncycastle.crypto.params.Argon2Parameters;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.security.MessageDigest;
+import java.security.SecureRandom;
+import java.util.Base64;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Implementation of PasswordEncoder that uses the Argon2id hashing function (winner of the Password Hashing
+ * Competition). The memory (in KiB), iterations and parallelism costs are stored with each hash, using the PHC
+ * string format: {@code $argon2id$v=19$m=65536,t=3,p=1$<salt>$<hash>}.
+ *
+ * @author GraviteeSource Team
+ */
+public class Argon2PasswordEncoder implements PasswordEncoder {
+
+    public static final int DEFAULT_MEMORY = 65536;
+    public static final int DEFAULT_ITERATIONS = 3;
+    public static final int DEFAULT_PARALLELISM = 1;
+
+    private static final int SALT_LENGTH = 16;
+    private static final int HASH_LENGTH = 32;
+    private static final Pattern ARGON2_PATTERN = Pattern
+            .compile("\\A\\$argon2id\\$v=(\\d+)\\$m=(\\d+),t=(\\d+),p=(\\d+)\\$([A-Za-z0-9+/]+)\\$([A-Za-z0-9+/]+)\\z");
+    private final Logger logger = LoggerFactory.getLogger(Argon2PasswordEncoder.class);
+
+    private final int memory;
+
+    private final int iterations;
+
+    private final int parallelism;
+
+    private final SecureRandom random = new SecureRandom();
+
+    public Argon2PasswordEncoder() {
+        this(DEFAULT_MEMORY, DEFAULT_ITERATIONS, DEFAULT_PARALLELISM);
+    }
+
+    /**
+     * @param memory the memory cost, in KiB
+     * @param iterations the number of passes over the memory
+     * @param parallelism the number of lanes
+     */
+    public Argon2PasswordEncoder(int memory, int iterations, int parallelism) {
+        if (memory < 8 * parallelism || iterations < 1 || parallelism < 1) {
+            throw new IllegalArgumentException("Bad Argon2 parameters");
+        }
+        this.memory = memory;
+        this.iterations = iterations;
+        this.parallelism = parallelism;
+    }
+
+    @Override
+    public String encode(CharSequence rawPassword) {
+        byte[] salt = new byte[SALT_LENGTH];
+        random.nextBytes(salt);
+        byte[] hash = hash(rawPassword, salt, Argon2Parameters.ARGON2_VERSION_13, memory, iterations, parallelism, HASH_LENGTH);
+
+        Base64.Encoder encoder = Base64.getEncoder().withoutPadding();
+        return "$argon2id$v=" + Argon2Parameters.ARGON2_VERSION_13
+                + "$m=" + memory + ",t=" + iterations + ",p=" + parallelism
+                + "$" + encoder.encodeToString(salt)
+                + "$" + encoder.encodeToString(hash);
+    }
+
+    @Override
+    public boolean matches(CharSequence rawPassword, String encodedPassword) {
+        if (encodedPassword == null || encodedPassword.length() == 0) {
+            logger.warn("Empty encoded password");
+            return false;
+        }
+
+        Matcher matcher = ARGON2_PATTERN.matcher(encodedPassword);
+        if (!matcher.matches()) {
+            logger.warn("Encoded password does not look like Argon2id");
+            return false;
+        }
+
+        Base64.Decoder decoder = Base64.getDecoder();
+        byte[] salt = decoder.decode(matcher.group(5));
+        byte[] expected = decoder.decode(matcher.group(6));
+        byte[] actual = hash(rawPassword, salt,
+                Integer.parseInt(matcher.group(1)),
+                Integer.parseInt(matcher.group(2)),
+                Integer.parseInt(matcher.group(3)),
+                Integer.parseInt(matcher.group(4)),
+                expected.length);
+        return MessageDigest.isEqual(expected, actual);
+    }
+
+    @Override
+    public boolean upgradeEncoding(String encodedPassword) {
+        if (encodedPassword == null) {
+            return false;
+        }
+
+        Matcher matcher = ARGON2_PATTERN.matcher(encodedPassword);
+        if (!matcher.matches()) {
+            return false;
+        }
+
+        return Integer.parseInt(matcher.group(1)) < Argon2Parameters.ARGON2_VERSION_13
+                || Integer.parseInt(matcher.group(2)) < memory
+                || Integer.parseInt(matcher.group(3)) < iterations;
+    }
+
+    private static byte[] hash(CharSequence rawPassword, byte[] salt, int version, int memory, int iterations, int parallelism, int length) {
+        Argon2Parameters parameters = new Argon2Parameters.Builder(Argon2Parameters.ARGON2_id)
+                .withVersion(version)
+                .withSalt(salt)
+                .withMemoryAsKB(memory)
+                .withIterations(iterations)
+                .withParallelism(parallelism)
+                .build();
+        Argon2BytesGenerator generator = new Argon2BytesGenerator();
+        generator.init(parameters);
+        byte[] hash = new byte[length];
+        generator.generateBytes(rawPassword.toString().toCharArray(), hash);
+        return hash;
+    }
+}
@@ -20,6 +20,7 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.security.SecureRandom;
+import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
 /**
@@ -32,8 +33,9 @@ import java.util.regex.Pattern;
  *
  */
 public class BCryptPasswordEncoder implements PasswordEncoder {
+    private static final int DEFAULT_LOG_ROUNDS = 10;
     private Pattern BCRYPT_PATTERN = Pattern
-            .compile("\\A\\$2a?\\$\\d\\d\\$[./0-9A-Za-z]{53}");
+            .compile("\\A\\$2a?\\$(\\d\\d)\\$[./0-9A-Za-z]{53}");
     private final Logger logger = LoggerFactory.getLogger(BCryptPasswordEncoder.class);
 
     private final int strength;
@@ -93,4 +95,19 @@ public class BCryptPasswordEncoder implements PasswordEncoder {
 
         return BCrypt.checkpw(rawPassword.toString(), encodedPassword);
     }
+
+    @Override
+    public boolean upgradeEncoding(String encodedPassword) {
+        if (encodedPassword == null || encodedPassword.length() == 0) {
+            return false;
+        }
+
+        Matcher matcher = BCRYPT_PATTERN.matcher(encodedPassword);
+        if (!matcher.matches()) {
+            return false;
+        }
+
+        int targetStrength = strength > 0 ? strength : DEFAULT_LOG_ROUNDS;
+        return Integer.parseInt(matcher.group(1)) < targetStrength;
+    }
 }
@@ -0,0 +1,113 @@
+/**
+ * Copyright (C) 2015 The Gravitee team (http://gravitee.io)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.gravitee.am.service.authentication.crypto.password.pbkdf2;
+
+import io.gravitee.am.service.authentication.crypto.password.PasswordEncoder;
+import org.bouncycastle.crypto.PBEParametersGenerator;
+import org.bouncycastle.crypto.digests.SHA256Digest;
+import org.bouncycastle.crypto.generators.PKCS5S2ParametersGenerator;
+import org.bouncycastle.crypto.params.KeyParameter;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.security.MessageDigest;
+import java.security.SecureRandom;
+import java.util.Base64;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Implementation of PasswordEncoder that uses PBKDF2 with HMAC-SHA256. The number of iterations is stored with
+ * each hash: {@code $pbkdf2-sha256$i=310000$<salt>$<hash>}.
+ *
+ * @author GraviteeSource Team
+ */
+public class Pbkdf2PasswordEncoder implements PasswordEncoder {
+
+    public static final int DEFAULT_ITERATIONS = 310000;
+
+    private static final int SALT_LENGTH = 16;
+    private static final int HASH_LENGTH = 32;
+    private static final Pattern PBKDF2_PATTERN = Pattern
+            .compile("\\A\\$pbkdf2-sha256\\$i=(\\d+)\\$([A-Za-z0-9+/]+)\\$([A-Za-z0-9+/]+)\\z");
+    private final Logger logger = LoggerFactory.getLogger(Pbkdf2PasswordEncoder.class);
+
+    private final int iterations;
+
+    private final SecureRandom random = new SecureRandom();
+
+    public Pbkdf2PasswordEncoder() {
+        this(DEFAULT_ITERATIONS);
+    }
+
+    /**
+     * @param iterations the number of iterations
+     */
+    public Pbkdf2PasswordEncoder(int iterations) {
+        if (iterations < 1) {
+            throw new IllegalArgumentException("Bad PBKDF2 iterations");
+        }
+        this.iterations = iterations;
+    }
+
+    @Override
+    public String encode(CharSequence rawPassword) {
+        byte[] salt = new byte[SALT_LENGTH];
+        random.nextBytes(salt);
+        byte[] hash = hash(rawPassword, salt, iterations, HASH_LENGTH);
+
+        Base64.Encoder encoder = Base64.getEncoder().withoutPadding();
+        return "$pbkdf2-sha256$i=" + iterations
+                + "$" + encoder.encodeToString(salt)
+                + "$" + encoder.encodeToString(hash);
+    }
+
+    @Override
+    public boolean matches(CharSequence rawPassword, String encodedPassword) {
+        if (encodedPassword == null || encodedPassword.length() == 0) {
+            logger.warn("Empty encoded password");
+            return false;
+        }
+
+        Matcher matcher = PBKDF2_PATTERN.matcher(encodedPassword);
+        if (!matcher.matches()) {
+            logger.warn("Encoded password does not look like PBKDF2");
+            return false;
+        }
+
+        Base64.Decoder decoder = Base64.getDecoder();
+        byte[] salt = decoder.decode(matcher.group(2));
+        byte[] expected = decoder.decode(matcher.group(3));
+        byte[] actual = hash(rawPassword, salt, Integer.parseInt(matcher.group(1)), expected.length);
+        return MessageDigest.isEqual(expected, actual);
+    }
+
+    @Override
+    public boolean upgradeEncoding(String encodedPassword) {
+        if (encodedPassword == null) {
+            return false;
+        }
+
+        Matcher matcher = PBKDF2_PATTERN.matcher(encodedPassword);
+        return matcher.matches() && Integer.parseInt(matcher.group(1)) < iterations;
+    }
+
+    private static byte[] hash(CharSequence rawPassword, byte[] salt, int iterations, int length) {
+        PKCS5S2ParametersGenerator generator = new PKCS5S2ParametersGenerator(new SHA256Digest());
+        generator.init(PBEParametersGenerator.PKCS5PasswordToUTF8Bytes(rawPassword.toString().toCharArray()), salt, iterations);
+        return ((KeyParameter) generator.generateDerivedParameters(length * 8)).getKey();
+    }
+}
@@ -0,0 +1,129 @@
+/**
+ * Copyright (C) 2015 The Gravitee team (http://gravitee.io)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.gravitee.am.service.authentication.crypto.password.scrypt;
+
+import io.gravitee.am.service.authentication.crypto.password.PasswordEncoder;
+import org.bouncycastle.crypto.generators.SCrypt;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.SecureRandom;
+import java.util.Base64;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Implementation of PasswordEncoder that uses the scrypt hashing function. The CPU/memory cost (as a power of two),
+ * block size and parallelization are stored with each hash: {@code $scrypt$ln=15,r=8,p=1$<salt>$<hash>}.
+ *
+ * @author GraviteeSource Team
+ */
+public class SCryptPasswordEncoder implements PasswordEncoder {
+
+    public static final int DEFAULT_LOG_COST = 15;
+    public static final int DEFAULT_BLOCK_SIZE = 8;
+    public static final int DEFAULT_PARALLELISM = 1;
+
+    private static final int SALT_LENGTH = 16;
+    private static final int HASH_LENGTH = 32;
+    private static final Pattern SCRYPT_PATTERN = Pattern
+            .compile("\\A\\$scrypt\\$ln=(\\d+),r=(\\d+),p=(\\d+)\\$([A-Za-z0-9+/]+)\\$([A-Za-z0-9+/]+)\\z");
+    private final Logger logger = LoggerFactory.getLogger(SCryptPasswordEncoder.class);
+
+    private final int logCost;
+
+    private final int blockSize;
+
+    private final int parallelism;
+
+    private final SecureRandom random = new SecureRandom();
+
+    public SCryptPasswordEncoder() {
+        this(DEFAULT_LOG_COST, DEFAULT_BLOCK_SIZE, DEFAULT_PARALLELISM);
+    }
+
+    /**
+     * @param logCost the CPU/memory cost, as a power of two, between 1 and 30
+     * @param blockSize the block size
+     * @param parallelism the parallelization
+     */
+    public SCryptPasswordEncoder(int logCost, int blockSize, int parallelism) {
+        if (logCost < 1 || logCost > 30 || blockSize < 1 || parallelism < 1) {
+            throw new IllegalArgumentException("Bad scrypt parameters");
+        }
+        this.logCost = logCost;
+        this.blockSize = blockSize;
+        this.parallelism = parallelism;
+    }
+
+    @Override
+    public String encode(CharSequence rawPassword) {
+        byte[] salt = new byte[SALT_LENGTH];
+        random.nextBytes(salt);
+        byte[] hash = hash(rawPassword, salt, logCost, blockSize, parallelism, HASH_LENGTH);
+
+        Base64.Encoder encoder = Base64.getEncoder().withoutPadding();
+        return "$scrypt$ln=" + logCost + ",r=" + blockSize + ",p=" + parallelism
+                + "$" + encoder.encodeToString(salt)
+                + "$" + encoder.encodeToString(hash);
+    }
+
+    @Override
+    public boolean matches(CharSequence rawPassword, String encodedPassword) {
+        if (encodedPassword == null || encodedPassword.length() == 0) {
+            logger.warn("Empty encoded password");
+            return false;
+        }
+
+        Matcher matcher = SCRYPT_PATTERN.matcher(encodedPassword);
+        if (!matcher.matches()) {
+            logger.warn("Encoded password does not look like scrypt");
+            return false;
+        }
+
+        Base64.Decoder decoder = Base64.getDecoder();
+        byte[] salt = decoder.decode(matcher.group(4));
+        byte[] expected = decoder.decode(matcher.group(5));
+        byte[] actual = hash(rawPassword, salt,
+                Integer.parseInt(matcher.group(1)),
+                Integer.parseInt(matcher.group(2)),
+                Integer.parseInt(matcher.group(3)),
+                expected.length);
+        return MessageDigest.isEqual(expected, actual);
+    }
+
+    @Override
+    public boolean upgradeEncoding(String encodedPassword) {
+        if (encodedPassword == null) {
+            return false;
+        }
+
+        Matcher matcher = SCRYPT_PATTERN.matcher(encodedPassword);
+        if (!matcher.matches()) {
+            return false;
+        }
+
+        return Integer.parseInt(matcher.group(1)) < logCost
+                || Integer.parseInt(matcher.group(2)) < blockSize;
+    }
+
+    private static byte[] hash(CharSequence rawPassword, byte[] salt, int logCost, int blockSize, int parallelism, int length) {
+        return SCrypt.generate(rawPassword.toString().getBytes(StandardCharsets.UTF_8), salt,
+                1 << logCost, blockSize, parallelism, length);
+    }
+}
@@ -20,6 +20,7 @@ import io.gravitee.am.repository.management.api.EventRepository;
 import io.gravitee.am.service.EventService;
 import io.gravitee.am.service.exception.AbstractManagementException;
 import io.gravitee.am.service.exception.TechnicalManagementException;
+import io.reactivex.Completable;
 import io.reactivex.Single;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -71,4 +72,17 @@ public class EventServiceImpl implements EventService {
                     return Single.error(new TechnicalManagementException("An error occurs while trying to find events by time frame", ex));
                 });
     }
+
+    @Override
+    public Completable deleteUntil(long to) {
+        LOGGER.debug("Delete events not updated since {}", to);
+        return eventRepository.deleteUntil(to)
+                .onErrorResumeNext(ex -> {
+                    if (ex instanceof AbstractManagementException) {
+                        return Completable.error(ex);
+                    }
+                    LOGGER.error("An error occurs while trying to delete events", ex);
+                    return Completable.error(new TechnicalManagementException("An error occurs while trying to delete events", ex));
+                });
+    }
 }
@@ -20,6 +20,7 @@ import io.gravitee.am.repository.exceptions.TechnicalException;
 import io.gravitee.am.repository.management.api.EventRepository;
 import io.gravitee.am.service.exception.TechnicalManagementException;
 import io.gravitee.am.service.impl.EventServiceImpl;
+import io.reactivex.Completable;
 import io.reactivex.Single;
 import io.reactivex.observers.TestObserver;
 import org.junit.Test;
@@ -92,4 +93,26 @@ public class EventServiceTest {
         testObserver.assertError(TechnicalManagementException.class);
         testObserver.assertNotComplete();
     }
+
+    @Test
+    public void shouldDeleteUntil() {
+        when(eventRepository.deleteUntil(1)).thenReturn(Completable.complete());
+
+        TestObserver testObserver = eventService.deleteUntil(1).test();
+        testObserver.awaitTerminalEvent();
+
+        testObserver.assertComplete();
+        testObserver.assertNoErrors();
+    }
+
+    @Test
+    public void shouldNotDeleteUntil_technicalException() {
+        when(eventRepository.deleteUntil(1)).thenReturn(Completable.error(TechnicalException::new));
+
+        TestObserver testObserver = eventService.deleteUntil(1).test();
+        testObserver.awaitTerminalEvent();
+
+        testObserver.assertError(TechnicalManagementException.class);
+        testObserver.assertNotComplete();
+    }
 }
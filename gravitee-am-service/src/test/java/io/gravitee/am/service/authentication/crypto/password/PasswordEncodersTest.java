@@ -0,0 +1,125 @@
+/**
+ * Copyright (C) 2015 The Gravitee team (http://gravitee.io)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.gravitee.am.service.authentication.crypto.password;
+
+import io.gravitee.am.service.authentication.crypto.password.bcrypt.BCryptPasswordEncoder;
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * @author GraviteeSource Team
+ */
+public class PasswordEncodersTest {
+
+    @Test
+    public void testArgon2id() {
+        PasswordEncoderOptions options = new PasswordEncoderOptions();
+        options.setMemory(1024);
+        options.setIterations(1);
+        PasswordEncoder passwordEncoder = PasswordEncoders.create("Argon2id", options);
+
+        String encodedPassword = passwordEncoder.encode("password");
+
+        Assert.assertTrue(encodedPassword.startsWith("{argon2id}$argon2id$v=19$m=1024,t=1,p=1$"));
+        Assert.assertTrue(passwordEncoder.matches("password", encodedPassword));
+        Assert.assertFalse(passwordEncoder.matches("wrong", encodedPassword));
+        Assert.assertFalse(passwordEncoder.upgradeEncoding(encodedPassword));
+    }
+
+    @Test
+    public void testSCrypt() {
+        PasswordEncoderOptions options = new PasswordEncoderOptions();
+        options.setRounds(4);
+        PasswordEncoder passwordEncoder = PasswordEncoders.create("SCrypt", options);
+
+        String encodedPassword = passwordEncoder.encode("password");
+
+        Assert.assertTrue(encodedPassword.startsWith("{scrypt}$scrypt$ln=4,r=8,p=1$"));
+        Assert.assertTrue(passwordEncoder.matches("password", encodedPassword));
+        Assert.assertFalse(passwordEncoder.matches("wrong", encodedPassword));
+        Assert.assertFalse(passwordEncoder.upgradeEncoding(encodedPassword));
+    }
+
+    @Test
+    public void testPbkdf2() {
+        PasswordEncoderOptions options = new PasswordEncoderOptions();
+        options.setIterations(1000);
+        PasswordEncoder passwordEncoder = PasswordEncoders.create("PBKDF2", options);
+
+        String encodedPassword = passwordEncoder.encode("password");
+
+        Assert.assertTrue(encodedPassword.startsWith("{pbkdf2}$pbkdf2-sha256$i=1000$"));
+        Assert.assertTrue(passwordEncoder.matches("password", encodedPassword));
+        Assert.assertFalse(passwordEncoder.matches("wrong", encodedPassword));
+        Assert.assertFalse(passwordEncoder.upgradeEncoding(encodedPassword));
+    }
+
+    @Test
+    public void testUpgrade_weakerCosts() {
+        PasswordEncoderOptions weak = new PasswordEncoderOptions();
+        weak.setIterations(1000);
+        PasswordEncoderOptions strong = new PasswordEncoderOptions();
+        strong.setIterations(2000);
+
+        String encodedPassword = PasswordEncoders.create("PBKDF2", weak).encode("password");
+        PasswordEncoder passwordEncoder = PasswordEncoders.create("PBKDF2", strong);
+
+        Assert.assertTrue(passwordEncoder.matches("password", encodedPassword));
+        Assert.assertTrue(passwordEncoder.upgradeEncoding(encodedPassword));
+    }
+
+    @Test
+    public void testUpgrade_legacyBCrypt() {
+        PasswordEncoderOptions options = new PasswordEncoderOptions();
+        options.setIterations(1000);
+        PasswordEncoder passwordEncoder = PasswordEncoders.create("PBKDF2", options);
+        String encodedPassword = new BCryptPasswordEncoder(4).encode("password");
+
+        // unprefixed hashes are BCrypt hashes
+        Assert.assertTrue(passwordEncoder.matches("password", encodedPassword));
+        Assert.assertTrue(passwordEncoder.upgradeEncoding(encodedPassword));
+    }
+
+    @Test
+    public void testBCrypt_unprefixed() {
+        PasswordEncoderOptions options = new PasswordEncoderOptions();
+        options.setRounds(5);
+        PasswordEncoder passwordEncoder = PasswordEncoders.create("BCrypt", options);
+
+        String encodedPassword = passwordEncoder.encode("password");
+
+        Assert.assertTrue(encodedPassword.startsWith("$2a$05$"));
+        Assert.assertTrue(passwordEncoder.matches("password", encodedPassword));
+        Assert.assertFalse(passwordEncoder.upgradeEncoding(encodedPassword));
+        Assert.assertTrue(passwordEncoder.upgradeEncoding(new BCryptPasswordEncoder(4).encode("password")));
+    }
+
+    @Test
+    public void testNone_keepStrongerHashes() {
+        PasswordEncoder passwordEncoder = PasswordEncoders.create("None", null);
+        String encodedPassword = PasswordEncoders.create("PBKDF2", null).encode("password");
+
+        Assert.assertEquals("password", passwordEncoder.encode("password"));
+        Assert.assertTrue(passwordEncoder.matches("password", "password"));
+        Assert.assertTrue(passwordEncoder.matches("password", encodedPassword));
+        Assert.assertFalse(passwordEncoder.upgradeEncoding(encodedPassword));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testUnsupportedAlgorithm() {
+        PasswordEncoders.create("MD5", null);
+    }
+}